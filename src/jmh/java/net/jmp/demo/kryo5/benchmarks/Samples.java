@@ -0,0 +1,93 @@
+package net.jmp.demo.kryo5.benchmarks;
+
+/*
+ * (#)Samples.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import net.jmp.demo.kryo5.config.ConfigDataset;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+/**
+ * The sample objects used by the benchmarks. They are
+ * generated from the default dataset configuration,
+ * as are the objects that Serializers uses.
+ */
+final class Samples {
+    /** The dataset generator. */
+    private static final DatasetGenerator GENERATOR = new DatasetGenerator(new ConfigDataset());
+
+    /**
+     * The default constructor.
+     */
+    private Samples() {
+        super();
+    }
+
+    /**
+     * Return a person.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Person
+     */
+    static Person person() {
+        return GENERATOR.generate(Person.class, 0);
+    }
+
+    /**
+     * Return a pet.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Pet
+     */
+    static Pet pet() {
+        return GENERATOR.generate(Pet.class, 0);
+    }
+
+    /**
+     * Return a chair.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Chair
+     */
+    static Chair chair() {
+        return GENERATOR.generate(Chair.class, 0);
+    }
+
+    /**
+     * Return a recording.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Recording
+     */
+    static Recording recording() {
+        return GENERATOR.generate(Recording.class, 0);
+    }
+}
@@ -0,0 +1,162 @@
+package net.jmp.demo.kryo5.benchmarks;
+
+/*
+ * (#)SerializerBenchmark.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Measure the write, read and round trip cost of
+ * every serialization strategy in Serializers and
+ * of the immutable values.
+ *
+ * Throughput gives operations per second, average time
+ * gives mean latency and sample time gives the latency
+ * percentiles (p99 and above). Run with the gc profiler
+ * (the jmh task does) for allocation per operation; the
+ * encoded size of each strategy is logged at setup.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializerBenchmark {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The strategy under measurement. */
+    @Param({"FIELD", "CUSTOM", "ANNOTATED", "KRYO_SERIALIZABLE", "JAVA", "RECORDING", "PERSON_VALUE", "PET_VALUE", "PET_RECORD", "RECORDING_VALUE"})
+    private String strategy;
+
+    /** The Kryo instance. */
+    private Kryo kryo;
+
+    /** The reusable output. */
+    private Output output;
+
+    /** The reusable input. */
+    private Input input;
+
+    /** The object to write. */
+    private Object sample;
+
+    /** The type of the sample. */
+    private Class<?> type;
+
+    /** The sample in its serialized form. */
+    private byte[] encoded;
+
+    /**
+     * Set up the Kryo instance and the encoded sample.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var theStrategy = Strategy.valueOf(this.strategy);
+
+        this.kryo = new Kryo();
+        this.kryo.setRegistrationRequired(true);
+
+        theStrategy.register(this.kryo);
+
+        this.output = new Output(4096, -1);
+        this.input = new Input();
+        this.sample = theStrategy.sample();
+        this.type = this.sample.getClass();
+
+        this.kryo.writeObject(this.output, this.sample);
+
+        this.encoded = this.output.toBytes();
+
+        this.logger.info("{}: {} bytes per object", this.strategy, this.encoded.length);
+    }
+
+    /**
+     * Serialize the sample.
+     *
+     * @return  int
+     */
+    @Benchmark
+    public int write() {
+        this.output.reset();
+        this.kryo.writeObject(this.output, this.sample);
+
+        return this.output.position();
+    }
+
+    /**
+     * Deserialize the encoded sample.
+     *
+     * @return  java.lang.Object
+     */
+    @Benchmark
+    public Object read() {
+        this.input.setBuffer(this.encoded);
+
+        return this.kryo.readObject(this.input, this.type);
+    }
+
+    /**
+     * Serialize and then deserialize the sample.
+     *
+     * @return  java.lang.Object
+     */
+    @Benchmark
+    public Object roundTrip() {
+        this.output.reset();
+        this.kryo.writeObject(this.output, this.sample);
+        this.input.setBuffer(this.output.getBuffer(), 0, this.output.position());
+
+        return this.kryo.readObject(this.input, this.type);
+    }
+}
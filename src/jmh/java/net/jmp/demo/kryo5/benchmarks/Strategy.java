@@ -0,0 +1,172 @@
+package net.jmp.demo.kryo5.benchmarks;
+
+/*
+ * (#)Strategy.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+
+import com.esotericsoftware.kryo.kryo5.serializers.JavaSerializer;
+import com.esotericsoftware.kryo.kryo5.serializers.RecordSerializer;
+
+import java.util.Date;
+
+import java.util.function.Supplier;
+
+import net.jmp.demo.kryo5.custom.PersonSerializer;
+import net.jmp.demo.kryo5.custom.PersonValueSerializer;
+import net.jmp.demo.kryo5.custom.PetValueSerializer;
+import net.jmp.demo.kryo5.custom.RecordingSerializer;
+import net.jmp.demo.kryo5.custom.RecordingValueSerializer;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+import net.jmp.demo.kryo5.values.PersonValue;
+import net.jmp.demo.kryo5.values.PetValue;
+import net.jmp.demo.kryo5.values.RecordingValue;
+
+/**
+ * The serialization strategies demonstrated by Serializers,
+ * and the immutable values beside the classes they stand
+ * for. Each registers exactly what its demo registers and
+ * supplies the same sample object.
+ */
+enum Strategy {
+    /** The default FieldSerializer for Person. */
+    FIELD(Samples::person) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(Date.class);
+            kryo.register(Person.class);
+        }
+    },
+
+    /** The custom PersonSerializer. */
+    CUSTOM(Samples::person) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(Person.class, new PersonSerializer());
+        }
+    },
+
+    /** The PetSerializer found through @DefaultSerializer. */
+    ANNOTATED(Samples::pet) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(Pet.class);
+        }
+    },
+
+    /** Chair implements KryoSerializable. */
+    KRYO_SERIALIZABLE(Samples::chair) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(Chair.class);
+        }
+    },
+
+    /** The JavaSerializer for Recording. */
+    JAVA(Samples::recording) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(Recording.class, new JavaSerializer());
+        }
+    },
+
+    /** The native RecordingSerializer, for comparison with JAVA. */
+    RECORDING(Samples::recording) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(Recording.class, new RecordingSerializer());
+        }
+    },
+
+    /** The PersonValueSerializer, for comparison with CUSTOM. */
+    PERSON_VALUE(() -> PersonValue.from(Samples.person())) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(PersonValue.class, new PersonValueSerializer());
+        }
+    },
+
+    /** The PetValueSerializer, for comparison with ANNOTATED and PET_RECORD. */
+    PET_VALUE(() -> PetValue.from(Samples.pet())) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(PetValue.class, new PetValueSerializer());
+        }
+    },
+
+    /** Kryo's reflective RecordSerializer for the pet value. */
+    PET_RECORD(() -> PetValue.from(Samples.pet())) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(PetValue.class, new RecordSerializer<>(PetValue.class));
+        }
+    },
+
+    /** The RecordingValueSerializer, for comparison with RECORDING. */
+    RECORDING_VALUE(() -> RecordingValue.from(Samples.recording())) {
+        @Override
+        void register(final Kryo kryo) {
+            kryo.register(RecordingValue.class, new RecordingValueSerializer());
+        }
+    };
+
+    /** The sample object supplier. */
+    private final Supplier<Object> sampleSupplier;
+
+    /**
+     * The constructor.
+     *
+     * @param   sampleSupplier  java.util.function.Supplier&lt;java.lang.Object&gt;
+     */
+    Strategy(final Supplier<Object> sampleSupplier) {
+        this.sampleSupplier = sampleSupplier;
+    }
+
+    /**
+     * Register the classes that the strategy needs.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     */
+    abstract void register(final Kryo kryo);
+
+    /**
+     * Return a new sample object.
+     *
+     * @return  java.lang.Object
+     */
+    Object sample() {
+        return this.sampleSupplier.get();
+    }
+}
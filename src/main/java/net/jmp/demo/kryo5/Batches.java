@@ -0,0 +1,239 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)Batches.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.List;
+import java.util.Optional;
+
+import java.util.stream.Stream;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.batch.BatchReader;
+import net.jmp.demo.kryo5.batch.BatchWriter;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigBatch;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+
+/**
+ * The batches class.
+ */
+final class Batches {
+    /** The number of records in the batch. */
+    private static final int RECORDS = 200_000;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The configuration object. */
+    private final Config config;
+
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /** The batch configuration. */
+    private final ConfigBatch configBatch;
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    Batches(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.config = config;
+        this.engine = engine;
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+        this.configBatch = Optional.ofNullable(config.getConfigBatch()).orElseGet(ConfigBatch::new);
+    }
+
+    /**
+     * The execute method.
+     */
+    void execute() {
+        this.logger.entry();
+
+        final var directory = Paths.get(this.config.getConfigFiles().getBatches());
+        final var persons = this.generator.stream(Person.class, RECORDS).toList();
+
+        try {
+            Files.createDirectories(directory);
+
+            final var single = new ConfigBatch();
+
+            single.setParallelism(1);
+            single.setChunkSize(this.configBatch.getChunkSize());
+
+            this.write(persons, single, "persons-single.kbt");
+            this.write(persons, this.configBatch, "persons.kbt");
+
+            try (final var writer = new BatchWriter<>(this.engine, Person.class, this.configBatch)) {
+                final var start = System.nanoTime();
+                final var manifest = writer.writeSegments(persons, directory.resolve("persons"));
+                final var millis = (System.nanoTime() - start) / 1_000_000;
+
+                this.logger.info("Wrote {} persons as {} segments with {} workers in {} ms",
+                        manifest.getRecords(), manifest.getSegments().size(), writer.getParallelism(), millis);
+            }
+
+            this.read(persons, directory.resolve("persons.kbt"));
+            this.read(persons, directory.resolve("persons"));
+
+            this.compareDictionary(directory);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Write the persons to one file and log the time taken.
+     *
+     * @param   persons     java.util.List&lt;net.jmp.demo.kryo5.objects.Person&gt;
+     * @param   configBatch net.jmp.demo.kryo5.config.ConfigBatch
+     * @param   fileName    java.lang.String
+     * @throws  java.io.IOException When the file cannot be written
+     */
+    private void write(final List<Person> persons, final ConfigBatch configBatch, final String fileName) throws IOException {
+        final var file = Paths.get(this.config.getConfigFiles().getBatches(), fileName);
+
+        try (final var writer = new BatchWriter<>(this.engine, Person.class, configBatch)) {
+            final var start = System.nanoTime();
+            final var size = writer.write(persons, file);
+            final var millis = (System.nanoTime() - start) / 1_000_000;
+
+            this.logger.info("Wrote {} persons ({} bytes) in order to {} with {} workers in {} ms",
+                    persons.size(), size, file, writer.getParallelism(), millis);
+        }
+    }
+
+    /**
+     * Read a batch back in order and then unordered,
+     * checking the records and logging the time taken.
+     *
+     * @param   persons java.util.List&lt;net.jmp.demo.kryo5.objects.Person&gt;
+     * @param   path    java.nio.file.Path
+     * @throws  java.io.IOException When the batch cannot be read
+     */
+    private void read(final List<Person> persons, final Path path) throws IOException {
+        try (final var reader = new BatchReader<>(this.engine, Person.class, this.configBatch)) {
+            var start = System.nanoTime();
+
+            final boolean inOrder;
+
+            try (final Stream<Person> stream = reader.ordered(path)) {
+                inOrder = stream.toList().equals(persons);
+            }
+
+            final var orderedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+
+            final long count;
+
+            try (final Stream<Person> stream = reader.unordered(path)) {
+                count = stream.count();
+            }
+
+            final var unorderedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            if (inOrder && count == persons.size())
+                this.logger.info("Read {} persons from {} with {} workers in {} ms ordered and {} ms unordered",
+                        count, path, reader.getParallelism(), orderedMillis, unorderedMillis);
+            else
+                this.logger.warn("The persons read from {} do not match those written", path);
+        }
+    }
+
+    /**
+     * Write pets with and without a string dictionary
+     * per chunk and log the sizes and read times.
+     *
+     * @param   directory   java.nio.file.Path
+     * @throws  java.io.IOException When the batches cannot be written or read
+     */
+    private void compareDictionary(final Path directory) throws IOException {
+        final var pets = this.generator.stream(Pet.class, RECORDS).toList();
+
+        for (final var dictionary : new boolean[] {false, true}) {
+            final var configBatch = new ConfigBatch();
+
+            configBatch.setParallelism(this.configBatch.getParallelism());
+            configBatch.setChunkSize(this.configBatch.getChunkSize());
+            configBatch.setDictionary(dictionary);
+
+            final var file = directory.resolve(dictionary ? "pets-dictionary.kbt" : "pets.kbt");
+
+            final long size;
+
+            try (final var writer = new BatchWriter<>(this.engine, Pet.class, configBatch)) {
+                size = writer.write(pets, file);
+            }
+
+            try (final var reader = new BatchReader<>(this.engine, Pet.class, configBatch);
+                 final Stream<Pet> stream = reader.ordered(file)) {
+                final var start = System.nanoTime();
+                final var matches = stream.toList().equals(pets);
+                final var millis = (System.nanoTime() - start) / 1_000_000;
+
+                if (matches)
+                    this.logger.info("Pets {} a string dictionary: {} bytes, read in {} ms", dictionary ? "with" : "without", size, millis);
+                else
+                    this.logger.warn("The pets read from {} do not match those written", file);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)Columns.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import java.util.stream.IntStream;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.columnar.ColumnSchema;
+import net.jmp.demo.kryo5.columnar.ColumnarSerializer;
+
+import net.jmp.demo.kryo5.compress.DeflateCodec;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigCompression;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+
+/**
+ * The columns class.
+ */
+final class Columns {
+    /** The number of records in the batch. */
+    private static final int RECORDS = 100_000;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /** The compression configuration. */
+    private final ConfigCompression configCompression;
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    Columns(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.engine = engine;
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+        this.configCompression = Optional.ofNullable(config.getConfigCompression()).orElseGet(ConfigCompression::new);
+    }
+
+    /**
+     * The execute method.
+     */
+    void execute() {
+        this.logger.entry();
+
+        final var pets = this.generator.stream(Pet.class, RECORDS).toList();
+        final var persons = this.generator.stream(Person.class, RECORDS).toList();
+
+        this.compare("pets", pets, new ColumnarSerializer<>(ColumnSchema.pets()));
+        this.compare("persons", persons, new ColumnarSerializer<>(ColumnSchema.persons()));
+
+        this.logger.exit();
+    }
+
+    /**
+     * Write the records by row and by column, log the
+     * raw and deflated sizes, and then time reading
+     * the ages back both ways.
+     *
+     * @param   <T>         The type of record
+     * @param   label       java.lang.String
+     * @param   records     java.util.List&lt;T&gt;
+     * @param   serializer  net.jmp.demo.kryo5.columnar.ColumnarSerializer&lt;T&gt;
+     */
+    private <T> void compare(final String label, final List<T> records, final ColumnarSerializer<T> serializer) {
+        final var rows = new Output(1024 * 1024, -1);
+        final var columns = new Output(1024 * 1024, -1);
+
+        this.engine.run(kryo -> records.forEach(record -> kryo.writeObject(rows, record)));
+
+        serializer.write(columns, records);
+
+        this.logger.info("{} {} by row: {} bytes, {} deflated", records.size(), label, rows.position(), this.deflate(rows));
+        this.logger.info("{} {} by column: {} bytes, {} deflated", records.size(), label, columns.position(), this.deflate(columns));
+
+        var start = System.nanoTime();
+
+        final var type = serializer.getSchema().getType();
+        final var rowRecords = this.engine.execute(kryo -> {
+            final var input = new Input(rows.getBuffer(), 0, rows.position());
+
+            return IntStream.range(0, records.size()).mapToObj(i -> kryo.readObject(input, type)).toList();
+        });
+
+        final var rowMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+
+        final var ages = serializer.readInts(new Input(columns.getBuffer(), 0, columns.position()), "age");
+        final var scanMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+
+        final var columnRecords = serializer.read(new Input(columns.getBuffer(), 0, columns.position()));
+        final var columnMillis = (System.nanoTime() - start) / 1_000_000;
+
+        final var partial = serializer.read(new Input(columns.getBuffer(), 0, columns.position()), Set.of("name"));
+
+        if (rowRecords.equals(records) && columnRecords.equals(records) && partial.size() == records.size())
+            this.logger.info("Read {} {} in {} ms by row, {} ms by column; scanned {} ages (average {}) in {} ms",
+                    records.size(), label, rowMillis, columnMillis, ages.length,
+                    String.format("%.1f", IntStream.of(ages).average().orElse(0)), scanMillis);
+        else
+            this.logger.warn("The {} read back do not match those written", label);
+    }
+
+    /**
+     * Return the deflated size of the written bytes.
+     *
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     * @return          int
+     */
+    private int deflate(final Output output) {
+        final var target = new byte[output.position()];
+
+        try (final var codec = new DeflateCodec(this.configCompression.getLevel())) {
+            final var size = codec.compress(output.getBuffer(), output.position(), target);
+
+            return size < 0 ? output.position() : size;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)Datasets.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.io.ObjectFiles;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+/**
+ * The datasets class.
+ */
+final class Datasets {
+    /** The types of object generated. */
+    private static final List<Class<?>> TYPES = List.of(Person.class, Pet.class, Chair.class, Recording.class);
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The configuration object. */
+    private final Config config;
+
+    /** The object files. */
+    private final ObjectFiles files;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    Datasets(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.config = config;
+        this.files = new ObjectFiles(engine, config);
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+    }
+
+    /**
+     * The execute method. Streams a generated dataset
+     * of each type into its own file and reads it back,
+     * checking every object against the generator.
+     */
+    void execute() {
+        this.logger.entry();
+
+        final var directory = Paths.get(this.config.getConfigFiles().getDatasets());
+
+        try {
+            Files.createDirectories(directory);
+
+            for (final var type : TYPES)
+                this.writeAndRead(directory.resolve(type.getSimpleName().toLowerCase(Locale.ROOT) + ".dat").toString(), type);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Write the dataset of a type to a file and read it back.
+     *
+     * @param   <T>         The type of object
+     * @param   fileName    java.lang.String
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @throws  java.io.IOException When the file cannot be written or read
+     */
+    private <T> void writeAndRead(final String fileName, final Class<T> type) throws IOException {
+        this.logger.entry(fileName, type);
+
+        final var start = System.nanoTime();
+        final var written = this.generator.write(this.files, fileName, type);
+        final var millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        final var bytes = Files.size(Paths.get(fileName));
+
+        this.logger.info("Generated {} {} objects into {} ({} bytes) in {} ms, {} objects/s",
+                written, type.getSimpleName(), fileName, bytes, millis, written * 1_000 / millis);
+        this.logger.info("First {}: {}", type.getSimpleName(), this.generator.generate(type, 0));
+
+        final long[] mismatched = {0};
+        final var read = DatasetGenerator.read(this.files, fileName, type, (object, index) -> {
+            if (!object.equals(this.generator.generate(type, index)))
+                mismatched[0]++;
+        });
+
+        if (read == written && mismatched[0] == 0)
+            this.logger.info("Read {} {} objects back, all matching the generator", read, type.getSimpleName());
+        else
+            this.logger.warn("Read {} of {} {} objects back; {} do not match the generator",
+                    read, written, type.getSimpleName(), mismatched[0]);
+
+        this.logger.exit();
+    }
+}
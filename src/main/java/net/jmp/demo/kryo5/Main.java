@@ -1,12 +1,13 @@
 package net.jmp.demo.kryo5;
 
 /*
+ * (#)Main.java 0.5.0   10/18/2026
  * (#)Main.java 0.3.0   05/16/2024
  * (#)Main.java 0.2.0   05/15/2024
  * (#)Main.java 0.1.0   05/15/2024
  *
  * @author   Jonathan Parker
- * @version  0.3.0
+ * @version  0.5.0
  * @since    0.1.0
  *
  * MIT License
@@ -39,6 +40,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.LoggerFactory;
@@ -46,6 +50,27 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.ext.XLogger;
 
 import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigLoad;
+import net.jmp.demo.kryo5.config.ConfigWarmUp;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.ClassRegistry;
+import net.jmp.demo.kryo5.engine.KryoEngine;
+import net.jmp.demo.kryo5.engine.WarmUp;
+
+import net.jmp.demo.kryo5.load.LoadGenerator;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+import net.jmp.demo.kryo5.values.PersonValue;
+import net.jmp.demo.kryo5.values.PetValue;
+import net.jmp.demo.kryo5.values.RecordingValue;
 
 /**
  * The main class.
@@ -54,6 +79,17 @@ public final class Main {
     /** The default configuration file name. */
     private static final String DEFAULT_APP_CONFIG_FILE = "config/config.json";
 
+    /** The run mode that drives a sustained load instead of the demonstrations. */
+    private static final String LOAD_MODE = "load";
+
+    /** The types of object a load can be driven with, by simple class name. */
+    private static final Map<String, Class<?>> LOAD_TYPES = Map.of(
+            Person.class.getSimpleName(), Person.class,
+            Pet.class.getSimpleName(), Pet.class,
+            Chair.class.getSimpleName(), Chair.class,
+            Recording.class.getSimpleName(), Recording.class
+    );
+
     /** The logger. */
     private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
 
@@ -73,13 +109,99 @@ public final class Main {
         this.logger.info("Kryo5-Demo {}", Version.VERSION_STRING);
 
         this.getAppConfig().ifPresent(config -> {
-            new Objects(config).execute();
-            new Serializers(config).execute();
+            final var configEngine = Optional.ofNullable(config.getConfigEngine()).orElseGet(ConfigEngine::new);
+            final var configLoad = Optional.ofNullable(config.getConfigLoad()).orElseGet(ConfigLoad::new);
+            final var load = LOAD_MODE.equalsIgnoreCase(System.getProperty("app.mode", configLoad.isEnabled() ? LOAD_MODE : "demo"));
+
+            if (load && configLoad.getIoMode() != null)
+                configEngine.setIoMode(configLoad.getIoMode());
+
+            final var engine = new KryoEngine(configEngine);
+            final var generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+            final var configWarmUp = Optional.ofNullable(config.getConfigWarmUp()).orElseGet(ConfigWarmUp::new);
+
+            if (configWarmUp.isEnabled())
+                this.warmUp(engine, configWarmUp, generator);
+
+            if (load) {
+                this.load(engine, configLoad, generator);
+            } else {
+                new Objects(config, engine).execute();
+                new Serializers(config, engine).execute();
+                new RecordLogs(config, engine).execute();
+                new Batches(config, engine).execute();
+                new Columns(config, engine).execute();
+                new OffHeap(config, engine).execute();
+                new Views(config, engine).execute();
+                new WriteBehind(config, engine).execute();
+                new Server(config, engine).execute();
+                new Messaging(config, engine).execute();
+                new Datasets(config, engine).execute();
+                new Values(config, engine).execute();
+            }
+
+            if (this.logger.isInfoEnabled()) {
+                this.logger.info("Kryo pool  : {}", engine.getKryoStatistics());
+                this.logger.info("Output pool: {}", engine.getOutputStatistics());
+                this.logger.info("Input pool : {}", engine.getInputStatistics());
+            }
         });
 
         this.logger.exit();
     }
 
+    /**
+     * Warm the engine up on samples of every registered class.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   configWarmUp    net.jmp.demo.kryo5.config.ConfigWarmUp
+     * @param   generator       net.jmp.demo.kryo5.dataset.DatasetGenerator
+     */
+    private void warmUp(final KryoEngine engine, final ConfigWarmUp configWarmUp, final DatasetGenerator generator) {
+        this.logger.entry(configWarmUp, generator);
+
+        new WarmUp(engine, configWarmUp)
+                .sample(Person.class, () -> generator.generate(Person.class, 0))
+                .sample(Pet.class, () -> generator.generate(Pet.class, 0))
+                .sample(Chair.class, () -> generator.generate(Chair.class, 0))
+                .sample(Recording.class, () -> generator.generate(Recording.class, 0))
+                .sample(PersonValue.class, () -> PersonValue.from(generator.generate(Person.class, 0)))
+                .sample(PetValue.class, () -> PetValue.from(generator.generate(Pet.class, 0)))
+                .sample(RecordingValue.class, () -> RecordingValue.from(generator.generate(Recording.class, 0)))
+                .sample(ArrayList.class, () -> new ArrayList<>(List.of("one", "two", "three")))
+                .run(ClassRegistry.standard().getClasses());
+
+        this.logger.exit();
+    }
+
+    /**
+     * Drive a sustained load of the configured
+     * type of object through the engine.
+     *
+     * @param   engine      net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   configLoad  net.jmp.demo.kryo5.config.ConfigLoad
+     * @param   generator   net.jmp.demo.kryo5.dataset.DatasetGenerator
+     */
+    private void load(final KryoEngine engine, final ConfigLoad configLoad, final DatasetGenerator generator) {
+        this.logger.entry(configLoad, generator);
+
+        final var type = LOAD_TYPES.get(configLoad.getObjectType());
+
+        if (type == null) {
+            this.logger.error("Unknown load object type '{}'; expected one of {}", configLoad.getObjectType(), LOAD_TYPES.keySet());
+        } else {
+            try {
+                new LoadGenerator(engine, configLoad).run(index -> generator.generate(type, index));
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+
+                this.logger.catching(ie);
+            }
+        }
+
+        this.logger.exit();
+    }
+
     /**
      * Get the application configuration.
      *
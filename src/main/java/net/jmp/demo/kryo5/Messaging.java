@@ -0,0 +1,165 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)Messaging.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import java.util.concurrent.CompletableFuture;
+
+import java.util.function.Function;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+import net.jmp.demo.kryo5.config.ConfigMessaging;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Pet;
+
+import net.jmp.demo.kryo5.server.MessageClient;
+import net.jmp.demo.kryo5.server.MessageServer;
+
+/**
+ * The messaging class.
+ */
+final class Messaging {
+    /** The number of messages sent one round trip at a time. */
+    private static final int ROUND_TRIP_MESSAGES = 5_000;
+
+    /** The number of messages sent pipelined. */
+    private static final int PIPELINED_MESSAGES = 200_000;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /** The messaging configuration. */
+    private final ConfigMessaging configMessaging;
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    Messaging(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.engine = engine;
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+        this.configMessaging = Optional.ofNullable(config.getConfigMessaging()).orElseGet(ConfigMessaging::new);
+    }
+
+    /**
+     * The execute method. Echoes small chairs and pets
+     * over the local host, first waiting for each
+     * response and then pipelining the requests.
+     */
+    void execute() {
+        this.logger.entry();
+
+        try (final var server = new MessageServer(this.engine, this.configMessaging, Function.identity());
+             final var client = new MessageClient(this.engine, server.getAddress(), this.configMessaging)) {
+            /* One request per round trip */
+
+            var start = System.nanoTime();
+
+            for (int i = 0; i < ROUND_TRIP_MESSAGES; i++)
+                client.send(newMessage(i), Object.class).join();
+
+            this.log("one round trip at a time", ROUND_TRIP_MESSAGES, System.nanoTime() - start);
+
+            /* Pipelined */
+
+            final var frames = client.getFrameCount();
+            final List<CompletableFuture<Object>> futures = new ArrayList<>(PIPELINED_MESSAGES);
+
+            start = System.nanoTime();
+
+            for (int i = 0; i < PIPELINED_MESSAGES; i++)
+                futures.add(client.send(newMessage(i), Object.class));
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            this.log("pipelined", PIPELINED_MESSAGES, System.nanoTime() - start);
+            this.logger.info("Pipelined requests went {} to a frame on average",
+                    PIPELINED_MESSAGES / Math.max(1, client.getFrameCount() - frames));
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Log the rate of a run.
+     *
+     * @param   description java.lang.String
+     * @param   messages    int
+     * @param   nanos       long
+     */
+    private void log(final String description, final int messages, final long nanos) {
+        this.logger.info("Echoed {} messages {} in {} milliseconds; {} messages per second",
+                messages, description, nanos / 1_000_000, messages * 1_000_000_000L / Math.max(1, nanos));
+    }
+
+    /**
+     * Create the chair or pet with the given sequence number.
+     *
+     * @param   number  int
+     * @return          java.lang.Object
+     */
+    private Object newMessage(final int number) {
+        if (number % 2 == 0)
+            return this.generator.generate(Chair.class, number);
+
+        return this.generator.generate(Pet.class, number);
+    }
+}
@@ -1,10 +1,11 @@
 package net.jmp.demo.kryo5;
 
 /*
+ * (#)Objects.java  0.5.0   10/18/2026
  * (#)Objects.java  0.2.0   05/15/2024
  *
  * @author   Jonathan Parker
- * @version  0.2.0
+ * @version  0.5.0
  * @since    0.2.0
  *
  * MIT License
@@ -30,15 +31,9 @@ package net.jmp.demo.kryo5;
  * SOFTWARE.
  */
 
-import com.esotericsoftware.kryo.kryo5.Kryo;
 import com.esotericsoftware.kryo.kryo5.Registration;
 
-import com.esotericsoftware.kryo.kryo5.io.Input;
-import com.esotericsoftware.kryo.kryo5.io.Output;
-
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.IOException;
 
 import java.util.Date;
 
@@ -48,6 +43,10 @@ import org.slf4j.ext.XLogger;
 
 import net.jmp.demo.kryo5.config.Config;
 
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.io.ObjectFiles;
+
 /**
  * The objects class.
  */
@@ -58,20 +57,27 @@ final class Objects {
     /** The configuration object. */
     private final Config config;
 
-    /** The Kryo5 object. */
-    private final Kryo kryo = new Kryo();
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** Reads and writes the object files. */
+    private final ObjectFiles files;
 
     /**
      * The constructor.
      *
      * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
      */
-    Objects(final Config config) {
+    Objects(final Config config, final KryoEngine engine) {
         super();
 
         assert config != null;
+        assert engine != null;
 
         this.config = config;
+        this.engine = engine;
+        this.files = new ObjectFiles(engine, config);
     }
 
     /**
@@ -101,20 +107,18 @@ final class Objects {
         final Object object = "This is really a string";
         final String outputFileName = this.config.getConfigFiles().getMain();
 
-        this.kryo.register(Object.class);
-
         /* Registration */
 
-        final Registration registration = this.kryo.getRegistration(Object.class);
+        final Registration registration = this.engine.execute(kryo -> kryo.getRegistration(Object.class));
 
         if (this.logger.isInfoEnabled()) {
             this.logger.info("Registration ID for Object: {}", registration.getId());
         }
 
-        try (final var output = new Output(new FileOutputStream(outputFileName))) {
-            this.kryo.writeClassAndObject(output, object);
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        try {
+            this.files.write(outputFileName, (kryo, output) -> kryo.writeClassAndObject(output, object));
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         /*
@@ -122,15 +126,15 @@ final class Objects {
          * can be read from or a buffer underflow will likely occur.
          */
 
-        try (final var input = new Input(new FileInputStream(outputFileName))) {
-            final Object deserialized = this.kryo.readClassAndObject(input);
+        try {
+            final Object deserialized = this.files.read(outputFileName, (kryo, input) -> kryo.readClassAndObject(input));
 
             if (deserialized.equals(object))
                 this.logger.info("Serialized object and deserialized object match");
             else
                 this.logger.warn("Serialized object and deserialized object do not match");
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         this.logger.exit();
@@ -154,20 +158,19 @@ final class Objects {
 
         /* Serialize */
 
-        this.kryo.register(String.class);
-        this.kryo.register(Date.class);
-
-        try (final var output = new Output(new FileOutputStream(outputFileName))) {
-            this.kryo.writeObject(output, myString);
-            this.kryo.writeObject(output, myDate);
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        try {
+            this.files.write(outputFileName, (kryo, output) -> {
+                kryo.writeObject(output, myString);
+                kryo.writeObject(output, myDate);
+            });
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         /* Registration */
 
-        final var stringRegistration = this.kryo.getRegistration(String.class);
-        final var dateRegistration = this.kryo.getRegistration(Date.class);
+        final var stringRegistration = this.engine.execute(kryo -> kryo.getRegistration(String.class));
+        final var dateRegistration = this.engine.execute(kryo -> kryo.getRegistration(Date.class));
 
         if (this.logger.isInfoEnabled()) {
             this.logger.info("Registration ID for Date  : {}", dateRegistration.getId());
@@ -176,9 +179,11 @@ final class Objects {
 
         /* Deserialize */
 
-        try (final var input = new Input(new FileInputStream(outputFileName))) {
-            final var deserializedString = this.kryo.readObject(input, String.class);
-            final var deserializedDate = this.kryo.readObject(input, Date.class);
+        try {
+            final var deserialized = this.files.read(outputFileName, (kryo, input) ->
+                    new Object[] {kryo.readObject(input, String.class), kryo.readObject(input, Date.class)});
+            final var deserializedString = (String) deserialized[0];
+            final var deserializedDate = (Date) deserialized[1];
 
             if (deserializedString.equals(myString))
                 this.logger.info("Serialized string and deserialized string match");
@@ -189,8 +194,8 @@ final class Objects {
                 this.logger.info("Serialized date and deserialized date match");
             else
                 this.logger.warn("Serialized date and deserialized date do not match");
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         this.logger.exit();
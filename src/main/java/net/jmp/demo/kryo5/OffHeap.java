@@ -0,0 +1,131 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)OffHeap.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Optional;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+import net.jmp.demo.kryo5.config.ConfigOffHeap;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Person;
+
+import net.jmp.demo.kryo5.offheap.OffHeapStore;
+
+/**
+ * The off-heap class.
+ */
+final class OffHeap {
+    /** The number of persons stored. */
+    private static final int RECORDS = 500_000;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /** The off-heap configuration. */
+    private final ConfigOffHeap configOffHeap;
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    OffHeap(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.engine = engine;
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+        this.configOffHeap = Optional.ofNullable(config.getConfigOffHeap()).orElseGet(ConfigOffHeap::new);
+    }
+
+    /**
+     * The execute method.
+     */
+    void execute() {
+        this.logger.entry();
+
+        try (final var store = new OffHeapStore<>(this.engine, Person.class, this.configOffHeap)) {
+            var start = System.nanoTime();
+
+            for (int i = 0; i < RECORDS; i++)
+                store.put(i, this.generator.generate(Person.class, i));
+
+            final var putMillis = (System.nanoTime() - start) / 1_000_000;
+
+            this.logger.info("Stored {} persons in {} ms: {} bytes used of {} bytes of direct memory",
+                    store.size(), putMillis, store.getUsedBytes(), store.getAllocatedBytes());
+
+            start = System.nanoTime();
+
+            var found = 0;
+
+            for (int i = 0; i < RECORDS; i += 7) {
+                final var expected = this.generator.generate(Person.class, i);
+
+                if (store.get(i).filter(expected::equals).isPresent())
+                    found++;
+            }
+
+            final var getMillis = (System.nanoTime() - start) / 1_000_000;
+
+            for (int i = 0; i < RECORDS; i += 2)
+                store.remove(i);
+
+            final var garbage = store.getGarbageBytes();
+
+            store.compact();
+
+            this.logger.info("Read {} persons in {} ms; removed half and compacted {} bytes of garbage to {} bytes used",
+                    found, getMillis, garbage, store.getUsedBytes());
+            this.logger.info("Person {} is {}", RECORDS - 1, store.get(RECORDS - 1).orElse(null));
+        }
+
+        this.logger.exit();
+    }
+}
@@ -0,0 +1,232 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)RecordLogs.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.Optional;
+
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import java.util.stream.IntStream;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigCache;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+import net.jmp.demo.kryo5.config.ConfigRecordLog;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+
+import net.jmp.demo.kryo5.recordlog.RecordLog;
+import net.jmp.demo.kryo5.recordlog.RecordLogIndex;
+import net.jmp.demo.kryo5.recordlog.RecordLogReader;
+import net.jmp.demo.kryo5.recordlog.RecordLogWriter;
+
+/**
+ * The record logs class.
+ */
+final class RecordLogs {
+    /** The number of records appended to each log per run. */
+    private static final int RECORDS_PER_RUN = 100_000;
+
+    /** The number of repeated lookups of one key. */
+    private static final int LOOKUPS = 10_000;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The configuration object. */
+    private final Config config;
+
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /** The record log configuration. */
+    private final ConfigRecordLog configRecordLog;
+
+    /** The lookup cache configuration. */
+    private final ConfigCache configCache;
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    RecordLogs(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.config = config;
+        this.engine = engine;
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+        this.configRecordLog = Optional.ofNullable(config.getConfigRecordLog()).orElseGet(ConfigRecordLog::new);
+        this.configCache = Optional.ofNullable(config.getConfigCache()).orElseGet(ConfigCache::new);
+    }
+
+    /**
+     * The execute method.
+     */
+    void execute() {
+        this.logger.entry();
+
+        final var records = Paths.get(this.config.getConfigFiles().getRecords());
+
+        this.appendAndRead(records.resolve("persons"), Person.class, i -> this.generator.generate(Person.class, i), Person::getName);
+        this.appendAndRead(records.resolve("pets"), Pet.class, i -> this.generator.generate(Pet.class, i), Pet::getName);
+
+        this.logger.exit();
+    }
+
+    /**
+     * Append records to a log and then stream the
+     * whole log back, checking the records just added.
+     * Finally look one record up through the index.
+     *
+     * @param   <T>         The type of record
+     * @param   directory   java.nio.file.Path
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @param   factory     java.util.function.IntFunction&lt;T&gt;
+     * @param   key         java.util.function.Function&lt;T, java.lang.String&gt;
+     */
+    private <T> void appendAndRead(final Path directory,
+                                   final Class<T> type,
+                                   final IntFunction<T> factory,
+                                   final Function<T, String> key) {
+        this.logger.entry(directory, type, factory, key);
+
+        try {
+            final var checkFrom = this.countRecords(directory, type);
+
+            /* Append */
+
+            try (final var writer = new RecordLogWriter<>(this.engine, directory, this.configRecordLog, type, key)) {
+                for (int i = 0; i < RECORDS_PER_RUN; i++)
+                    writer.append(factory.apply(i));
+            }
+
+            /* Read everything back, checking the records just appended */
+
+            long total = 0;
+            long matched = 0;
+
+            try (final var reader = new RecordLogReader<>(this.engine, directory, type)) {
+                while (reader.hasNext()) {
+                    final T record = reader.next();
+
+                    if (total >= checkFrom && record.equals(factory.apply((int) (total - checkFrom))))
+                        matched++;
+
+                    total++;
+                }
+            }
+
+            if (matched == RECORDS_PER_RUN)
+                this.logger.info("Appended {} {} records and read them back; the log holds {} records in {} segments",
+                        matched, type.getSimpleName(), total, RecordLog.segments(directory).size());
+            else
+                this.logger.warn("{} of the appended {} records do not match", RECORDS_PER_RUN - matched, type.getSimpleName());
+
+            /* Look up the middle record by key, which later records may repeat */
+
+            final var name = key.apply(factory.apply(RECORDS_PER_RUN / 2));
+            final var expected = IntStream.range(RECORDS_PER_RUN / 2, RECORDS_PER_RUN)
+                    .mapToObj(factory)
+                    .filter(record -> key.apply(record).equals(name))
+                    .reduce((earlier, later) -> later)
+                    .orElseThrow();
+
+            try (final var index = new RecordLogIndex<>(this.engine, directory, type, key, this.configCache)) {
+                var start = System.nanoTime();
+                final var found = index.find(name);
+                final var micros = (System.nanoTime() - start) / 1_000;
+
+                if (found.isPresent() && found.get().equals(expected))
+                    this.logger.info("Found {} '{}' by key in {} microseconds", type.getSimpleName(), name, micros);
+                else
+                    this.logger.warn("{} '{}' was not found by key", type.getSimpleName(), name);
+
+                /* Look the same record up again, through the cache when one is configured */
+
+                start = System.nanoTime();
+
+                for (int i = 0; i < LOOKUPS; i++)
+                    index.find(name);
+
+                final var millis = (System.nanoTime() - start) / 1_000_000;
+
+                this.logger.info("Found {} '{}' {} more times in {} ms", type.getSimpleName(), name, LOOKUPS, millis);
+
+                final var statistics = index.getCacheStatistics();
+
+                if (statistics.isPresent())
+                    this.logger.info("Record lookup cache: {}", statistics.get());
+            }
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Count the records in a log.
+     *
+     * @param   <T>         The type of record
+     * @param   directory   java.nio.file.Path
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @return              long
+     * @throws  java.io.IOException When the log cannot be read
+     */
+    private <T> long countRecords(final Path directory, final Class<T> type) throws IOException {
+        try (final var records = new RecordLogReader<>(this.engine, directory, type).stream()) {
+            return records.count();
+        }
+    }
+}
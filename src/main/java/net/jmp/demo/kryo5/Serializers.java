@@ -1,11 +1,12 @@
 package net.jmp.demo.kryo5;
 
 /*
+ * (#)Serializers.java  0.5.0   10/18/2026
  * (#)Serializers.java  0.4.0   05/17/2024
  * (#)Serializers.java  0.3.0   05/16/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.5.0
  * @since    0.3.0
  *
  * MIT License
@@ -31,35 +32,34 @@ package net.jmp.demo.kryo5;
  * SOFTWARE.
  */
 
-import com.esotericsoftware.kryo.kryo5.Kryo;
-
-import com.esotericsoftware.kryo.kryo5.io.Input;
 import com.esotericsoftware.kryo.kryo5.io.Output;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import com.esotericsoftware.kryo.kryo5.serializers.FieldSerializer;
+import com.esotericsoftware.kryo.kryo5.serializers.JavaSerializer;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.Optional;
 
-import com.esotericsoftware.kryo.kryo5.serializers.JavaSerializer;
-import net.jmp.demo.kryo5.objects.Recording;
 import org.slf4j.LoggerFactory;
 
 import org.slf4j.ext.XLogger;
 
 import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
 
-import net.jmp.demo.kryo5.custom.PersonSerializer;
+import net.jmp.demo.kryo5.io.ObjectFiles;
 
 import net.jmp.demo.kryo5.objects.Chair;
 import net.jmp.demo.kryo5.objects.Person;
 import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+import net.jmp.demo.kryo5.values.PersonValue;
 
 /**
  * The serializers class.
@@ -71,20 +71,31 @@ final class Serializers {
     /** The configuration object. */
     private final Config config;
 
-    /** The Kryo5 object. */
-    private final Kryo kryo = new Kryo();
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** Reads and writes the object files. */
+    private final ObjectFiles files;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
 
     /**
      * The constructor.
      *
      * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
      */
-    Serializers(final Config config) {
+    Serializers(final Config config, final KryoEngine engine) {
         super();
 
         assert config != null;
+        assert engine != null;
 
         this.config = config;
+        this.engine = engine;
+        this.files = new ObjectFiles(engine, config);
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
     }
 
     /**
@@ -98,6 +109,8 @@ final class Serializers {
         this.annotatedDefaultSerializer();
         this.kryoSerializable();
         this.javaSerializer();
+        this.recordingSerializer();
+        this.cachedReads();
 
         this.logger.exit();
     }
@@ -108,48 +121,35 @@ final class Serializers {
     private void defaultSerializer() {
         this.logger.entry();
 
-        final var name = "Jonathan Martin";
-        final var person = new Person();
-
-        try {
-            person.setAge(62);
-            person.setBirthday(new SimpleDateFormat("MM/dd/yyyy").parse("02/05/1962"));
-            person.setName(name);
-        } catch (final ParseException pe) {
-            this.logger.catching(pe);
-        }
-
-        /* Make sure that person is fully set up */
-
-        assert person.getAge() == 62;
-        assert person.getBirthday() != null;
-        assert person.getName().equals(name);
+        final var person = this.generator.generate(Person.class, 0);
 
         final var outputFileName = this.config.getConfigFiles().getMain();
 
-        /* Serialize person */
+        /*
+         * The engine registers Person with its custom
+         * serializer, so the FieldSerializer is passed
+         * explicitly on both the write and the read.
+         */
 
-        this.kryo.register(Person.class);
-        this.kryo.register(Date.class);
-        this.kryo.register(String.class);
+        /* Serialize person */
 
-        try (final var output = new Output(new FileOutputStream(outputFileName))) {
-            this.kryo.writeObject(output, person);
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        try {
+            this.files.write(outputFileName, (kryo, output) -> kryo.writeObject(output, person, new FieldSerializer<>(kryo, Person.class)));
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         /* Deserialize */
 
-        try (final var input = new Input(new FileInputStream(outputFileName))) {
-            final var deserializedPerson = this.kryo.readObject(input, Person.class);
+        try {
+            final var deserializedPerson = this.files.read(outputFileName, (kryo, input) -> kryo.readObject(input, Person.class, new FieldSerializer<>(kryo, Person.class)));
 
             if (deserializedPerson.equals(person))
                 this.logger.info("Serialized person and deserialized person match");
             else
                 this.logger.warn("Serialized person and deserialized person do not match");
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         this.logger.exit();
@@ -161,41 +161,24 @@ final class Serializers {
     private void customSerializer() {
         this.logger.entry();
 
-        final var name = "Wendy Carol";
-        final var person = new Person();
-
-        try {
-            person.setAge(60);
-            person.setBirthday(new SimpleDateFormat("MM/dd/yyyy").parse("12/08/1963"));
-            person.setName(name);
-        } catch (final ParseException pe) {
-            this.logger.catching(pe);
-        }
-
-        /* Make sure that person is fully set up */
-
-        assert person.getAge() == 60;
-        assert person.getBirthday() != null;
-        assert person.getName().equals(name);
+        final var person = this.generator.generate(Person.class, 1);
 
         final var outputFileName = this.config.getConfigFiles().getMain();
 
-        /* Register the custom serializer */
-
-        this.kryo.register(Person.class, new PersonSerializer());
+        /* The engine registers Person with the custom serializer */
 
         /* Serialize person */
 
-        try (final var output = new Output(new FileOutputStream(outputFileName))) {
-            this.kryo.writeObject(output, person);
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        try {
+            this.files.write(outputFileName, (kryo, output) -> kryo.writeObject(output, person));
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         /* Deserialize */
 
-        try (final var input = new Input(new FileInputStream(outputFileName))) {
-            final var deserializedPerson = this.kryo.readObject(input, Person.class);
+        try {
+            final var deserializedPerson = this.files.read(outputFileName, Person.class);
 
             if (deserializedPerson.equals(person))
                 this.logger.info("Serialized person and deserialized person match");
@@ -207,8 +190,8 @@ final class Serializers {
                     this.logger.debug("deserialized: {}", deserializedPerson.toString());
                 }
             }
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         this.logger.exit();
@@ -223,29 +206,22 @@ final class Serializers {
     private void annotatedDefaultSerializer() {
         this.logger.entry();
 
-        final var pet = new Pet();
-
-        pet.setAge(12);
-        pet.setName("Lady");
-        pet.setColor("Black & tan");
-        pet.setType("German Shepherd Dog");
+        final var pet = this.generator.generate(Pet.class, 0);
 
         final var outputFileName = this.config.getConfigFiles().getMain();
 
         /* Serialize pet */
 
-        this.kryo.register(Pet.class);
-
-        try (final var output = new Output(new FileOutputStream(outputFileName))) {
-            this.kryo.writeObject(output, pet);
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        try {
+            this.files.write(outputFileName, (kryo, output) -> kryo.writeObject(output, pet));
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         /* Deserialize */
 
-        try (final var input = new Input(new FileInputStream(outputFileName))) {
-            final var deserializedPet = this.kryo.readObject(input, Pet.class);
+        try {
+            final var deserializedPet = this.files.read(outputFileName, Pet.class);
 
             if (deserializedPet.equals(pet))
                 this.logger.info("Serialized pet and deserialized pet match");
@@ -257,8 +233,8 @@ final class Serializers {
                     this.logger.debug("deserialized: {}", deserializedPet.toString());
                 }
             }
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         this.logger.exit();
@@ -270,27 +246,22 @@ final class Serializers {
     private void kryoSerializable() {
         this.logger.entry();
 
-        final var chair = new Chair();
-
-        chair.setColor("Black");
-        chair.setHasWheels(true);
+        final var chair = this.generator.generate(Chair.class, 0);
 
         final var outputFileName = this.config.getConfigFiles().getMain();
 
         /* Serialize chair */
 
-        this.kryo.register(Chair.class);
-
-        try (final var output = new Output(new FileOutputStream(outputFileName))) {
-            this.kryo.writeObject(output, chair);
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        try {
+            this.files.write(outputFileName, (kryo, output) -> kryo.writeObject(output, chair));
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         /* Deserialize */
 
-        try (final var input = new Input(new FileInputStream(outputFileName))) {
-            final var deserializedChair = this.kryo.readObject(input, Chair.class);
+        try {
+            final var deserializedChair = this.files.read(outputFileName, Chair.class);
 
             if (deserializedChair.equals(chair))
                 this.logger.info("Serialized chair and deserialized chair match");
@@ -302,8 +273,8 @@ final class Serializers {
                     this.logger.debug("deserialized: {}", deserializedChair.toString());
                 }
             }
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         this.logger.exit();
@@ -311,39 +282,69 @@ final class Serializers {
 
     /**
      * Use the standard Java serializable interface.
+     * The recording is read back through the engine's
+     * RecordingSerializer, which still understands
+     * the JavaSerializer encoding.
      */
     private void javaSerializer() {
         this.logger.entry();
 
-        final Recording recording = new Recording();
-        final List<String> artists = new ArrayList<>();
+        final var recording = this.generator.generate(Recording.class, 0);
+        final var outputFileName = this.config.getConfigFiles().getMain();
 
-        artists.add("Elsa Dreisig");
-        artists.add("Mathilde Calderini");
-        artists.add("Anna Besson");
-        artists.add("Scarlett Strallen");
+        /* Serialize recording with the JavaSerializer */
 
-        recording.setArtists(artists);
-        recording.setLabel("Decca Classics");
-        recording.setTitle("A Musical Potpurri");
-        recording.setTimeInMinutes(69);
+        try {
+            this.files.write(outputFileName, (kryo, output) -> kryo.writeObject(output, recording, new JavaSerializer()));
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
 
-        final var outputFileName = this.config.getConfigFiles().getMain();
+        /* Deserialize */
+
+        try {
+            final var deserializedRecording = this.files.read(outputFileName, (kryo, input) -> kryo.readObject(input, Recording.class));
+
+            if (deserializedRecording.equals(recording))
+                this.logger.info("Serialized recording and deserialized recording match");
+            else {
+                this.logger.warn("Serialized recording and deserialized recording do not match");
 
-        /* Serialize recording */
+                if (this.logger.isDebugEnabled()) {
+                    this.logger.debug("recording   : {}", recording.toString());
+                    this.logger.debug("deserialized: {}", deserializedRecording.toString());
+                }
+            }
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
 
-        this.kryo.register(Recording.class, new JavaSerializer());
+        this.logger.exit();
+    }
 
-        try (final var output = new Output(new FileOutputStream(outputFileName))) {
-            this.kryo.writeObject(output, recording);
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+    /**
+     * Use the native recording serializer
+     * and compare its output to that of
+     * the JavaSerializer.
+     */
+    private void recordingSerializer() {
+        this.logger.entry();
+
+        final var recording = this.generator.generate(Recording.class, 0);
+        final var outputFileName = this.config.getConfigFiles().getMain();
+
+        /* Serialize recording; the engine registers Recording with the RecordingSerializer */
+
+        try {
+            this.files.write(outputFileName, (kryo, output) -> kryo.writeObject(output, recording));
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
         /* Deserialize */
 
-        try (final var input = new Input(new FileInputStream(outputFileName))) {
-            final var deserializedRecording = this.kryo.readObject(input, Recording.class);
+        try {
+            final var deserializedRecording = this.files.read(outputFileName, Recording.class);
 
             if (deserializedRecording.equals(recording))
                 this.logger.info("Serialized recording and deserialized recording match");
@@ -355,10 +356,63 @@ final class Serializers {
                     this.logger.debug("deserialized: {}", deserializedRecording.toString());
                 }
             }
-        } catch (final FileNotFoundException fnfe) {
-            this.logger.catching(fnfe);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
         }
 
+        /* Compare the encoded sizes */
+
+        if (this.logger.isInfoEnabled()) {
+            final var nativeSize = this.engine.serialize(recording).length;
+            final var javaSize = this.engine.execute(kryo -> {
+                final var output = new Output(256, -1);
+
+                kryo.writeObject(output, recording, new JavaSerializer());
+
+                return output.position();
+            });
+
+            this.logger.info("Recording bytes - RecordingSerializer: {}, JavaSerializer: {}", nativeSize, javaSize);
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Read the same person value many times, through
+     * the read-through cache when one is configured.
+     * Being immutable, a cache of objects decodes it once.
+     */
+    private void cachedReads() {
+        this.logger.entry();
+
+        final var person = PersonValue.from(this.generator.generate(Person.class, 0));
+
+        final var outputFileName = this.config.getConfigFiles().getMain();
+
+        try {
+            this.files.write(outputFileName, (kryo, output) -> kryo.writeObject(output, person));
+
+            final var start = System.nanoTime();
+
+            var matches = 0;
+
+            for (int i = 0; i < 10_000; i++)
+                if (this.files.read(outputFileName, PersonValue.class).equals(person))
+                    matches++;
+
+            final var millis = (System.nanoTime() - start) / 1_000_000;
+
+            this.logger.info("Read {} of {} matching persons in {} ms", matches, 10_000, millis);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
+
+        final var statistics = this.files.getCacheStatistics();
+
+        if (statistics.isPresent())
+            this.logger.info("Object file cache: {}", statistics.get());
+
         this.logger.exit();
     }
 }
@@ -0,0 +1,189 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)Server.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Paths;
+
+import java.util.Map;
+import java.util.Optional;
+
+import java.util.function.Function;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+import net.jmp.demo.kryo5.config.ConfigServer;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+
+import net.jmp.demo.kryo5.recordlog.RecordLogIndex;
+
+import net.jmp.demo.kryo5.server.RecordClient;
+import net.jmp.demo.kryo5.server.RecordServer;
+
+/**
+ * The record server class.
+ */
+final class Server {
+    /** The number of records fetched by the range request. */
+    private static final int RANGE_RECORDS = 1_000;
+
+    /** The number of records the record logs class appends per run. */
+    private static final int RECORDS_PER_RUN = 100_000;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The configuration object. */
+    private final Config config;
+
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /** The record server configuration. */
+    private final ConfigServer configServer;
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    Server(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.config = config;
+        this.engine = engine;
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+        this.configServer = Optional.ofNullable(config.getConfigServer()).orElseGet(ConfigServer::new);
+    }
+
+    /**
+     * The execute method. Serves the person and pet
+     * record logs on the local host and fetches from
+     * them over a connection to the server.
+     */
+    void execute() {
+        this.logger.entry();
+
+        final var records = Paths.get(this.config.getConfigFiles().getRecords());
+
+        try (final var persons = new RecordLogIndex<>(this.engine, records.resolve("persons"), Person.class, Person::getName);
+             final var pets = new RecordLogIndex<>(this.engine, records.resolve("pets"), Pet.class, Pet::getName);
+             final var server = new RecordServer(this.engine, this.configServer, Map.of("persons", persons, "pets", pets));
+             final var client = new RecordClient(this.engine, server.getAddress())) {
+            this.logger.info("Serving record logs at {}", server.getAddress());
+
+            this.fetch(client, "persons", persons, Person.class, Person::getName);
+            this.fetch(client, "pets", pets, Pet.class, Pet::getName);
+
+            this.logger.info("Answered {} requests, transferring {} record bytes from the logs",
+                    server.getRequestCount(), server.getTransferredBytes());
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Get the middle record of the last run by key and
+     * the last records of the log by range, checking
+     * them against the records the last run appended.
+     *
+     * @param   <T>     The type of record
+     * @param   client  net.jmp.demo.kryo5.server.RecordClient
+     * @param   log     java.lang.String
+     * @param   index   net.jmp.demo.kryo5.recordlog.RecordLogIndex&lt;T&gt;
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @param   key     java.util.function.Function&lt;T, java.lang.String&gt;
+     * @throws  java.io.IOException When the server cannot be used
+     */
+    private <T> void fetch(final RecordClient client,
+                           final String log,
+                           final RecordLogIndex<T> index,
+                           final Class<T> type,
+                           final Function<T, String> key) throws IOException {
+        this.logger.entry(client, log, index, type, key);
+
+        final var name = key.apply(this.generator.generate(type, RECORDS_PER_RUN / 2));
+
+        var start = System.nanoTime();
+
+        final var found = client.get(log, type, key, name);
+
+        var micros = (System.nanoTime() - start) / 1_000;
+
+        if (found.isPresent())
+            this.logger.info("Got {} '{}' from the server in {} microseconds", type.getSimpleName(), name, micros);
+        else
+            this.logger.warn("{} '{}' was not found by the server", type.getSimpleName(), name);
+
+        final var first = Math.max(0, index.getRecordCount() - RANGE_RECORDS);
+
+        start = System.nanoTime();
+
+        final var range = client.range(log, type, first, RANGE_RECORDS);
+
+        micros = (System.nanoTime() - start) / 1_000;
+
+        var matched = 0;
+
+        for (int i = 0; i < range.size(); i++) {
+            if (range.get(i).equals(this.generator.generate(type, RECORDS_PER_RUN - range.size() + i)))
+                matched++;
+        }
+
+        if (matched == RANGE_RECORDS)
+            this.logger.info("Got the last {} {} records from the server by range in {} microseconds", matched, type.getSimpleName(), micros);
+        else
+            this.logger.warn("{} of the last {} {} records from the server do not match",
+                    RANGE_RECORDS - matched, RANGE_RECORDS, type.getSimpleName());
+
+        this.logger.exit();
+    }
+}
@@ -0,0 +1,227 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)Values.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.lang.management.ManagementFactory;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import java.util.function.Function;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+import net.jmp.demo.kryo5.values.PersonValue;
+import net.jmp.demo.kryo5.values.PetValue;
+import net.jmp.demo.kryo5.values.RecordingValue;
+
+/**
+ * The values class.
+ */
+final class Values {
+    /** The fewest collections before the heap in use is read. */
+    private static final int MIN_COLLECTIONS = 3;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /** Counts the bytes allocated by the current thread. */
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    Values(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.engine = engine;
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+    }
+
+    /**
+     * The execute method. Serializes a generated
+     * dataset of each type and deserializes the same
+     * bytes into the mutable class and into its
+     * immutable value, comparing their heap footprints.
+     */
+    void execute() {
+        this.logger.entry();
+
+        this.compare(Person.class, PersonValue.class, PersonValue::from);
+        this.compare(Pet.class, PetValue.class, PetValue::from);
+        this.compare(Recording.class, RecordingValue.class, RecordingValue::from);
+
+        this.logger.exit();
+    }
+
+    /**
+     * Deserialize the dataset of a class as objects
+     * and as values, log the bytes allocated and kept
+     * per object and check the values against the
+     * converted objects.
+     *
+     * @param   <B>         The mutable class
+     * @param   <V>         The value class
+     * @param   beanType    java.lang.Class&lt;B&gt;
+     * @param   valueType   java.lang.Class&lt;V&gt;
+     * @param   converter   java.util.function.Function&lt;B, V&gt;
+     */
+    private <B, V> void compare(final Class<B> beanType, final Class<V> valueType, final Function<B, V> converter) {
+        this.logger.entry(beanType, valueType, converter);
+
+        final var count = (int) this.generator.getCount();
+        final var bytes = this.encode(beanType);
+        final var beans = new Object[count];
+        final var values = new Object[count];
+        final var beanAllocated = this.decode(bytes, beanType, beans);
+        final var valueAllocated = this.decode(bytes, valueType, values);
+
+        int matched = 0;
+
+        for (int i = 0; i < count; i++)
+            if (values[i].equals(converter.apply(beanType.cast(beans[i]))))
+                matched++;
+
+        /* Measure what each kind keeps by releasing them in turn */
+
+        final var usedByBoth = usedHeap();
+
+        Arrays.fill(beans, null);
+
+        final var usedByValues = usedHeap();
+
+        Arrays.fill(values, null);
+
+        final var beanKept = usedByBoth - usedByValues;
+        final var valueKept = usedByValues - usedHeap();
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("{} from {} bytes: allocates {} and keeps {} bytes per object",
+                    beanType.getSimpleName(), bytes.length, beanAllocated / count, beanKept / count);
+            this.logger.info("{} from the same bytes: allocates {} and keeps {} bytes per object",
+                    valueType.getSimpleName(), valueAllocated / count, valueKept / count);
+        }
+
+        if (matched == count)
+            this.logger.info("All {} {} values equal their converted {} objects", count, valueType.getSimpleName(), beanType.getSimpleName());
+        else
+            this.logger.warn("{} of {} {} values differ from their converted {} objects",
+                    count - matched, count, valueType.getSimpleName(), beanType.getSimpleName());
+
+        this.logger.exit();
+    }
+
+    /**
+     * Serialize the dataset of a class.
+     *
+     * @param   type    java.lang.Class&lt;?&gt;
+     * @return          byte[]
+     */
+    private byte[] encode(final Class<?> type) {
+        final var output = this.engine.newOutput(1024 * 1024, -1);
+
+        this.engine.run(kryo -> this.generator.stream(type).forEach(object -> kryo.writeObject(output, object)));
+
+        return output.toBytes();
+    }
+
+    /**
+     * Decode every object in the bytes into an array
+     * and return the bytes allocated while decoding.
+     *
+     * @param   bytes   byte[]
+     * @param   type    java.lang.Class&lt;?&gt;
+     * @param   objects java.lang.Object[]
+     * @return          long
+     */
+    private long decode(final byte[] bytes, final Class<?> type, final Object[] objects) {
+        final var input = this.engine.newInput(bytes);
+        final var allocatedBefore = this.threads.getCurrentThreadAllocatedBytes();
+
+        this.engine.run(kryo -> {
+            for (int i = 0; i < objects.length; i++)
+                objects[i] = kryo.readObject(input, type);
+        });
+
+        return this.threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+    }
+
+    /**
+     * Return the heap in use once collections stop
+     * freeing anything. Buffers that are released
+     * through reference processing only become garbage
+     * after the collection that discovers them.
+     *
+     * @return  long
+     */
+    private static long usedHeap() {
+        final var runtime = Runtime.getRuntime();
+
+        long used = Long.MAX_VALUE;
+        long previous;
+        int collections = 0;
+
+        do {
+            previous = used;
+
+            System.gc();
+
+            used = runtime.totalMemory() - runtime.freeMemory();
+        } while (used < previous - 1024 || ++collections < MIN_COLLECTIONS);
+
+        return used;
+    }
+}
@@ -1,13 +1,14 @@
 package net.jmp.demo.kryo5;
 
 /*
+ * (#)Version.java  0.5.0   10/18/2026
  * (#)Version.java  0.4.0   05/17/2024
  * (#)Version.java  0.3.0   05/16/2024
  * (#)Version.java  0.2.0   05/15/2024
  * (#)Version.java  0.1.0   05/15/2024
  *
  * @author    Jonathan Parker
- * @version   0.4.0
+ * @version   0.5.0
  * @since     0.1.0
  *
  * MIT License
@@ -38,7 +39,7 @@ package net.jmp.demo.kryo5;
  */
 final class Version {
     /** The version. */
-    static final String VERSION_STRING = "0.4.0";
+    static final String VERSION_STRING = "0.5.0";
 
     /**
      * The default constructor.
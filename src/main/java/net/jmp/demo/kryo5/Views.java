@@ -0,0 +1,124 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)Views.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+
+import net.jmp.demo.kryo5.custom.PersonView;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Person;
+
+/**
+ * The views class.
+ */
+final class Views {
+    /** The number of serialized persons. */
+    private static final int RECORDS = 200_000;
+
+    /** The age filtered on. */
+    private static final int MIN_AGE = 90;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    Views(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.engine = engine;
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+    }
+
+    /**
+     * The execute method.
+     */
+    void execute() {
+        this.logger.entry();
+
+        final List<byte[]> records = this.generator.stream(Person.class, RECORDS)
+                .map(this.engine::serialize)
+                .toList();
+
+        var start = System.nanoTime();
+
+        final var decoded = records.stream()
+                .map(bytes -> this.engine.deserialize(bytes, Person.class))
+                .filter(person -> person.getAge() >= MIN_AGE)
+                .map(Person::getName)
+                .toList();
+
+        final var decodedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+
+        final var view = new PersonView();
+        final var viewed = records.stream()
+                .filter(bytes -> view.reset(bytes).getAge() >= MIN_AGE)
+                .map(bytes -> view.reset(bytes).getName())
+                .toList();
+
+        final var viewedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        if (viewed.equals(decoded))
+            this.logger.info("Found {} of {} persons aged {} or more in {} ms decoding them and {} ms through a view",
+                    viewed.size(), RECORDS, MIN_AGE, decodedMillis, viewedMillis);
+        else
+            this.logger.warn("The persons found through a view do not match those found by decoding them");
+
+        this.logger.exit();
+    }
+}
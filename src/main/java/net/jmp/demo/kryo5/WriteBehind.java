@@ -0,0 +1,180 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)WriteBehind.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigDataset;
+import net.jmp.demo.kryo5.config.ConfigWriteBehind;
+
+import net.jmp.demo.kryo5.dataset.DatasetGenerator;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.io.WriteBehindWriter;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+/**
+ * The write-behind class.
+ */
+final class WriteBehind {
+    /** The number of objects written. */
+    private static final int OBJECTS = 100_000;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The configuration object. */
+    private final Config config;
+
+    /** The shared serialization engine. */
+    private final KryoEngine engine;
+
+    /** The dataset generator. */
+    private final DatasetGenerator generator;
+
+    /** The write-behind configuration. */
+    private final ConfigWriteBehind configWriteBehind;
+
+    /**
+     * The constructor.
+     *
+     * @param   config  net.jmp.demo.kryo5.Config
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    WriteBehind(final Config config, final KryoEngine engine) {
+        super();
+
+        assert config != null;
+        assert engine != null;
+
+        this.config = config;
+        this.engine = engine;
+        this.generator = new DatasetGenerator(Optional.ofNullable(config.getConfigDataset()).orElseGet(ConfigDataset::new));
+        this.configWriteBehind = Optional.ofNullable(config.getConfigWriteBehind()).orElseGet(ConfigWriteBehind::new);
+    }
+
+    /**
+     * The execute method.
+     */
+    void execute() {
+        this.logger.entry();
+
+        final var file = Paths.get(this.config.getConfigFiles().getWriteBehind());
+
+        try {
+            Files.deleteIfExists(file);
+
+            final List<CompletableFuture<Void>> futures = new ArrayList<>(OBJECTS);
+
+            long totalNanos = 0;
+            long maxNanos = 0;
+
+            try (final var writer = new WriteBehindWriter(this.engine, file, this.configWriteBehind)) {
+                final var start = System.nanoTime();
+
+                for (int i = 0; i < OBJECTS; i++) {
+                    final var object = newObject(i);
+                    final var before = System.nanoTime();
+
+                    futures.add(writer.write(object));
+
+                    final var nanos = System.nanoTime() - before;
+
+                    totalNanos += nanos;
+                    maxNanos = Math.max(maxNanos, nanos);
+                }
+
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+                final var millis = (System.nanoTime() - start) / 1_000_000;
+
+                this.logger.info("Committed {} objects in {} batches (fsync {}) in {} ms",
+                        writer.getObjectCount(), writer.getBatchCount(), this.configWriteBehind.isFsync(), millis);
+                this.logger.info("Producer latency: mean {} ns, max {} us", totalNanos / OBJECTS, maxNanos / 1_000);
+            }
+
+            final int read = WriteBehindWriter.read(this.engine, file, (kryo, input) -> {
+                int count = 0;
+
+                while (!input.end()) {
+                    kryo.readClassAndObject(input);
+                    count++;
+                }
+
+                return count;
+            });
+
+            if (read == OBJECTS)
+                this.logger.info("Read {} objects back from {}", read, file);
+            else
+                this.logger.warn("Read {} objects back from {} instead of {}", read, file, OBJECTS);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Create a person, pet, chair or recording
+     * depending on the sequence number.
+     *
+     * @param   number  int
+     * @return          java.lang.Object
+     */
+    private Object newObject(final int number) {
+        return switch (number % 4) {
+            case 0 -> this.generator.generate(Person.class, number);
+            case 1 -> this.generator.generate(Pet.class, number);
+            case 2 -> this.generator.generate(Chair.class, number);
+            default -> this.generator.generate(Recording.class, number);
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package net.jmp.demo.kryo5.batch;
+
+/*
+ * (#)BatchChunk.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The encoded records of one chunk of a batch.
+ */
+final class BatchChunk {
+    /** The number of records. */
+    private final int count;
+
+    /** The encoded records. */
+    private final byte[] bytes;
+
+    /** The number of bytes used. */
+    private final int length;
+
+    /**
+     * The constructor.
+     *
+     * @param   count   int
+     * @param   bytes   byte[]
+     * @param   length  int
+     */
+    BatchChunk(final int count, final byte[] bytes, final int length) {
+        super();
+
+        this.count = count;
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    /**
+     * Get the number of records.
+     *
+     * @return  int
+     */
+    int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Get the encoded records.
+     *
+     * @return  byte[]
+     */
+    byte[] getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Get the number of bytes used.
+     *
+     * @return  int
+     */
+    int getLength() {
+        return this.length;
+    }
+}
@@ -0,0 +1,211 @@
+package net.jmp.demo.kryo5.batch;
+
+/*
+ * (#)BatchFile.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import net.jmp.demo.kryo5.engine.FormatFlags;
+
+/**
+ * The layout of a batch file.
+ *
+ * A batch file starts with a header:
+ *
+ *   int  magic ('KBAT')
+ *   byte version
+ *   byte flags (dictionary, compact records and the engine's format flags)
+ *
+ * followed by chunks that can each be decoded on
+ * their own, each with a header:
+ *
+ *   int  record count
+ *   int  payload length
+ *
+ * The payload holds the Kryo encoding of the records
+ * one after the other. When the dictionary flag is set
+ * the payload starts with the string dictionary of the
+ * chunk, which the records' repeated strings refer to.
+ * The compact flag says that those records are in the
+ * compact format version 2; files written before it
+ * was added hold version 1 records.
+ * A batch written as segments is
+ * a directory of batch files and a JSON manifest that
+ * lists them in order.
+ */
+public final class BatchFile {
+    /** The batch file magic number. */
+    static final int MAGIC = 0x4B424154;
+
+    /** The format version. */
+    static final byte VERSION = 1;
+
+    /** The flag of a file whose chunks start with a string dictionary. */
+    static final byte FLAG_DICTIONARY = 1;
+
+    /** The flag of a file whose records are in the compact format version 2. */
+    static final byte FLAG_COMPACT = 2;
+
+    /** The name of the manifest of a segmented batch. */
+    static final String MANIFEST = "manifest.json";
+
+    /** Reads and writes manifests. */
+    static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * The default constructor.
+     */
+    private BatchFile() {
+        super();
+    }
+
+    /**
+     * Return the path of a segment of a segmented batch.
+     *
+     * @param   directory   java.nio.file.Path
+     * @param   number      int
+     * @return              java.nio.file.Path
+     */
+    static Path segmentPath(final Path directory, final int number) {
+        return directory.resolve(String.format("part-%05d.kbt", number));
+    }
+
+    /**
+     * Write the file header.
+     *
+     * @param   stream  java.io.DataOutputStream
+     * @param   flags   byte
+     * @throws  java.io.IOException When the header cannot be written
+     */
+    static void writeHeader(final DataOutputStream stream, final byte flags) throws IOException {
+        stream.writeInt(MAGIC);
+        stream.writeByte(VERSION);
+        stream.writeByte(flags);
+    }
+
+    /**
+     * Read and check the file header, refusing a
+     * file whose records were written in another
+     * byte order or integer encoding.
+     *
+     * @param   stream      java.io.DataInputStream
+     * @param   file        java.nio.file.Path
+     * @param   formatFlags byte    The format flags of the engine
+     * @return              byte    The file flags
+     * @throws  java.io.IOException When the header is not valid
+     */
+    static byte readHeader(final DataInputStream stream, final Path file, final byte formatFlags) throws IOException {
+        final int magic;
+        final byte version;
+        final byte flags;
+
+        try {
+            magic = stream.readInt();
+            version = stream.readByte();
+            flags = stream.readByte();
+        } catch (final EOFException eofe) {
+            throw new IOException("Batch file header is incomplete: " + file, eofe);
+        }
+
+        if (magic != MAGIC)
+            throw new IOException("Not a batch file: " + file);
+
+        if (version != VERSION)
+            throw new IOException("Unsupported batch file version " + version + ": " + file);
+
+        if (!FormatFlags.compatible(flags, formatFlags))
+            throw new IOException("Batch file was written with " + FormatFlags.describe(flags) +
+                    " and cannot be read with " + FormatFlags.describe(formatFlags) + ": " + file);
+
+        return flags;
+    }
+
+    /**
+     * Write one chunk.
+     *
+     * @param   stream  java.io.DataOutputStream
+     * @param   chunk   net.jmp.demo.kryo5.batch.BatchChunk
+     * @throws  java.io.IOException When the chunk cannot be written
+     */
+    static void writeChunk(final DataOutputStream stream, final BatchChunk chunk) throws IOException {
+        stream.writeInt(chunk.getCount());
+        stream.writeInt(chunk.getLength());
+        stream.write(chunk.getBytes(), 0, chunk.getLength());
+    }
+
+    /**
+     * Read one chunk.
+     *
+     * @param   stream  java.io.DataInputStream
+     * @param   file    java.nio.file.Path
+     * @return          net.jmp.demo.kryo5.batch.BatchChunk     Or null at the end of the file
+     * @throws  java.io.IOException When the chunk is not complete
+     */
+    static BatchChunk readChunk(final DataInputStream stream, final Path file) throws IOException {
+        final int count;
+
+        try {
+            count = stream.readInt();
+        } catch (final EOFException eofe) {
+            return null;
+        }
+
+        final int length = stream.readInt();
+
+        if (count < 0 || length < 0)
+            throw new IOException("Corrupt chunk header in " + file);
+
+        final var bytes = new byte[length];
+
+        stream.readFully(bytes);
+
+        return new BatchChunk(count, bytes, length);
+    }
+
+    /**
+     * Read the manifest of a segmented batch.
+     *
+     * @param   directory   java.nio.file.Path
+     * @return              net.jmp.demo.kryo5.batch.BatchManifest
+     * @throws  java.io.IOException When the manifest cannot be read
+     */
+    public static BatchManifest readManifest(final Path directory) throws IOException {
+        return GSON.fromJson(Files.readString(directory.resolve(MANIFEST)), BatchManifest.class);
+    }
+}
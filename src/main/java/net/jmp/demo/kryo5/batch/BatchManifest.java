@@ -0,0 +1,206 @@
+package net.jmp.demo.kryo5.batch;
+
+/*
+ * (#)BatchManifest.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The manifest of a batch written as segment files.
+ */
+public final class BatchManifest {
+    /** The class name of the records. */
+    @SerializedName("type")
+    private String type;
+
+    /** The total number of records. */
+    @SerializedName("records")
+    private long records;
+
+    /** The segments in record order. */
+    @SerializedName("segments")
+    private List<Segment> segments = new ArrayList<>();
+
+    /**
+     * Get the class name of the records.
+     *
+     * @return  java.lang.String
+     */
+    public String getType() {
+        return this.type;
+    }
+
+    /**
+     * Set the class name of the records.
+     *
+     * @param   type    java.lang.String
+     */
+    public void setType(final String type) {
+        this.type = type;
+    }
+
+    /**
+     * Get the total number of records.
+     *
+     * @return  long
+     */
+    public long getRecords() {
+        return this.records;
+    }
+
+    /**
+     * Set the total number of records.
+     *
+     * @param   records long
+     */
+    public void setRecords(final long records) {
+        this.records = records;
+    }
+
+    /**
+     * Get the segments.
+     *
+     * @return  java.util.List&lt;net.jmp.demo.kryo5.batch.BatchManifest.Segment&gt;
+     */
+    public List<Segment> getSegments() {
+        return this.segments;
+    }
+
+    /**
+     * Set the segments.
+     *
+     * @param   segments    java.util.List&lt;net.jmp.demo.kryo5.batch.BatchManifest.Segment&gt;
+     */
+    public void setSegments(final List<Segment> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "BatchManifest{" +
+                "type='" + this.type + '\'' +
+                ", records=" + this.records +
+                ", segments=" + this.segments +
+                '}';
+    }
+
+    /**
+     * One segment of a batch.
+     */
+    public static final class Segment {
+        /** The file name of the segment. */
+        @SerializedName("file")
+        private String file;
+
+        /** The number of records in the segment. */
+        @SerializedName("records")
+        private int records;
+
+        /** The size in bytes of the segment. */
+        @SerializedName("bytes")
+        private long bytes;
+
+        /**
+         * Get the file name.
+         *
+         * @return  java.lang.String
+         */
+        public String getFile() {
+            return this.file;
+        }
+
+        /**
+         * Set the file name.
+         *
+         * @param   file    java.lang.String
+         */
+        public void setFile(final String file) {
+            this.file = file;
+        }
+
+        /**
+         * Get the number of records.
+         *
+         * @return  int
+         */
+        public int getRecords() {
+            return this.records;
+        }
+
+        /**
+         * Set the number of records.
+         *
+         * @param   records int
+         */
+        public void setRecords(final int records) {
+            this.records = records;
+        }
+
+        /**
+         * Get the size in bytes.
+         *
+         * @return  long
+         */
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        /**
+         * Set the size in bytes.
+         *
+         * @param   bytes   long
+         */
+        public void setBytes(final long bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * The to-string method.
+         *
+         * @return  java.lang.String
+         */
+        @Override
+        public String toString() {
+            return "Segment{" +
+                    "file='" + this.file + '\'' +
+                    ", records=" + this.records +
+                    ", bytes=" + this.bytes +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package net.jmp.demo.kryo5.batch;
+
+/*
+ * (#)BatchReader.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import net.jmp.demo.kryo5.config.ConfigBatch;
+
+import net.jmp.demo.kryo5.custom.CompactFormat;
+import net.jmp.demo.kryo5.custom.StringDictionary;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Deserializes batches in parallel.
+ *
+ * Chunks are decoded concurrently on a fork-join
+ * pool, each worker borrowing its own Kryo instance
+ * from the engine. A single batch file is read by the
+ * caller and its chunks handed to the workers; the
+ * segments of a segmented batch are read as well as
+ * decoded by the workers.
+ *
+ * The records come back either as an ordered stream,
+ * in the order they were written, or as an unordered
+ * stream that yields each chunk as soon as it has been
+ * decoded. At most twice the parallelism of chunks
+ * are held in memory at a time. Close the stream to
+ * release the file.
+ *
+ * @param   <T> The type of record
+ */
+public final class BatchReader<T> implements Closeable {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The type of record. */
+    private final Class<T> type;
+
+    /** The number of workers. */
+    private final int parallelism;
+
+    /** The workers. */
+    private final ForkJoinPool pool;
+
+    /**
+     * The constructor.
+     *
+     * @param   engine      net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @param   configBatch net.jmp.demo.kryo5.config.ConfigBatch
+     */
+    public BatchReader(final KryoEngine engine, final Class<T> type, final ConfigBatch configBatch) {
+        super();
+
+        assert engine != null;
+        assert type != null;
+        assert configBatch != null;
+        assert configBatch.getParallelism() > 0;
+
+        this.engine = engine;
+        this.type = type;
+        this.parallelism = configBatch.getParallelism();
+        this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    /**
+     * Return the records of a batch file or segmented
+     * batch directory in the order they were written.
+     *
+     * @param   path    java.nio.file.Path
+     * @return          java.util.stream.Stream&lt;T&gt;
+     * @throws  java.io.IOException When the batch cannot be opened
+     */
+    public Stream<T> ordered(final Path path) throws IOException {
+        return this.stream(path, true);
+    }
+
+    /**
+     * Return the records of a batch file or segmented
+     * batch directory in no particular order. Records
+     * of the same chunk stay together.
+     *
+     * @param   path    java.nio.file.Path
+     * @return          java.util.stream.Stream&lt;T&gt;
+     * @throws  java.io.IOException When the batch cannot be opened
+     */
+    public Stream<T> unordered(final Path path) throws IOException {
+        return this.stream(path, false);
+    }
+
+    /**
+     * Return the number of workers.
+     *
+     * @return  int
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Shut the workers down.
+     */
+    @Override
+    public void close() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Create the stream.
+     *
+     * @param   path    java.nio.file.Path
+     * @param   ordered boolean
+     * @return          java.util.stream.Stream&lt;T&gt;
+     * @throws  java.io.IOException When the batch cannot be opened
+     */
+    private Stream<T> stream(final Path path, final boolean ordered) throws IOException {
+        this.logger.entry(path, ordered);
+
+        assert path != null;
+
+        final Tasks<List<T>> tasks = Files.isDirectory(path) ? new SegmentTasks(path) : new FileTasks(path);
+        final var chunks = new Chunks(tasks, ordered);
+        final var characteristics = ordered ? Spliterator.ORDERED | Spliterator.NONNULL : Spliterator.NONNULL;
+
+        final Stream<T> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, characteristics), false)
+                .onClose(chunks::close)
+                .flatMap(List::stream);
+
+        this.logger.exit();
+
+        return stream;
+    }
+
+    /**
+     * Decode the records of a chunk. Runs on a worker.
+     *
+     * @param   chunk   net.jmp.demo.kryo5.batch.BatchChunk
+     * @param   flags   byte    The flags of the file
+     * @return          java.util.List&lt;T&gt;
+     */
+    private List<T> decode(final BatchChunk chunk, final byte flags) {
+        final var input = this.engine.newInput();
+
+        input.setBuffer(chunk.getBytes(), 0, chunk.getLength());
+
+        return this.engine.execute(kryo -> {
+            final List<T> records = new ArrayList<>(chunk.getCount());
+
+            if ((flags & BatchFile.FLAG_DICTIONARY) != 0)
+                StringDictionary.read(input, (flags & BatchFile.FLAG_COMPACT) != 0 ? CompactFormat.VERSION : 1).install(kryo);
+
+            try {
+                for (int i = 0; i < chunk.getCount(); i++)
+                    records.add(kryo.readObject(input, this.type));
+            } finally {
+                StringDictionary.uninstall(kryo);
+            }
+
+            return records;
+        });
+    }
+
+    /**
+     * Supplies the decoding tasks of a batch one at a time.
+     *
+     * @param   <R> The type of task result
+     */
+    private interface Tasks<R> extends Closeable {
+        /**
+         * Return the next task or null when there are no more.
+         *
+         * @return  java.util.concurrent.Callable&lt;R&gt;
+         * @throws  java.io.IOException When the batch cannot be read
+         */
+        Callable<R> next() throws IOException;
+    }
+
+    /**
+     * Reads the chunks of one batch file on the calling
+     * thread and hands each to a worker to decode.
+     */
+    private final class FileTasks implements Tasks<List<T>> {
+        /** The file. */
+        private final Path file;
+
+        /** The file stream. */
+        private final DataInputStream stream;
+
+        /** The file flags. */
+        private final byte flags;
+
+        /**
+         * The constructor.
+         *
+         * @param   file    java.nio.file.Path
+         * @throws  java.io.IOException When the file cannot be opened
+         */
+        private FileTasks(final Path file) throws IOException {
+            super();
+
+            this.file = file;
+            this.stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+
+            try {
+                this.flags = BatchFile.readHeader(this.stream, file, BatchReader.this.engine.getFormatFlags());
+            } catch (final IOException ioe) {
+                this.stream.close();
+
+                throw ioe;
+            }
+        }
+
+        /**
+         * Return the next task.
+         *
+         * @return  java.util.concurrent.Callable&lt;java.util.List&lt;T&gt;&gt;
+         * @throws  java.io.IOException When the file cannot be read
+         */
+        @Override
+        public Callable<List<T>> next() throws IOException {
+            final var chunk = BatchFile.readChunk(this.stream, this.file);
+
+            return chunk != null ? () -> decode(chunk, this.flags) : null;
+        }
+
+        /**
+         * Close the file.
+         *
+         * @throws  java.io.IOException When the file cannot be closed
+         */
+        @Override
+        public void close() throws IOException {
+            this.stream.close();
+        }
+    }
+
+    /**
+     * Hands each segment of a segmented batch to a
+     * worker that reads and decodes it.
+     */
+    private final class SegmentTasks implements Tasks<List<T>> {
+        /** The segments in order. */
+        private final Iterator<Path> segments;
+
+        /**
+         * The constructor.
+         *
+         * @param   directory   java.nio.file.Path
+         * @throws  java.io.IOException When the manifest cannot be read
+         */
+        private SegmentTasks(final Path directory) throws IOException {
+            super();
+
+            final var manifest = BatchFile.readManifest(directory);
+
+            if (!type.getName().equals(manifest.getType()))
+                throw new IOException("Batch " + directory + " holds " + manifest.getType() + ", not " + type.getName());
+
+            this.segments = manifest.getSegments().stream()
+                    .map(segment -> directory.resolve(segment.getFile()))
+                    .iterator();
+        }
+
+        /**
+         * Return the next task.
+         *
+         * @return  java.util.concurrent.Callable&lt;java.util.List&lt;T&gt;&gt;
+         */
+        @Override
+        public Callable<List<T>> next() {
+            if (!this.segments.hasNext())
+                return null;
+
+            final var segment = this.segments.next();
+
+            return () -> {
+                final List<T> records = new ArrayList<>();
+
+                try (final var stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 64 * 1024))) {
+                    final var flags = BatchFile.readHeader(stream, segment, BatchReader.this.engine.getFormatFlags());
+
+                    BatchChunk chunk;
+
+                    while ((chunk = BatchFile.readChunk(stream, segment)) != null)
+                        records.addAll(decode(chunk, flags));
+                }
+
+                return records;
+            };
+        }
+
+        /**
+         * Nothing to close.
+         */
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Iterates the decoded chunks, keeping up to twice
+     * the parallelism of tasks running ahead.
+     */
+    private final class Chunks implements Iterator<List<T>> {
+        /** The tasks. */
+        private final Tasks<List<T>> tasks;
+
+        /** True to return the chunks in order. */
+        private final boolean ordered;
+
+        /** The running tasks, oldest first. */
+        private final Deque<Future<List<T>>> running = new ArrayDeque<>();
+
+        /** Hands back the tasks as they finish when unordered. */
+        private final CompletionService<List<T>> completion = new ExecutorCompletionService<>(pool);
+
+        /** True when there are no more tasks. */
+        private boolean exhausted;
+
+        /**
+         * The constructor.
+         *
+         * @param   tasks   net.jmp.demo.kryo5.batch.BatchReader.Tasks&lt;java.util.List&lt;T&gt;&gt;
+         * @param   ordered boolean
+         */
+        private Chunks(final Tasks<List<T>> tasks, final boolean ordered) {
+            super();
+
+            this.tasks = tasks;
+            this.ordered = ordered;
+        }
+
+        /**
+         * Return true if there is another chunk.
+         *
+         * @return  boolean
+         */
+        @Override
+        public boolean hasNext() {
+            this.fill();
+
+            return !this.running.isEmpty();
+        }
+
+        /**
+         * Return the records of the next chunk.
+         *
+         * @return  java.util.List&lt;T&gt;
+         */
+        @Override
+        public List<T> next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+
+            try {
+                final Future<List<T>> future;
+
+                if (this.ordered) {
+                    future = this.running.removeFirst();
+                } else {
+                    future = this.completion.take();
+                    this.running.remove(future);
+                }
+
+                return future.get();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted waiting for a batch worker"));
+            } catch (final ExecutionException ee) {
+                if (ee.getCause() instanceof IOException ioe)
+                    throw new UncheckedIOException(ioe);
+
+                if (ee.getCause() instanceof RuntimeException re)
+                    throw re;
+
+                throw new IllegalStateException("Batch worker failed", ee.getCause());
+            }
+        }
+
+        /**
+         * Cancel the running tasks and close the batch.
+         */
+        private void close() {
+            this.exhausted = true;
+            this.running.forEach(future -> future.cancel(false));
+            this.running.clear();
+
+            try {
+                this.tasks.close();
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        /**
+         * Start tasks until the window is full.
+         */
+        private void fill() {
+            try {
+                while (!this.exhausted && this.running.size() < parallelism * 2) {
+                    final var task = this.tasks.next();
+
+                    if (task == null)
+                        this.exhausted = true;
+                    else
+                        this.running.addLast(this.ordered ? pool.submit(task) : this.completion.submit(task));
+                }
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+}
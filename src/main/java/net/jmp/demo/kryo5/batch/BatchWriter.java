@@ -0,0 +1,317 @@
+package net.jmp.demo.kryo5.batch;
+
+/*
+ * (#)BatchWriter.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import net.jmp.demo.kryo5.config.ConfigBatch;
+
+import net.jmp.demo.kryo5.custom.StringDictionary;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Serializes large lists of records in parallel.
+ *
+ * The list is split into chunks that are encoded
+ * concurrently on a fork-join pool. Each worker
+ * borrows its own Kryo instance from the engine and
+ * encodes into its own buffer, so the workers share
+ * nothing. The chunks are then either stitched into
+ * one file in list order or written as separate
+ * segment files with a manifest. Optionally each
+ * chunk carries a dictionary of its repeated strings.
+ *
+ * @param   <T> The type of record
+ */
+public final class BatchWriter<T> implements Closeable {
+    /** The initial size of a chunk buffer. */
+    private static final int INITIAL_CHUNK_SIZE = 64 * 1024;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The type of record. */
+    private final Class<T> type;
+
+    /** The number of records in a chunk. */
+    private final int chunkSize;
+
+    /** The number of workers. */
+    private final int parallelism;
+
+    /** The file flags. */
+    private final byte flags;
+
+    /** The workers. */
+    private final ForkJoinPool pool;
+
+    /**
+     * The constructor.
+     *
+     * @param   engine      net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @param   configBatch net.jmp.demo.kryo5.config.ConfigBatch
+     */
+    public BatchWriter(final KryoEngine engine, final Class<T> type, final ConfigBatch configBatch) {
+        super();
+
+        assert engine != null;
+        assert type != null;
+        assert configBatch != null;
+        assert configBatch.getParallelism() > 0;
+        assert configBatch.getChunkSize() > 0;
+
+        this.engine = engine;
+        this.type = type;
+        this.chunkSize = configBatch.getChunkSize();
+        this.parallelism = configBatch.getParallelism();
+        this.flags = (byte) ((configBatch.isDictionary() ? BatchFile.FLAG_DICTIONARY : 0) | BatchFile.FLAG_COMPACT | engine.getFormatFlags());
+        this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    /**
+     * Write the records to one file in list order.
+     * Chunks are written as soon as they and every
+     * chunk before them are encoded; at most twice
+     * the parallelism are held in memory at a time.
+     *
+     * @param   records java.util.List&lt;? extends T&gt;
+     * @param   file    java.nio.file.Path
+     * @return          long    The size of the file
+     * @throws  java.io.IOException When the file cannot be written
+     */
+    public long write(final List<? extends T> records, final Path file) throws IOException {
+        this.logger.entry(records.size(), file);
+
+        assert file != null;
+
+        final Deque<Future<BatchChunk>> pending = new ArrayDeque<>();
+        final int window = this.parallelism * 2;
+
+        try (final var stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), INITIAL_CHUNK_SIZE))) {
+            BatchFile.writeHeader(stream, this.flags);
+
+            for (int from = 0; from < records.size(); from += this.chunkSize) {
+                final int start = from;
+                final int end = Math.min(records.size(), from + this.chunkSize);
+
+                if (pending.size() == window)
+                    BatchFile.writeChunk(stream, this.await(pending.removeFirst()));
+
+                pending.addLast(this.pool.submit(() -> this.encode(records, start, end)));
+            }
+
+            while (!pending.isEmpty())
+                BatchFile.writeChunk(stream, this.await(pending.removeFirst()));
+        } finally {
+            pending.forEach(future -> future.cancel(false));
+        }
+
+        final var size = Files.size(file);
+
+        this.logger.exit(size);
+
+        return size;
+    }
+
+    /**
+     * Write the records as one segment file per chunk,
+     * each written by the worker that encoded it,
+     * followed by a manifest that lists them in order.
+     *
+     * @param   records     java.util.List&lt;? extends T&gt;
+     * @param   directory   java.nio.file.Path
+     * @return              net.jmp.demo.kryo5.batch.BatchManifest
+     * @throws  java.io.IOException When a segment cannot be written
+     */
+    public BatchManifest writeSegments(final List<? extends T> records, final Path directory) throws IOException {
+        this.logger.entry(records.size(), directory);
+
+        assert directory != null;
+
+        Files.createDirectories(directory);
+
+        final List<Future<BatchManifest.Segment>> futures = new ArrayList<>();
+
+        for (int from = 0, number = 0; from < records.size(); from += this.chunkSize, number++) {
+            final int start = from;
+            final int end = Math.min(records.size(), from + this.chunkSize);
+            final var path = BatchFile.segmentPath(directory, number);
+
+            futures.add(this.pool.submit(() -> this.writeSegment(this.encode(records, start, end), path)));
+        }
+
+        final var manifest = new BatchManifest();
+
+        manifest.setType(this.type.getName());
+        manifest.setRecords(records.size());
+
+        for (final var future : futures)
+            manifest.getSegments().add(this.await(future));
+
+        Files.writeString(directory.resolve(BatchFile.MANIFEST), BatchFile.GSON.toJson(manifest));
+
+        this.logger.exit(manifest.getSegments().size());
+
+        return manifest;
+    }
+
+    /**
+     * Return the number of workers.
+     *
+     * @return  int
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Shut the workers down.
+     */
+    @Override
+    public void close() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Encode the records of one chunk. Runs on a worker.
+     *
+     * @param   records java.util.List&lt;? extends T&gt;
+     * @param   from    int
+     * @param   to      int
+     * @return          net.jmp.demo.kryo5.batch.BatchChunk
+     */
+    private BatchChunk encode(final List<? extends T> records, final int from, final int to) {
+        final var output = this.engine.newOutput(INITIAL_CHUNK_SIZE, -1);
+
+        if ((this.flags & BatchFile.FLAG_DICTIONARY) != 0) {
+            final var dictionary = new StringDictionary();
+
+            this.engine.run(kryo -> {
+                dictionary.install(kryo);
+
+                try {
+                    for (int i = from; i < to; i++)
+                        kryo.writeObject(output, records.get(i));
+                } finally {
+                    StringDictionary.uninstall(kryo);
+                }
+            });
+
+            final var chunk = this.engine.newOutput(output.position() + dictionary.size() * 16 + 5, -1);
+
+            dictionary.write(chunk);
+            chunk.writeBytes(output.getBuffer(), 0, output.position());
+
+            return new BatchChunk(to - from, chunk.getBuffer(), chunk.position());
+        }
+
+        this.engine.run(kryo -> {
+            for (int i = from; i < to; i++)
+                kryo.writeObject(output, records.get(i));
+        });
+
+        return new BatchChunk(to - from, output.getBuffer(), output.position());
+    }
+
+    /**
+     * Write one chunk as a segment file. Runs on a worker.
+     *
+     * @param   chunk   net.jmp.demo.kryo5.batch.BatchChunk
+     * @param   path    java.nio.file.Path
+     * @return          net.jmp.demo.kryo5.batch.BatchManifest.Segment
+     * @throws  java.io.IOException When the segment cannot be written
+     */
+    private BatchManifest.Segment writeSegment(final BatchChunk chunk, final Path path) throws IOException {
+        try (final var stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), INITIAL_CHUNK_SIZE))) {
+            BatchFile.writeHeader(stream, this.flags);
+            BatchFile.writeChunk(stream, chunk);
+        }
+
+        final var segment = new BatchManifest.Segment();
+
+        segment.setFile(path.getFileName().toString());
+        segment.setRecords(chunk.getCount());
+        segment.setBytes(Files.size(path));
+
+        return segment;
+    }
+
+    /**
+     * Wait for a worker.
+     *
+     * @param   <R>     The type of result
+     * @param   future  java.util.concurrent.Future&lt;R&gt;
+     * @return          R
+     * @throws  java.io.IOException When the worker failed
+     */
+    private <R> R await(final Future<R> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted waiting for a batch worker");
+        } catch (final ExecutionException ee) {
+            if (ee.getCause() instanceof IOException ioe)
+                throw ioe;
+
+            if (ee.getCause() instanceof RuntimeException re)
+                throw re;
+
+            throw new IOException("Batch worker failed", ee.getCause());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package net.jmp.demo.kryo5.cache;
+
+/*
+ * (#)CacheStatistics.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * A snapshot of the counters of an object cache.
+ */
+public final class CacheStatistics {
+    /** The byte budget. */
+    private final long maxBytes;
+
+    /** The bytes held. */
+    private final long bytes;
+
+    /** The number of entries held. */
+    private final int entries;
+
+    /** The number of lookups that found an entry. */
+    private final long hits;
+
+    /** The number of lookups that did not. */
+    private final long misses;
+
+    /** The number of entries evicted to stay within the budget. */
+    private final long evictions;
+
+    /** The number of entries invalidated. */
+    private final long invalidations;
+
+    /**
+     * The constructor.
+     *
+     * @param   maxBytes        long
+     * @param   bytes           long
+     * @param   entries         int
+     * @param   hits            long
+     * @param   misses          long
+     * @param   evictions       long
+     * @param   invalidations   long
+     */
+    CacheStatistics(final long maxBytes,
+                    final long bytes,
+                    final int entries,
+                    final long hits,
+                    final long misses,
+                    final long evictions,
+                    final long invalidations) {
+        super();
+
+        this.maxBytes = maxBytes;
+        this.bytes = bytes;
+        this.entries = entries;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+    }
+
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    public int getEntries() {
+        return this.entries;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    public long getEvictions() {
+        return this.evictions;
+    }
+
+    public long getInvalidations() {
+        return this.invalidations;
+    }
+
+    /**
+     * Return the fraction of lookups that found an entry.
+     *
+     * @return  double
+     */
+    public double getHitRate() {
+        final var lookups = this.hits + this.misses;
+
+        return lookups == 0 ? 0.0 : (double) this.hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "maxBytes=" + this.maxBytes +
+                ", bytes=" + this.bytes +
+                ", entries=" + this.entries +
+                ", hits=" + this.hits +
+                ", misses=" + this.misses +
+                ", evictions=" + this.evictions +
+                ", invalidations=" + this.invalidations +
+                '}';
+    }
+}
@@ -0,0 +1,256 @@
+package net.jmp.demo.kryo5.cache;
+
+/*
+ * (#)ObjectCache.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * A read-through cache bounded by bytes rather than
+ * entries. Each value is weighed when it is added and
+ * the least recently used entries are evicted until the
+ * total weight is back within the budget. A value that
+ * is heavier than the whole budget is not cached.
+ *
+ * Loads run outside the lock, so two threads missing
+ * the same key may both load it. A load that overlaps
+ * an invalidation is returned but not cached, so a
+ * reader racing a writer never caches stale data.
+ *
+ * @param   <K> The type of key
+ * @param   <V> The type of value
+ */
+public final class ObjectCache<K, V> {
+    /** The byte budget. */
+    private final long maxBytes;
+
+    /** Weighs a value in bytes. */
+    private final ToLongFunction<? super V> weigher;
+
+    /** The entries in access order, least recently used first. */
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The bytes held. */
+    private long bytes;
+
+    /** Incremented by every invalidation. */
+    private long generation;
+
+    /** The number of lookups that found an entry. */
+    private long hits;
+
+    /** The number of lookups that did not. */
+    private long misses;
+
+    /** The number of entries evicted. */
+    private long evictions;
+
+    /** The number of entries invalidated. */
+    private long invalidations;
+
+    /**
+     * The constructor.
+     *
+     * @param   maxBytes    long
+     * @param   weigher     java.util.function.ToLongFunction&lt;? super V&gt;
+     */
+    public ObjectCache(final long maxBytes, final ToLongFunction<? super V> weigher) {
+        super();
+
+        assert maxBytes > 0;
+        assert weigher != null;
+
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Return the value of a key, loading and
+     * caching it when it is not in the cache.
+     *
+     * @param   key     K
+     * @param   loader  net.jmp.demo.kryo5.cache.CacheLoader&lt;? super K, ? extends V&gt;
+     * @return          V
+     * @throws  java.io.IOException When the value cannot be loaded
+     */
+    public V get(final K key, final CacheLoader<? super K, ? extends V> loader) throws IOException {
+        assert key != null;
+        assert loader != null;
+
+        final long generationBefore;
+
+        synchronized (this) {
+            final var entry = this.entries.get(key);
+
+            if (entry != null) {
+                this.hits++;
+
+                return entry.value();
+            }
+
+            this.misses++;
+
+            generationBefore = this.generation;
+        }
+
+        final V value = loader.load(key);
+
+        if (value != null) {
+            synchronized (this) {
+                if (this.generation == generationBefore)
+                    this.add(key, value);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Return the value of a key if it is in the cache.
+     *
+     * @param   key K
+     * @return      java.util.Optional&lt;V&gt;
+     */
+    public synchronized Optional<V> getIfPresent(final K key) {
+        final var entry = this.entries.get(key);
+
+        if (entry == null) {
+            this.misses++;
+
+            return Optional.empty();
+        }
+
+        this.hits++;
+
+        return Optional.of(entry.value());
+    }
+
+    /**
+     * Add or replace the value of a key.
+     *
+     * @param   key     K
+     * @param   value   V
+     */
+    public synchronized void put(final K key, final V value) {
+        assert key != null;
+        assert value != null;
+
+        this.add(key, value);
+    }
+
+    /**
+     * Remove the value of a key.
+     *
+     * @param   key K
+     */
+    public synchronized void invalidate(final K key) {
+        this.generation++;
+
+        final var entry = this.entries.remove(key);
+
+        if (entry != null) {
+            this.bytes -= entry.weight();
+            this.invalidations++;
+        }
+    }
+
+    /**
+     * Remove every value.
+     */
+    public synchronized void invalidateAll() {
+        this.generation++;
+        this.invalidations += this.entries.size();
+        this.entries.clear();
+        this.bytes = 0;
+    }
+
+    /**
+     * Return a snapshot of the counters.
+     *
+     * @return  net.jmp.demo.kryo5.cache.CacheStatistics
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(this.maxBytes,
+                this.bytes,
+                this.entries.size(),
+                this.hits,
+                this.misses,
+                this.evictions,
+                this.invalidations);
+    }
+
+    /**
+     * Add a value and evict the least recently
+     * used entries until the cache is within its
+     * budget. The lock must be held.
+     *
+     * @param   key     K
+     * @param   value   V
+     */
+    private void add(final K key, final V value) {
+        final var weight = this.weigher.applyAsLong(value);
+        final var previous = weight > this.maxBytes ? this.entries.remove(key) : this.entries.put(key, new Entry<>(value, weight));
+
+        if (previous != null)
+            this.bytes -= previous.weight();
+
+        if (weight > this.maxBytes)
+            return;
+
+        this.bytes += weight;
+
+        final var iterator = this.entries.entrySet().iterator();
+
+        while (this.bytes > this.maxBytes) {
+            final Map.Entry<K, Entry<V>> eldest = iterator.next();
+
+            this.bytes -= eldest.getValue().weight();
+            this.evictions++;
+
+            iterator.remove();
+        }
+    }
+
+    /**
+     * A cached value and its weight.
+     *
+     * @param   <V>     The type of value
+     * @param   value   V
+     * @param   weight  long
+     */
+    private record Entry<V>(V value, long weight) {
+    }
+}
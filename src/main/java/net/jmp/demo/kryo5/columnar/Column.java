@@ -0,0 +1,403 @@
+package net.jmp.demo.kryo5.columnar;
+
+/*
+ * (#)Column.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * One field of a record type, written for
+ * a whole batch of records at a time.
+ *
+ * @param   <T> The type of record
+ */
+abstract sealed class Column<T> permits Column.IntColumn, Column.StringColumn, Column.DateColumn {
+    /** The kind of an int column. */
+    static final byte KIND_INT = 1;
+
+    /** The kind of a string column. */
+    static final byte KIND_STRING = 2;
+
+    /** The kind of a date column. */
+    static final byte KIND_DATE = 3;
+
+    /** The column name. */
+    private final String name;
+
+    /** The column kind. */
+    private final byte kind;
+
+    /**
+     * The constructor.
+     *
+     * @param   name    java.lang.String
+     * @param   kind    byte
+     */
+    Column(final String name, final byte kind) {
+        super();
+
+        assert name != null;
+
+        this.name = name;
+        this.kind = kind;
+    }
+
+    /**
+     * Return the column name.
+     *
+     * @return  java.lang.String
+     */
+    String getName() {
+        return this.name;
+    }
+
+    /**
+     * Return the column kind.
+     *
+     * @return  byte
+     */
+    byte getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Write the values of this column for every record.
+     *
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   records java.util.List&lt;? extends T&gt;
+     */
+    abstract void write(Output output, List<? extends T> records);
+
+    /**
+     * Read the values of this column into every record.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   records java.util.List&lt;T&gt;
+     */
+    abstract void read(Input input, List<T> records);
+
+    /**
+     * An int column: the values as packed zigzag varints.
+     *
+     * @param   <T> The type of record
+     */
+    static final class IntColumn<T> extends Column<T> {
+        /** The getter. */
+        private final ToIntFunction<? super T> getter;
+
+        /** The setter. */
+        private final ObjIntConsumer<? super T> setter;
+
+        /**
+         * The constructor.
+         *
+         * @param   name    java.lang.String
+         * @param   getter  java.util.function.ToIntFunction&lt;? super T&gt;
+         * @param   setter  java.util.function.ObjIntConsumer&lt;? super T&gt;
+         */
+        IntColumn(final String name, final ToIntFunction<? super T> getter, final ObjIntConsumer<? super T> setter) {
+            super(name, KIND_INT);
+
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * Write the values of this column for every record.
+         *
+         * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+         * @param   records java.util.List&lt;? extends T&gt;
+         */
+        @Override
+        void write(final Output output, final List<? extends T> records) {
+            for (final var record : records)
+                output.writeVarInt(this.getter.applyAsInt(record), false);
+        }
+
+        /**
+         * Read the values of this column into every record.
+         *
+         * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+         * @param   records java.util.List&lt;T&gt;
+         */
+        @Override
+        void read(final Input input, final List<T> records) {
+            final var values = readInts(input, records.size());
+
+            for (int i = 0; i < values.length; i++)
+                this.setter.accept(records.get(i), values[i]);
+        }
+
+        /**
+         * Read the values of an int column.
+         *
+         * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+         * @param   count   int
+         * @return          int[]
+         */
+        static int[] readInts(final Input input, final int count) {
+            final var values = new int[count];
+
+            for (int i = 0; i < count; i++)
+                values[i] = input.readVarInt(false);
+
+            return values;
+        }
+    }
+
+    /**
+     * A string column. When at most half the values are
+     * distinct, the distinct values are written once and
+     * followed by a varint id per record (0 for null);
+     * otherwise the values are written one after another.
+     *
+     * @param   <T> The type of record
+     */
+    static final class StringColumn<T> extends Column<T> {
+        /** The encoding of plain values. */
+        private static final byte PLAIN = 0;
+
+        /** The encoding of dictionary ids. */
+        private static final byte DICTIONARY = 1;
+
+        /** The getter. */
+        private final Function<? super T, String> getter;
+
+        /** The setter. */
+        private final BiConsumer<? super T, String> setter;
+
+        /**
+         * The constructor.
+         *
+         * @param   name    java.lang.String
+         * @param   getter  java.util.function.Function&lt;? super T, java.lang.String&gt;
+         * @param   setter  java.util.function.BiConsumer&lt;? super T, java.lang.String&gt;
+         */
+        StringColumn(final String name, final Function<? super T, String> getter, final BiConsumer<? super T, String> setter) {
+            super(name, KIND_STRING);
+
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * Write the values of this column for every record.
+         *
+         * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+         * @param   records java.util.List&lt;? extends T&gt;
+         */
+        @Override
+        void write(final Output output, final List<? extends T> records) {
+            final Map<String, Integer> ids = new HashMap<>();
+            final List<String> strings = new ArrayList<>();
+            final var values = new int[records.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                final var value = this.getter.apply(records.get(i));
+
+                if (value != null) {
+                    values[i] = 1 + ids.computeIfAbsent(value, key -> {
+                        strings.add(key);
+
+                        return strings.size() - 1;
+                    });
+                }
+            }
+
+            if (strings.size() * 2 > values.length) {
+                output.writeByte(PLAIN);
+
+                for (final var record : records)
+                    output.writeString(this.getter.apply(record));
+            } else {
+                output.writeByte(DICTIONARY);
+                output.writeVarInt(strings.size(), true);
+
+                for (final var string : strings)
+                    output.writeString(string);
+
+                for (final var value : values)
+                    output.writeVarInt(value, true);
+            }
+        }
+
+        /**
+         * Read the values of this column into every record.
+         *
+         * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+         * @param   records java.util.List&lt;T&gt;
+         */
+        @Override
+        void read(final Input input, final List<T> records) {
+            final var values = readStrings(input, records.size());
+
+            for (int i = 0; i < values.size(); i++)
+                this.setter.accept(records.get(i), values.get(i));
+        }
+
+        /**
+         * Read the values of a string column.
+         *
+         * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+         * @param   count   int
+         * @return          java.util.List&lt;java.lang.String&gt;
+         */
+        static List<String> readStrings(final Input input, final int count) {
+            final List<String> values = new ArrayList<>(count);
+            final var encoding = input.readByte();
+
+            if (encoding == PLAIN) {
+                for (int i = 0; i < count; i++)
+                    values.add(input.readString());
+            } else if (encoding == DICTIONARY) {
+                final var strings = new String[input.readVarInt(true)];
+
+                for (int i = 0; i < strings.length; i++)
+                    strings[i] = input.readString();
+
+                for (int i = 0; i < count; i++) {
+                    final int id = input.readVarInt(true);
+
+                    if (id > strings.length)
+                        throw new KryoException("String id " + (id - 1) + " is not in the column dictionary of " + strings.length);
+
+                    values.add(id == 0 ? null : strings[id - 1]);
+                }
+            } else {
+                throw new KryoException("Unknown string column encoding: " + encoding);
+            }
+
+            return values;
+        }
+    }
+
+    /**
+     * A date column: a byte that is 1 when there are
+     * nulls, followed by a bitmap of the non-null values
+     * if so, and then the milliseconds of each non-null
+     * value as a zigzag varlong delta from the one before.
+     *
+     * @param   <T> The type of record
+     */
+    static final class DateColumn<T> extends Column<T> {
+        /** The getter. */
+        private final Function<? super T, Date> getter;
+
+        /** The setter. */
+        private final BiConsumer<? super T, Date> setter;
+
+        /**
+         * The constructor.
+         *
+         * @param   name    java.lang.String
+         * @param   getter  java.util.function.Function&lt;? super T, java.util.Date&gt;
+         * @param   setter  java.util.function.BiConsumer&lt;? super T, java.util.Date&gt;
+         */
+        DateColumn(final String name, final Function<? super T, Date> getter, final BiConsumer<? super T, Date> setter) {
+            super(name, KIND_DATE);
+
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * Write the values of this column for every record.
+         *
+         * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+         * @param   records java.util.List&lt;? extends T&gt;
+         */
+        @Override
+        void write(final Output output, final List<? extends T> records) {
+            final var present = new byte[(records.size() + 7) / 8];
+            var nulls = false;
+
+            for (int i = 0; i < records.size(); i++) {
+                if (this.getter.apply(records.get(i)) != null)
+                    present[i >>> 3] |= (byte) (1 << (i & 7));
+                else
+                    nulls = true;
+            }
+
+            output.writeBoolean(nulls);
+
+            if (nulls)
+                output.writeBytes(present);
+
+            long previous = 0;
+
+            for (final var record : records) {
+                final var date = this.getter.apply(record);
+
+                if (date != null) {
+                    output.writeVarLong(date.getTime() - previous, false);
+                    previous = date.getTime();
+                }
+            }
+        }
+
+        /**
+         * Read the values of this column into every record.
+         *
+         * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+         * @param   records java.util.List&lt;T&gt;
+         */
+        @Override
+        void read(final Input input, final List<T> records) {
+            final var count = records.size();
+            final var present = input.readBoolean() ? input.readBytes((count + 7) / 8) : null;
+
+            long previous = 0;
+
+            for (int i = 0; i < count; i++) {
+                if (present == null || (present[i >>> 3] & (1 << (i & 7))) != 0) {
+                    previous += input.readVarLong(false);
+
+                    this.setter.accept(records.get(i), new Date(previous));
+                } else {
+                    this.setter.accept(records.get(i), null);
+                }
+            }
+        }
+    }
+}
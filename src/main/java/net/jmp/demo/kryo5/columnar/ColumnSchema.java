@@ -0,0 +1,206 @@
+package net.jmp.demo.kryo5.columnar;
+
+/*
+ * (#)ColumnSchema.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+
+/**
+ * The columns of a record type: for each field
+ * a name, a getter and a setter. Records are
+ * created empty by a supplier when read back,
+ * and only the columns asked for are set.
+ *
+ * @param   <T> The type of record
+ */
+public final class ColumnSchema<T> {
+    /** The type of record. */
+    private final Class<T> type;
+
+    /** The factory of empty records. */
+    private final Supplier<T> factory;
+
+    /** The columns in the order they are written. */
+    private final List<Column<T>> columns = new ArrayList<>();
+
+    /**
+     * The constructor.
+     *
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @param   factory java.util.function.Supplier&lt;T&gt;
+     */
+    public ColumnSchema(final Class<T> type, final Supplier<T> factory) {
+        super();
+
+        assert type != null;
+        assert factory != null;
+
+        this.type = type;
+        this.factory = factory;
+    }
+
+    /**
+     * Return the schema of the person.
+     *
+     * @return  net.jmp.demo.kryo5.columnar.ColumnSchema&lt;net.jmp.demo.kryo5.objects.Person&gt;
+     */
+    public static ColumnSchema<Person> persons() {
+        return new ColumnSchema<>(Person.class, Person::new)
+                .addString("name", Person::getName, Person::setName)
+                .addInt("age", Person::getAge, Person::setAge)
+                .addDate("birthday", Person::getBirthday, Person::setBirthday);
+    }
+
+    /**
+     * Return the schema of the pet.
+     *
+     * @return  net.jmp.demo.kryo5.columnar.ColumnSchema&lt;net.jmp.demo.kryo5.objects.Pet&gt;
+     */
+    public static ColumnSchema<Pet> pets() {
+        return new ColumnSchema<>(Pet.class, Pet::new)
+                .addString("type", Pet::getType, Pet::setType)
+                .addString("name", Pet::getName, Pet::setName)
+                .addString("color", Pet::getColor, Pet::setColor)
+                .addInt("age", Pet::getAge, Pet::setAge);
+    }
+
+    /**
+     * Add an int column.
+     *
+     * @param   name    java.lang.String
+     * @param   getter  java.util.function.ToIntFunction&lt;? super T&gt;
+     * @param   setter  java.util.function.ObjIntConsumer&lt;? super T&gt;
+     * @return          net.jmp.demo.kryo5.columnar.ColumnSchema&lt;T&gt;
+     */
+    public ColumnSchema<T> addInt(final String name, final ToIntFunction<? super T> getter, final ObjIntConsumer<? super T> setter) {
+        return this.add(new Column.IntColumn<>(name, getter, setter));
+    }
+
+    /**
+     * Add a string column.
+     *
+     * @param   name    java.lang.String
+     * @param   getter  java.util.function.Function&lt;? super T, java.lang.String&gt;
+     * @param   setter  java.util.function.BiConsumer&lt;? super T, java.lang.String&gt;
+     * @return          net.jmp.demo.kryo5.columnar.ColumnSchema&lt;T&gt;
+     */
+    public ColumnSchema<T> addString(final String name, final Function<? super T, String> getter, final BiConsumer<? super T, String> setter) {
+        return this.add(new Column.StringColumn<>(name, getter, setter));
+    }
+
+    /**
+     * Add a date column.
+     *
+     * @param   name    java.lang.String
+     * @param   getter  java.util.function.Function&lt;? super T, java.util.Date&gt;
+     * @param   setter  java.util.function.BiConsumer&lt;? super T, java.util.Date&gt;
+     * @return          net.jmp.demo.kryo5.columnar.ColumnSchema&lt;T&gt;
+     */
+    public ColumnSchema<T> addDate(final String name, final Function<? super T, Date> getter, final BiConsumer<? super T, Date> setter) {
+        return this.add(new Column.DateColumn<>(name, getter, setter));
+    }
+
+    /**
+     * Return the type of record.
+     *
+     * @return  java.lang.Class&lt;T&gt;
+     */
+    public Class<T> getType() {
+        return this.type;
+    }
+
+    /**
+     * Return the column names in the order they are written.
+     *
+     * @return  java.util.List&lt;java.lang.String&gt;
+     */
+    public List<String> getColumnNames() {
+        return this.columns.stream().map(Column::getName).toList();
+    }
+
+    /**
+     * Create an empty record.
+     *
+     * @return  T
+     */
+    T newRecord() {
+        return this.factory.get();
+    }
+
+    /**
+     * Return the columns.
+     *
+     * @return  java.util.List&lt;net.jmp.demo.kryo5.columnar.Column&lt;T&gt;&gt;
+     */
+    List<Column<T>> getColumns() {
+        return Collections.unmodifiableList(this.columns);
+    }
+
+    /**
+     * Return the column with the given name.
+     *
+     * @param   name    java.lang.String
+     * @return          net.jmp.demo.kryo5.columnar.Column&lt;T&gt;     Or null
+     */
+    Column<T> getColumn(final String name) {
+        for (final var column : this.columns)
+            if (column.getName().equals(name))
+                return column;
+
+        return null;
+    }
+
+    /**
+     * Add a column.
+     *
+     * @param   column  net.jmp.demo.kryo5.columnar.Column&lt;T&gt;
+     * @return          net.jmp.demo.kryo5.columnar.ColumnSchema&lt;T&gt;
+     */
+    private ColumnSchema<T> add(final Column<T> column) {
+        if (this.getColumn(column.getName()) != null)
+            throw new IllegalArgumentException("Column " + column.getName() + " is already in the schema of " + this.type.getName());
+
+        this.columns.add(column);
+
+        return this;
+    }
+}
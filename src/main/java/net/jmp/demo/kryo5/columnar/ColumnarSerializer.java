@@ -0,0 +1,322 @@
+package net.jmp.demo.kryo5.columnar;
+
+/*
+ * (#)ColumnarSerializer.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import java.util.function.Predicate;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Writes a batch of records of one type column
+ * by column instead of record by record: all the
+ * values of the first field, then all the values of
+ * the second, and so on. Values of the same kind
+ * next to each other compress far better than
+ * interleaved records, and a reader that needs only
+ * some of the fields skips the other columns without
+ * decoding them.
+ *
+ * A batch is a format byte, the varint number of
+ * records and the varint number of columns. Each
+ * column follows as its name, its kind byte, the
+ * varint length of its values and the values.
+ *
+ * Ints are packed as zigzag varints, strings are
+ * dictionary encoded when at most half are distinct,
+ * and dates are delta encoded after a null bitmap.
+ *
+ * @param   <T> The type of record
+ */
+public final class ColumnarSerializer<T> {
+    /** The format of a batch. */
+    static final byte FORMAT = 1;
+
+    /** The initial size of the column buffer. */
+    private static final int INITIAL_COLUMN_SIZE = 64 * 1024;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The schema. */
+    private final ColumnSchema<T> schema;
+
+    /**
+     * The constructor.
+     *
+     * @param   schema  net.jmp.demo.kryo5.columnar.ColumnSchema&lt;T&gt;
+     */
+    public ColumnarSerializer(final ColumnSchema<T> schema) {
+        super();
+
+        assert schema != null;
+
+        this.schema = schema;
+    }
+
+    /**
+     * Return the schema.
+     *
+     * @return  net.jmp.demo.kryo5.columnar.ColumnSchema&lt;T&gt;
+     */
+    public ColumnSchema<T> getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * Write a batch of records.
+     *
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   records java.util.List&lt;? extends T&gt;
+     */
+    public void write(final Output output, final List<? extends T> records) {
+        this.logger.entry(records.size());
+
+        assert output != null;
+
+        final var columns = this.schema.getColumns();
+        final var values = new Output(INITIAL_COLUMN_SIZE, -1);
+
+        output.writeByte(FORMAT);
+        output.writeVarInt(records.size(), true);
+        output.writeVarInt(columns.size(), true);
+
+        for (final var column : columns) {
+            values.setPosition(0);
+            column.write(values, records);
+
+            output.writeString(column.getName());
+            output.writeByte(column.getKind());
+            output.writeVarInt(values.position(), true);
+            output.writeBytes(values.getBuffer(), 0, values.position());
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Read a batch of records with every column set.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @return          java.util.List&lt;T&gt;
+     */
+    public List<T> read(final Input input) {
+        return this.read(input, this.schema.getColumnNames());
+    }
+
+    /**
+     * Read a batch of records, setting only the given
+     * columns. The other columns are skipped and their
+     * fields keep the values of an empty record.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   names   java.util.Collection&lt;java.lang.String&gt;
+     * @return          java.util.List&lt;T&gt;
+     */
+    public List<T> read(final Input input, final Collection<String> names) {
+        this.logger.entry(names);
+
+        assert input != null;
+
+        for (final var name : names)
+            this.getColumn(name);
+
+        final List<T> records = new ArrayList<>();
+
+        final int count = this.readColumns(input, names::contains, (column, size) -> {
+            this.fill(records, size);
+            column.read(input, records);
+        });
+
+        this.fill(records, count);
+
+        this.logger.exit(records.size());
+
+        return records;
+    }
+
+    /**
+     * Read only the values of one int column of a batch.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   name    java.lang.String
+     * @return          int[]
+     */
+    public int[] readInts(final Input input, final String name) {
+        this.getColumn(name, Column.KIND_INT);
+
+        final var values = new int[1][];
+
+        this.readColumns(input, name::equals, (column, count) -> values[0] = Column.IntColumn.readInts(input, count));
+
+        if (values[0] == null)
+            throw new KryoException("Column " + name + " is not in the batch");
+
+        return values[0];
+    }
+
+    /**
+     * Read only the values of one string column of a batch.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   name    java.lang.String
+     * @return          java.util.List&lt;java.lang.String&gt;
+     */
+    public List<String> readStrings(final Input input, final String name) {
+        this.getColumn(name, Column.KIND_STRING);
+
+        final List<String> values = new ArrayList<>();
+        final var found = new boolean[1];
+
+        this.readColumns(input, name::equals, (column, count) -> {
+            values.addAll(Column.StringColumn.readStrings(input, count));
+            found[0] = true;
+        });
+
+        if (!found[0])
+            throw new KryoException("Column " + name + " is not in the batch");
+
+        return values;
+    }
+
+    /**
+     * Read the columns of a batch, handing the selected
+     * ones to a reader and skipping the others.
+     *
+     * @param   input       com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   selected    java.util.function.Predicate&lt;java.lang.String&gt;
+     * @param   reader      net.jmp.demo.kryo5.columnar.ColumnarSerializer.ColumnReader&lt;T&gt;
+     * @return              int     The number of records
+     */
+    private int readColumns(final Input input, final Predicate<String> selected, final ColumnReader<T> reader) {
+        final var format = input.readByte();
+
+        if (format != FORMAT)
+            throw new KryoException("Unknown columnar batch format: " + format);
+
+        final int count = input.readVarInt(true);
+        final int columns = input.readVarInt(true);
+
+        for (int i = 0; i < columns; i++) {
+            final var name = input.readString();
+            final var kind = input.readByte();
+            final int length = input.readVarInt(true);
+            final var column = this.schema.getColumn(name);
+
+            if (column != null && selected.test(name)) {
+                if (column.getKind() != kind)
+                    throw new KryoException("Column " + name + " is of kind " + kind + " in the batch but " + column.getKind() + " in the schema");
+
+                final var start = input.total();
+
+                reader.read(column, count);
+
+                if (input.total() - start != length)
+                    throw new KryoException("Column " + name + " holds " + length + " bytes but " + (input.total() - start) + " were read");
+            } else {
+                input.skip(length);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Add empty records until there are enough.
+     *
+     * @param   records java.util.List&lt;T&gt;
+     * @param   count   int
+     */
+    private void fill(final List<T> records, final int count) {
+        while (records.size() < count)
+            records.add(this.schema.newRecord());
+    }
+
+    /**
+     * Return the column of the schema with the given name.
+     *
+     * @param   name    java.lang.String
+     * @return          net.jmp.demo.kryo5.columnar.Column&lt;T&gt;
+     * @throws  java.lang.IllegalArgumentException When the schema has no such column
+     */
+    private Column<T> getColumn(final String name) {
+        final var column = this.schema.getColumn(name);
+
+        if (column == null)
+            throw new IllegalArgumentException("Column " + name + " is not in the schema of " + this.schema.getType().getName());
+
+        return column;
+    }
+
+    /**
+     * Return the column of the schema with the given
+     * name, which must be of the given kind.
+     *
+     * @param   name    java.lang.String
+     * @param   kind    byte
+     * @return          net.jmp.demo.kryo5.columnar.Column&lt;T&gt;
+     * @throws  java.lang.IllegalArgumentException When the schema has no such column
+     */
+    private Column<T> getColumn(final String name, final byte kind) {
+        final var column = this.getColumn(name);
+
+        if (column.getKind() != kind)
+            throw new IllegalArgumentException("Column " + name + " is of kind " + column.getKind() + " instead of " + kind);
+
+        return column;
+    }
+
+    /**
+     * Reads the values of one selected column.
+     *
+     * @param   <T> The type of record
+     */
+    @FunctionalInterface
+    private interface ColumnReader<T> {
+        /**
+         * Read the values of a column.
+         *
+         * @param   column  net.jmp.demo.kryo5.columnar.Column&lt;T&gt;
+         * @param   count   int     The number of records
+         */
+        void read(Column<T> column, int count);
+    }
+}
@@ -0,0 +1,87 @@
+package net.jmp.demo.kryo5.compress;
+
+/*
+ * (#)BlockCodec.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+/**
+ * Compresses and decompresses whole blocks.
+ *
+ * A codec instance may keep native or scratch state
+ * between calls and is only used by one thread at
+ * a time. It is closed by the stream that owns it.
+ */
+public interface BlockCodec extends AutoCloseable {
+    /**
+     * Return the identifier written to the stream
+     * header so that a reader can check the codec.
+     *
+     * @return  byte
+     */
+    byte getId();
+
+    /**
+     * Return the name of the codec.
+     *
+     * @return  java.lang.String
+     */
+    String getName();
+
+    /**
+     * Compress a block. If the compressed block would
+     * not be smaller than the source then nothing is
+     * kept and -1 is returned.
+     *
+     * @param   source  byte[]
+     * @param   length  int     The number of source bytes
+     * @param   target  byte[]  At least as long as the source
+     * @return          int     The compressed length or -1
+     */
+    int compress(byte[] source, int length, byte[] target);
+
+    /**
+     * Decompress a block.
+     *
+     * @param   source          byte[]
+     * @param   length          int     The number of compressed bytes
+     * @param   target          byte[]
+     * @param   targetLength    int     The uncompressed length
+     * @throws  java.io.IOException When the block is corrupt
+     */
+    void decompress(byte[] source, int length, byte[] target, int targetLength) throws IOException;
+
+    /**
+     * Release any resources held by the codec.
+     */
+    @Override
+    default void close() {
+    }
+}
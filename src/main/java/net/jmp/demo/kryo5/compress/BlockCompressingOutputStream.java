@@ -0,0 +1,317 @@
+package net.jmp.demo.kryo5.compress;
+
+/*
+ * (#)BlockCompressingOutputStream.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * An output stream that gathers bytes into blocks and
+ * compresses each full block on a background thread,
+ * so that compressing one block overlaps serializing
+ * the next. Blocks are written in order.
+ *
+ * The number of blocks waiting to be compressed is
+ * bounded; a writer that gets that far ahead waits
+ * for the compressor to catch up.
+ *
+ * Once a block fails to be written the compressor
+ * writes no further blocks, and every later write,
+ * flush or close reports that failure.
+ */
+public final class BlockCompressingOutputStream extends OutputStream {
+    /** The underlying stream. */
+    private final OutputStream out;
+
+    /** The codec. */
+    private final BlockCodec codec;
+
+    /** The block size. */
+    private final int blockSize;
+
+    /** Compresses and writes the blocks. */
+    private final ExecutorService compressor;
+
+    /** Blocks that are free to be filled. */
+    private final BlockingQueue<byte[]> free;
+
+    /** Blocks handed to the compressor, oldest first. */
+    private final Deque<Future<?>> pending = new ArrayDeque<>();
+
+    /** Holds a compressed block; only used by the compressor. */
+    private final byte[] compressed;
+
+    /** The block header; only used by the compressor. */
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BlockStreams.BLOCK_HEADER_SIZE);
+
+    /** The block being filled. */
+    private byte[] block;
+
+    /** The number of bytes in the block being filled. */
+    private int count;
+
+    /** The first failure of the compressor, if any. */
+    private volatile Throwable failure;
+
+    /** True once the stream is closed. */
+    private boolean closed;
+
+    /**
+     * The constructor. Writes the stream header.
+     *
+     * @param   out             java.io.OutputStream
+     * @param   codec           net.jmp.demo.kryo5.compress.BlockCodec
+     * @param   blockSize       int
+     * @param   blocksInFlight  int
+     * @throws  java.io.IOException When the header cannot be written
+     */
+    public BlockCompressingOutputStream(final OutputStream out,
+                                        final BlockCodec codec,
+                                        final int blockSize,
+                                        final int blocksInFlight) throws IOException {
+        super();
+
+        assert out != null;
+        assert codec != null;
+        assert blockSize > 0;
+        assert blocksInFlight > 0;
+
+        this.out = out;
+        this.codec = codec;
+        this.blockSize = blockSize;
+        this.compressed = new byte[blockSize];
+        this.free = new ArrayBlockingQueue<>(blocksInFlight + 1);
+
+        for (int i = 0; i < blocksInFlight; i++)
+            this.free.add(new byte[blockSize]);
+
+        this.block = new byte[blockSize];
+        this.compressor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("block-compressor").daemon().factory());
+
+        this.out.write(ByteBuffer.allocate(BlockStreams.STREAM_HEADER_SIZE)
+                .putInt(BlockStreams.MAGIC)
+                .put(BlockStreams.VERSION)
+                .put(codec.getId())
+                .array());
+    }
+
+    /**
+     * Write a byte.
+     *
+     * @param   b   int
+     * @throws  java.io.IOException When a block cannot be written
+     */
+    @Override
+    public void write(final int b) throws IOException {
+        if (this.count == this.blockSize)
+            this.submitBlock();
+
+        this.block[this.count++] = (byte) b;
+    }
+
+    /**
+     * Write bytes.
+     *
+     * @param   bytes   byte[]
+     * @param   offset  int
+     * @param   length  int
+     * @throws  java.io.IOException When a block cannot be written
+     */
+    @Override
+    public void write(final byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (this.count == this.blockSize)
+                this.submitBlock();
+
+            final int chunk = Math.min(length, this.blockSize - this.count);
+
+            System.arraycopy(bytes, offset, this.block, this.count, chunk);
+
+            this.count += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Compress the partly filled block, wait for every
+     * block to be written and flush the underlying stream.
+     *
+     * @throws  java.io.IOException When a block cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        if (this.count > 0)
+            this.submitBlock();
+
+        while (!this.pending.isEmpty())
+            this.await(this.pending.removeFirst());
+
+        this.checkFailure();
+        this.out.flush();
+    }
+
+    /**
+     * Flush and close the stream, the codec and
+     * the underlying stream.
+     *
+     * @throws  java.io.IOException When a block cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed)
+            return;
+
+        this.closed = true;
+
+        try {
+            this.flush();
+        } finally {
+            this.compressor.shutdownNow();
+            this.codec.close();
+            this.out.close();
+        }
+    }
+
+    /**
+     * Hand the current block to the compressor and
+     * take a free block to fill next.
+     *
+     * @throws  java.io.IOException When an earlier block could not be written
+     */
+    private void submitBlock() throws IOException {
+        this.checkFailure();
+
+        final byte[] full = this.block;
+        final int length = this.count;
+
+        this.pending.addLast(this.compressor.submit(() -> {
+            try {
+                if (this.failure == null)
+                    this.writeBlock(full, length);
+            } catch (final Throwable t) {
+                this.failure = t;
+
+                throw t;
+            } finally {
+                this.free.add(full);
+            }
+
+            return null;
+        }));
+
+        while (!this.pending.isEmpty() && this.pending.peekFirst().isDone())
+            this.await(this.pending.removeFirst());
+
+        this.checkFailure();
+
+        try {
+            this.block = this.free.take();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted waiting for a free block");
+        }
+
+        this.count = 0;
+    }
+
+    /**
+     * Compress and write one block. Runs on the compressor.
+     *
+     * @param   raw     byte[]
+     * @param   length  int
+     * @throws  java.io.IOException When the block cannot be written
+     */
+    private void writeBlock(final byte[] raw, final int length) throws IOException {
+        final int compressedLength = this.codec.compress(raw, length, this.compressed);
+
+        this.blockHeader.clear();
+        this.blockHeader.putInt(length);
+        this.blockHeader.putInt(compressedLength < 0 ? length : compressedLength);
+
+        this.out.write(this.blockHeader.array());
+
+        if (compressedLength < 0)
+            this.out.write(raw, 0, length);
+        else
+            this.out.write(this.compressed, 0, compressedLength);
+    }
+
+    /**
+     * Throw the first failure of the compressor, if any.
+     *
+     * @throws  java.io.IOException When an earlier block could not be written
+     */
+    private void checkFailure() throws IOException {
+        final var cause = this.failure;
+
+        if (cause instanceof IOException ioe)
+            throw new IOException("An earlier block could not be written", ioe);
+
+        if (cause != null)
+            throw new IOException("Block compression failed", cause);
+    }
+
+    /**
+     * Wait for a block to be written.
+     *
+     * @param   future  java.util.concurrent.Future&lt;?&gt;
+     * @throws  java.io.IOException When the block could not be written
+     */
+    private void await(final Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted waiting for a block to be written");
+        } catch (final ExecutionException ee) {
+            if (ee.getCause() instanceof IOException ioe)
+                throw ioe;
+
+            throw new IOException("Block compression failed", ee.getCause());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package net.jmp.demo.kryo5.compress;
+
+/*
+ * (#)BlockDecompressingInputStream.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that reads the blocks written by
+ * a block compressing output stream, decompressing
+ * one block at a time.
+ */
+public final class BlockDecompressingInputStream extends InputStream {
+    /** The underlying stream. */
+    private final DataInputStream in;
+
+    /** The codec. */
+    private final BlockCodec codec;
+
+    /** The current stored block. */
+    private byte[] stored = new byte[0];
+
+    /** The current uncompressed block. */
+    private byte[] block = new byte[0];
+
+    /** The number of bytes in the current block. */
+    private int limit;
+
+    /** The position in the current block. */
+    private int position;
+
+    /**
+     * The constructor. Reads and checks the stream header.
+     *
+     * @param   in      java.io.InputStream
+     * @param   codec   net.jmp.demo.kryo5.compress.BlockCodec
+     * @throws  java.io.IOException When the header is not valid
+     */
+    public BlockDecompressingInputStream(final InputStream in, final BlockCodec codec) throws IOException {
+        super();
+
+        assert in != null;
+        assert codec != null;
+
+        this.in = new DataInputStream(in);
+        this.codec = codec;
+
+        final int magic;
+        final byte version;
+        final byte id;
+
+        try {
+            magic = this.in.readInt();
+            version = this.in.readByte();
+            id = this.in.readByte();
+        } catch (final EOFException eofe) {
+            throw new IOException("Block stream header is incomplete", eofe);
+        }
+
+        if (magic != BlockStreams.MAGIC)
+            throw new IOException("Not a block-compressed stream");
+
+        if (version != BlockStreams.VERSION)
+            throw new IOException("Unsupported block stream version " + version);
+
+        if (id != codec.getId())
+            throw new IOException("Block stream was written with codec " + id + ", not " + codec.getName());
+    }
+
+    /**
+     * Read a byte.
+     *
+     * @return  int     The byte or -1 at the end of the stream
+     * @throws  java.io.IOException When a block cannot be read
+     */
+    @Override
+    public int read() throws IOException {
+        if (this.position == this.limit && !this.nextBlock())
+            return -1;
+
+        return this.block[this.position++] & 0xff;
+    }
+
+    /**
+     * Read bytes.
+     *
+     * @param   bytes   byte[]
+     * @param   offset  int
+     * @param   length  int
+     * @return          int     The number of bytes read or -1 at the end of the stream
+     * @throws  java.io.IOException When a block cannot be read
+     */
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length == 0)
+            return 0;
+
+        if (this.position == this.limit && !this.nextBlock())
+            return -1;
+
+        final int count = Math.min(length, this.limit - this.position);
+
+        System.arraycopy(this.block, this.position, bytes, offset, count);
+
+        this.position += count;
+
+        return count;
+    }
+
+    /**
+     * Return the number of bytes left in the current block.
+     *
+     * @return  int
+     */
+    @Override
+    public int available() {
+        return this.limit - this.position;
+    }
+
+    /**
+     * Close the stream, the codec and the underlying stream.
+     *
+     * @throws  java.io.IOException When the underlying stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.codec.close();
+        } finally {
+            this.in.close();
+        }
+    }
+
+    /**
+     * Read and decompress the next block.
+     *
+     * @return  boolean     False at the end of the stream
+     * @throws  java.io.IOException When the block is corrupt
+     */
+    private boolean nextBlock() throws IOException {
+        final int length;
+
+        try {
+            length = this.in.readInt();
+        } catch (final EOFException eofe) {
+            return false;
+        }
+
+        final int storedLength = this.in.readInt();
+
+        if (length < 0 || storedLength < 0 || storedLength > length)
+            throw new IOException("Corrupt block header");
+
+        if (this.block.length < length)
+            this.block = new byte[length];
+
+        if (storedLength == length) {
+            this.in.readFully(this.block, 0, length);
+        } else {
+            if (this.stored.length < storedLength)
+                this.stored = new byte[storedLength];
+
+            this.in.readFully(this.stored, 0, storedLength);
+            this.codec.decompress(this.stored, storedLength, this.block, length);
+        }
+
+        this.limit = length;
+        this.position = 0;
+
+        return true;
+    }
+}
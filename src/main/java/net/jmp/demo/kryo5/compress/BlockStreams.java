@@ -0,0 +1,70 @@
+package net.jmp.demo.kryo5.compress;
+
+/*
+ * (#)BlockStreams.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The layout of a block-compressed stream.
+ *
+ * The stream starts with a header:
+ *
+ *   int  magic ('KBLK')
+ *   byte version
+ *   byte codec identifier
+ *
+ * followed by blocks, each with a header:
+ *
+ *   int  uncompressed length
+ *   int  stored length
+ *
+ * A block whose stored length equals its uncompressed
+ * length did not compress and is stored as is. The
+ * stream ends after the last complete block.
+ */
+final class BlockStreams {
+    /** The stream magic number. */
+    static final int MAGIC = 0x4B424C4B;
+
+    /** The format version. */
+    static final byte VERSION = 1;
+
+    /** The size of the stream header. */
+    static final int STREAM_HEADER_SIZE = 6;
+
+    /** The size of a block header. */
+    static final int BLOCK_HEADER_SIZE = 8;
+
+    /**
+     * The default constructor.
+     */
+    private BlockStreams() {
+        super();
+    }
+}
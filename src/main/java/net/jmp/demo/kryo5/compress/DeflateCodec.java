@@ -0,0 +1,154 @@
+package net.jmp.demo.kryo5.compress;
+
+/*
+ * (#)DeflateCodec.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A block codec using the JDK deflater and inflater.
+ * Blocks are raw deflate data without zlib headers,
+ * since the stream frames every block anyway.
+ */
+public final class DeflateCodec implements BlockCodec {
+    /** The codec identifier. */
+    static final byte ID = 1;
+
+    /** The codec name. */
+    static final String NAME = "deflate";
+
+    /** The deflater. */
+    private final Deflater deflater;
+
+    /** The inflater. */
+    private final Inflater inflater = new Inflater(true);
+
+    /**
+     * The constructor.
+     *
+     * @param   level   int     From 0 to 9
+     */
+    public DeflateCodec(final int level) {
+        super();
+
+        this.deflater = new Deflater(level, true);
+    }
+
+    /**
+     * Return the identifier of the codec.
+     *
+     * @return  byte
+     */
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    /**
+     * Return the name of the codec.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Compress a block.
+     *
+     * @param   source  byte[]
+     * @param   length  int
+     * @param   target  byte[]
+     * @return          int
+     */
+    @Override
+    public int compress(final byte[] source, final int length, final byte[] target) {
+        this.deflater.reset();
+        this.deflater.setInput(source, 0, length);
+        this.deflater.finish();
+
+        int compressed = 0;
+
+        while (!this.deflater.finished() && compressed < length)
+            compressed += this.deflater.deflate(target, compressed, length - compressed);
+
+        return this.deflater.finished() && compressed < length ? compressed : -1;
+    }
+
+    /**
+     * Decompress a block.
+     *
+     * @param   source          byte[]
+     * @param   length          int
+     * @param   target          byte[]
+     * @param   targetLength    int
+     * @throws  java.io.IOException When the block is corrupt
+     */
+    @Override
+    public void decompress(final byte[] source,
+                           final int length,
+                           final byte[] target,
+                           final int targetLength) throws IOException {
+        this.inflater.reset();
+        this.inflater.setInput(source, 0, length);
+
+        int inflated = 0;
+
+        try {
+            while (inflated < targetLength) {
+                final int count = this.inflater.inflate(target, inflated, targetLength - inflated);
+
+                if (count == 0 && (this.inflater.finished() || this.inflater.needsInput()))
+                    break;
+
+                inflated += count;
+            }
+        } catch (final DataFormatException dfe) {
+            throw new IOException("Corrupt deflate block", dfe);
+        }
+
+        if (inflated != targetLength)
+            throw new IOException("Deflate block holds " + inflated + " bytes instead of " + targetLength);
+    }
+
+    /**
+     * Release the deflater and inflater.
+     */
+    @Override
+    public void close() {
+        this.deflater.end();
+        this.inflater.end();
+    }
+}
@@ -1,10 +1,11 @@
 package net.jmp.demo.kryo5.config;
 
 /*
+ * (#)Config.java   0.5.0   10/18/2026
  * (#)Config.java   0.2.0   05/15/2024
  *
  * @author    Jonathan Parker
- * @version   0.2.0
+ * @version   0.5.0
  * @since     0.2.0
  *
  * MIT License
@@ -40,6 +41,58 @@ public final class Config {
     @SerializedName("files")
     private ConfigFiles configFiles;
 
+    /** The engine section of the configuration. */
+    @SerializedName("engine")
+    private ConfigEngine configEngine;
+
+    /** The record log section of the configuration. */
+    @SerializedName("recordLog")
+    private ConfigRecordLog configRecordLog;
+
+    /** The file access section of the configuration. */
+    @SerializedName("fileAccess")
+    private ConfigFileAccess configFileAccess;
+
+    /** The compression section of the configuration. */
+    @SerializedName("compression")
+    private ConfigCompression configCompression;
+
+    /** The batch section of the configuration. */
+    @SerializedName("batch")
+    private ConfigBatch configBatch;
+
+    /** The write-behind section of the configuration. */
+    @SerializedName("writeBehind")
+    private ConfigWriteBehind configWriteBehind;
+
+    /** The off-heap store section of the configuration. */
+    @SerializedName("offHeap")
+    private ConfigOffHeap configOffHeap;
+
+    /** The object file cache section of the configuration. */
+    @SerializedName("cache")
+    private ConfigCache configCache;
+
+    /** The warm-up section of the configuration. */
+    @SerializedName("warmUp")
+    private ConfigWarmUp configWarmUp;
+
+    /** The record server section of the configuration. */
+    @SerializedName("server")
+    private ConfigServer configServer;
+
+    /** The messaging section of the configuration. */
+    @SerializedName("messaging")
+    private ConfigMessaging configMessaging;
+
+    /** The load section of the configuration. */
+    @SerializedName("load")
+    private ConfigLoad configLoad;
+
+    /** The dataset section of the configuration. */
+    @SerializedName("dataset")
+    private ConfigDataset configDataset;
+
     /**
      * Get the files section.
      *
@@ -58,6 +111,240 @@ public final class Config {
         this.configFiles = configFiles;
     }
 
+    /**
+     * Get the engine section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigEngine
+     */
+    public ConfigEngine getConfigEngine() {
+        return this.configEngine;
+    }
+
+    /**
+     * Set the engine section.
+     *
+     * @param   configEngine    net.jmp.demo.kryo5.config.ConfigEngine
+     */
+    public void setConfigEngine(final ConfigEngine configEngine) {
+        this.configEngine = configEngine;
+    }
+
+    /**
+     * Get the record log section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigRecordLog
+     */
+    public ConfigRecordLog getConfigRecordLog() {
+        return this.configRecordLog;
+    }
+
+    /**
+     * Set the record log section.
+     *
+     * @param   configRecordLog net.jmp.demo.kryo5.config.ConfigRecordLog
+     */
+    public void setConfigRecordLog(final ConfigRecordLog configRecordLog) {
+        this.configRecordLog = configRecordLog;
+    }
+
+    /**
+     * Get the file access section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigFileAccess
+     */
+    public ConfigFileAccess getConfigFileAccess() {
+        return this.configFileAccess;
+    }
+
+    /**
+     * Set the file access section.
+     *
+     * @param   configFileAccess    net.jmp.demo.kryo5.config.ConfigFileAccess
+     */
+    public void setConfigFileAccess(final ConfigFileAccess configFileAccess) {
+        this.configFileAccess = configFileAccess;
+    }
+
+    /**
+     * Get the compression section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigCompression
+     */
+    public ConfigCompression getConfigCompression() {
+        return this.configCompression;
+    }
+
+    /**
+     * Set the compression section.
+     *
+     * @param   configCompression   net.jmp.demo.kryo5.config.ConfigCompression
+     */
+    public void setConfigCompression(final ConfigCompression configCompression) {
+        this.configCompression = configCompression;
+    }
+
+    /**
+     * Get the batch section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigBatch
+     */
+    public ConfigBatch getConfigBatch() {
+        return this.configBatch;
+    }
+
+    /**
+     * Set the batch section.
+     *
+     * @param   configBatch         net.jmp.demo.kryo5.config.ConfigBatch
+     */
+    public void setConfigBatch(final ConfigBatch configBatch) {
+        this.configBatch = configBatch;
+    }
+
+    /**
+     * Get the write-behind section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigWriteBehind
+     */
+    public ConfigWriteBehind getConfigWriteBehind() {
+        return this.configWriteBehind;
+    }
+
+    /**
+     * Set the write-behind section.
+     *
+     * @param   configWriteBehind   net.jmp.demo.kryo5.config.ConfigWriteBehind
+     */
+    public void setConfigWriteBehind(final ConfigWriteBehind configWriteBehind) {
+        this.configWriteBehind = configWriteBehind;
+    }
+
+    /**
+     * Get the off-heap store section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigOffHeap
+     */
+    public ConfigOffHeap getConfigOffHeap() {
+        return this.configOffHeap;
+    }
+
+    /**
+     * Set the off-heap store section.
+     *
+     * @param   configOffHeap       net.jmp.demo.kryo5.config.ConfigOffHeap
+     */
+    public void setConfigOffHeap(final ConfigOffHeap configOffHeap) {
+        this.configOffHeap = configOffHeap;
+    }
+
+    /**
+     * Get the object file cache section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigCache
+     */
+    public ConfigCache getConfigCache() {
+        return this.configCache;
+    }
+
+    /**
+     * Set the object file cache section.
+     *
+     * @param   configCache         net.jmp.demo.kryo5.config.ConfigCache
+     */
+    public void setConfigCache(final ConfigCache configCache) {
+        this.configCache = configCache;
+    }
+
+    /**
+     * Get the warm-up section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigWarmUp
+     */
+    public ConfigWarmUp getConfigWarmUp() {
+        return this.configWarmUp;
+    }
+
+    /**
+     * Set the warm-up section.
+     *
+     * @param   configWarmUp        net.jmp.demo.kryo5.config.ConfigWarmUp
+     */
+    public void setConfigWarmUp(final ConfigWarmUp configWarmUp) {
+        this.configWarmUp = configWarmUp;
+    }
+
+    /**
+     * Get the record server section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigServer
+     */
+    public ConfigServer getConfigServer() {
+        return this.configServer;
+    }
+
+    /**
+     * Set the record server section.
+     *
+     * @param   configServer        net.jmp.demo.kryo5.config.ConfigServer
+     */
+    public void setConfigServer(final ConfigServer configServer) {
+        this.configServer = configServer;
+    }
+
+    /**
+     * Get the messaging section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigMessaging
+     */
+    public ConfigMessaging getConfigMessaging() {
+        return this.configMessaging;
+    }
+
+    /**
+     * Set the messaging section.
+     *
+     * @param   configMessaging     net.jmp.demo.kryo5.config.ConfigMessaging
+     */
+    public void setConfigMessaging(final ConfigMessaging configMessaging) {
+        this.configMessaging = configMessaging;
+    }
+
+    /**
+     * Get the load section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigLoad
+     */
+    public ConfigLoad getConfigLoad() {
+        return this.configLoad;
+    }
+
+    /**
+     * Set the load section.
+     *
+     * @param   configLoad          net.jmp.demo.kryo5.config.ConfigLoad
+     */
+    public void setConfigLoad(final ConfigLoad configLoad) {
+        this.configLoad = configLoad;
+    }
+
+    /**
+     * Get the dataset section.
+     *
+     * @return  net.jmp.demo.kryo5.config.ConfigDataset
+     */
+    public ConfigDataset getConfigDataset() {
+        return this.configDataset;
+    }
+
+    /**
+     * Set the dataset section.
+     *
+     * @param   configDataset       net.jmp.demo.kryo5.config.ConfigDataset
+     */
+    public void setConfigDataset(final ConfigDataset configDataset) {
+        this.configDataset = configDataset;
+    }
+
     /**
      * The to-string method.
      *
@@ -67,6 +354,19 @@ public final class Config {
     public String toString() {
         return "Config{" +
                 "configFiles=" + this.configFiles +
+                ", configEngine=" + this.configEngine +
+                ", configRecordLog=" + this.configRecordLog +
+                ", configFileAccess=" + this.configFileAccess +
+                ", configCompression=" + this.configCompression +
+                ", configBatch=" + this.configBatch +
+                ", configWriteBehind=" + this.configWriteBehind +
+                ", configOffHeap=" + this.configOffHeap +
+                ", configCache=" + this.configCache +
+                ", configWarmUp=" + this.configWarmUp +
+                ", configServer=" + this.configServer +
+                ", configMessaging=" + this.configMessaging +
+                ", configLoad=" + this.configLoad +
+                ", configDataset=" + this.configDataset +
                 '}';
     }
 }
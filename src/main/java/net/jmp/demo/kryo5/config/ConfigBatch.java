@@ -0,0 +1,118 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigBatch.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The batch section of the configuration class.
+ */
+public final class ConfigBatch {
+    /** The number of worker threads. */
+    @SerializedName("parallelism")
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** The number of records encoded by a worker at a time. */
+    @SerializedName("chunkSize")
+    private int chunkSize = 10_000;
+
+    /** True to write a string dictionary in front of each chunk. */
+    @SerializedName("dictionary")
+    private boolean dictionary;
+
+    /**
+     * Get the number of worker threads.
+     *
+     * @return  int
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Set the number of worker threads.
+     *
+     * @param   parallelism int
+     */
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Get the number of records encoded by a worker at a time.
+     *
+     * @return  int
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Set the number of records encoded by a worker at a time.
+     *
+     * @param   chunkSize   int
+     */
+    public void setChunkSize(final int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Get whether a string dictionary is written in front of each chunk.
+     *
+     * @return  boolean
+     */
+    public boolean isDictionary() {
+        return this.dictionary;
+    }
+
+    /**
+     * Set whether a string dictionary is written in front of each chunk.
+     *
+     * @param   dictionary  boolean
+     */
+    public void setDictionary(final boolean dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigBatch{" +
+                "parallelism=" + this.parallelism +
+                ", chunkSize=" + this.chunkSize +
+                ", dictionary=" + this.dictionary +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigCache.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+import net.jmp.demo.kryo5.cache.CacheValues;
+
+/**
+ * The object file cache section of the configuration class.
+ */
+public final class ConfigCache {
+    /** The byte budget of the cache, or 0 for no cache. */
+    @SerializedName("maxBytes")
+    private long maxBytes;
+
+    /** What the cache holds for each file. */
+    @SerializedName("values")
+    private CacheValues values = CacheValues.BYTES;
+
+    /**
+     * Get the byte budget of the cache, or 0 for no cache.
+     *
+     * @return  long
+     */
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    /**
+     * Set the byte budget of the cache, or 0 for no cache.
+     *
+     * @param   maxBytes    long
+     */
+    public void setMaxBytes(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get what the cache holds for each file.
+     *
+     * @return  net.jmp.demo.kryo5.cache.CacheValues
+     */
+    public CacheValues getValues() {
+        return this.values;
+    }
+
+    /**
+     * Set what the cache holds for each file.
+     *
+     * @param   values      net.jmp.demo.kryo5.cache.CacheValues
+     */
+    public void setValues(final CacheValues values) {
+        this.values = values;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigCache{" +
+                "maxBytes=" + this.maxBytes +
+                ", values=" + this.values +
+                '}';
+    }
+}
@@ -0,0 +1,141 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigCompression.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The compression section of the configuration class.
+ */
+public final class ConfigCompression {
+    /** The name of the block codec. */
+    @SerializedName("codec")
+    private String codec = "deflate";
+
+    /** The compression level. */
+    @SerializedName("level")
+    private int level = 6;
+
+    /** The size in bytes of an uncompressed block. */
+    @SerializedName("blockSize")
+    private int blockSize = 64 * 1024;
+
+    /** The number of blocks that may wait to be compressed. */
+    @SerializedName("blocksInFlight")
+    private int blocksInFlight = 2;
+
+    /**
+     * Get the name of the block codec.
+     *
+     * @return  java.lang.String
+     */
+    public String getCodec() {
+        return this.codec;
+    }
+
+    /**
+     * Set the name of the block codec.
+     *
+     * @param   codec       java.lang.String
+     */
+    public void setCodec(final String codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Get the compression level.
+     *
+     * @return  int
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Set the compression level.
+     *
+     * @param   level       int
+     */
+    public void setLevel(final int level) {
+        this.level = level;
+    }
+
+    /**
+     * Get the size in bytes of an uncompressed block.
+     *
+     * @return  int
+     */
+    public int getBlockSize() {
+        return this.blockSize;
+    }
+
+    /**
+     * Set the size in bytes of an uncompressed block.
+     *
+     * @param   blockSize   int
+     */
+    public void setBlockSize(final int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Get the number of blocks that may wait to be compressed.
+     *
+     * @return  int
+     */
+    public int getBlocksInFlight() {
+        return this.blocksInFlight;
+    }
+
+    /**
+     * Set the number of blocks that may wait to be compressed.
+     *
+     * @param   blocksInFlight int
+     */
+    public void setBlocksInFlight(final int blocksInFlight) {
+        this.blocksInFlight = blocksInFlight;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigCompression{" +
+                "codec='" + this.codec + '\'' +
+                ", level=" + this.level +
+                ", blockSize=" + this.blockSize +
+                ", blocksInFlight=" + this.blocksInFlight +
+                '}';
+    }
+}
@@ -0,0 +1,511 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigDataset.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+import net.jmp.demo.kryo5.dataset.Distribution;
+
+/**
+ * The dataset section of the configuration class.
+ */
+public final class ConfigDataset {
+    /** The seed every generated value derives from. */
+    @SerializedName("seed")
+    private long seed = 42L;
+
+    /** The number of objects generated of each type. */
+    @SerializedName("count")
+    private int count = 100_000;
+
+    /** How often each string of a pool is chosen. */
+    @SerializedName("stringDistribution")
+    private Distribution stringDistribution = Distribution.SKEWED;
+
+    /** The number of distinct person and pet names. */
+    @SerializedName("names")
+    private int names = 5_000;
+
+    /** The number of distinct pet types. */
+    @SerializedName("petTypes")
+    private int petTypes = 20;
+
+    /** The number of distinct pet and chair colors. */
+    @SerializedName("colors")
+    private int colors = 12;
+
+    /** The number of distinct recording titles. */
+    @SerializedName("titles")
+    private int titles = 10_000;
+
+    /** The number of distinct recording labels. */
+    @SerializedName("labels")
+    private int labels = 50;
+
+    /** The number of distinct artists. */
+    @SerializedName("artists")
+    private int artists = 2_000;
+
+    /** How person and pet ages are spread. */
+    @SerializedName("ageDistribution")
+    private Distribution ageDistribution = Distribution.NORMAL;
+
+    /** The youngest person age. */
+    @SerializedName("minAge")
+    private int minAge = 0;
+
+    /** The oldest person age. */
+    @SerializedName("maxAge")
+    private int maxAge = 100;
+
+    /** The oldest pet age. */
+    @SerializedName("maxPetAge")
+    private int maxPetAge = 20;
+
+    /** The ISO date that ages are counted back from to give birthdays. */
+    @SerializedName("referenceDate")
+    private String referenceDate = "2026-01-01";
+
+    /** How recording lengths are spread. */
+    @SerializedName("minutesDistribution")
+    private Distribution minutesDistribution = Distribution.NORMAL;
+
+    /** The shortest recording in minutes. */
+    @SerializedName("minMinutes")
+    private int minMinutes = 20;
+
+    /** The longest recording in minutes. */
+    @SerializedName("maxMinutes")
+    private int maxMinutes = 90;
+
+    /** The fewest artists on a recording. */
+    @SerializedName("minArtists")
+    private int minArtists = 1;
+
+    /** The most artists on a recording. */
+    @SerializedName("maxArtists")
+    private int maxArtists = 4;
+
+    /** The percentage of chairs with wheels. */
+    @SerializedName("wheelsPercent")
+    private int wheelsPercent = 50;
+
+    /**
+     * Get the seed every generated value derives from.
+     *
+     * @return  long
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Set the seed every generated value derives from.
+     *
+     * @param   seed        long
+     */
+    public void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Get the number of objects generated of each type.
+     *
+     * @return  int
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Set the number of objects generated of each type.
+     *
+     * @param   count       int
+     */
+    public void setCount(final int count) {
+        this.count = count;
+    }
+
+    /**
+     * Get the distribution by which the strings of a pool are chosen.
+     *
+     * @return  net.jmp.demo.kryo5.dataset.Distribution
+     */
+    public Distribution getStringDistribution() {
+        return this.stringDistribution;
+    }
+
+    /**
+     * Set the distribution by which the strings of a pool are chosen.
+     *
+     * @param   stringDistribution net.jmp.demo.kryo5.dataset.Distribution
+     */
+    public void setStringDistribution(final Distribution stringDistribution) {
+        this.stringDistribution = stringDistribution;
+    }
+
+    /**
+     * Get the number of distinct person and pet names.
+     *
+     * @return  int
+     */
+    public int getNames() {
+        return this.names;
+    }
+
+    /**
+     * Set the number of distinct person and pet names.
+     *
+     * @param   names       int
+     */
+    public void setNames(final int names) {
+        this.names = names;
+    }
+
+    /**
+     * Get the number of distinct pet types.
+     *
+     * @return  int
+     */
+    public int getPetTypes() {
+        return this.petTypes;
+    }
+
+    /**
+     * Set the number of distinct pet types.
+     *
+     * @param   petTypes    int
+     */
+    public void setPetTypes(final int petTypes) {
+        this.petTypes = petTypes;
+    }
+
+    /**
+     * Get the number of distinct pet and chair colors.
+     *
+     * @return  int
+     */
+    public int getColors() {
+        return this.colors;
+    }
+
+    /**
+     * Set the number of distinct pet and chair colors.
+     *
+     * @param   colors      int
+     */
+    public void setColors(final int colors) {
+        this.colors = colors;
+    }
+
+    /**
+     * Get the number of distinct recording titles.
+     *
+     * @return  int
+     */
+    public int getTitles() {
+        return this.titles;
+    }
+
+    /**
+     * Set the number of distinct recording titles.
+     *
+     * @param   titles      int
+     */
+    public void setTitles(final int titles) {
+        this.titles = titles;
+    }
+
+    /**
+     * Get the number of distinct recording labels.
+     *
+     * @return  int
+     */
+    public int getLabels() {
+        return this.labels;
+    }
+
+    /**
+     * Set the number of distinct recording labels.
+     *
+     * @param   labels      int
+     */
+    public void setLabels(final int labels) {
+        this.labels = labels;
+    }
+
+    /**
+     * Get the number of distinct artists.
+     *
+     * @return  int
+     */
+    public int getArtists() {
+        return this.artists;
+    }
+
+    /**
+     * Set the number of distinct artists.
+     *
+     * @param   artists     int
+     */
+    public void setArtists(final int artists) {
+        this.artists = artists;
+    }
+
+    /**
+     * Get the distribution of person and pet ages.
+     *
+     * @return  net.jmp.demo.kryo5.dataset.Distribution
+     */
+    public Distribution getAgeDistribution() {
+        return this.ageDistribution;
+    }
+
+    /**
+     * Set the distribution of person and pet ages.
+     *
+     * @param   ageDistribution net.jmp.demo.kryo5.dataset.Distribution
+     */
+    public void setAgeDistribution(final Distribution ageDistribution) {
+        this.ageDistribution = ageDistribution;
+    }
+
+    /**
+     * Get the youngest person age.
+     *
+     * @return  int
+     */
+    public int getMinAge() {
+        return this.minAge;
+    }
+
+    /**
+     * Set the youngest person age.
+     *
+     * @param   minAge      int
+     */
+    public void setMinAge(final int minAge) {
+        this.minAge = minAge;
+    }
+
+    /**
+     * Get the oldest person age.
+     *
+     * @return  int
+     */
+    public int getMaxAge() {
+        return this.maxAge;
+    }
+
+    /**
+     * Set the oldest person age.
+     *
+     * @param   maxAge      int
+     */
+    public void setMaxAge(final int maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Get the oldest pet age.
+     *
+     * @return  int
+     */
+    public int getMaxPetAge() {
+        return this.maxPetAge;
+    }
+
+    /**
+     * Set the oldest pet age.
+     *
+     * @param   maxPetAge   int
+     */
+    public void setMaxPetAge(final int maxPetAge) {
+        this.maxPetAge = maxPetAge;
+    }
+
+    /**
+     * Get the ISO date that ages are counted back from to give birthdays.
+     *
+     * @return  java.lang.String
+     */
+    public String getReferenceDate() {
+        return this.referenceDate;
+    }
+
+    /**
+     * Set the ISO date that ages are counted back from to give birthdays.
+     *
+     * @param   referenceDate java.lang.String
+     */
+    public void setReferenceDate(final String referenceDate) {
+        this.referenceDate = referenceDate;
+    }
+
+    /**
+     * Get the distribution of recording lengths.
+     *
+     * @return  net.jmp.demo.kryo5.dataset.Distribution
+     */
+    public Distribution getMinutesDistribution() {
+        return this.minutesDistribution;
+    }
+
+    /**
+     * Set the distribution of recording lengths.
+     *
+     * @param   minutesDistribution net.jmp.demo.kryo5.dataset.Distribution
+     */
+    public void setMinutesDistribution(final Distribution minutesDistribution) {
+        this.minutesDistribution = minutesDistribution;
+    }
+
+    /**
+     * Get the shortest recording in minutes.
+     *
+     * @return  int
+     */
+    public int getMinMinutes() {
+        return this.minMinutes;
+    }
+
+    /**
+     * Set the shortest recording in minutes.
+     *
+     * @param   minMinutes  int
+     */
+    public void setMinMinutes(final int minMinutes) {
+        this.minMinutes = minMinutes;
+    }
+
+    /**
+     * Get the longest recording in minutes.
+     *
+     * @return  int
+     */
+    public int getMaxMinutes() {
+        return this.maxMinutes;
+    }
+
+    /**
+     * Set the longest recording in minutes.
+     *
+     * @param   maxMinutes  int
+     */
+    public void setMaxMinutes(final int maxMinutes) {
+        this.maxMinutes = maxMinutes;
+    }
+
+    /**
+     * Get the fewest artists on a recording.
+     *
+     * @return  int
+     */
+    public int getMinArtists() {
+        return this.minArtists;
+    }
+
+    /**
+     * Set the fewest artists on a recording.
+     *
+     * @param   minArtists  int
+     */
+    public void setMinArtists(final int minArtists) {
+        this.minArtists = minArtists;
+    }
+
+    /**
+     * Get the most artists on a recording.
+     *
+     * @return  int
+     */
+    public int getMaxArtists() {
+        return this.maxArtists;
+    }
+
+    /**
+     * Set the most artists on a recording.
+     *
+     * @param   maxArtists  int
+     */
+    public void setMaxArtists(final int maxArtists) {
+        this.maxArtists = maxArtists;
+    }
+
+    /**
+     * Get the percentage of chairs with wheels.
+     *
+     * @return  int
+     */
+    public int getWheelsPercent() {
+        return this.wheelsPercent;
+    }
+
+    /**
+     * Set the percentage of chairs with wheels.
+     *
+     * @param   wheelsPercent int
+     */
+    public void setWheelsPercent(final int wheelsPercent) {
+        this.wheelsPercent = wheelsPercent;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigDataset{" +
+                "seed=" + this.seed +
+                ", count=" + this.count +
+                ", stringDistribution=" + this.stringDistribution +
+                ", names=" + this.names +
+                ", petTypes=" + this.petTypes +
+                ", colors=" + this.colors +
+                ", titles=" + this.titles +
+                ", labels=" + this.labels +
+                ", artists=" + this.artists +
+                ", ageDistribution=" + this.ageDistribution +
+                ", minAge=" + this.minAge +
+                ", maxAge=" + this.maxAge +
+                ", maxPetAge=" + this.maxPetAge +
+                ", referenceDate='" + this.referenceDate + '\'' +
+                ", minutesDistribution=" + this.minutesDistribution +
+                ", minMinutes=" + this.minMinutes +
+                ", maxMinutes=" + this.maxMinutes +
+                ", minArtists=" + this.minArtists +
+                ", maxArtists=" + this.maxArtists +
+                ", wheelsPercent=" + this.wheelsPercent +
+                '}';
+    }
+}
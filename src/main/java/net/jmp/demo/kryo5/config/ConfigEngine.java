@@ -0,0 +1,168 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigEngine.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+import net.jmp.demo.kryo5.engine.IoMode;
+
+/**
+ * The engine section of the configuration class.
+ */
+public final class ConfigEngine {
+    /** The maximum number of pooled Kryo instances and buffers. */
+    @SerializedName("poolSize")
+    private int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+
+    /** The initial size of each pooled buffer. */
+    @SerializedName("bufferSize")
+    private int bufferSize = 4096;
+
+    /** The maximum size of each pooled output buffer; -1 for no maximum. */
+    @SerializedName("maxBufferSize")
+    private int maxBufferSize = -1;
+
+    /** How inputs and outputs move primitives. */
+    @SerializedName("ioMode")
+    private IoMode ioMode = IoMode.SAFE;
+
+    /** True to write ints and longs with variable-length encoding. */
+    @SerializedName("variableLengthEncoding")
+    private boolean variableLengthEncoding = true;
+
+    /**
+     * Get the pool size.
+     *
+     * @return  int
+     */
+    public int getPoolSize() {
+        return this.poolSize;
+    }
+
+    /**
+     * Set the pool size.
+     *
+     * @param   poolSize    int
+     */
+    public void setPoolSize(final int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Get the buffer size.
+     *
+     * @return  int
+     */
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    /**
+     * Set the buffer size.
+     *
+     * @param   bufferSize  int
+     */
+    public void setBufferSize(final int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Get the maximum buffer size.
+     *
+     * @return  int
+     */
+    public int getMaxBufferSize() {
+        return this.maxBufferSize;
+    }
+
+    /**
+     * Set the maximum buffer size.
+     *
+     * @param   maxBufferSize   int
+     */
+    public void setMaxBufferSize(final int maxBufferSize) {
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    /**
+     * Get the I/O mode.
+     *
+     * @return  net.jmp.demo.kryo5.engine.IoMode
+     */
+    public IoMode getIoMode() {
+        return this.ioMode;
+    }
+
+    /**
+     * Set the I/O mode.
+     *
+     * @param   ioMode  net.jmp.demo.kryo5.engine.IoMode
+     */
+    public void setIoMode(final IoMode ioMode) {
+        this.ioMode = ioMode;
+    }
+
+    /**
+     * Get whether ints and longs are written
+     * with variable-length encoding.
+     *
+     * @return  boolean
+     */
+    public boolean isVariableLengthEncoding() {
+        return this.variableLengthEncoding;
+    }
+
+    /**
+     * Set whether ints and longs are written
+     * with variable-length encoding.
+     *
+     * @param   variableLengthEncoding  boolean
+     */
+    public void setVariableLengthEncoding(final boolean variableLengthEncoding) {
+        this.variableLengthEncoding = variableLengthEncoding;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigEngine{" +
+                "poolSize=" + this.poolSize +
+                ", bufferSize=" + this.bufferSize +
+                ", maxBufferSize=" + this.maxBufferSize +
+                ", ioMode=" + this.ioMode +
+                ", variableLengthEncoding=" + this.variableLengthEncoding +
+                '}';
+    }
+}
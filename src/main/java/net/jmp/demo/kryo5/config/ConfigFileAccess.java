@@ -0,0 +1,158 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigFileAccess.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.jmp.demo.kryo5.io.FileAccess;
+
+/**
+ * The file access section of the configuration class.
+ */
+public final class ConfigFileAccess {
+    /** The access used for files that are not listed. */
+    @SerializedName("default")
+    private FileAccess defaultAccess = FileAccess.STREAM;
+
+    /** The access used for each listed file. */
+    @SerializedName("files")
+    private Map<String, FileAccess> files = new HashMap<>();
+
+    /** The size of each direct buffer used for channel access. */
+    @SerializedName("channelBufferSize")
+    private int channelBufferSize = 64 * 1024;
+
+    /** The number of pooled direct buffers used for channel access. */
+    @SerializedName("channelBuffers")
+    private int channelBuffers = 16;
+
+    /**
+     * Get the default access.
+     *
+     * @return  net.jmp.demo.kryo5.io.FileAccess
+     */
+    public FileAccess getDefaultAccess() {
+        return this.defaultAccess;
+    }
+
+    /**
+     * Set the default access.
+     *
+     * @param   defaultAccess   net.jmp.demo.kryo5.io.FileAccess
+     */
+    public void setDefaultAccess(final FileAccess defaultAccess) {
+        this.defaultAccess = defaultAccess;
+    }
+
+    /**
+     * Get the access of each listed file.
+     *
+     * @return  java.util.Map&lt;java.lang.String, net.jmp.demo.kryo5.io.FileAccess&gt;
+     */
+    public Map<String, FileAccess> getFiles() {
+        return this.files;
+    }
+
+    /**
+     * Set the access of each listed file.
+     *
+     * @param   files   java.util.Map&lt;java.lang.String, net.jmp.demo.kryo5.io.FileAccess&gt;
+     */
+    public void setFiles(final Map<String, FileAccess> files) {
+        this.files = files;
+    }
+
+    /**
+     * Get the channel buffer size.
+     *
+     * @return  int
+     */
+    public int getChannelBufferSize() {
+        return this.channelBufferSize;
+    }
+
+    /**
+     * Set the channel buffer size.
+     *
+     * @param   channelBufferSize   int
+     */
+    public void setChannelBufferSize(final int channelBufferSize) {
+        this.channelBufferSize = channelBufferSize;
+    }
+
+    /**
+     * Get the number of channel buffers.
+     *
+     * @return  int
+     */
+    public int getChannelBuffers() {
+        return this.channelBuffers;
+    }
+
+    /**
+     * Set the number of channel buffers.
+     *
+     * @param   channelBuffers  int
+     */
+    public void setChannelBuffers(final int channelBuffers) {
+        this.channelBuffers = channelBuffers;
+    }
+
+    /**
+     * Return the access of a file.
+     *
+     * @param   fileName    java.lang.String
+     * @return              net.jmp.demo.kryo5.io.FileAccess
+     */
+    public FileAccess getAccess(final String fileName) {
+        final var access = this.files == null ? null : this.files.get(fileName);
+
+        return access != null ? access : this.defaultAccess;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigFileAccess{" +
+                "defaultAccess=" + this.defaultAccess +
+                ", files=" + this.files +
+                ", channelBufferSize=" + this.channelBufferSize +
+                ", channelBuffers=" + this.channelBuffers +
+                '}';
+    }
+}
@@ -1,10 +1,11 @@
 package net.jmp.demo.kryo5.config;
 
 /*
+ * (#)ConfigFiles.java  0.5.0   10/18/2026
  * (#)ConfigFiles.java  0.2.0   05/15/2024
  *
  * @author    Jonathan Parker
- * @version   0.2.0
+ * @version   0.5.0
  * @since     0.2.0
  *
  * MIT License
@@ -44,6 +45,22 @@ public final class ConfigFiles {
     @SerializedName("test")
     private String test;
 
+    /** The directory of the record logs. */
+    @SerializedName("records")
+    private String records;
+
+    /** The directory of the batch files. */
+    @SerializedName("batches")
+    private String batches;
+
+    /** The file written by the write-behind writer. */
+    @SerializedName("writeBehind")
+    private String writeBehind;
+
+    /** The directory of the generated datasets. */
+    @SerializedName("datasets")
+    private String datasets;
+
     /**
      * Get the main data location.
      *
@@ -80,6 +97,78 @@ public final class ConfigFiles {
         this.test = test;
     }
 
+    /**
+     * Get the record log directory.
+     *
+     * @return  java.lang.String
+     */
+    public String getRecords() {
+        return this.records;
+    }
+
+    /**
+     * Set the record log directory.
+     *
+     * @param   records java.lang.String
+     */
+    public void setRecords(final String records) {
+        this.records = records;
+    }
+
+    /**
+     * Get the batch file directory.
+     *
+     * @return  java.lang.String
+     */
+    public String getBatches() {
+        return this.batches;
+    }
+
+    /**
+     * Set the batch file directory.
+     *
+     * @param   batches java.lang.String
+     */
+    public void setBatches(final String batches) {
+        this.batches = batches;
+    }
+
+    /**
+     * Get the write-behind file.
+     *
+     * @return  java.lang.String
+     */
+    public String getWriteBehind() {
+        return this.writeBehind;
+    }
+
+    /**
+     * Set the write-behind file.
+     *
+     * @param   writeBehind java.lang.String
+     */
+    public void setWriteBehind(final String writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Get the generated dataset directory.
+     *
+     * @return  java.lang.String
+     */
+    public String getDatasets() {
+        return this.datasets;
+    }
+
+    /**
+     * Set the generated dataset directory.
+     *
+     * @param   datasets    java.lang.String
+     */
+    public void setDatasets(final String datasets) {
+        this.datasets = datasets;
+    }
+
     /**
      * The to-string method.
      *
@@ -90,6 +179,10 @@ public final class ConfigFiles {
         return "ConfigFiles{" +
                 "main='" + this.main + '\'' +
                 ", test='" + this.test + '\'' +
+                ", records='" + this.records + '\'' +
+                ", batches='" + this.batches + '\'' +
+                ", writeBehind='" + this.writeBehind + '\'' +
+                ", datasets='" + this.datasets + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,212 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigLoad.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+import net.jmp.demo.kryo5.engine.IoMode;
+
+/**
+ * The load section of the configuration class.
+ */
+public final class ConfigLoad {
+    /** True to run the load generator instead of the demonstrations. */
+    @SerializedName("enabled")
+    private boolean enabled = false;
+
+    /** The number of threads driving the load. */
+    @SerializedName("threads")
+    private int threads = 4;
+
+    /** True to drive the load from virtual threads rather than platform threads. */
+    @SerializedName("virtualThreads")
+    private boolean virtualThreads = false;
+
+    /** The simple name of the class of the objects serialized. */
+    @SerializedName("objectType")
+    private String objectType = "Pet";
+
+    /** The number of distinct objects serialized in turn. */
+    @SerializedName("objectCount")
+    private int objectCount = 1000;
+
+    /** The length of the run in seconds. */
+    @SerializedName("durationSeconds")
+    private int durationSeconds = 10;
+
+    /** The engine I/O mode for the run, or null for the one in the engine section. */
+    @SerializedName("ioMode")
+    private IoMode ioMode;
+
+    /**
+     * Get the true to run the load generator instead of the demonstrations.
+     *
+     * @return  boolean
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Set the true to run the load generator instead of the demonstrations.
+     *
+     * @param   enabled     boolean
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the number of threads driving the load.
+     *
+     * @return  int
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * Set the number of threads driving the load.
+     *
+     * @param   threads     int
+     */
+    public void setThreads(final int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Get the true to drive the load from virtual threads rather than platform threads.
+     *
+     * @return  boolean
+     */
+    public boolean isVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    /**
+     * Set the true to drive the load from virtual threads rather than platform threads.
+     *
+     * @param   virtualThreads boolean
+     */
+    public void setVirtualThreads(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Get the simple name of the class of the objects serialized.
+     *
+     * @return  java.lang.String
+     */
+    public String getObjectType() {
+        return this.objectType;
+    }
+
+    /**
+     * Set the simple name of the class of the objects serialized.
+     *
+     * @param   objectType  java.lang.String
+     */
+    public void setObjectType(final String objectType) {
+        this.objectType = objectType;
+    }
+
+    /**
+     * Get the number of distinct objects serialized in turn.
+     *
+     * @return  int
+     */
+    public int getObjectCount() {
+        return this.objectCount;
+    }
+
+    /**
+     * Set the number of distinct objects serialized in turn.
+     *
+     * @param   objectCount int
+     */
+    public void setObjectCount(final int objectCount) {
+        this.objectCount = objectCount;
+    }
+
+    /**
+     * Get the length of the run in seconds.
+     *
+     * @return  int
+     */
+    public int getDurationSeconds() {
+        return this.durationSeconds;
+    }
+
+    /**
+     * Set the length of the run in seconds.
+     *
+     * @param   durationSeconds int
+     */
+    public void setDurationSeconds(final int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Get the engine I/O mode for the run, or null for the one in the engine section.
+     *
+     * @return  net.jmp.demo.kryo5.engine.IoMode
+     */
+    public IoMode getIoMode() {
+        return this.ioMode;
+    }
+
+    /**
+     * Set the engine I/O mode for the run, or null for the one in the engine section.
+     *
+     * @param   ioMode      net.jmp.demo.kryo5.engine.IoMode
+     */
+    public void setIoMode(final IoMode ioMode) {
+        this.ioMode = ioMode;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigLoad{" +
+                "enabled=" + this.enabled +
+                ", threads=" + this.threads +
+                ", virtualThreads=" + this.virtualThreads +
+                ", objectType='" + this.objectType + '\'' +
+                ", objectCount=" + this.objectCount +
+                ", durationSeconds=" + this.durationSeconds +
+                ", ioMode=" + this.ioMode +
+                '}';
+    }
+}
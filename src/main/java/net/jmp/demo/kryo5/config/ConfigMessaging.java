@@ -0,0 +1,210 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigMessaging.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The messaging section of the configuration class.
+ */
+public final class ConfigMessaging {
+    /** The host name or address the message server listens on. */
+    @SerializedName("host")
+    private String host = "localhost";
+
+    /** The port the message server listens on, or zero for any free port. */
+    @SerializedName("port")
+    private int port = 0;
+
+    /** The number of server threads that handle requests, or zero to handle them in order on the reading thread. */
+    @SerializedName("workers")
+    private int workers = 4;
+
+    /** The largest number of requests a client may have waiting for responses. */
+    @SerializedName("maxInFlight")
+    private int maxInFlight = 4096;
+
+    /** The largest number of messages taken from the send queue at once. */
+    @SerializedName("maxBatchMessages")
+    private int maxBatchMessages = 1024;
+
+    /** The size in bytes at which a frame is sent and another started. */
+    @SerializedName("batchBytes")
+    private int batchBytes = 16 * 1024;
+
+    /** The largest frame in bytes. */
+    @SerializedName("maxFrameSize")
+    private int maxFrameSize = 1024 * 1024;
+
+    /**
+     * Get the host name or address the message server listens on.
+     *
+     * @return  java.lang.String
+     */
+    public String getHost() {
+        return this.host;
+    }
+
+    /**
+     * Set the host name or address the message server listens on.
+     *
+     * @param   host        java.lang.String
+     */
+    public void setHost(final String host) {
+        this.host = host;
+    }
+
+    /**
+     * Get the port the message server listens on, or zero for any free port.
+     *
+     * @return  int
+     */
+    public int getPort() {
+        return this.port;
+    }
+
+    /**
+     * Set the port the message server listens on, or zero for any free port.
+     *
+     * @param   port        int
+     */
+    public void setPort(final int port) {
+        this.port = port;
+    }
+
+    /**
+     * Get the number of server threads that handle requests, or zero to handle them in order on the reading thread.
+     *
+     * @return  int
+     */
+    public int getWorkers() {
+        return this.workers;
+    }
+
+    /**
+     * Set the number of server threads that handle requests, or zero to handle them in order on the reading thread.
+     *
+     * @param   workers     int
+     */
+    public void setWorkers(final int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Get the largest number of requests a client may have waiting for responses.
+     *
+     * @return  int
+     */
+    public int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /**
+     * Set the largest number of requests a client may have waiting for responses.
+     *
+     * @param   maxInFlight int
+     */
+    public void setMaxInFlight(final int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Get the largest number of messages taken from the send queue at once.
+     *
+     * @return  int
+     */
+    public int getMaxBatchMessages() {
+        return this.maxBatchMessages;
+    }
+
+    /**
+     * Set the largest number of messages taken from the send queue at once.
+     *
+     * @param   maxBatchMessages int
+     */
+    public void setMaxBatchMessages(final int maxBatchMessages) {
+        this.maxBatchMessages = maxBatchMessages;
+    }
+
+    /**
+     * Get the size in bytes at which a frame is sent and another started.
+     *
+     * @return  int
+     */
+    public int getBatchBytes() {
+        return this.batchBytes;
+    }
+
+    /**
+     * Set the size in bytes at which a frame is sent and another started.
+     *
+     * @param   batchBytes  int
+     */
+    public void setBatchBytes(final int batchBytes) {
+        this.batchBytes = batchBytes;
+    }
+
+    /**
+     * Get the largest frame in bytes.
+     *
+     * @return  int
+     */
+    public int getMaxFrameSize() {
+        return this.maxFrameSize;
+    }
+
+    /**
+     * Set the largest frame in bytes.
+     *
+     * @param   maxFrameSize int
+     */
+    public void setMaxFrameSize(final int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigMessaging{" +
+                "host='" + this.host + '\'' +
+                ", port=" + this.port +
+                ", workers=" + this.workers +
+                ", maxInFlight=" + this.maxInFlight +
+                ", maxBatchMessages=" + this.maxBatchMessages +
+                ", batchBytes=" + this.batchBytes +
+                ", maxFrameSize=" + this.maxFrameSize +
+                '}';
+    }
+}
@@ -0,0 +1,141 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigOffHeap.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The off-heap store section of the configuration class.
+ */
+public final class ConfigOffHeap {
+    /** The size in bytes of a direct memory slab. */
+    @SerializedName("slabSize")
+    private int slabSize = 64 * 1024 * 1024;
+
+    /** The largest number of slabs. */
+    @SerializedName("maxSlabs")
+    private int maxSlabs = 16;
+
+    /** The initial number of keys the index holds before it grows. */
+    @SerializedName("initialCapacity")
+    private int initialCapacity = 1024;
+
+    /** The fraction of the allocated bytes that must be garbage before a full store is compacted. */
+    @SerializedName("compactionRatio")
+    private double compactionRatio = 0.25;
+
+    /**
+     * Get the size in bytes of a direct memory slab.
+     *
+     * @return  int
+     */
+    public int getSlabSize() {
+        return this.slabSize;
+    }
+
+    /**
+     * Set the size in bytes of a direct memory slab.
+     *
+     * @param   slabSize    int
+     */
+    public void setSlabSize(final int slabSize) {
+        this.slabSize = slabSize;
+    }
+
+    /**
+     * Get the largest number of slabs.
+     *
+     * @return  int
+     */
+    public int getMaxSlabs() {
+        return this.maxSlabs;
+    }
+
+    /**
+     * Set the largest number of slabs.
+     *
+     * @param   maxSlabs    int
+     */
+    public void setMaxSlabs(final int maxSlabs) {
+        this.maxSlabs = maxSlabs;
+    }
+
+    /**
+     * Get the initial number of keys the index holds before it grows.
+     *
+     * @return  int
+     */
+    public int getInitialCapacity() {
+        return this.initialCapacity;
+    }
+
+    /**
+     * Set the initial number of keys the index holds before it grows.
+     *
+     * @param   initialCapacity int
+     */
+    public void setInitialCapacity(final int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+    }
+
+    /**
+     * Get the fraction of the allocated bytes that must be garbage before a full store is compacted.
+     *
+     * @return  double
+     */
+    public double getCompactionRatio() {
+        return this.compactionRatio;
+    }
+
+    /**
+     * Set the fraction of the allocated bytes that must be garbage before a full store is compacted.
+     *
+     * @param   compactionRatio double
+     */
+    public void setCompactionRatio(final double compactionRatio) {
+        this.compactionRatio = compactionRatio;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigOffHeap{" +
+                "slabSize=" + this.slabSize +
+                ", maxSlabs=" + this.maxSlabs +
+                ", initialCapacity=" + this.initialCapacity +
+                ", compactionRatio=" + this.compactionRatio +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigRecordLog.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The record log section of the configuration class.
+ */
+public final class ConfigRecordLog {
+    /** The size in bytes at which a block of records is written. */
+    @SerializedName("blockSize")
+    private int blockSize = 64 * 1024;
+
+    /** The size in bytes at which a new segment file is started. */
+    @SerializedName("segmentSize")
+    private long segmentSize = 64L * 1024 * 1024;
+
+    /**
+     * Get the block size.
+     *
+     * @return  int
+     */
+    public int getBlockSize() {
+        return this.blockSize;
+    }
+
+    /**
+     * Set the block size.
+     *
+     * @param   blockSize   int
+     */
+    public void setBlockSize(final int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Get the segment size.
+     *
+     * @return  long
+     */
+    public long getSegmentSize() {
+        return this.segmentSize;
+    }
+
+    /**
+     * Set the segment size.
+     *
+     * @param   segmentSize long
+     */
+    public void setSegmentSize(final long segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigRecordLog{" +
+                "blockSize=" + this.blockSize +
+                ", segmentSize=" + this.segmentSize +
+                '}';
+    }
+}
@@ -0,0 +1,141 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigServer.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The record server section of the configuration class.
+ */
+public final class ConfigServer {
+    /** The host name or address the server listens on. */
+    @SerializedName("host")
+    private String host = "localhost";
+
+    /** The port the server listens on, or zero for any free port. */
+    @SerializedName("port")
+    private int port = 0;
+
+    /** The largest number of records a range request may ask for. */
+    @SerializedName("maxRangeRecords")
+    private int maxRangeRecords = 10_000;
+
+    /** The largest request in bytes. */
+    @SerializedName("maxRequestSize")
+    private int maxRequestSize = 64 * 1024;
+
+    /**
+     * Get the host name or address the server listens on.
+     *
+     * @return  java.lang.String
+     */
+    public String getHost() {
+        return this.host;
+    }
+
+    /**
+     * Set the host name or address the server listens on.
+     *
+     * @param   host        java.lang.String
+     */
+    public void setHost(final String host) {
+        this.host = host;
+    }
+
+    /**
+     * Get the port the server listens on, or zero for any free port.
+     *
+     * @return  int
+     */
+    public int getPort() {
+        return this.port;
+    }
+
+    /**
+     * Set the port the server listens on, or zero for any free port.
+     *
+     * @param   port        int
+     */
+    public void setPort(final int port) {
+        this.port = port;
+    }
+
+    /**
+     * Get the largest number of records a range request may ask for.
+     *
+     * @return  int
+     */
+    public int getMaxRangeRecords() {
+        return this.maxRangeRecords;
+    }
+
+    /**
+     * Set the largest number of records a range request may ask for.
+     *
+     * @param   maxRangeRecords int
+     */
+    public void setMaxRangeRecords(final int maxRangeRecords) {
+        this.maxRangeRecords = maxRangeRecords;
+    }
+
+    /**
+     * Get the largest request in bytes.
+     *
+     * @return  int
+     */
+    public int getMaxRequestSize() {
+        return this.maxRequestSize;
+    }
+
+    /**
+     * Set the largest request in bytes.
+     *
+     * @param   maxRequestSize int
+     */
+    public void setMaxRequestSize(final int maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigServer{" +
+                "host='" + this.host + '\'' +
+                ", port=" + this.port +
+                ", maxRangeRecords=" + this.maxRangeRecords +
+                ", maxRequestSize=" + this.maxRequestSize +
+                '}';
+    }
+}
@@ -0,0 +1,187 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigWarmUp.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The warm-up section of the configuration class.
+ */
+public final class ConfigWarmUp {
+    /** True to warm the serializers up before the demonstrations run. */
+    @SerializedName("enabled")
+    private boolean enabled;
+
+    /** The largest number of iterations over every registered type. */
+    @SerializedName("maxIterations")
+    private int maxIterations = 20_000;
+
+    /** The time budget in milliseconds. */
+    @SerializedName("maxMillis")
+    private long maxMillis = 2_000;
+
+    /** The number of iterations in a timed round. */
+    @SerializedName("roundSize")
+    private int roundSize = 500;
+
+    /** The largest change in percent between rounds at steady state. */
+    @SerializedName("tolerance")
+    private int tolerance = 10;
+
+    /** The number of consecutive rounds within the tolerance that make a steady state. */
+    @SerializedName("stableRounds")
+    private int stableRounds = 3;
+
+    /**
+     * Get whether the serializers are warmed up before the demonstrations run.
+     *
+     * @return  boolean
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Set whether the serializers are warmed up before the demonstrations run.
+     *
+     * @param   enabled     boolean
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the largest number of iterations over every registered type.
+     *
+     * @return  int
+     */
+    public int getMaxIterations() {
+        return this.maxIterations;
+    }
+
+    /**
+     * Set the largest number of iterations over every registered type.
+     *
+     * @param   maxIterations int
+     */
+    public void setMaxIterations(final int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Get the time budget in milliseconds.
+     *
+     * @return  long
+     */
+    public long getMaxMillis() {
+        return this.maxMillis;
+    }
+
+    /**
+     * Set the time budget in milliseconds.
+     *
+     * @param   maxMillis   long
+     */
+    public void setMaxMillis(final long maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Get the number of iterations in a timed round.
+     *
+     * @return  int
+     */
+    public int getRoundSize() {
+        return this.roundSize;
+    }
+
+    /**
+     * Set the number of iterations in a timed round.
+     *
+     * @param   roundSize   int
+     */
+    public void setRoundSize(final int roundSize) {
+        this.roundSize = roundSize;
+    }
+
+    /**
+     * Get the largest change in percent between rounds at steady state.
+     *
+     * @return  int
+     */
+    public int getTolerance() {
+        return this.tolerance;
+    }
+
+    /**
+     * Set the largest change in percent between rounds at steady state.
+     *
+     * @param   tolerance   int
+     */
+    public void setTolerance(final int tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Get the number of consecutive rounds within the tolerance that make a steady state.
+     *
+     * @return  int
+     */
+    public int getStableRounds() {
+        return this.stableRounds;
+    }
+
+    /**
+     * Set the number of consecutive rounds within the tolerance that make a steady state.
+     *
+     * @param   stableRounds int
+     */
+    public void setStableRounds(final int stableRounds) {
+        this.stableRounds = stableRounds;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigWarmUp{" +
+                "enabled=" + this.enabled +
+                ", maxIterations=" + this.maxIterations +
+                ", maxMillis=" + this.maxMillis +
+                ", roundSize=" + this.roundSize +
+                ", tolerance=" + this.tolerance +
+                ", stableRounds=" + this.stableRounds +
+                '}';
+    }
+}
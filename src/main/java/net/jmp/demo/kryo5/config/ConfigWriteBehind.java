@@ -0,0 +1,118 @@
+package net.jmp.demo.kryo5.config;
+
+/*
+ * (#)ConfigWriteBehind.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The write-behind section of the configuration class.
+ */
+public final class ConfigWriteBehind {
+    /** The number of objects that may wait to be written. */
+    @SerializedName("queueCapacity")
+    private int queueCapacity = 8192;
+
+    /** The largest number of objects written and committed together. */
+    @SerializedName("maxBatchSize")
+    private int maxBatchSize = 1024;
+
+    /** True to force each batch to the storage device. */
+    @SerializedName("fsync")
+    private boolean fsync = true;
+
+    /**
+     * Get the number of objects that may wait to be written.
+     *
+     * @return  int
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * Set the number of objects that may wait to be written.
+     *
+     * @param   queueCapacity int
+     */
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Get the largest number of objects written and committed together.
+     *
+     * @return  int
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * Set the largest number of objects written and committed together.
+     *
+     * @param   maxBatchSize int
+     */
+    public void setMaxBatchSize(final int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Get the true to force each batch to the storage device.
+     *
+     * @return  boolean
+     */
+    public boolean isFsync() {
+        return this.fsync;
+    }
+
+    /**
+     * Set the true to force each batch to the storage device.
+     *
+     * @param   fsync       boolean
+     */
+    public void setFsync(final boolean fsync) {
+        this.fsync = fsync;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ConfigWriteBehind{" +
+                "queueCapacity=" + this.queueCapacity +
+                ", maxBatchSize=" + this.maxBatchSize +
+                ", fsync=" + this.fsync +
+                '}';
+    }
+}
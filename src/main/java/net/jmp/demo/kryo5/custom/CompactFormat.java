@@ -0,0 +1,287 @@
+package net.jmp.demo.kryo5.custom;
+
+/*
+ * (#)CompactFormat.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.util.Date;
+
+/**
+ * The compact (version 2) encoding shared by the
+ * Person, Pet and Chair serializers and by the
+ * serializers of the person and pet values.
+ *
+ * A version 2 object starts with a header byte whose
+ * high nibble is 0x1 and whose low nibble holds the
+ * null bitmap and any bit-packed booleans. Integers
+ * are zigzag varints and dates are days since the
+ * epoch, followed by the milliseconds into the day
+ * only when there are any.
+ *
+ * Outside a dictionary block, version 1 objects start
+ * with a Kryo string, whose first byte is a character
+ * of the string or has its high bit set. Since no real
+ * name, type or color starts with a control character
+ * from 0x10 to 0x1F, the header byte tells the two
+ * versions apart and a version 1 reader steps back over
+ * the byte it read.
+ *
+ * Inside a dictionary block a version 1 pet starts with
+ * a dictionary id, which can take any byte value, so
+ * the header byte cannot be trusted there. Instead the
+ * installed dictionary carries the version of the
+ * records of its block, which the owner of the block
+ * records in its own header.
+ */
+public final class CompactFormat {
+    /** The current version of the format. */
+    public static final int VERSION = 2;
+
+    /** The high nibble of a version 2 header byte. */
+    static final int VERSION_2 = 0x10;
+
+    /** The mask of the version nibble. */
+    private static final int VERSION_MASK = 0xF0;
+
+    /** The mask of the flags nibble. */
+    private static final int FLAGS_MASK = 0x0F;
+
+    /** The milliseconds in a day. */
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * The default constructor.
+     */
+    private CompactFormat() {
+        super();
+    }
+
+    /**
+     * Write a version 2 header byte.
+     *
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   flags   int     Four bits of flags
+     */
+    public static void writeHeader(final Output output, final int flags) {
+        assert (flags & ~FLAGS_MASK) == 0;
+
+        output.writeByte(VERSION_2 | flags);
+    }
+
+    /**
+     * Read a version 2 header byte and return its flags,
+     * or return -1 and step back when the object was
+     * written in version 1.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @return          int
+     */
+    public static int readHeader(final Input input) {
+        final int header = input.readByte() & 0xFF;
+
+        if ((header & VERSION_MASK) == VERSION_2)
+            return header & FLAGS_MASK;
+
+        input.setPosition(input.position() - 1);
+
+        return -1;
+    }
+
+    /**
+     * Read a version 2 header byte and return its flags,
+     * or return -1 when the object was written in version 1.
+     * When a dictionary is installed its version decides,
+     * and a missing header byte is an error; otherwise the
+     * header byte is inspected.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @return          int
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When a version 2 dictionary block holds an object without a header
+     */
+    public static int readHeader(final Kryo kryo, final Input input) {
+        final var dictionary = StringDictionary.installed(kryo);
+
+        if (dictionary == null)
+            return readHeader(input);
+
+        if (dictionary.getVersion() < VERSION)
+            return -1;
+
+        final int header = input.readByte() & 0xFF;
+
+        if ((header & VERSION_MASK) != VERSION_2)
+            throw new KryoException("Expected a version 2 header but read 0x" + Integer.toHexString(header));
+
+        return header & FLAGS_MASK;
+    }
+
+    /**
+     * Return true if a flag is set.
+     *
+     * @param   flags   int
+     * @param   flag    int
+     * @return          boolean
+     */
+    public static boolean isSet(final int flags, final int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Return the milliseconds into the day of a date, so
+     * that the caller can set a flag when there are any.
+     *
+     * @param   date    java.util.Date
+     * @return          long
+     */
+    public static long millisOfDay(final Date date) {
+        return Math.floorMod(date.getTime(), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Write a non-null date as days since the epoch and,
+     * if the caller flagged it, the milliseconds into the day.
+     *
+     * @param   output          com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   date            java.util.Date
+     * @param   withMillis      boolean
+     */
+    public static void writeDate(final Output output, final Date date, final boolean withMillis) {
+        writeEpochDay(output, epochDay(date.getTime()));
+
+        if (withMillis)
+            output.writeVarInt((int) millisOfDay(date), true);
+    }
+
+    /**
+     * Write a date held as days since the epoch,
+     * in the encoding of a date without milliseconds.
+     *
+     * @param   output      com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   epochDay    long
+     */
+    public static void writeEpochDay(final Output output, final long epochDay) {
+        output.writeVarLong(epochDay, false);
+    }
+
+    /**
+     * Read a date as days since the epoch,
+     * dropping any milliseconds into the day.
+     *
+     * @param   input       com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   withMillis  boolean
+     * @return              long
+     */
+    public static long readEpochDay(final Input input, final boolean withMillis) {
+        final long days = input.readVarLong(false);
+
+        if (withMillis)
+            input.readVarInt(true);
+
+        return days;
+    }
+
+    /**
+     * Return the day since the epoch that
+     * milliseconds since the epoch fall on.
+     *
+     * @param   millis  long
+     * @return          long
+     */
+    public static long epochDay(final long millis) {
+        return Math.floorDiv(millis, MILLIS_PER_DAY);
+    }
+
+    /**
+     * Read a date.
+     *
+     * @param   input       com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   withMillis  boolean
+     * @return              java.util.Date
+     */
+    public static Date readDate(final Input input, final boolean withMillis) {
+        return new Date(readDateMillis(input, withMillis));
+    }
+
+    /**
+     * Read a date as milliseconds since the
+     * epoch, without allocating a date.
+     *
+     * @param   input       com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   withMillis  boolean
+     * @return              long
+     */
+    public static long readDateMillis(final Input input, final boolean withMillis) {
+        final long days = input.readVarLong(false);
+        final long millis = withMillis ? input.readVarInt(true) : 0;
+
+        return days * MILLIS_PER_DAY + millis;
+    }
+
+    /**
+     * Step over a Kryo string without decoding it.
+     * An ASCII string ends at the byte with its high
+     * bit set; any other string is a flagged varint
+     * char count plus one, followed by the chars in
+     * one to three UTF-8 bytes each.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     */
+    static void skipString(final Input input) {
+        final var buffer = input.getBuffer();
+        var position = input.position();
+
+        if ((buffer[position] & 0x80) == 0) {
+            while ((buffer[position] & 0x80) == 0)
+                position++;
+
+            input.setPosition(position + 1);
+
+            return;
+        }
+
+        final int chars = input.readVarIntFlag(true) - 1;
+
+        position = input.position();
+
+        for (int i = 0; i < chars; i++) {
+            final int lead = (buffer[position] & 0xFF) >> 4;
+
+            position += lead == 14 ? 3 : lead == 12 || lead == 13 ? 2 : 1;
+        }
+
+        input.setPosition(position);
+    }
+}
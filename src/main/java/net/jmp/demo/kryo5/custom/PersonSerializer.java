@@ -1,10 +1,11 @@
 package net.jmp.demo.kryo5.custom;
 
 /*
+ * (#)PersonSerializer.java 0.5.0   10/18/2026
  * (#)PersonSerializer.java 0.3.0   05/16/2024
  *
  * @author   Jonathan Parker
- * @version  0.3.0
+ * @version  0.5.0
  * @since    0.3.0
  *
  * MIT License
@@ -46,8 +47,23 @@ import org.slf4j.ext.XLogger;
 
 /**
  * A custom serializer class for the Person class.
+ *
+ * Persons are written in the compact version 2
+ * format: a header byte with the null bitmap, the
+ * name, the age as a zigzag varint and the birthday
+ * as days since the epoch. Version 1 persons, with
+ * a fixed-width birthday and age, are still read.
  */
 public class PersonSerializer extends Serializer<Person> {
+    /** The flag of a null name. */
+    static final int NULL_NAME = 0x01;
+
+    /** The flag of a null birthday. */
+    static final int NULL_BIRTHDAY = 0x02;
+
+    /** The flag of a birthday that is not at midnight UTC. */
+    static final int BIRTHDAY_MILLIS = 0x04;
+
     /** The logger. */
     private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
 
@@ -69,12 +85,30 @@ public class PersonSerializer extends Serializer<Person> {
     public void write(final Kryo kryo, final Output output, final Person person) {
         this.logger.entry(kryo, output, person);
 
-        output.writeString(person.getName());
-        output.writeLong(person.getBirthday().getTime());
+        final var birthday = person.getBirthday();
+
+        int flags = 0;
+
+        if (person.getName() == null)
+            flags |= NULL_NAME;
 
-        this.logger.debug("Date as long: {}", person.getBirthday().getTime());
+        if (birthday == null)
+            flags |= NULL_BIRTHDAY;
+        else if (CompactFormat.millisOfDay(birthday) != 0)
+            flags |= BIRTHDAY_MILLIS;
 
-        output.writeInt(person.getAge());
+        CompactFormat.writeHeader(output, flags);
+
+        if (person.getName() != null)
+            output.writeString(person.getName());
+
+        output.writeVarInt(person.getAge(), false);
+
+        if (birthday != null) {
+            this.logger.debug("Date as long: {}", birthday.getTime());
+
+            CompactFormat.writeDate(output, birthday, CompactFormat.isSet(flags, BIRTHDAY_MILLIS));
+        }
 
         this.logger.exit();
     }
@@ -95,15 +129,26 @@ public class PersonSerializer extends Serializer<Person> {
         this.logger.entry(kryo, input, type);
 
         final Person person = new Person();
+        final int flags = CompactFormat.readHeader(kryo, input);
+
+        if (flags < 0) {
+            person.setName(input.readString());
+
+            final long birthDate = input.readLong();
 
-        person.setName(input.readString());
+            this.logger.debug("Date as long: {}", birthDate);
 
-        final long birthDate = input.readLong();
+            person.setBirthday(new Date(birthDate));
+            person.setAge(input.readInt());
+        } else {
+            if (!CompactFormat.isSet(flags, NULL_NAME))
+                person.setName(input.readString());
 
-        this.logger.debug("Date as long: {}", birthDate);
+            person.setAge(input.readVarInt(false));
 
-        person.setBirthday(new Date(birthDate));
-        person.setAge(input.readInt());
+            if (!CompactFormat.isSet(flags, NULL_BIRTHDAY))
+                person.setBirthday(CompactFormat.readDate(input, CompactFormat.isSet(flags, BIRTHDAY_MILLIS)));
+        }
 
         this.logger.exit(person);
 
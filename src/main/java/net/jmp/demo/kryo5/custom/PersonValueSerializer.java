@@ -0,0 +1,108 @@
+package net.jmp.demo.kryo5.custom;
+
+/*
+ * (#)PersonValueSerializer.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import com.esotericsoftware.kryo.kryo5.serializers.ImmutableSerializer;
+
+import net.jmp.demo.kryo5.values.PersonValue;
+
+/**
+ * A serializer of person values in the same compact
+ * format as the PersonSerializer, so persons and person
+ * values read each other's bytes. The birthday's time of
+ * day, when a person was written with one, is dropped.
+ *
+ * Reading builds the value straight from the decoded
+ * fields: no date, no reflection and no argument array.
+ * There is no entry and exit tracing, since its argument
+ * arrays would outweigh the value itself.
+ */
+public final class PersonValueSerializer extends ImmutableSerializer<PersonValue> {
+    /**
+     * The default constructor.
+     */
+    public PersonValueSerializer() {
+        super();
+    }
+
+    /**
+     * Write the serialized person value.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   person  net.jmp.demo.kryo5.values.PersonValue
+     */
+    @Override
+    public void write(final Kryo kryo, final Output output, final PersonValue person) {
+        CompactFormat.writeHeader(output, person.name() == null ? PersonSerializer.NULL_NAME : 0);
+
+        if (person.name() != null)
+            output.writeString(person.name());
+
+        output.writeVarInt(person.age(), false);
+        CompactFormat.writeEpochDay(output, person.epochDay());
+    }
+
+    /**
+     * Read and return the deserialized person value.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   type    java.lang.Class
+     * @return          net.jmp.demo.kryo5.values.PersonValue
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When the person was written without a birthday
+     */
+    @Override
+    public PersonValue read(final Kryo kryo, final Input input, final Class<? extends PersonValue> type) {
+        final int flags = CompactFormat.readHeader(kryo, input);
+
+        if (flags < 0) {
+            final var name = input.readString();
+            final var epochDay = CompactFormat.epochDay(input.readLong());
+
+            return new PersonValue(name, input.readInt(), (int) epochDay);
+        }
+
+        if (CompactFormat.isSet(flags, PersonSerializer.NULL_BIRTHDAY))
+            throw new KryoException("A person value needs a birthday");
+
+        final var name = CompactFormat.isSet(flags, PersonSerializer.NULL_NAME) ? null : input.readString();
+        final var age = input.readVarInt(false);
+
+        return new PersonValue(name, age, (int) CompactFormat.readEpochDay(input, CompactFormat.isSet(flags, PersonSerializer.BIRTHDAY_MILLIS)));
+    }
+}
@@ -0,0 +1,220 @@
+package net.jmp.demo.kryo5.custom;
+
+/*
+ * (#)PersonView.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+
+import java.util.Date;
+
+import net.jmp.demo.kryo5.objects.Person;
+
+/**
+ * A lazy view of a person serialized by the
+ * PersonSerializer, in either version. Only the
+ * header is read when the view is reset; each
+ * accessor decodes just its own field, stepping
+ * over the name without decoding it when it has
+ * to, and remembers where the fields after the
+ * name start. The birthday can be read as
+ * milliseconds without allocating a date.
+ *
+ * A view can be reset over one record after another
+ * to scan many records without creating objects.
+ * It is not thread safe.
+ */
+public final class PersonView {
+    /** Reads the fields. */
+    private final Input input = new Input();
+
+    /** The header flags, or -1 for version 1. */
+    private int flags;
+
+    /** The offset of the name. */
+    private int nameOffset;
+
+    /** The offset of the field after the name, or -1 until it is known. */
+    private int afterName;
+
+    /**
+     * The default constructor.
+     */
+    public PersonView() {
+        super();
+    }
+
+    /**
+     * Point the view at a serialized person.
+     *
+     * @param   bytes   byte[]
+     * @param   offset  int
+     * @param   length  int
+     * @return          net.jmp.demo.kryo5.custom.PersonView
+     */
+    public PersonView reset(final byte[] bytes, final int offset, final int length) {
+        assert bytes != null;
+
+        this.input.setBuffer(bytes, offset, length);
+
+        this.flags = CompactFormat.readHeader(this.input);
+        this.nameOffset = this.input.position();
+        this.afterName = -1;
+
+        return this;
+    }
+
+    /**
+     * Point the view at a serialized person.
+     *
+     * @param   bytes   byte[]
+     * @return          net.jmp.demo.kryo5.custom.PersonView
+     */
+    public PersonView reset(final byte[] bytes) {
+        return this.reset(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Decode the name.
+     *
+     * @return  java.lang.String
+     */
+    public String getName() {
+        if (this.isSet(PersonSerializer.NULL_NAME))
+            return null;
+
+        this.input.setPosition(this.nameOffset);
+
+        final var name = this.input.readString();
+
+        this.afterName = this.input.position();
+
+        return name;
+    }
+
+    /**
+     * Decode the age.
+     *
+     * @return  int
+     */
+    public int getAge() {
+        if (this.flags < 0) {
+            this.input.setPosition(this.afterName() + Long.BYTES);
+
+            return this.input.readInt();
+        }
+
+        this.input.setPosition(this.afterName());
+
+        return this.input.readVarInt(false);
+    }
+
+    /**
+     * Return true if the person has a birthday.
+     *
+     * @return  boolean
+     */
+    public boolean hasBirthday() {
+        return !this.isSet(PersonSerializer.NULL_BIRTHDAY);
+    }
+
+    /**
+     * Decode the birthday as milliseconds since the epoch.
+     *
+     * @return  long
+     */
+    public long getBirthdayMillis() {
+        assert this.hasBirthday();
+
+        this.input.setPosition(this.afterName());
+
+        if (this.flags < 0)
+            return this.input.readLong();
+
+        this.input.readVarInt(false);
+
+        return CompactFormat.readDateMillis(this.input, this.isSet(PersonSerializer.BIRTHDAY_MILLIS));
+    }
+
+    /**
+     * Decode the birthday.
+     *
+     * @return  java.util.Date
+     */
+    public Date getBirthday() {
+        return this.hasBirthday() ? new Date(this.getBirthdayMillis()) : null;
+    }
+
+    /**
+     * Decode every field into a new person.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Person
+     */
+    public Person toPerson() {
+        final var person = new Person();
+
+        person.setName(this.getName());
+        person.setAge(this.getAge());
+        person.setBirthday(this.getBirthday());
+
+        return person;
+    }
+
+    /**
+     * Return the offset of the field after the
+     * name, stepping over the name the first time.
+     *
+     * @return  int
+     */
+    private int afterName() {
+        if (this.afterName < 0) {
+            if (this.isSet(PersonSerializer.NULL_NAME)) {
+                this.afterName = this.nameOffset;
+            } else {
+                this.input.setPosition(this.nameOffset);
+
+                CompactFormat.skipString(this.input);
+
+                this.afterName = this.input.position();
+            }
+        }
+
+        return this.afterName;
+    }
+
+    /**
+     * Return true if a version 2 flag is set.
+     *
+     * @param   flag    int
+     * @return          boolean
+     */
+    private boolean isSet(final int flag) {
+        return this.flags >= 0 && CompactFormat.isSet(this.flags, flag);
+    }
+}
@@ -1,10 +1,11 @@
 package net.jmp.demo.kryo5.custom;
 
 /*
+ * (#)PetSerializer.java    0.5.0   10/18/2026
  * (#)PetSerializer.java    0.3.0   05/16/2024
  *
  * @author   Jonathan Parker
- * @version  0.3.0
+ * @version  0.5.0
  * @since    0.3.0
  *
  * MIT License
@@ -42,7 +43,24 @@ import org.slf4j.LoggerFactory;
 
 import org.slf4j.ext.XLogger;
 
+/**
+ * A custom serializer class for the Pet class.
+ *
+ * Pets are written in the compact version 2 format:
+ * a header byte with the null bitmap, the strings that
+ * are not null and the age as a zigzag varint. Version
+ * 1 pets, with a fixed-width age, are still read.
+ */
 public final class PetSerializer extends Serializer<Pet>{
+    /** The flag of a null type. */
+    static final int NULL_TYPE = 0x01;
+
+    /** The flag of a null name. */
+    static final int NULL_NAME = 0x02;
+
+    /** The flag of a null color. */
+    static final int NULL_COLOR = 0x04;
+
     /** The logger. */
     private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
 
@@ -64,10 +82,29 @@ public final class PetSerializer extends Serializer<Pet>{
     public void write(final Kryo kryo, final Output output, final Pet pet) {
         this.logger.entry(kryo, output, pet);
 
-        output.writeString(pet.getType());
-        output.writeString(pet.getName());
-        output.writeString(pet.getColor());
-        output.writeInt(pet.getAge());
+        int flags = 0;
+
+        if (pet.getType() == null)
+            flags |= NULL_TYPE;
+
+        if (pet.getName() == null)
+            flags |= NULL_NAME;
+
+        if (pet.getColor() == null)
+            flags |= NULL_COLOR;
+
+        CompactFormat.writeHeader(output, flags);
+
+        if (pet.getType() != null)
+            StringDictionary.writeString(kryo, output, pet.getType());
+
+        if (pet.getName() != null)
+            output.writeString(pet.getName());
+
+        if (pet.getColor() != null)
+            StringDictionary.writeString(kryo, output, pet.getColor());
+
+        output.writeVarInt(pet.getAge(), false);
 
         this.logger.exit();
     }
@@ -88,11 +125,25 @@ public final class PetSerializer extends Serializer<Pet>{
         this.logger.entry(kryo, input, type);
 
         final Pet pet = new Pet();
+        final int flags = CompactFormat.readHeader(kryo, input);
+
+        if (flags < 0) {
+            pet.setType(StringDictionary.readString(kryo, input));
+            pet.setName(input.readString());
+            pet.setColor(StringDictionary.readString(kryo, input));
+            pet.setAge(input.readInt());
+        } else {
+            if (!CompactFormat.isSet(flags, NULL_TYPE))
+                pet.setType(StringDictionary.readString(kryo, input));
+
+            if (!CompactFormat.isSet(flags, NULL_NAME))
+                pet.setName(input.readString());
+
+            if (!CompactFormat.isSet(flags, NULL_COLOR))
+                pet.setColor(StringDictionary.readString(kryo, input));
 
-        pet.setType(input.readString());
-        pet.setName(input.readString());
-        pet.setColor(input.readString());
-        pet.setAge(input.readInt());
+            pet.setAge(input.readVarInt(false));
+        }
 
         this.logger.exit(pet);
 
@@ -0,0 +1,120 @@
+package net.jmp.demo.kryo5.custom;
+
+/*
+ * (#)PetValueSerializer.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import com.esotericsoftware.kryo.kryo5.serializers.ImmutableSerializer;
+
+import net.jmp.demo.kryo5.values.PetValue;
+
+/**
+ * A serializer of pet values in the same compact
+ * format as the PetSerializer, so pets and pet values
+ * read each other's bytes. Types and colors go through
+ * the string dictionary when one is installed.
+ *
+ * Unlike Kryo's RecordSerializer, reading calls the
+ * canonical constructor directly instead of through
+ * reflection with an array of boxed arguments.
+ */
+public final class PetValueSerializer extends ImmutableSerializer<PetValue> {
+    /**
+     * The default constructor.
+     */
+    public PetValueSerializer() {
+        super();
+    }
+
+    /**
+     * Write the serialized pet value.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   pet     net.jmp.demo.kryo5.values.PetValue
+     */
+    @Override
+    public void write(final Kryo kryo, final Output output, final PetValue pet) {
+        int flags = 0;
+
+        if (pet.type() == null)
+            flags |= PetSerializer.NULL_TYPE;
+
+        if (pet.name() == null)
+            flags |= PetSerializer.NULL_NAME;
+
+        if (pet.color() == null)
+            flags |= PetSerializer.NULL_COLOR;
+
+        CompactFormat.writeHeader(output, flags);
+
+        if (pet.type() != null)
+            StringDictionary.writeString(kryo, output, pet.type());
+
+        if (pet.name() != null)
+            output.writeString(pet.name());
+
+        if (pet.color() != null)
+            StringDictionary.writeString(kryo, output, pet.color());
+
+        output.writeVarInt(pet.age(), false);
+    }
+
+    /**
+     * Read and return the deserialized pet value.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   type    java.lang.Class
+     * @return          net.jmp.demo.kryo5.values.PetValue
+     */
+    @Override
+    public PetValue read(final Kryo kryo, final Input input, final Class<? extends PetValue> type) {
+        final int flags = CompactFormat.readHeader(kryo, input);
+
+        if (flags < 0) {
+            final var petType = StringDictionary.readString(kryo, input);
+            final var name = input.readString();
+            final var color = StringDictionary.readString(kryo, input);
+
+            return new PetValue(petType, name, color, input.readInt());
+        }
+
+        final var petType = CompactFormat.isSet(flags, PetSerializer.NULL_TYPE) ? null : StringDictionary.readString(kryo, input);
+        final var name = CompactFormat.isSet(flags, PetSerializer.NULL_NAME) ? null : input.readString();
+        final var color = CompactFormat.isSet(flags, PetSerializer.NULL_COLOR) ? null : StringDictionary.readString(kryo, input);
+
+        return new PetValue(petType, name, color, input.readVarInt(false));
+    }
+}
@@ -0,0 +1,226 @@
+package net.jmp.demo.kryo5.custom;
+
+/*
+ * (#)PetView.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+
+import java.util.Arrays;
+
+import net.jmp.demo.kryo5.objects.Pet;
+
+/**
+ * A lazy view of a pet serialized by the PetSerializer,
+ * in either version, without a string dictionary. Only
+ * the header is read when the view is reset; each
+ * accessor decodes just its own field, stepping over
+ * the strings in front of it without decoding them,
+ * and remembers where each field starts.
+ *
+ * A view can be reset over one record after another
+ * to scan many records without creating objects.
+ * It is not thread safe.
+ */
+public final class PetView {
+    /** The position of the type. */
+    private static final int TYPE = 0;
+
+    /** The position of the name. */
+    private static final int NAME = 1;
+
+    /** The position of the color. */
+    private static final int COLOR = 2;
+
+    /** The position of the age. */
+    private static final int AGE = 3;
+
+    /** The null flag of each string field. */
+    private static final int[] NULL_FLAGS = {
+            PetSerializer.NULL_TYPE,
+            PetSerializer.NULL_NAME,
+            PetSerializer.NULL_COLOR
+    };
+
+    /** Reads the fields. */
+    private final Input input = new Input();
+
+    /** The offset of each field, or -1 until it is known. */
+    private final int[] offsets = new int[AGE + 1];
+
+    /** The header flags, or -1 for version 1. */
+    private int flags;
+
+    /**
+     * The default constructor.
+     */
+    public PetView() {
+        super();
+    }
+
+    /**
+     * Point the view at a serialized pet.
+     *
+     * @param   bytes   byte[]
+     * @param   offset  int
+     * @param   length  int
+     * @return          net.jmp.demo.kryo5.custom.PetView
+     */
+    public PetView reset(final byte[] bytes, final int offset, final int length) {
+        assert bytes != null;
+
+        this.input.setBuffer(bytes, offset, length);
+
+        this.flags = CompactFormat.readHeader(this.input);
+
+        Arrays.fill(this.offsets, -1);
+
+        this.offsets[TYPE] = this.input.position();
+
+        return this;
+    }
+
+    /**
+     * Point the view at a serialized pet.
+     *
+     * @param   bytes   byte[]
+     * @return          net.jmp.demo.kryo5.custom.PetView
+     */
+    public PetView reset(final byte[] bytes) {
+        return this.reset(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Decode the type.
+     *
+     * @return  java.lang.String
+     */
+    public String getType() {
+        return this.getString(TYPE);
+    }
+
+    /**
+     * Decode the name.
+     *
+     * @return  java.lang.String
+     */
+    public String getName() {
+        return this.getString(NAME);
+    }
+
+    /**
+     * Decode the color.
+     *
+     * @return  java.lang.String
+     */
+    public String getColor() {
+        return this.getString(COLOR);
+    }
+
+    /**
+     * Decode the age.
+     *
+     * @return  int
+     */
+    public int getAge() {
+        this.input.setPosition(this.offset(AGE));
+
+        return this.flags < 0 ? this.input.readInt() : this.input.readVarInt(false);
+    }
+
+    /**
+     * Decode every field into a new pet.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Pet
+     */
+    public Pet toPet() {
+        final var pet = new Pet();
+
+        pet.setType(this.getType());
+        pet.setName(this.getName());
+        pet.setColor(this.getColor());
+        pet.setAge(this.getAge());
+
+        return pet;
+    }
+
+    /**
+     * Decode a string field.
+     *
+     * @param   field   int
+     * @return          java.lang.String
+     */
+    private String getString(final int field) {
+        if (this.isNull(field))
+            return null;
+
+        this.input.setPosition(this.offset(field));
+
+        final var value = this.input.readString();
+
+        this.offsets[field + 1] = this.input.position();
+
+        return value;
+    }
+
+    /**
+     * Return the offset of a field, stepping over
+     * the fields in front of it the first time.
+     *
+     * @param   field   int
+     * @return          int
+     */
+    private int offset(final int field) {
+        if (this.offsets[field] < 0) {
+            final int previous = this.offset(field - 1);
+
+            if (this.isNull(field - 1)) {
+                this.offsets[field] = previous;
+            } else {
+                this.input.setPosition(previous);
+
+                CompactFormat.skipString(this.input);
+
+                this.offsets[field] = this.input.position();
+            }
+        }
+
+        return this.offsets[field];
+    }
+
+    /**
+     * Return true if a version 2 string field is null.
+     *
+     * @param   field   int
+     * @return          boolean
+     */
+    private boolean isNull(final int field) {
+        return this.flags >= 0 && CompactFormat.isSet(this.flags, NULL_FLAGS[field]);
+    }
+}
@@ -0,0 +1,170 @@
+package net.jmp.demo.kryo5.custom;
+
+/*
+ * (#)RecordingSerializer.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.KryoException;
+import com.esotericsoftware.kryo.kryo5.Serializer;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import com.esotericsoftware.kryo.kryo5.serializers.JavaSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.jmp.demo.kryo5.objects.Recording;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * A custom serializer class for the Recording class.
+ *
+ * The artists are written as a count followed by
+ * the strings themselves, with no class information
+ * for the list or its elements. The label and the
+ * artists go through the string dictionary when one
+ * is installed.
+ *
+ * Recordings written by the JavaSerializer are still
+ * readable. Those begin with the first byte of the
+ * Java serialization stream magic (0xACED) which never
+ * collides with the format byte written here.
+ */
+public final class RecordingSerializer extends Serializer<Recording> {
+    /** The format byte of the native encoding. */
+    static final byte FORMAT_NATIVE = 1;
+
+    /** The first byte of a Java serialization stream. */
+    static final byte FORMAT_JAVA = (byte) 0xAC;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** Reads recordings that were written by the JavaSerializer. */
+    private final JavaSerializer javaSerializer = new JavaSerializer();
+
+    /**
+     * The default constructor.
+     */
+    public RecordingSerializer() {
+        super();
+    }
+
+    /**
+     * Write the serialized recording.
+     *
+     * @param   kryo        com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   output      com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   recording   net.jmp.demo.kryo5.Recording
+     */
+    @Override
+    public void write(final Kryo kryo, final Output output, final Recording recording) {
+        this.logger.entry(kryo, output, recording);
+
+        output.writeByte(FORMAT_NATIVE);
+        output.writeString(recording.getTitle());
+        StringDictionary.writeString(kryo, output, recording.getLabel());
+        output.writeVarInt(recording.getTimeInMinutes(), true);
+
+        final List<String> artists = recording.getArtists();
+
+        /* Zero means a null list, otherwise the size plus one */
+
+        if (artists == null) {
+            output.writeVarInt(0, true);
+        } else {
+            output.writeVarInt(artists.size() + 1, true);
+
+            for (final String artist : artists)
+                StringDictionary.writeString(kryo, output, artist);
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Read and return the deserialized recording.
+     *
+     * This is important - The sequence of the
+     * reads from input must be the same as the
+     * writes to output.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   type    java.lang.Class
+     * @return          net.jmp.demo.kryo5.Recording
+     */
+    @Override
+    public Recording read(final Kryo kryo, final Input input, final Class<? extends Recording> type) {
+        this.logger.entry(kryo, input, type);
+
+        final byte format = input.readByte();
+
+        final Recording recording;
+
+        if (format == FORMAT_NATIVE) {
+            recording = new Recording();
+
+            recording.setTitle(input.readString());
+            recording.setLabel(StringDictionary.readString(kryo, input));
+            recording.setTimeInMinutes(input.readVarInt(true));
+
+            final int count = input.readVarInt(true);
+
+            if (count > 0) {
+                final List<String> artists = new ArrayList<>(count - 1);
+
+                for (int i = 1; i < count; i++)
+                    artists.add(StringDictionary.readString(kryo, input));
+
+                recording.setArtists(artists);
+            }
+        } else if (format == FORMAT_JAVA) {
+            this.logger.debug("Reading a recording written by the JavaSerializer");
+
+            /* The byte just read is still in the buffer; step back over it */
+
+            input.setPosition(input.position() - 1);
+
+            recording = (Recording) this.javaSerializer.read(kryo, input, type);
+        } else {
+            throw new KryoException("Unknown recording format: " + format);
+        }
+
+        this.logger.exit(recording);
+
+        return recording;
+    }
+}
@@ -0,0 +1,152 @@
+package net.jmp.demo.kryo5.custom;
+
+/*
+ * (#)RecordingValueSerializer.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import com.esotericsoftware.kryo.kryo5.serializers.ImmutableSerializer;
+import com.esotericsoftware.kryo.kryo5.serializers.JavaSerializer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.jmp.demo.kryo5.objects.Recording;
+
+import net.jmp.demo.kryo5.values.RecordingValue;
+
+/**
+ * A serializer of recording values in the native
+ * format of the RecordingSerializer, so recordings and
+ * recording values read each other's bytes. Recordings
+ * written by the JavaSerializer are read as recordings
+ * and converted.
+ *
+ * A few artists are read straight into an unmodifiable
+ * list without the array copy of a list built from an array.
+ */
+public final class RecordingValueSerializer extends ImmutableSerializer<RecordingValue> {
+    /** Reads recordings that were written by the JavaSerializer. */
+    private final JavaSerializer javaSerializer = new JavaSerializer();
+
+    /**
+     * The default constructor.
+     */
+    public RecordingValueSerializer() {
+        super();
+    }
+
+    /**
+     * Write the serialized recording value.
+     *
+     * @param   kryo        com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   output      com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   recording   net.jmp.demo.kryo5.values.RecordingValue
+     */
+    @Override
+    public void write(final Kryo kryo, final Output output, final RecordingValue recording) {
+        output.writeByte(RecordingSerializer.FORMAT_NATIVE);
+        output.writeString(recording.title());
+        StringDictionary.writeString(kryo, output, recording.label());
+        output.writeVarInt(recording.timeInMinutes(), true);
+
+        final List<String> artists = recording.artists();
+
+        /* Zero means a null list, otherwise the size plus one */
+
+        if (artists == null) {
+            output.writeVarInt(0, true);
+        } else {
+            output.writeVarInt(artists.size() + 1, true);
+
+            for (final String artist : artists)
+                StringDictionary.writeString(kryo, output, artist);
+        }
+    }
+
+    /**
+     * Read and return the deserialized recording value.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   type    java.lang.Class
+     * @return          net.jmp.demo.kryo5.values.RecordingValue
+     */
+    @Override
+    public RecordingValue read(final Kryo kryo, final Input input, final Class<? extends RecordingValue> type) {
+        final byte format = input.readByte();
+
+        if (format == RecordingSerializer.FORMAT_JAVA) {
+            input.setPosition(input.position() - 1);
+
+            return RecordingValue.from((Recording) this.javaSerializer.read(kryo, input, Recording.class));
+        }
+
+        if (format != RecordingSerializer.FORMAT_NATIVE)
+            throw new KryoException("Unknown recording format: " + format);
+
+        final var title = input.readString();
+        final var label = StringDictionary.readString(kryo, input);
+        final var timeInMinutes = input.readVarInt(true);
+
+        return new RecordingValue(title, label, readArtists(kryo, input), timeInMinutes);
+    }
+
+    /**
+     * Read the artists. Without a null artist they go
+     * into an unmodifiable list that the value keeps as
+     * it is; with one they go into a list over the array
+     * read, which the value copies.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @return          java.util.List&lt;java.lang.String&gt;
+     */
+    private static List<String> readArtists(final Kryo kryo, final Input input) {
+        final int count = input.readVarInt(true) - 1;
+
+        if (count < 0)
+            return null;
+
+        final var artists = new String[count];
+        var nulls = false;
+
+        for (int i = 0; i < count; i++) {
+            artists[i] = StringDictionary.readString(kryo, input);
+            nulls |= artists[i] == null;
+        }
+
+        return nulls ? Arrays.asList(artists) : List.of(artists);
+    }
+}
@@ -0,0 +1,239 @@
+package net.jmp.demo.kryo5.custom;
+
+/*
+ * (#)StringDictionary.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import com.esotericsoftware.kryo.kryo5.util.ObjectMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dictionary of the repeated strings of one block.
+ *
+ * While a dictionary is installed in a Kryo instance
+ * the custom serializers write their repeated string
+ * fields (pet types and colors, recording labels and
+ * artists) as varint ids into the dictionary instead of
+ * as characters; 0 stands for null. The owner of the
+ * block writes the dictionary once in front of the
+ * records and installs it again before reading them.
+ *
+ * When no dictionary is installed the strings are
+ * written as ordinary Kryo strings, so the encoding
+ * outside a dictionary block does not change.
+ *
+ * A dictionary also knows the compact format version
+ * of the records of its block, since a version 1 record
+ * that starts with a dictionary id cannot be told from
+ * a version 2 header byte. Records are always written
+ * in the current version.
+ */
+public final class StringDictionary {
+    /** The ids of the strings. */
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /** The strings in id order. */
+    private final List<String> strings = new ArrayList<>();
+
+    /** The compact format version of the records of the block. */
+    private final int version;
+
+    /**
+     * The default constructor, for a block
+     * written in the current version.
+     */
+    public StringDictionary() {
+        this(CompactFormat.VERSION);
+    }
+
+    /**
+     * A constructor for a block written in a given version.
+     *
+     * @param   version int
+     */
+    private StringDictionary(final int version) {
+        super();
+
+        this.version = version;
+    }
+
+    /**
+     * Install this dictionary in a Kryo instance.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     */
+    public void install(final Kryo kryo) {
+        context(kryo).put(StringDictionary.class, this);
+    }
+
+    /**
+     * Remove any dictionary from a Kryo instance.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     */
+    public static void uninstall(final Kryo kryo) {
+        context(kryo).remove(StringDictionary.class);
+    }
+
+    /**
+     * Return the dictionary installed in a
+     * Kryo instance, or null if there is none.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @return          net.jmp.demo.kryo5.custom.StringDictionary
+     */
+    static StringDictionary installed(final Kryo kryo) {
+        return (StringDictionary) context(kryo).get(StringDictionary.class);
+    }
+
+    /**
+     * Return the compact format version
+     * of the records of the block.
+     *
+     * @return  int
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Return the number of strings.
+     *
+     * @return  int
+     */
+    public int size() {
+        return this.strings.size();
+    }
+
+    /**
+     * Write the dictionary: a varint count
+     * followed by the strings in id order.
+     *
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     */
+    public void write(final Output output) {
+        output.writeVarInt(this.strings.size(), true);
+
+        for (final var string : this.strings)
+            output.writeString(string);
+    }
+
+    /**
+     * Read the dictionary of a block whose records
+     * were written in a given compact format version.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @param   version int
+     * @return          net.jmp.demo.kryo5.custom.StringDictionary
+     */
+    public static StringDictionary read(final Input input, final int version) {
+        assert version > 0 && version <= CompactFormat.VERSION;
+
+        final var dictionary = new StringDictionary(version);
+        final int count = input.readVarInt(true);
+
+        for (int i = 0; i < count; i++)
+            dictionary.strings.add(input.readString());
+
+        return dictionary;
+    }
+
+    /**
+     * Write a repeated string field, through the
+     * installed dictionary if there is one.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     * @param   value   java.lang.String
+     */
+    public static void writeString(final Kryo kryo, final Output output, final String value) {
+        final var dictionary = installed(kryo);
+
+        if (dictionary == null) {
+            output.writeString(value);
+        } else if (value == null) {
+            output.writeVarInt(0, true);
+        } else {
+            final var id = dictionary.ids.computeIfAbsent(value, key -> {
+                dictionary.strings.add(key);
+
+                return dictionary.strings.size() - 1;
+            });
+
+            output.writeVarInt(id + 1, true);
+        }
+    }
+
+    /**
+     * Read a repeated string field, through the
+     * installed dictionary if there is one.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @return          java.lang.String
+     */
+    public static String readString(final Kryo kryo, final Input input) {
+        final var dictionary = installed(kryo);
+
+        if (dictionary == null)
+            return input.readString();
+
+        final int id = input.readVarInt(true);
+
+        if (id == 0)
+            return null;
+
+        if (id > dictionary.strings.size())
+            throw new KryoException("String id " + (id - 1) + " is not in the dictionary of " + dictionary.strings.size());
+
+        return dictionary.strings.get(id - 1);
+    }
+
+    /**
+     * Return the context of a Kryo instance, which
+     * Kryo declares as a raw object map.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     * @return          com.esotericsoftware.kryo.kryo5.util.ObjectMap&lt;java.lang.Object, java.lang.Object&gt;
+     */
+    @SuppressWarnings("unchecked")
+    private static ObjectMap<Object, Object> context(final Kryo kryo) {
+        return kryo.getContext();
+    }
+}
@@ -0,0 +1,464 @@
+package net.jmp.demo.kryo5.dataset;
+
+/*
+ * (#)DatasetGenerator.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import java.time.temporal.ChronoUnit;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import java.util.function.LongFunction;
+import java.util.function.ObjLongConsumer;
+
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import net.jmp.demo.kryo5.config.ConfigDataset;
+
+import net.jmp.demo.kryo5.io.ObjectFiles;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+import net.jmp.demo.kryo5.recordlog.RecordLogWriter;
+
+/**
+ * Generates synthetic persons, pets, chairs and
+ * recordings from a seed.
+ *
+ * Each object is derived from the seed and its index
+ * alone, so any object can be generated on its own and
+ * the same seed always gives the same dataset. Objects
+ * are produced one at a time as they are streamed or
+ * written; nothing but the object in hand is held.
+ *
+ * Strings are drawn from pools of a configured number
+ * of distinct made-up words. The pools are never built:
+ * the n-th string of a pool is spelled out from n.
+ */
+public final class DatasetGenerator {
+    /** The number of given names that names are built from. */
+    private static final int GIVEN_NAMES = 256;
+
+    /** The fewest syllables in a word. */
+    private static final int MIN_SYLLABLES = 2;
+
+    /** The syllables words are spelled with. */
+    private static final String[] SYLLABLES = syllables("bdfghklmnprstvz", "aeiou");
+
+    /** The golden ratio increment of SplitMix64. */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** The given names of persons. */
+    private static final int PERSON_GIVEN = 1;
+
+    /** The family names of persons. */
+    private static final int PERSON_FAMILY = 2;
+
+    /** The given names of artists. */
+    private static final int ARTIST_GIVEN = 3;
+
+    /** The family names of artists. */
+    private static final int ARTIST_FAMILY = 4;
+
+    /** The names of pets. */
+    private static final int PET_NAME = 5;
+
+    /** The types of pet. */
+    private static final int PET_TYPE = 6;
+
+    /** The colors of pets and chairs. */
+    private static final int COLOR = 7;
+
+    /** The titles of recordings. */
+    private static final int TITLE = 8;
+
+    /** The labels of recordings. */
+    private static final int LABEL = 9;
+
+    /** The dataset configuration. */
+    private final ConfigDataset configDataset;
+
+    /** The date ages are counted back from. */
+    private final LocalDate referenceDate;
+
+    /** The object factories by class. */
+    private final Map<Class<?>, LongFunction<?>> factories;
+
+    /**
+     * The constructor.
+     *
+     * @param   configDataset   net.jmp.demo.kryo5.config.ConfigDataset
+     */
+    public DatasetGenerator(final ConfigDataset configDataset) {
+        super();
+
+        assert configDataset != null;
+        assert configDataset.getMinAge() <= configDataset.getMaxAge();
+        assert configDataset.getMinMinutes() <= configDataset.getMaxMinutes();
+        assert configDataset.getMinArtists() <= configDataset.getMaxArtists();
+
+        this.configDataset = configDataset;
+        this.referenceDate = LocalDate.parse(configDataset.getReferenceDate());
+        this.factories = Map.of(
+                Person.class, this::newPerson,
+                Pet.class, this::newPet,
+                Chair.class, this::newChair,
+                Recording.class, this::newRecording
+        );
+    }
+
+    /**
+     * Return the number of objects generated of each type.
+     *
+     * @return  long
+     */
+    public long getCount() {
+        return this.configDataset.getCount();
+    }
+
+    /**
+     * Generate the object of a type with the given index.
+     *
+     * @param   <T>     The type of object
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @param   index   long
+     * @return          T
+     * @throws  java.lang.IllegalArgumentException When objects of the type cannot be generated
+     */
+    public <T> T generate(final Class<T> type, final long index) {
+        assert type != null;
+        assert index >= 0;
+
+        final var factory = this.factories.get(type);
+
+        if (factory == null)
+            throw new IllegalArgumentException("Objects of " + type.getName() + " cannot be generated");
+
+        return type.cast(factory.apply(index));
+    }
+
+    /**
+     * Return a lazy stream of the configured number
+     * of objects of a type, in index order.
+     *
+     * @param   <T>     The type of object
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @return          java.util.stream.Stream&lt;T&gt;
+     */
+    public <T> Stream<T> stream(final Class<T> type) {
+        return this.stream(type, this.getCount());
+    }
+
+    /**
+     * Return a lazy stream of the first
+     * objects of a type, in index order.
+     *
+     * @param   <T>     The type of object
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @param   count   long
+     * @return          java.util.stream.Stream&lt;T&gt;
+     */
+    public <T> Stream<T> stream(final Class<T> type, final long count) {
+        assert count >= 0;
+
+        return LongStream.range(0, count).mapToObj(index -> this.generate(type, index));
+    }
+
+    /**
+     * Write the configured number of objects of a type
+     * to an object file, preceded by their count, as they
+     * are generated.
+     *
+     * @param   <T>         The type of object
+     * @param   files       net.jmp.demo.kryo5.io.ObjectFiles
+     * @param   fileName    java.lang.String
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @return              long
+     * @throws  java.io.IOException When the file cannot be written
+     */
+    public <T> long write(final ObjectFiles files, final String fileName, final Class<T> type) throws IOException {
+        assert files != null;
+        assert fileName != null;
+        assert type != null;
+
+        final var count = this.getCount();
+
+        files.write(fileName, (kryo, output) -> {
+            output.writeVarLong(count, true);
+
+            for (long index = 0; index < count; index++)
+                kryo.writeObject(output, this.generate(type, index));
+        });
+
+        return count;
+    }
+
+    /**
+     * Append the configured number of objects of
+     * a type to a record log as they are generated.
+     *
+     * @param   <T>     The type of object
+     * @param   writer  net.jmp.demo.kryo5.recordlog.RecordLogWriter&lt;T&gt;
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @return          long
+     * @throws  java.io.IOException When a block cannot be written
+     */
+    public <T> long append(final RecordLogWriter<T> writer, final Class<T> type) throws IOException {
+        assert writer != null;
+        assert type != null;
+
+        final var count = this.getCount();
+
+        for (long index = 0; index < count; index++)
+            writer.append(this.generate(type, index));
+
+        return count;
+    }
+
+    /**
+     * Read an object file written by the generator,
+     * handing each object and its index to a consumer
+     * as it is decoded.
+     *
+     * @param   <T>         The type of object
+     * @param   files       net.jmp.demo.kryo5.io.ObjectFiles
+     * @param   fileName    java.lang.String
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @param   consumer    java.util.function.ObjLongConsumer&lt;? super T&gt;
+     * @return              long
+     * @throws  java.io.IOException When the file cannot be read
+     */
+    public static <T> long read(final ObjectFiles files,
+                                final String fileName,
+                                final Class<T> type,
+                                final ObjLongConsumer<? super T> consumer) throws IOException {
+        assert files != null;
+        assert fileName != null;
+        assert type != null;
+        assert consumer != null;
+
+        return files.read(fileName, (kryo, input) -> {
+            final var count = input.readVarLong(true);
+
+            for (long index = 0; index < count; index++)
+                consumer.accept(kryo.readObject(input, type), index);
+
+            return count;
+        });
+    }
+
+    /**
+     * Generate the person with the given index. The
+     * birthday falls in the year that gives the person
+     * their age on the reference date.
+     *
+     * @param   index   long
+     * @return          net.jmp.demo.kryo5.objects.Person
+     */
+    private Person newPerson(final long index) {
+        final var random = this.random(Person.class, index);
+        final var person = new Person();
+        final var age = this.configDataset.getAgeDistribution().next(random, this.configDataset.getMinAge(), this.configDataset.getMaxAge());
+        final var latest = this.referenceDate.minusYears(age);
+        final var birthday = latest.minusDays(random.nextLong(ChronoUnit.DAYS.between(latest.minusYears(1), latest)));
+
+        person.setName(this.fullName(PERSON_GIVEN, PERSON_FAMILY, this.pick(random, this.configDataset.getNames())));
+        person.setAge(age);
+        person.setBirthday(Date.from(birthday.atStartOfDay(ZoneOffset.UTC).toInstant()));
+
+        return person;
+    }
+
+    /**
+     * Generate the pet with the given index.
+     *
+     * @param   index   long
+     * @return          net.jmp.demo.kryo5.objects.Pet
+     */
+    private Pet newPet(final long index) {
+        final var random = this.random(Pet.class, index);
+        final var pet = new Pet();
+
+        pet.setType(this.word(PET_TYPE, this.pick(random, this.configDataset.getPetTypes())));
+        pet.setName(this.word(PET_NAME, this.pick(random, this.configDataset.getNames())));
+        pet.setColor(this.word(COLOR, this.pick(random, this.configDataset.getColors())));
+        pet.setAge(this.configDataset.getAgeDistribution().next(random, 0, this.configDataset.getMaxPetAge()));
+
+        return pet;
+    }
+
+    /**
+     * Generate the chair with the given index.
+     *
+     * @param   index   long
+     * @return          net.jmp.demo.kryo5.objects.Chair
+     */
+    private Chair newChair(final long index) {
+        final var random = this.random(Chair.class, index);
+        final var chair = new Chair();
+
+        chair.setColor(this.word(COLOR, this.pick(random, this.configDataset.getColors())));
+        chair.setHasWheels(random.nextInt(100) < this.configDataset.getWheelsPercent());
+
+        return chair;
+    }
+
+    /**
+     * Generate the recording with the given index.
+     *
+     * @param   index   long
+     * @return          net.jmp.demo.kryo5.objects.Recording
+     */
+    private Recording newRecording(final long index) {
+        final var random = this.random(Recording.class, index);
+        final var recording = new Recording();
+        final var artistCount = random.nextInt(this.configDataset.getMinArtists(), this.configDataset.getMaxArtists() + 1);
+        final var artists = new ArrayList<String>(artistCount);
+
+        for (int i = 0; i < artistCount; i++)
+            artists.add(this.fullName(ARTIST_GIVEN, ARTIST_FAMILY, this.pick(random, this.configDataset.getArtists())));
+
+        recording.setTitle(this.word(TITLE, this.pick(random, this.configDataset.getTitles())));
+        recording.setLabel(this.word(LABEL, this.pick(random, this.configDataset.getLabels())) + " Records");
+        recording.setArtists(artists);
+        recording.setTimeInMinutes(this.configDataset.getMinutesDistribution().next(random,
+                this.configDataset.getMinMinutes(),
+                this.configDataset.getMaxMinutes()));
+
+        return recording;
+    }
+
+    /**
+     * Return the random numbers of the object
+     * of a type with the given index.
+     *
+     * @param   type    java.lang.Class&lt;?&gt;
+     * @param   index   long
+     * @return          java.util.SplittableRandom
+     */
+    private SplittableRandom random(final Class<?> type, final long index) {
+        return new SplittableRandom(mix(mix(this.configDataset.getSeed() ^ type.getSimpleName().hashCode()) + index * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Pick a string of a pool by its number.
+     *
+     * @param   random      java.util.SplittableRandom
+     * @param   cardinality int
+     * @return              int
+     */
+    private int pick(final SplittableRandom random, final int cardinality) {
+        assert cardinality > 0;
+
+        return this.configDataset.getStringDistribution().next(random, 0, cardinality - 1);
+    }
+
+    /**
+     * Spell the name with the given number as
+     * a given name followed by a family name.
+     *
+     * @param   givenKind   int
+     * @param   familyKind  int
+     * @param   number      int
+     * @return              java.lang.String
+     */
+    private String fullName(final int givenKind, final int familyKind, final int number) {
+        return this.word(givenKind, number % GIVEN_NAMES) + " " + this.word(familyKind, number / GIVEN_NAMES);
+    }
+
+    /**
+     * Spell the word of a kind with the given number.
+     * Each syllable is one digit of the number, shifted
+     * by an amount drawn from the seed and the kind, so
+     * different numbers always give different words.
+     *
+     * @param   kind    int
+     * @param   number  int
+     * @return          java.lang.String
+     */
+    private String word(final int kind, final int number) {
+        assert number >= 0;
+
+        final var word = new StringBuilder();
+        final var shifts = new SplittableRandom(mix(this.configDataset.getSeed() + kind * GOLDEN_GAMMA));
+        int rest = number;
+
+        for (int syllables = 0; syllables < MIN_SYLLABLES || rest > 0; syllables++) {
+            word.append(SYLLABLES[(rest + shifts.nextInt(SYLLABLES.length)) % SYLLABLES.length]);
+            rest /= SYLLABLES.length;
+        }
+
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+
+        return word.toString();
+    }
+
+    /**
+     * Scramble a value with the SplitMix64 finalizer.
+     *
+     * @param   value   long
+     * @return          long
+     */
+    private static long mix(final long value) {
+        long z = value;
+
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Return every consonant followed by every vowel.
+     *
+     * @param   consonants  java.lang.String
+     * @param   vowels      java.lang.String
+     * @return              java.lang.String[]
+     */
+    private static String[] syllables(final String consonants, final String vowels) {
+        final var syllables = new String[consonants.length() * vowels.length()];
+
+        for (int i = 0; i < syllables.length; i++)
+            syllables[i] = "" + consonants.charAt(i / vowels.length()) + vowels.charAt(i % vowels.length());
+
+        return syllables;
+    }
+}
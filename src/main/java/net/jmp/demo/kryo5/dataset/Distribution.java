@@ -0,0 +1,86 @@
+package net.jmp.demo.kryo5.dataset;
+
+/*
+ * (#)Distribution.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.SplittableRandom;
+
+/**
+ * How generated values are spread over their range.
+ */
+public enum Distribution {
+    /** Every value is equally likely. */
+    UNIFORM {
+        @Override
+        double next(final SplittableRandom random) {
+            return random.nextDouble();
+        }
+    },
+
+    /** Values cluster around the middle of the range, three standard deviations to each end. */
+    NORMAL {
+        @Override
+        double next(final SplittableRandom random) {
+            return Math.min(Math.max(0.5 + random.nextGaussian() / 6, 0), Math.nextDown(1.0));
+        }
+    },
+
+    /** Values crowd towards the start of the range; a tenth fall in its first thousandth. */
+    SKEWED {
+        @Override
+        double next(final SplittableRandom random) {
+            final var value = random.nextDouble();
+
+            return value * value * value;
+        }
+    };
+
+    /**
+     * Return the next value in [0, 1).
+     *
+     * @param   random  java.util.SplittableRandom
+     * @return          double
+     */
+    abstract double next(SplittableRandom random);
+
+    /**
+     * Return the next value in [min, max].
+     *
+     * @param   random  java.util.SplittableRandom
+     * @param   min     int
+     * @param   max     int
+     * @return          int
+     */
+    int next(final SplittableRandom random, final int min, final int max) {
+        assert min <= max;
+
+        return min + (int) (this.next(random) * ((long) max - min + 1));
+    }
+}
@@ -0,0 +1,218 @@
+package net.jmp.demo.kryo5.engine;
+
+/*
+ * (#)BoundedPool.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Queue;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A bounded object pool that is safe for use by any
+ * number of platform or virtual threads.
+ *
+ * At most capacity objects are ever created. The hot
+ * path (a free object is available and a permit can be
+ * taken) uses only compare-and-set operations; a thread
+ * only parks when every object is already borrowed.
+ *
+ * @param   <T> The type of pooled object
+ */
+public final class BoundedPool<T> {
+    /** The free objects. */
+    private final Queue<T> free = new ConcurrentLinkedQueue<>();
+
+    /** One permit per object that may be borrowed. */
+    private final Semaphore permits;
+
+    /** The factory that creates new objects. */
+    private final Supplier<T> factory;
+
+    /** Applied to each object as it is returned to the pool. */
+    private final Consumer<T> resetter;
+
+    /** The maximum number of objects. */
+    private final int capacity;
+
+    /** The number of objects created so far. */
+    private final AtomicInteger created = new AtomicInteger();
+
+    /** Borrows satisfied by a free object. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Borrows that had to create an object. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Borrows that had to wait for an object to be returned. */
+    private final LongAdder waits = new LongAdder();
+
+    /**
+     * The constructor.
+     *
+     * @param   capacity    int
+     * @param   factory     java.util.function.Supplier&lt;T&gt;
+     * @param   resetter    java.util.function.Consumer&lt;T&gt;
+     */
+    public BoundedPool(final int capacity, final Supplier<T> factory, final Consumer<T> resetter) {
+        super();
+
+        assert factory != null;
+        assert resetter != null;
+
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity);
+        this.factory = factory;
+        this.resetter = resetter;
+    }
+
+    /**
+     * Borrow an object, waiting if all of
+     * them are currently in use. Every object
+     * obtained must be handed back to free().
+     *
+     * @return  T
+     */
+    public T obtain() {
+        if (!this.permits.tryAcquire()) {
+            this.waits.increment();
+            this.permits.acquireUninterruptibly();
+        }
+
+        return this.take();
+    }
+
+    /**
+     * Borrow an object if one can be had
+     * without waiting. An object obtained
+     * must be handed back to free().
+     *
+     * @return  T   The object, or null when all of them are in use
+     */
+    public T poll() {
+        return this.permits.tryAcquire() ? this.take() : null;
+    }
+
+    /**
+     * Return a borrowed object to the pool.
+     *
+     * @param   object  T
+     */
+    public void free(final T object) {
+        assert object != null;
+
+        try {
+            this.resetter.accept(object);
+            this.free.offer(object);
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Create objects until the pool is at capacity. Useful
+     * to take the cost of creation before traffic arrives;
+     * it is meant to be called before the pool is shared.
+     */
+    public void fill() {
+        while (this.created.get() < this.capacity && this.permits.tryAcquire()) {
+            try {
+                if (this.created.get() < this.capacity) {
+                    this.free.offer(this.factory.get());
+                    this.created.incrementAndGet();
+                }
+            } finally {
+                this.permits.release();
+            }
+        }
+    }
+
+    /**
+     * Return the capacity.
+     *
+     * @return  int
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Return a snapshot of the pool counters.
+     *
+     * @return  net.jmp.demo.kryo5.engine.PoolStatistics
+     */
+    public PoolStatistics getStatistics() {
+        return new PoolStatistics(
+                this.capacity,
+                this.created.get(),
+                this.free.size(),
+                this.hits.sum(),
+                this.misses.sum(),
+                this.waits.sum()
+        );
+    }
+
+    /**
+     * Take a free object or create one,
+     * once a permit has been acquired.
+     *
+     * @return  T
+     */
+    private T take() {
+        T object = this.free.poll();
+
+        if (object != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+
+            try {
+                object = this.factory.get();
+            } catch (final RuntimeException re) {
+                this.permits.release();
+
+                throw re;
+            }
+
+            this.created.incrementAndGet();
+        }
+
+        return object;
+    }
+}
@@ -0,0 +1,216 @@
+package net.jmp.demo.kryo5.engine;
+
+/*
+ * (#)ClassRegistry.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.Serializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import net.jmp.demo.kryo5.custom.PersonSerializer;
+import net.jmp.demo.kryo5.custom.PersonValueSerializer;
+import net.jmp.demo.kryo5.custom.PetValueSerializer;
+import net.jmp.demo.kryo5.custom.RecordingSerializer;
+import net.jmp.demo.kryo5.custom.RecordingValueSerializer;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+import net.jmp.demo.kryo5.values.PersonValue;
+import net.jmp.demo.kryo5.values.PetValue;
+import net.jmp.demo.kryo5.values.RecordingValue;
+
+/**
+ * The classes a Kryo instance may serialize, each
+ * with a fixed registration ID and, optionally, the
+ * serializer bound to it. Applying the registry also
+ * makes registration required, so an unlisted class
+ * fails instead of being written by name.
+ *
+ * Since the IDs are explicit rather than assigned in
+ * call order, every process that applies the same
+ * registry reads the same bytes the same way however
+ * the entries were added. An ID must never be reused
+ * for a different class once data has been written.
+ *
+ * IDs below FIRST_ID belong to the primitive and
+ * string types Kryo registers itself.
+ */
+public final class ClassRegistry implements Consumer<Kryo> {
+    /** The first ID available to applications. */
+    public static final int FIRST_ID = 9;
+
+    /** The entries by ID. */
+    private final Map<Integer, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * The default constructor.
+     */
+    public ClassRegistry() {
+        super();
+    }
+
+    /**
+     * Return a new copy of the standard registry of the
+     * demonstration classes. The IDs of the mutable
+     * classes are those they were assigned in call order
+     * before the registry existed, so earlier files still
+     * read; the immutable values follow them.
+     *
+     * @return  net.jmp.demo.kryo5.engine.ClassRegistry
+     */
+    public static ClassRegistry standard() {
+        return new ClassRegistry()
+                .register(9, Object.class)
+                .register(10, Date.class)
+                .register(11, ArrayList.class)
+                .register(12, Person.class, PersonSerializer::new)
+                .register(13, Pet.class)
+                .register(14, Chair.class)
+                .register(15, Recording.class, RecordingSerializer::new)
+                .register(16, PersonValue.class, PersonValueSerializer::new)
+                .register(17, PetValue.class, PetValueSerializer::new)
+                .register(18, RecordingValue.class, RecordingValueSerializer::new);
+    }
+
+    /**
+     * Register a class with its default serializer.
+     *
+     * @param   id      int
+     * @param   type    java.lang.Class&lt;?&gt;
+     * @return          net.jmp.demo.kryo5.engine.ClassRegistry
+     */
+    public ClassRegistry register(final int id, final Class<?> type) {
+        return this.register(id, type, null);
+    }
+
+    /**
+     * Register a class with a serializer. A new serializer
+     * is created for each Kryo instance the registry is
+     * applied to, so serializers need not be thread safe.
+     *
+     * @param   id          int
+     * @param   type        java.lang.Class&lt;?&gt;
+     * @param   serializer  java.util.function.Supplier&lt;? extends com.esotericsoftware.kryo.kryo5.Serializer&lt;?&gt;&gt;   Or null for the default serializer
+     * @return              net.jmp.demo.kryo5.engine.ClassRegistry
+     * @throws  java.lang.IllegalArgumentException When the ID or the class is already registered
+     */
+    public ClassRegistry register(final int id, final Class<?> type, final Supplier<? extends Serializer<?>> serializer) {
+        assert type != null;
+
+        if (id < FIRST_ID)
+            throw new IllegalArgumentException("Registration ID " + id + " of " + type.getName() + " is below " + FIRST_ID);
+
+        if (this.entries.containsKey(id))
+            throw new IllegalArgumentException("Registration ID " + id + " of " + type.getName() + " is taken by " + this.entries.get(id).type().getName());
+
+        for (final var entry : this.entries.values())
+            if (entry.type() == type)
+                throw new IllegalArgumentException(type.getName() + " is already registered with ID " + entry.id());
+
+        this.entries.put(id, new Entry(id, type, serializer));
+
+        return this;
+    }
+
+    /**
+     * Return the ID of a class, or -1 when it is not registered.
+     *
+     * @param   type    java.lang.Class&lt;?&gt;
+     * @return          int
+     */
+    public int getId(final Class<?> type) {
+        for (final var entry : this.entries.values())
+            if (entry.type() == type)
+                return entry.id();
+
+        return -1;
+    }
+
+    /**
+     * Return the registered classes in the order they were added.
+     *
+     * @return  java.util.List&lt;java.lang.Class&lt;?&gt;&gt;
+     */
+    public List<Class<?>> getClasses() {
+        return Collections.unmodifiableList(this.entries.values().stream().<Class<?>>map(Entry::type).toList());
+    }
+
+    /**
+     * Register every class with a Kryo instance
+     * and make registration required.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     */
+    @Override
+    public void accept(final Kryo kryo) {
+        kryo.setRegistrationRequired(true);
+
+        for (final var entry : this.entries.values()) {
+            if (entry.serializer() == null)
+                kryo.register(entry.type(), entry.id());
+            else
+                kryo.register(entry.type(), entry.serializer().get(), entry.id());
+        }
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "ClassRegistry{" +
+                "entries=" + this.entries.values().stream().map(entry -> entry.id() + "=" + entry.type().getSimpleName()).toList() +
+                '}';
+    }
+
+    /**
+     * One registration.
+     *
+     * @param   id          int
+     * @param   type        java.lang.Class&lt;?&gt;
+     * @param   serializer  java.util.function.Supplier&lt;? extends com.esotericsoftware.kryo.kryo5.Serializer&lt;?&gt;&gt;
+     */
+    private record Entry(int id, Class<?> type, Supplier<? extends Serializer<?>> serializer) {
+    }
+}
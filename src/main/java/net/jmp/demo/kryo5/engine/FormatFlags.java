@@ -0,0 +1,140 @@
+package net.jmp.demo.kryo5.engine;
+
+/*
+ * (#)FormatFlags.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import com.esotericsoftware.kryo.kryo5.unsafe.UnsafeByteBufferInput;
+import com.esotericsoftware.kryo.kryo5.unsafe.UnsafeByteBufferOutput;
+import com.esotericsoftware.kryo.kryo5.unsafe.UnsafeInput;
+import com.esotericsoftware.kryo.kryo5.unsafe.UnsafeOutput;
+
+import java.nio.ByteOrder;
+
+/**
+ * The flags that file headers record about how the
+ * Kryo encoding in the file was written: the byte
+ * order of fixed-width primitives and whether ints
+ * and longs were written with variable-length
+ * encoding. A file can only be read with an input
+ * whose flags are the same.
+ *
+ * The flags take the upper bits of a header's flags
+ * byte and are all clear for the portable defaults,
+ * so files written before they existed still match
+ * a safe, variable-length engine.
+ */
+public final class FormatFlags {
+    /** Set when fixed-width primitives are big-endian. */
+    public static final byte BIG_ENDIAN = 0x40;
+
+    /** Set when ints and longs are written at fixed length. */
+    public static final byte FIXED_LENGTH = 0x20;
+
+    /** The bits of a flags byte that are format flags. */
+    public static final byte MASK = BIG_ENDIAN | FIXED_LENGTH;
+
+    /**
+     * The default constructor.
+     */
+    private FormatFlags() {
+        super();
+    }
+
+    /**
+     * Return the flags of what an output writes.
+     *
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     * @return          byte
+     */
+    public static byte of(final Output output) {
+        final var unsafe = output instanceof UnsafeOutput || output instanceof UnsafeByteBufferOutput;
+
+        return of(unsafe ? ByteOrder.nativeOrder() : ByteOrder.LITTLE_ENDIAN, output.getVariableLengthEncoding());
+    }
+
+    /**
+     * Return the flags of what an input reads.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @return          byte
+     */
+    public static byte of(final Input input) {
+        final var unsafe = input instanceof UnsafeInput || input instanceof UnsafeByteBufferInput;
+
+        return of(unsafe ? ByteOrder.nativeOrder() : ByteOrder.LITTLE_ENDIAN, input.getVariableLengthEncoding());
+    }
+
+    /**
+     * Return the flags of a byte order and integer encoding.
+     *
+     * @param   order                   java.nio.ByteOrder
+     * @param   variableLengthEncoding  boolean
+     * @return                          byte
+     */
+    public static byte of(final ByteOrder order, final boolean variableLengthEncoding) {
+        byte flags = 0;
+
+        if (order == ByteOrder.BIG_ENDIAN)
+            flags |= BIG_ENDIAN;
+
+        if (!variableLengthEncoding)
+            flags |= FIXED_LENGTH;
+
+        return flags;
+    }
+
+    /**
+     * Return true when what was written with the
+     * first flags can be read with the second.
+     * Bits outside the mask are ignored.
+     *
+     * @param   written byte
+     * @param   reading byte
+     * @return          boolean
+     */
+    public static boolean compatible(final byte written, final byte reading) {
+        return (written & MASK) == (reading & MASK);
+    }
+
+    /**
+     * Describe the format flags of a flags byte.
+     *
+     * @param   flags   byte
+     * @return          java.lang.String
+     */
+    public static String describe(final byte flags) {
+        return ((flags & BIG_ENDIAN) != 0 ? "big-endian" : "little-endian") +
+                ((flags & FIXED_LENGTH) != 0 ? " fixed-length" : " variable-length") +
+                " integers";
+    }
+}
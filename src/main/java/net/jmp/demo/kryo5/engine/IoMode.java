@@ -0,0 +1,169 @@
+package net.jmp.demo.kryo5.engine;
+
+/*
+ * (#)IoMode.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.ByteBufferInput;
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import com.esotericsoftware.kryo.kryo5.unsafe.UnsafeByteBufferInput;
+import com.esotericsoftware.kryo.kryo5.unsafe.UnsafeByteBufferOutput;
+import com.esotericsoftware.kryo.kryo5.unsafe.UnsafeInput;
+import com.esotericsoftware.kryo.kryo5.unsafe.UnsafeOutput;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * How an engine's inputs and outputs move primitives.
+ *
+ * The unsafe modes copy whole primitives and arrays
+ * with single memory accesses in the platform's byte
+ * order instead of assembling them a byte at a time in
+ * little-endian order, so what they write can only be
+ * read back with the same byte order.
+ */
+public enum IoMode {
+    /** Portable array-backed buffers in little-endian order. */
+    SAFE {
+        @Override
+        Output newOutput(final int bufferSize, final int maxBufferSize) {
+            return new Output(bufferSize, maxBufferSize);
+        }
+
+        @Override
+        Input newInput(final int bufferSize) {
+            return new Input(bufferSize);
+        }
+
+        @Override
+        Input newInput(final ByteBuffer buffer) {
+            return new ByteBufferInput(buffer);
+        }
+
+        @Override
+        public ByteOrder getByteOrder() {
+            return ByteOrder.LITTLE_ENDIAN;
+        }
+    },
+
+    /** Array-backed buffers accessed through sun.misc.Unsafe in the platform's order. */
+    UNSAFE,
+
+    /**
+     * Direct buffers accessed through sun.misc.Unsafe in the platform's order,
+     * for streams and channels; needs --add-exports java.base/sun.nio.ch=ALL-UNNAMED.
+     */
+    UNSAFE_DIRECT {
+        @Override
+        Output newOutput(final int bufferSize, final int maxBufferSize) {
+            return new UnsafeByteBufferOutput(bufferSize, maxBufferSize);
+        }
+
+        @Override
+        Input newInput(final int bufferSize) {
+            return new UnsafeByteBufferInput(bufferSize);
+        }
+
+        @Override
+        Input newInput(final ByteBuffer buffer) {
+            return buffer.isDirect() ? new UnsafeByteBufferInput(buffer) : super.newInput(buffer);
+        }
+    };
+
+    /**
+     * Create an output of the kind the engine pools.
+     *
+     * @param   bufferSize      int
+     * @param   maxBufferSize   int
+     * @return                  com.esotericsoftware.kryo.kryo5.io.Output
+     */
+    Output newOutput(final int bufferSize, final int maxBufferSize) {
+        return new UnsafeOutput(bufferSize, maxBufferSize);
+    }
+
+    /**
+     * Create an input of the kind the engine pools.
+     *
+     * @param   bufferSize  int
+     * @return              com.esotericsoftware.kryo.kryo5.io.Input
+     */
+    Input newInput(final int bufferSize) {
+        return new UnsafeInput(bufferSize);
+    }
+
+    /**
+     * Create an array-backed output in this mode's byte order,
+     * for callers that need the bytes in an array.
+     *
+     * @param   bufferSize      int
+     * @param   maxBufferSize   int
+     * @return                  com.esotericsoftware.kryo.kryo5.io.Output
+     */
+    Output newArrayOutput(final int bufferSize, final int maxBufferSize) {
+        return this == SAFE ? new Output(bufferSize, maxBufferSize) : new UnsafeOutput(bufferSize, maxBufferSize);
+    }
+
+    /**
+     * Create an array-backed input in this mode's byte order
+     * with no buffer; the caller sets one before reading.
+     *
+     * @return  com.esotericsoftware.kryo.kryo5.io.Input
+     */
+    Input newArrayInput() {
+        return this == SAFE ? new Input() : new UnsafeInput();
+    }
+
+    /**
+     * Create an input over the remaining bytes of a buffer.
+     * Outside the direct mode a buffer without an array is
+     * read with a portable input, whose byte order the format
+     * checks see, rather than copied into an array.
+     *
+     * @param   buffer  java.nio.ByteBuffer
+     * @return          com.esotericsoftware.kryo.kryo5.io.Input
+     */
+    Input newInput(final ByteBuffer buffer) {
+        if (!buffer.hasArray())
+            return new ByteBufferInput(buffer);
+
+        return new UnsafeInput(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+
+    /**
+     * Return the byte order that fixed-width primitives are written in.
+     *
+     * @return  java.nio.ByteOrder
+     */
+    public ByteOrder getByteOrder() {
+        return ByteOrder.nativeOrder();
+    }
+}
@@ -0,0 +1,467 @@
+package net.jmp.demo.kryo5.engine;
+
+/*
+ * (#)KryoEngine.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import com.esotericsoftware.kryo.kryo5.io.ByteBufferInput;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.nio.ByteBuffer;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import net.jmp.demo.kryo5.config.ConfigEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * A shared serialization engine.
+ *
+ * Kryo instances are not thread safe, so the engine
+ * keeps a bounded pool of identically registered
+ * instances together with pools of input and output
+ * buffers. Any thread may use the engine; each call
+ * borrows what it needs and returns it on completion.
+ *
+ * The configured I/O mode and integer encoding apply
+ * to the pooled buffers and to every buffer the engine
+ * creates for its callers, so that everything written
+ * through one engine reads back through another that
+ * is configured the same way. The format flags let
+ * file headers record how a file was written.
+ */
+public final class KryoEngine {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The pool of Kryo instances. */
+    private final BoundedPool<Kryo> kryos;
+
+    /** The pool of output buffers. */
+    private final BoundedPool<Output> outputs;
+
+    /** The pool of input buffers. */
+    private final BoundedPool<Input> inputs;
+
+    /** The I/O mode. */
+    private final IoMode ioMode;
+
+    /** True to write ints and longs with variable-length encoding. */
+    private final boolean variableLengthEncoding;
+
+    /**
+     * A constructor that uses the standard class registry.
+     *
+     * @param   configEngine    net.jmp.demo.kryo5.config.ConfigEngine
+     */
+    public KryoEngine(final ConfigEngine configEngine) {
+        this(configEngine, ClassRegistry.standard());
+    }
+
+    /**
+     * A constructor that takes the registrations to
+     * apply to every Kryo instance that is created.
+     *
+     * @param   configEngine    net.jmp.demo.kryo5.config.ConfigEngine
+     * @param   registrar       java.util.function.Consumer&lt;com.esotericsoftware.kryo.kryo5.Kryo&gt;
+     */
+    public KryoEngine(final ConfigEngine configEngine, final Consumer<Kryo> registrar) {
+        super();
+
+        assert configEngine != null;
+        assert registrar != null;
+
+        final int poolSize = configEngine.getPoolSize();
+        final int bufferSize = configEngine.getBufferSize();
+        final int maxBufferSize = configEngine.getMaxBufferSize();
+
+        this.ioMode = configEngine.getIoMode();
+        this.variableLengthEncoding = configEngine.isVariableLengthEncoding();
+
+        try {
+            this.ioMode.newInput(1);
+        } catch (final LinkageError | RuntimeException e) {
+            throw new IllegalStateException("I/O mode " + this.ioMode + " is not available on this JVM", e);
+        }
+
+        this.kryos = new BoundedPool<>(poolSize, () -> {
+            final var kryo = new Kryo();
+
+            kryo.setRegistrationRequired(true);
+
+            registrar.accept(kryo);
+
+            return kryo;
+        }, Kryo::reset);
+
+        this.outputs = new BoundedPool<>(poolSize,
+                () -> this.configure(this.ioMode.newOutput(bufferSize, maxBufferSize)),
+                output -> output.setOutputStream(null));
+
+        this.inputs = new BoundedPool<>(poolSize,
+                () -> this.configure(this.ioMode.newInput(bufferSize)),
+                input -> input.setInputStream(null));
+
+        this.logger.debug("Engine created: {}", configEngine);
+    }
+
+    /**
+     * Apply the standard class registry to a Kryo instance.
+     *
+     * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
+     */
+    public static void registerClasses(final Kryo kryo) {
+        ClassRegistry.standard().accept(kryo);
+    }
+
+    /**
+     * Run a function with a borrowed Kryo instance.
+     *
+     * @param   <R>         The type of result
+     * @param   function    java.util.function.Function&lt;com.esotericsoftware.kryo.kryo5.Kryo, R&gt;
+     * @return              R
+     */
+    public <R> R execute(final Function<Kryo, R> function) {
+        assert function != null;
+
+        final var kryo = this.kryos.obtain();
+
+        try {
+            return function.apply(kryo);
+        } finally {
+            this.kryos.free(kryo);
+        }
+    }
+
+    /**
+     * Run a consumer with a borrowed Kryo instance.
+     *
+     * @param   consumer    java.util.function.Consumer&lt;com.esotericsoftware.kryo.kryo5.Kryo&gt;
+     */
+    public void run(final Consumer<Kryo> consumer) {
+        assert consumer != null;
+
+        final var kryo = this.kryos.obtain();
+
+        try {
+            consumer.accept(kryo);
+        } finally {
+            this.kryos.free(kryo);
+        }
+    }
+
+    /**
+     * Write to a stream using a borrowed Kryo
+     * instance and a borrowed output buffer.
+     * The output is flushed but the stream is
+     * left open for the caller to close.
+     *
+     * @param   stream  java.io.OutputStream
+     * @param   writer  java.util.function.BiConsumer&lt;com.esotericsoftware.kryo.kryo5.Kryo, com.esotericsoftware.kryo.kryo5.io.Output&gt;
+     */
+    public void write(final OutputStream stream, final BiConsumer<Kryo, Output> writer) {
+        assert stream != null;
+        assert writer != null;
+
+        final var kryo = this.kryos.obtain();
+        final var output = this.outputs.obtain();
+
+        try {
+            output.setOutputStream(stream);
+
+            writer.accept(kryo, output);
+
+            output.flush();
+        } finally {
+            this.outputs.free(output);
+            this.kryos.free(kryo);
+        }
+    }
+
+    /**
+     * Read from a stream using a borrowed Kryo
+     * instance and a borrowed input buffer. The
+     * stream is left open for the caller to close.
+     *
+     * @param   <R>     The type of result
+     * @param   stream  java.io.InputStream
+     * @param   reader  java.util.function.BiFunction&lt;com.esotericsoftware.kryo.kryo5.Kryo, com.esotericsoftware.kryo.kryo5.io.Input, R&gt;
+     * @return          R
+     */
+    public <R> R read(final InputStream stream, final BiFunction<Kryo, Input, R> reader) {
+        assert stream != null;
+        assert reader != null;
+
+        final var kryo = this.kryos.obtain();
+        final var input = this.inputs.obtain();
+
+        try {
+            input.setInputStream(stream);
+
+            return reader.apply(kryo, input);
+        } finally {
+            this.inputs.free(input);
+            this.kryos.free(kryo);
+        }
+    }
+
+    /**
+     * Serialize an object to a byte array.
+     *
+     * @param   object  java.lang.Object
+     * @return          byte[]
+     */
+    public byte[] serialize(final Object object) {
+        assert object != null;
+
+        final var kryo = this.kryos.obtain();
+        final var output = this.outputs.obtain();
+
+        try {
+            kryo.writeObject(output, object);
+
+            return output.toBytes();
+        } finally {
+            this.outputs.free(output);
+            this.kryos.free(kryo);
+        }
+    }
+
+    /**
+     * Deserialize an object from a byte array.
+     *
+     * @param   <T>     The type of object
+     * @param   bytes   byte[]
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @return          T
+     */
+    public <T> T deserialize(final byte[] bytes, final Class<T> type) {
+        assert bytes != null;
+        assert type != null;
+
+        final var kryo = this.kryos.obtain();
+        final var input = this.inputs.obtain();
+
+        if (input instanceof ByteBufferInput direct) {
+            final var buffer = direct.getByteBuffer();
+
+            try {
+                direct.setBuffer(this.load(buffer, bytes));
+
+                return kryo.readObject(input, type);
+            } finally {
+                direct.setBuffer(buffer.clear());
+
+                this.inputs.free(input);
+                this.kryos.free(kryo);
+            }
+        }
+
+        final var buffer = input.getBuffer();
+
+        try {
+            input.setBuffer(bytes);
+
+            return kryo.readObject(input, type);
+        } finally {
+            input.setBuffer(buffer);
+
+            this.inputs.free(input);
+            this.kryos.free(kryo);
+        }
+    }
+
+    /**
+     * Create an array-backed output in the
+     * engine's byte order and integer encoding.
+     *
+     * @param   bufferSize      int
+     * @param   maxBufferSize   int
+     * @return                  com.esotericsoftware.kryo.kryo5.io.Output
+     */
+    public Output newOutput(final int bufferSize, final int maxBufferSize) {
+        return this.configure(this.ioMode.newArrayOutput(bufferSize, maxBufferSize));
+    }
+
+    /**
+     * Create an array-backed input in the engine's
+     * byte order and integer encoding, with no buffer.
+     *
+     * @return  com.esotericsoftware.kryo.kryo5.io.Input
+     */
+    public Input newInput() {
+        return this.configure(this.ioMode.newArrayInput());
+    }
+
+    /**
+     * Create an input over a byte array in the
+     * engine's byte order and integer encoding.
+     *
+     * @param   bytes   byte[]
+     * @return          com.esotericsoftware.kryo.kryo5.io.Input
+     */
+    public Input newInput(final byte[] bytes) {
+        final var input = this.newInput();
+
+        input.setBuffer(bytes);
+
+        return input;
+    }
+
+    /**
+     * Create an input over the remaining bytes of a
+     * buffer, such as a mapped file or a direct slab,
+     * in the engine's byte order and integer encoding.
+     *
+     * @param   buffer  java.nio.ByteBuffer
+     * @return          com.esotericsoftware.kryo.kryo5.io.Input
+     */
+    public Input newInput(final ByteBuffer buffer) {
+        assert buffer != null;
+
+        return this.configure(this.ioMode.newInput(buffer));
+    }
+
+    /**
+     * Return the I/O mode.
+     *
+     * @return  net.jmp.demo.kryo5.engine.IoMode
+     */
+    public IoMode getIoMode() {
+        return this.ioMode;
+    }
+
+    /**
+     * Return true when ints and longs are
+     * written with variable-length encoding.
+     *
+     * @return  boolean
+     */
+    public boolean isVariableLengthEncoding() {
+        return this.variableLengthEncoding;
+    }
+
+    /**
+     * Return the format flags of what the engine writes.
+     *
+     * @return  byte
+     */
+    public byte getFormatFlags() {
+        return FormatFlags.of(this.ioMode.getByteOrder(), this.variableLengthEncoding);
+    }
+
+    /**
+     * Apply the engine's integer encoding to an output.
+     *
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     * @return          com.esotericsoftware.kryo.kryo5.io.Output
+     */
+    private Output configure(final Output output) {
+        output.setVariableLengthEncoding(this.variableLengthEncoding);
+
+        return output;
+    }
+
+    /**
+     * Apply the engine's integer encoding to an input.
+     *
+     * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
+     * @return          com.esotericsoftware.kryo.kryo5.io.Input
+     */
+    private Input configure(final Input input) {
+        input.setVariableLengthEncoding(this.variableLengthEncoding);
+
+        return input;
+    }
+
+    /**
+     * Copy bytes into a pooled direct buffer, or
+     * into a new one when they do not fit.
+     *
+     * @param   buffer  java.nio.ByteBuffer
+     * @param   bytes   byte[]
+     * @return          java.nio.ByteBuffer
+     */
+    private ByteBuffer load(final ByteBuffer buffer, final byte[] bytes) {
+        final var target = buffer.capacity() >= bytes.length ? buffer : ByteBuffer.allocateDirect(bytes.length);
+
+        return target.clear().put(bytes).flip();
+    }
+
+    /**
+     * Create every pooled Kryo instance and buffer now
+     * rather than on first use. Meant to be called
+     * before the engine is shared.
+     */
+    public void fill() {
+        this.kryos.fill();
+        this.outputs.fill();
+        this.inputs.fill();
+    }
+
+    /**
+     * Return the Kryo instance pool counters.
+     *
+     * @return  net.jmp.demo.kryo5.engine.PoolStatistics
+     */
+    public PoolStatistics getKryoStatistics() {
+        return this.kryos.getStatistics();
+    }
+
+    /**
+     * Return the output buffer pool counters.
+     *
+     * @return  net.jmp.demo.kryo5.engine.PoolStatistics
+     */
+    public PoolStatistics getOutputStatistics() {
+        return this.outputs.getStatistics();
+    }
+
+    /**
+     * Return the input buffer pool counters.
+     *
+     * @return  net.jmp.demo.kryo5.engine.PoolStatistics
+     */
+    public PoolStatistics getInputStatistics() {
+        return this.inputs.getStatistics();
+    }
+}
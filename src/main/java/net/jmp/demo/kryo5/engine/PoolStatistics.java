@@ -0,0 +1,125 @@
+package net.jmp.demo.kryo5.engine;
+
+/*
+ * (#)PoolStatistics.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * An immutable snapshot of the counters of a bounded pool.
+ */
+public final class PoolStatistics {
+    /** The maximum number of pooled objects. */
+    private final int capacity;
+
+    /** The number of objects created. */
+    private final int created;
+
+    /** The number of objects currently free. */
+    private final int available;
+
+    /** The number of borrows satisfied by a free object. */
+    private final long hits;
+
+    /** The number of borrows that created an object. */
+    private final long misses;
+
+    /** The number of borrows that waited for an object. */
+    private final long waits;
+
+    /**
+     * The constructor.
+     *
+     * @param   capacity    int
+     * @param   created     int
+     * @param   available   int
+     * @param   hits        long
+     * @param   misses      long
+     * @param   waits       long
+     */
+    PoolStatistics(final int capacity,
+                   final int created,
+                   final int available,
+                   final long hits,
+                   final long misses,
+                   final long waits) {
+        super();
+
+        this.capacity = capacity;
+        this.created = created;
+        this.available = available;
+        this.hits = hits;
+        this.misses = misses;
+        this.waits = waits;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public int getCreated() {
+        return this.created;
+    }
+
+    public int getAvailable() {
+        return this.available;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    public long getWaits() {
+        return this.waits;
+    }
+
+    /**
+     * Return the total number of borrows.
+     *
+     * @return  long
+     */
+    public long getBorrows() {
+        return this.hits + this.misses;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStatistics{" +
+                "capacity=" + this.capacity +
+                ", created=" + this.created +
+                ", available=" + this.available +
+                ", hits=" + this.hits +
+                ", misses=" + this.misses +
+                ", waits=" + this.waits +
+                '}';
+    }
+}
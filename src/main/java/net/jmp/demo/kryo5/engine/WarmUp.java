@@ -0,0 +1,225 @@
+package net.jmp.demo.kryo5.engine;
+
+/*
+ * (#)WarmUp.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.lang.reflect.InvocationTargetException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.function.Supplier;
+
+import net.jmp.demo.kryo5.config.ConfigWarmUp;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Warms an engine up before it takes traffic, so
+ * that registration, serializer reflection and JIT
+ * compilation are paid for up front rather than
+ * by the first real requests.
+ *
+ * The engine's pools are filled first. Then every
+ * type is serialized and deserialized in timed rounds;
+ * since the pool hands its instances out in turn, each
+ * pooled Kryo instance sees every type. The warm-up
+ * stops once the best time per iteration in a round
+ * has changed by no more than the tolerance for the
+ * configured number of rounds in a row, or when the
+ * iteration or time budget runs out. The best time
+ * rather than the mean is compared so that a stray
+ * GC pause or context switch does not reset the count.
+ *
+ * Each type is exercised on a sample from its factory,
+ * or on an instance made by its no-argument constructor.
+ */
+public final class WarmUp {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The warm-up configuration. */
+    private final ConfigWarmUp configWarmUp;
+
+    /** The sample factories by type. */
+    private final Map<Class<?>, Supplier<?>> samples = new HashMap<>();
+
+    /**
+     * The constructor.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   configWarmUp    net.jmp.demo.kryo5.config.ConfigWarmUp
+     */
+    public WarmUp(final KryoEngine engine, final ConfigWarmUp configWarmUp) {
+        super();
+
+        assert engine != null;
+        assert configWarmUp != null;
+        assert configWarmUp.getRoundSize() > 0;
+        assert configWarmUp.getStableRounds() > 0;
+
+        this.engine = engine;
+        this.configWarmUp = configWarmUp;
+    }
+
+    /**
+     * Set the factory of the samples of a type.
+     *
+     * @param   <T>     The type of sample
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @param   factory java.util.function.Supplier&lt;? extends T&gt;
+     * @return          net.jmp.demo.kryo5.engine.WarmUp
+     */
+    public <T> WarmUp sample(final Class<T> type, final Supplier<? extends T> factory) {
+        assert type != null;
+        assert factory != null;
+
+        this.samples.put(type, factory);
+
+        return this;
+    }
+
+    /**
+     * Warm the engine up on the given types.
+     *
+     * @param   types   java.util.List&lt;java.lang.Class&lt;?&gt;&gt;
+     * @return          net.jmp.demo.kryo5.engine.WarmUpResult
+     */
+    public WarmUpResult run(final List<Class<?>> types) {
+        this.logger.entry(types);
+
+        final var start = System.nanoTime();
+        final var deadline = start + this.configWarmUp.getMaxMillis() * 1_000_000;
+        final var objects = this.newSamples(types);
+
+        this.engine.fill();
+
+        int iterations = 0;
+        int rounds = 0;
+        int stable = 0;
+        long first = 0;
+        long previous = 0;
+
+        while (stable < this.configWarmUp.getStableRounds()
+                && iterations < this.configWarmUp.getMaxIterations()
+                && System.nanoTime() < deadline) {
+            final int size = Math.min(this.configWarmUp.getRoundSize(), this.configWarmUp.getMaxIterations() - iterations);
+
+            long nanos = Long.MAX_VALUE;
+
+            for (int i = 0; i < size; i++) {
+                final var iterationStart = System.nanoTime();
+
+                for (final var object : objects)
+                    this.roundTrip(object);
+
+                nanos = Math.min(nanos, System.nanoTime() - iterationStart);
+            }
+
+            if (rounds == 0)
+                first = nanos;
+            else if (Math.abs(nanos - previous) * 100 <= previous * this.configWarmUp.getTolerance())
+                stable++;
+            else
+                stable = 0;
+
+            this.logger.debug("Warm-up round {}: {} ns per iteration", rounds, nanos);
+
+            previous = nanos;
+            iterations += size;
+            rounds++;
+        }
+
+        final var result = new WarmUpResult(iterations,
+                rounds,
+                (System.nanoTime() - start) / 1_000_000,
+                first,
+                previous,
+                stable >= this.configWarmUp.getStableRounds());
+
+        if (result.isSteady())
+            this.logger.info("Steady state after {} iterations over {} types in {} ms: {} ns per iteration, down from {}",
+                    iterations, objects.size(), result.getMillis(), previous, first);
+        else
+            this.logger.warn("No steady state within {} iterations and {} ms: {} ns per iteration, down from {}",
+                    iterations, result.getMillis(), previous, first);
+
+        this.logger.exit(result);
+
+        return result;
+    }
+
+    /**
+     * Serialize and deserialize one object.
+     *
+     * @param   object  java.lang.Object
+     */
+    private void roundTrip(final Object object) {
+        final var bytes = this.engine.serialize(object);
+
+        if (this.engine.deserialize(bytes, object.getClass()) == null)
+            throw new IllegalStateException("A " + object.getClass().getName() + " did not survive a round trip");
+    }
+
+    /**
+     * Create a sample of each type, skipping any
+     * type that has neither a factory nor a
+     * usable no-argument constructor.
+     *
+     * @param   types   java.util.List&lt;java.lang.Class&lt;?&gt;&gt;
+     * @return          java.util.List&lt;java.lang.Object&gt;
+     */
+    private List<Object> newSamples(final List<Class<?>> types) {
+        final List<Object> objects = new ArrayList<>(types.size());
+
+        for (final var type : types) {
+            final var factory = this.samples.get(type);
+
+            if (factory != null) {
+                objects.add(factory.get());
+            } else {
+                try {
+                    objects.add(type.getDeclaredConstructor().newInstance());
+                } catch (final NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                    this.logger.warn("Not warming up {}: no sample and no usable no-argument constructor", type.getName());
+                }
+            }
+        }
+
+        return objects;
+    }
+}
@@ -0,0 +1,116 @@
+package net.jmp.demo.kryo5.engine;
+
+/*
+ * (#)WarmUpResult.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The outcome of a serializer warm-up.
+ */
+public final class WarmUpResult {
+    /** The number of iterations over every type. */
+    private final int iterations;
+
+    /** The number of timed rounds. */
+    private final int rounds;
+
+    /** The time taken in milliseconds. */
+    private final long millis;
+
+    /** The nanoseconds per iteration of the first round. */
+    private final long firstNanos;
+
+    /** The nanoseconds per iteration of the last round. */
+    private final long lastNanos;
+
+    /** True if the rounds reached a steady state. */
+    private final boolean steady;
+
+    /**
+     * The constructor.
+     *
+     * @param   iterations  int
+     * @param   rounds      int
+     * @param   millis      long
+     * @param   firstNanos  long
+     * @param   lastNanos   long
+     * @param   steady      boolean
+     */
+    WarmUpResult(final int iterations,
+                 final int rounds,
+                 final long millis,
+                 final long firstNanos,
+                 final long lastNanos,
+                 final boolean steady) {
+        super();
+
+        this.iterations = iterations;
+        this.rounds = rounds;
+        this.millis = millis;
+        this.firstNanos = firstNanos;
+        this.lastNanos = lastNanos;
+        this.steady = steady;
+    }
+
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    public int getRounds() {
+        return this.rounds;
+    }
+
+    public long getMillis() {
+        return this.millis;
+    }
+
+    public long getFirstNanos() {
+        return this.firstNanos;
+    }
+
+    public long getLastNanos() {
+        return this.lastNanos;
+    }
+
+    public boolean isSteady() {
+        return this.steady;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpResult{" +
+                "iterations=" + this.iterations +
+                ", rounds=" + this.rounds +
+                ", millis=" + this.millis +
+                ", firstNanos=" + this.firstNanos +
+                ", lastNanos=" + this.lastNanos +
+                ", steady=" + this.steady +
+                '}';
+    }
+}
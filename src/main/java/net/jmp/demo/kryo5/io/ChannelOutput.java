@@ -0,0 +1,257 @@
+package net.jmp.demo.kryo5.io;
+
+/*
+ * (#)ChannelOutput.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.ByteBufferOutput;
+import com.esotericsoftware.kryo.kryo5.io.KryoBufferOverflowException;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.jmp.demo.kryo5.engine.BoundedPool;
+
+/**
+ * A Kryo output that serializes into pooled direct
+ * buffers and writes them to a file channel.
+ *
+ * When the current buffer is full the output moves on
+ * to the next one from the pool instead of writing. The
+ * filled buffers are written together, with a single
+ * gathering write, once the pool has no buffer free or
+ * the output is flushed. Since the buffers are direct
+ * the channel writes them without first copying them
+ * into native memory, as it must with heap buffers.
+ *
+ * Closing the output flushes it and hands its buffer
+ * back to the pool; the channel stays open for the
+ * caller to close. An output is not thread safe, but
+ * any number of outputs may share a pool.
+ */
+public final class ChannelOutput extends ByteBufferOutput {
+    /** The file channel. */
+    private final FileChannel channel;
+
+    /** The pool of direct buffers. */
+    private final BoundedPool<ByteBuffer> buffers;
+
+    /** The filled buffers waiting to be written. */
+    private final List<ByteBuffer> pending = new ArrayList<>();
+
+    /** The number of bytes in the pending buffers. */
+    private long pendingBytes;
+
+    /** The number of bytes written to the channel. */
+    private long written;
+
+    /** The number of gathering writes issued. */
+    private long writes;
+
+    /** True once the output is closed. */
+    private boolean closed;
+
+    /**
+     * The constructor.
+     *
+     * @param   channel java.nio.channels.FileChannel
+     * @param   buffers net.jmp.demo.kryo5.engine.BoundedPool&lt;java.nio.ByteBuffer&gt;
+     */
+    public ChannelOutput(final FileChannel channel, final BoundedPool<ByteBuffer> buffers) {
+        super();
+
+        assert channel != null;
+        assert buffers != null;
+
+        this.channel = channel;
+        this.buffers = buffers;
+
+        final var buffer = buffers.obtain();
+
+        this.setBuffer(buffer, buffer.capacity());
+    }
+
+    /**
+     * Create a pool of direct buffers for channel outputs.
+     *
+     * @param   count       int     The number of buffers
+     * @param   bufferSize  int     The size in bytes of each buffer
+     * @return              net.jmp.demo.kryo5.engine.BoundedPool&lt;java.nio.ByteBuffer&gt;
+     */
+    public static BoundedPool<ByteBuffer> newBufferPool(final int count, final int bufferSize) {
+        return new BoundedPool<>(count, () -> ByteBuffer.allocateDirect(bufferSize), ByteBuffer::clear);
+    }
+
+    /**
+     * Make room for the given number of bytes by
+     * moving on to the next buffer.
+     *
+     * @param   required    int
+     * @return              boolean
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When the buffers cannot be written
+     */
+    @Override
+    protected boolean require(final int required) throws KryoException {
+        if (this.capacity - this.position >= required)
+            return false;
+
+        if (required > this.capacity)
+            throw new KryoBufferOverflowException("Buffer overflow. Buffer size: " + this.capacity + ", required: " + required);
+
+        this.queue();
+
+        var buffer = this.buffers.poll();
+
+        if (buffer == null) {
+            this.writePending(null);
+
+            buffer = this.buffers.obtain();
+        }
+
+        this.setBuffer(buffer, buffer.capacity());
+
+        return true;
+    }
+
+    /**
+     * Write every filled buffer and the
+     * current one to the channel.
+     *
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When the buffers cannot be written
+     */
+    @Override
+    public void flush() throws KryoException {
+        if (this.position == 0 && this.pending.isEmpty())
+            return;
+
+        final var current = this.byteBuffer;
+
+        this.queue();
+        this.writePending(current);
+        this.setBuffer(current.clear(), current.capacity());
+    }
+
+    /**
+     * Flush the output and hand its buffer back to the pool.
+     *
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When the buffers cannot be written
+     */
+    @Override
+    public void close() throws KryoException {
+        if (this.closed)
+            return;
+
+        this.closed = true;
+
+        try {
+            this.flush();
+        } finally {
+            this.buffers.free(this.byteBuffer);
+        }
+    }
+
+    /**
+     * Return the number of bytes written to the output.
+     *
+     * @return  long
+     */
+    @Override
+    public long total() {
+        return this.written + this.pendingBytes + this.position;
+    }
+
+    /**
+     * Return the number of gathering writes issued.
+     *
+     * @return  long
+     */
+    public long getWrites() {
+        return this.writes;
+    }
+
+    /**
+     * Move the current buffer to the pending buffers.
+     */
+    private void queue() {
+        this.pending.add(this.byteBuffer.limit(this.position).position(0));
+        this.pendingBytes += this.position;
+    }
+
+    /**
+     * Write the pending buffers and return them to
+     * the pool, except for one that is kept.
+     *
+     * @param   kept    java.nio.ByteBuffer     The buffer to keep, or null
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When the buffers cannot be written
+     */
+    private void writePending(final ByteBuffer kept) throws KryoException {
+        try {
+            this.write();
+        } finally {
+            for (final var buffer : this.pending)
+                if (buffer != kept)
+                    this.buffers.free(buffer);
+
+            this.pending.clear();
+            this.pendingBytes = 0;
+        }
+    }
+
+    /**
+     * Write the pending buffers to the channel
+     * with as few gathering writes as it takes.
+     *
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When the buffers cannot be written
+     */
+    private void write() throws KryoException {
+        final var array = this.pending.toArray(new ByteBuffer[0]);
+        long remaining = this.pendingBytes;
+
+        try {
+            while (remaining > 0) {
+                final var count = this.channel.write(array);
+
+                remaining -= count;
+
+                this.written += count;
+                this.writes++;
+            }
+        } catch (final IOException ioe) {
+            throw new KryoException(ioe);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package net.jmp.demo.kryo5.io;
+
+/*
+ * (#)MappedFileOutput.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.ByteBufferOutput;
+
+import java.io.IOException;
+
+import java.nio.MappedByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An output that writes straight into a memory-mapped
+ * file. When the mapped region is full a larger region
+ * is mapped, doubling the size each time, so the file
+ * grows with the output. Closing the output trims the
+ * file to the bytes actually written.
+ *
+ * Bytes become part of the page cache as they are
+ * written; call force() when they must reach the disk.
+ */
+public final class MappedFileOutput extends ByteBufferOutput {
+    /** The file channel. */
+    private final FileChannel channel;
+
+    /**
+     * The constructor.
+     *
+     * @param   channel java.nio.channels.FileChannel
+     * @param   buffer  java.nio.MappedByteBuffer
+     */
+    private MappedFileOutput(final FileChannel channel, final MappedByteBuffer buffer) {
+        super(buffer, -1);
+
+        this.channel = channel;
+    }
+
+    /**
+     * Create or truncate a file and map its first region.
+     *
+     * @param   path        java.nio.file.Path
+     * @param   initialSize int
+     * @return              net.jmp.demo.kryo5.io.MappedFileOutput
+     * @throws  java.io.IOException When the file cannot be mapped
+     */
+    public static MappedFileOutput open(final Path path, final int initialSize) throws IOException {
+        assert path != null;
+        assert initialSize > 0;
+
+        final var channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        try {
+            return new MappedFileOutput(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, initialSize));
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Map a larger region when the current one cannot
+     * hold the required number of bytes.
+     *
+     * @param   required    int
+     * @return              boolean
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When the region cannot be mapped
+     */
+    @Override
+    protected boolean require(final int required) throws KryoException {
+        if (this.capacity - this.position >= required)
+            return false;
+
+        if (this.maxCapacity - this.position < required)
+            throw new KryoException("Mapped region overflow. Available: " + (this.maxCapacity - this.position) + ", required: " + required);
+
+        long newCapacity = Math.max(this.capacity, 4096);
+
+        while (newCapacity - this.position < required)
+            newCapacity *= 2;
+
+        newCapacity = Math.min(newCapacity, this.maxCapacity);
+
+        try {
+            final var buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+
+            buffer.position(this.position);
+
+            this.byteBuffer = buffer;
+            this.capacity = (int) newCapacity;
+        } catch (final IOException ioe) {
+            throw new KryoException(ioe);
+        }
+
+        return true;
+    }
+
+    /**
+     * Nothing to do; the bytes are already in the mapped region.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Force the written bytes to the storage device.
+     */
+    public void force() {
+        ((MappedByteBuffer) this.byteBuffer).force();
+    }
+
+    /**
+     * Trim the file to the bytes written and close it.
+     *
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When the file cannot be closed
+     */
+    @Override
+    public void close() throws KryoException {
+        try {
+            this.channel.truncate(this.total());
+            this.channel.close();
+        } catch (final IOException ioe) {
+            throw new KryoException(ioe);
+        }
+    }
+}
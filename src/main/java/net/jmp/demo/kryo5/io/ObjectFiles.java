@@ -0,0 +1,517 @@
+package net.jmp.demo.kryo5.io;
+
+/*
+ * (#)ObjectFiles.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import net.jmp.demo.kryo5.cache.CacheStatistics;
+import net.jmp.demo.kryo5.cache.CacheValues;
+import net.jmp.demo.kryo5.cache.ObjectCache;
+
+import net.jmp.demo.kryo5.compress.BlockCodecs;
+import net.jmp.demo.kryo5.compress.BlockCompressingOutputStream;
+import net.jmp.demo.kryo5.compress.BlockDecompressingInputStream;
+
+import net.jmp.demo.kryo5.config.Config;
+import net.jmp.demo.kryo5.config.ConfigCache;
+import net.jmp.demo.kryo5.config.ConfigCompression;
+import net.jmp.demo.kryo5.config.ConfigFileAccess;
+
+import net.jmp.demo.kryo5.engine.BoundedPool;
+import net.jmp.demo.kryo5.engine.FormatFlags;
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Reads and writes object files, choosing stream,
+ * memory-mapped, compressed or channel access for
+ * each file from the configuration. Channel writes
+ * share one pool of direct buffers.
+ *
+ * Reads can go through a byte-bounded LRU cache keyed
+ * by file name, holding either the serialized bytes of
+ * each file or, for reads by type, the decoded object.
+ * Writing a file invalidates its entry. A decoded object
+ * is shared by every read, so it is only cached when its
+ * serializer is immutable, as for the value records;
+ * objects of other types are cached as bytes and decoded
+ * afresh on each read. Every entry is weighed by the
+ * serialized length of its file, which for a decoded
+ * object is only an estimate of its heap size.
+ *
+ * Every file starts with the magic bytes 'KOBJ' and a
+ * byte of format flags, after any compression. A file
+ * written in a different byte order or integer encoding
+ * than the engine reads in is refused. A file without
+ * the magic bytes was written before the header existed,
+ * always in safe little-endian variable-length encoding,
+ * and is read from its first byte with those flags.
+ */
+public final class ObjectFiles {
+    /** The size of the first region mapped for writing. */
+    private static final int INITIAL_MAPPED_SIZE = 64 * 1024;
+
+    /** The magic bytes at the start of each file. */
+    static final byte[] MAGIC = {'K', 'O', 'B', 'J'};
+
+    /** The format flags of a file written before the header existed. */
+    static final byte LEGACY_FLAGS = FormatFlags.of(ByteOrder.LITTLE_ENDIAN, true);
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The file access configuration. */
+    private final ConfigFileAccess configFileAccess;
+
+    /** The compression configuration. */
+    private final ConfigCompression configCompression;
+
+    /** What the cache holds. */
+    private final CacheValues cacheValues;
+
+    /** The read-through cache, or null when reads are not cached. */
+    private final ObjectCache<String, Cached> cache;
+
+    /** The direct buffers of channel writes. */
+    private final BoundedPool<ByteBuffer> channelBuffers;
+
+    /**
+     * A constructor that takes its sections from the
+     * configuration, using defaults for missing ones.
+     *
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   config  net.jmp.demo.kryo5.config.Config
+     */
+    public ObjectFiles(final KryoEngine engine, final Config config) {
+        this(engine,
+                Optional.ofNullable(config.getConfigFileAccess()).orElseGet(ConfigFileAccess::new),
+                Optional.ofNullable(config.getConfigCompression()).orElseGet(ConfigCompression::new),
+                Optional.ofNullable(config.getConfigCache()).orElseGet(ConfigCache::new));
+    }
+
+    /**
+     * A constructor that uses the default compression.
+     *
+     * @param   engine              net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   configFileAccess    net.jmp.demo.kryo5.config.ConfigFileAccess
+     */
+    public ObjectFiles(final KryoEngine engine, final ConfigFileAccess configFileAccess) {
+        this(engine, configFileAccess, new ConfigCompression());
+    }
+
+    /**
+     * A constructor that does not cache reads.
+     *
+     * @param   engine              net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   configFileAccess    net.jmp.demo.kryo5.config.ConfigFileAccess
+     * @param   configCompression   net.jmp.demo.kryo5.config.ConfigCompression
+     */
+    public ObjectFiles(final KryoEngine engine,
+                       final ConfigFileAccess configFileAccess,
+                       final ConfigCompression configCompression) {
+        this(engine, configFileAccess, configCompression, new ConfigCache());
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param   engine              net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   configFileAccess    net.jmp.demo.kryo5.config.ConfigFileAccess
+     * @param   configCompression   net.jmp.demo.kryo5.config.ConfigCompression
+     * @param   configCache         net.jmp.demo.kryo5.config.ConfigCache
+     */
+    public ObjectFiles(final KryoEngine engine,
+                       final ConfigFileAccess configFileAccess,
+                       final ConfigCompression configCompression,
+                       final ConfigCache configCache) {
+        super();
+
+        assert engine != null;
+        assert configFileAccess != null;
+        assert configCompression != null;
+        assert configCache != null;
+
+        this.engine = engine;
+        this.configFileAccess = configFileAccess;
+        this.configCompression = configCompression;
+        this.cacheValues = configCache.getValues();
+        this.cache = configCache.getMaxBytes() > 0 ? new ObjectCache<>(configCache.getMaxBytes(), Cached::size) : null;
+        this.channelBuffers = ChannelOutput.newBufferPool(configFileAccess.getChannelBuffers(), configFileAccess.getChannelBufferSize());
+    }
+
+    /**
+     * Return the access used for a file.
+     *
+     * @param   fileName    java.lang.String
+     * @return              net.jmp.demo.kryo5.io.FileAccess
+     */
+    public FileAccess getAccess(final String fileName) {
+        return this.configFileAccess.getAccess(fileName);
+    }
+
+    /**
+     * Replace the contents of a file.
+     *
+     * @param   fileName    java.lang.String
+     * @param   writer      java.util.function.BiConsumer&lt;com.esotericsoftware.kryo.kryo5.Kryo, com.esotericsoftware.kryo.kryo5.io.Output&gt;
+     * @throws  java.io.IOException When the file cannot be written
+     */
+    public void write(final String fileName, final BiConsumer<Kryo, Output> writer) throws IOException {
+        assert fileName != null;
+        assert writer != null;
+
+        final var access = this.getAccess(fileName);
+
+        this.logger.debug("Writing {} with {} access", fileName, access);
+
+        try {
+            this.writeFile(fileName, access, (kryo, output) -> {
+                writeHeader(output);
+
+                writer.accept(kryo, output);
+            });
+        } finally {
+            if (this.cache != null)
+                this.cache.invalidate(fileName);
+        }
+    }
+
+    /**
+     * Read from a file. With a cache of bytes the file
+     * is read from the cache and decoded; a cache of
+     * decoded objects is bypassed, since the reader
+     * may decode the file in any way.
+     *
+     * @param   <R>         The type of result
+     * @param   fileName    java.lang.String
+     * @param   reader      java.util.function.BiFunction&lt;com.esotericsoftware.kryo.kryo5.Kryo, com.esotericsoftware.kryo.kryo5.io.Input, R&gt;
+     * @return              R
+     * @throws  java.io.IOException When the file cannot be read
+     */
+    public <R> R read(final String fileName, final BiFunction<Kryo, Input, R> reader) throws IOException {
+        assert fileName != null;
+        assert reader != null;
+
+        if (this.cache != null && this.cacheValues == CacheValues.BYTES) {
+            final var bytes = (byte[]) this.cache.get(fileName, name -> {
+                final var loaded = this.readBytes(name);
+
+                return new Cached(loaded, loaded.length);
+            }).value();
+
+            return this.decode(fileName, bytes, reader);
+        }
+
+        return this.readFile(fileName, reader);
+    }
+
+    /**
+     * Read an object of the given type from a file,
+     * through the cache when there is one. Only an
+     * immutable object is ever returned to more than
+     * one caller.
+     *
+     * @param   <T>         The type of object
+     * @param   fileName    java.lang.String
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @return              T
+     * @throws  java.io.IOException When the file cannot be read
+     */
+    public <T> T read(final String fileName, final Class<T> type) throws IOException {
+        assert fileName != null;
+        assert type != null;
+
+        if (this.cache == null || this.cacheValues == CacheValues.BYTES)
+            return this.read(fileName, (kryo, input) -> kryo.readObject(input, type));
+
+        final var immutable = this.isImmutable(type);
+        final var cached = this.cache.get(fileName, name -> {
+            final var bytes = this.readBytes(name);
+
+            if (!immutable)
+                return new Cached(bytes, bytes.length);
+
+            final var object = this.decode(name, bytes, (kryo, input) -> kryo.readObject(input, type));
+
+            return new Cached(object != null ? object : bytes, bytes.length);
+        });
+
+        if (cached.value() instanceof byte[] bytes)
+            return this.decode(fileName, bytes, (kryo, input) -> kryo.readObject(input, type));
+
+        if (type.isInstance(cached.value()))
+            return type.cast(cached.value());
+
+        return this.readFile(fileName, (kryo, input) -> kryo.readObject(input, type));
+    }
+
+    /**
+     * Return the counters of the cache.
+     *
+     * @return  java.util.Optional&lt;net.jmp.demo.kryo5.cache.CacheStatistics&gt;
+     */
+    public Optional<CacheStatistics> getCacheStatistics() {
+        return Optional.ofNullable(this.cache).map(ObjectCache::getStatistics);
+    }
+
+    /**
+     * Return true when the serializer of a type is immutable,
+     * so that one decoded object can be shared by every read.
+     *
+     * @param   type    java.lang.Class&lt;?&gt;
+     * @return          boolean
+     */
+    private boolean isImmutable(final Class<?> type) {
+        return this.engine.execute(kryo -> kryo.getRegistration(type).getSerializer().isImmutable());
+    }
+
+    /**
+     * Replace the contents of a file.
+     *
+     * @param   fileName    java.lang.String
+     * @param   access      net.jmp.demo.kryo5.io.FileAccess
+     * @param   writer      java.util.function.BiConsumer&lt;com.esotericsoftware.kryo.kryo5.Kryo, com.esotericsoftware.kryo.kryo5.io.Output&gt;
+     * @throws  java.io.IOException When the file cannot be written
+     */
+    private void writeFile(final String fileName, final FileAccess access, final BiConsumer<Kryo, Output> writer) throws IOException {
+        switch (access) {
+            case STREAM -> {
+                try (final var stream = new FileOutputStream(fileName)) {
+                    this.engine.write(stream, writer);
+                }
+            }
+            case MAPPED -> {
+                try (final var output = MappedFileOutput.open(Paths.get(fileName), INITIAL_MAPPED_SIZE)) {
+                    output.setVariableLengthEncoding(this.engine.isVariableLengthEncoding());
+
+                    this.engine.run(kryo -> writer.accept(kryo, output));
+                }
+            }
+            case COMPRESSED -> {
+                try (final var stream = new BlockCompressingOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(fileName)),
+                        BlockCodecs.newCodec(this.configCompression),
+                        this.configCompression.getBlockSize(),
+                        this.configCompression.getBlocksInFlight())) {
+                    this.engine.write(stream, writer);
+                }
+            }
+            case CHANNEL -> {
+                try (final var channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                     final var output = new ChannelOutput(channel, this.channelBuffers)) {
+                    output.setVariableLengthEncoding(this.engine.isVariableLengthEncoding());
+
+                    this.engine.run(kryo -> writer.accept(kryo, output));
+                }
+            }
+        }
+    }
+
+    /**
+     * Read from a file without the cache.
+     *
+     * @param   <R>         The type of result
+     * @param   fileName    java.lang.String
+     * @param   reader      java.util.function.BiFunction&lt;com.esotericsoftware.kryo.kryo5.Kryo, com.esotericsoftware.kryo.kryo5.io.Input, R&gt;
+     * @return              R
+     * @throws  java.io.IOException When the file cannot be read
+     */
+    private <R> R readFile(final String fileName, final BiFunction<Kryo, Input, R> reader) throws IOException {
+        final var access = this.getAccess(fileName);
+        final BiFunction<Kryo, Input, R> checked = (kryo, input) -> {
+            checkHeader(fileName, input);
+
+            return reader.apply(kryo, input);
+        };
+
+        this.logger.debug("Reading {} with {} access", fileName, access);
+
+        return switch (access) {
+            case STREAM, CHANNEL -> {
+                try (final var stream = new FileInputStream(fileName)) {
+                    yield this.engine.read(stream, checked);
+                }
+            }
+            case MAPPED -> {
+                final var input = this.engine.newInput(map(Paths.get(fileName)));
+
+                yield this.engine.execute(kryo -> checked.apply(kryo, input));
+            }
+            case COMPRESSED -> {
+                try (final var stream = new BlockDecompressingInputStream(new FileInputStream(fileName), BlockCodecs.newCodec(this.configCompression))) {
+                    yield this.engine.read(stream, checked);
+                }
+            }
+        };
+    }
+
+    /**
+     * Decode the serialized bytes of a whole file.
+     *
+     * @param   <R>         The type of result
+     * @param   fileName    java.lang.String
+     * @param   bytes       byte[]
+     * @param   reader      java.util.function.BiFunction&lt;com.esotericsoftware.kryo.kryo5.Kryo, com.esotericsoftware.kryo.kryo5.io.Input, R&gt;
+     * @return              R
+     */
+    private <R> R decode(final String fileName, final byte[] bytes, final BiFunction<Kryo, Input, R> reader) {
+        final var input = this.engine.newInput(bytes);
+
+        return this.engine.execute(kryo -> {
+            checkHeader(fileName, input);
+
+            return reader.apply(kryo, input);
+        });
+    }
+
+    /**
+     * Write the header of a file.
+     *
+     * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
+     */
+    static void writeHeader(final Output output) {
+        output.writeBytes(MAGIC);
+        output.writeByte(FormatFlags.of(output));
+    }
+
+    /**
+     * Read and check the header of a file. A file without
+     * one is rewound to its start and checked as written
+     * with the legacy flags.
+     *
+     * @param   fileName    java.lang.String
+     * @param   input       com.esotericsoftware.kryo.kryo5.io.Input
+     * @throws  com.esotericsoftware.kryo.kryo5.KryoException When the file cannot be read by the input
+     */
+    static void checkHeader(final String fileName, final Input input) {
+        final var start = input.position();
+        var magic = true;
+
+        for (int i = 0; i < MAGIC.length && magic; i++)
+            magic = !input.end() && input.readByte() == MAGIC[i];
+
+        final byte written;
+
+        if (magic && !input.end()) {
+            written = input.readByte();
+        } else {
+            input.setPosition(start);
+            written = LEGACY_FLAGS;
+        }
+
+        final var reading = FormatFlags.of(input);
+
+        if (!FormatFlags.compatible(written, reading))
+            throw new KryoException(fileName + " was written with " + FormatFlags.describe(written) +
+                    " and cannot be read with " + FormatFlags.describe(reading));
+    }
+
+    /**
+     * Read the serialized bytes of a whole file,
+     * decompressing them if the file is compressed.
+     *
+     * @param   fileName    java.lang.String
+     * @return              byte[]
+     * @throws  java.io.IOException When the file cannot be read
+     */
+    private byte[] readBytes(final String fileName) throws IOException {
+        if (this.getAccess(fileName) == FileAccess.COMPRESSED) {
+            try (final var stream = new BlockDecompressingInputStream(new FileInputStream(fileName), BlockCodecs.newCodec(this.configCompression))) {
+                return stream.readAllBytes();
+            }
+        }
+
+        return Files.readAllBytes(Paths.get(fileName));
+    }
+
+    /**
+     * Map a whole file for reading. The mapping stays
+     * valid after the channel is closed and reads come
+     * straight from the page cache without a copy.
+     *
+     * @param   path    java.nio.file.Path
+     * @return          java.nio.MappedByteBuffer
+     * @throws  java.io.IOException When the file cannot be mapped
+     */
+    static MappedByteBuffer map(final Path path) throws IOException {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var size = channel.size();
+
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("File is too large to map as one region: " + path);
+
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * A cached file: its bytes or decoded object, and
+     * the size of its serialized bytes, which is what
+     * the cache weighs it by.
+     *
+     * @param   value   java.lang.Object
+     * @param   size    long
+     */
+    private record Cached(Object value, long size) {
+    }
+}
@@ -0,0 +1,465 @@
+package net.jmp.demo.kryo5.io;
+
+/*
+ * (#)WriteBehindWriter.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import java.util.function.BiFunction;
+
+import net.jmp.demo.kryo5.config.ConfigWriteBehind;
+
+import net.jmp.demo.kryo5.engine.FormatFlags;
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Appends objects to a file asynchronously.
+ *
+ * Callers hand objects to a bounded queue and get a
+ * future back straight away. A dedicated thread takes
+ * whatever has queued up, to the configured batch size,
+ * serializes it into one buffer with a single borrowed
+ * Kryo instance and commits the batch with one write
+ * and, if configured, one fsync. The futures of a batch
+ * complete once it is committed, so the cost of a flush
+ * is shared by every object that arrived while the
+ * previous batch was being written. A batch that fails
+ * part way through is cut off the file again, so the
+ * next one follows the last committed object.
+ *
+ * The file starts with the same magic bytes and format
+ * flags as an object file, written when the file is
+ * created, and then holds each object's class and Kryo
+ * encoding one after the other. Appending to or reading
+ * a file written in a different byte order or integer
+ * encoding is refused; a file without the header is
+ * taken to be in the legacy encoding. A caller only
+ * waits when the queue is full.
+ */
+public final class WriteBehindWriter implements Closeable {
+    /** Queued by close to stop the writer thread. */
+    private static final Pending STOP = new Pending(null);
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The file. */
+    private final Path file;
+
+    /** The file channel. */
+    private final FileChannel channel;
+
+    /** The objects waiting to be written. */
+    private final BlockingQueue<Pending> queue;
+
+    /** The largest number of objects in a batch. */
+    private final int maxBatchSize;
+
+    /** True to force each batch to the device. */
+    private final boolean fsync;
+
+    /** The writer thread. */
+    private final Thread writer;
+
+    /** Holds the batch being written; only used by the writer thread. */
+    private final Output output;
+
+    /** The number of batches committed. */
+    private final LongAdder batches = new LongAdder();
+
+    /** The number of objects committed. */
+    private final LongAdder objects = new LongAdder();
+
+    /**
+     * Shared by callers while they queue an object and
+     * held exclusively by close, so that nothing can be
+     * queued behind the stop marker.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** True once the writer is closed; guarded by the lock. */
+    private boolean closed;
+
+    /** Set when a failed batch could not be cut off the file; the writer then accepts nothing more. */
+    private volatile IOException failure;
+
+    /**
+     * The constructor. Opens the file, checks or
+     * writes its header and starts the writer thread.
+     *
+     * @param   engine              net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   file                java.nio.file.Path
+     * @param   configWriteBehind   net.jmp.demo.kryo5.config.ConfigWriteBehind
+     * @throws  java.io.IOException When the file cannot be opened or was written with other flags
+     */
+    public WriteBehindWriter(final KryoEngine engine,
+                             final Path file,
+                             final ConfigWriteBehind configWriteBehind) throws IOException {
+        super();
+
+        assert engine != null;
+        assert file != null;
+        assert configWriteBehind != null;
+        assert configWriteBehind.getQueueCapacity() > 0;
+        assert configWriteBehind.getMaxBatchSize() > 0;
+
+        this.engine = engine;
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(configWriteBehind.getQueueCapacity());
+        this.maxBatchSize = configWriteBehind.getMaxBatchSize();
+        this.fsync = configWriteBehind.isFsync();
+        this.output = engine.newOutput(64 * 1024, -1);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            this.checkHeader();
+            this.channel.position(this.channel.size());
+        } catch (final IOException ioe) {
+            this.channel.close();
+
+            throw ioe;
+        }
+
+        this.writer = Thread.ofPlatform().name("write-behind").daemon().start(this::writeLoop);
+    }
+
+    /**
+     * Queue an object to be written. The future completes
+     * when the batch holding the object is committed and
+     * fails if the object cannot be serialized or the
+     * batch cannot be written.
+     *
+     * @param   object  java.lang.Object
+     * @return          java.util.concurrent.CompletableFuture&lt;java.lang.Void&gt;
+     * @throws  java.io.IOException When the writer is closed or has failed, or the caller is interrupted
+     */
+    public CompletableFuture<Void> write(final Object object) throws IOException {
+        assert object != null;
+
+        final var pending = new Pending(object);
+
+        this.lock.readLock().lock();
+
+        try {
+            if (this.closed)
+                throw new IOException("Write-behind writer is closed: " + this.file);
+
+            if (this.failure != null)
+                throw new IOException("Write-behind writer has failed: " + this.file, this.failure);
+
+            this.queue.put(pending);
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted waiting for room in the write-behind queue");
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        return pending.future;
+    }
+
+    /**
+     * Read a file written by a write-behind writer,
+     * checking its header before the reader starts.
+     *
+     * @param   <R>     The type of result
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   file    java.nio.file.Path
+     * @param   reader  java.util.function.BiFunction&lt;com.esotericsoftware.kryo.kryo5.Kryo, com.esotericsoftware.kryo.kryo5.io.Input, R&gt;
+     * @return          R
+     * @throws  java.io.IOException When the file cannot be read
+     */
+    public static <R> R read(final KryoEngine engine, final Path file, final BiFunction<Kryo, Input, R> reader) throws IOException {
+        assert engine != null;
+        assert file != null;
+        assert reader != null;
+
+        try (final var stream = Files.newInputStream(file)) {
+            return engine.read(stream, (kryo, input) -> {
+                ObjectFiles.checkHeader(file.toString(), input);
+
+                return reader.apply(kryo, input);
+            });
+        }
+    }
+
+    /**
+     * Return the number of batches committed.
+     *
+     * @return  long
+     */
+    public long getBatchCount() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Return the number of objects committed.
+     *
+     * @return  long
+     */
+    public long getObjectCount() {
+        return this.objects.sum();
+    }
+
+    /**
+     * Stop accepting objects, wait for the queued
+     * ones to be committed and close the file.
+     *
+     * @throws  java.io.IOException When the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.lock.writeLock().lock();
+
+        try {
+            if (this.closed)
+                return;
+
+            this.closed = true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        try {
+            this.queue.put(STOP);
+            this.writer.join();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted waiting for the write-behind thread");
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Write the header of a new file, or check that
+     * an existing one was written with the flags the
+     * engine writes.
+     *
+     * @throws  java.io.IOException When the file cannot be read or was written with other flags
+     */
+    private void checkHeader() throws IOException {
+        final var flags = FormatFlags.of(this.output);
+
+        if (this.channel.size() == 0) {
+            final var header = ByteBuffer.allocate(ObjectFiles.MAGIC.length + 1).put(ObjectFiles.MAGIC).put(flags).flip();
+
+            while (header.hasRemaining())
+                this.channel.write(header);
+
+            return;
+        }
+
+        final var header = ByteBuffer.allocate(ObjectFiles.MAGIC.length + 1);
+        var read = 0;
+
+        while (header.hasRemaining() && read >= 0)
+            read = this.channel.read(header, header.position());
+
+        final var magic = header.position() == header.capacity() &&
+                Arrays.equals(header.array(), 0, ObjectFiles.MAGIC.length, ObjectFiles.MAGIC, 0, ObjectFiles.MAGIC.length);
+        final var written = magic ? header.get(ObjectFiles.MAGIC.length) : ObjectFiles.LEGACY_FLAGS;
+
+        if (!FormatFlags.compatible(written, flags))
+            throw new IOException(this.file + " was written with " + FormatFlags.describe(written) +
+                    " and cannot be appended to with " + FormatFlags.describe(flags));
+    }
+
+    /**
+     * Take and commit batches until the writer is
+     * closed. Runs on the writer thread.
+     */
+    private void writeLoop() {
+        final List<Pending> batch = new ArrayList<>(this.maxBatchSize);
+        var running = true;
+
+        while (running) {
+            try {
+                batch.add(this.queue.take());
+            } catch (final InterruptedException ie) {
+                continue;
+            }
+
+            this.queue.drainTo(batch, this.maxBatchSize - 1);
+
+            running = !batch.remove(STOP);
+
+            if (!batch.isEmpty())
+                this.commit(batch);
+
+            batch.clear();
+        }
+
+        this.logger.debug("Committed {} objects in {} batches to {}", this.getObjectCount(), this.getBatchCount(), this.file);
+    }
+
+    /**
+     * Serialize, write and complete one batch.
+     * Runs on the writer thread.
+     *
+     * @param   batch   java.util.List&lt;net.jmp.demo.kryo5.io.WriteBehindWriter.Pending&gt;
+     */
+    private void commit(final List<Pending> batch) {
+        final List<Pending> written = new ArrayList<>(batch.size());
+
+        this.output.reset();
+
+        this.engine.run(kryo -> {
+            for (final var pending : batch) {
+                final int position = this.output.position();
+
+                try {
+                    kryo.writeClassAndObject(this.output, pending.object);
+                    written.add(pending);
+                } catch (final RuntimeException re) {
+                    this.output.setPosition(position);
+                    kryo.reset();
+                    pending.future.completeExceptionally(re);
+                }
+            }
+        });
+
+        if (this.failure != null) {
+            written.forEach(pending -> pending.future.completeExceptionally(this.failure));
+
+            return;
+        }
+
+        long start = -1;
+
+        try {
+            final var buffer = ByteBuffer.wrap(this.output.getBuffer(), 0, this.output.position());
+
+            start = this.channel.position();
+
+            while (buffer.hasRemaining())
+                this.channel.write(buffer);
+
+            if (this.fsync)
+                this.channel.force(false);
+
+            this.batches.increment();
+            this.objects.add(written.size());
+
+            written.forEach(pending -> pending.future.complete(null));
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+
+            written.forEach(pending -> pending.future.completeExceptionally(ioe));
+
+            this.rollBack(start, ioe);
+        }
+    }
+
+    /**
+     * Cut a batch that failed part way through off the
+     * end of the file, so that the next batch follows
+     * the last committed object. When that fails too
+     * the writer stops and fails every later object.
+     * Runs on the writer thread.
+     *
+     * @param   start   long    The position the batch was written at, or -1 if it is not known
+     * @param   cause   java.io.IOException
+     */
+    private void rollBack(final long start, final IOException cause) {
+        try {
+            if (start < 0)
+                throw new IOException("The position of the failed batch is not known");
+
+            this.channel.truncate(start);
+            this.channel.position(start);
+        } catch (final IOException ioe) {
+            ioe.addSuppressed(cause);
+
+            this.logger.error("Stopping the write-behind writer for {}: {}", this.file, ioe.getMessage());
+
+            this.failure = ioe;
+        }
+    }
+
+    /**
+     * An object waiting to be written.
+     */
+    private static final class Pending {
+        /** The object. */
+        private final Object object;
+
+        /** Completes when the object is committed. */
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        /**
+         * The constructor.
+         *
+         * @param   object  java.lang.Object
+         */
+        private Pending(final Object object) {
+            super();
+
+            this.object = object;
+        }
+    }
+}
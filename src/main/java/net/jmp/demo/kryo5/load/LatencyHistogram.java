@@ -0,0 +1,211 @@
+package net.jmp.demo.kryo5.load;
+
+/*
+ * (#)LatencyHistogram.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * A histogram of latencies in nanoseconds with
+ * log-linear buckets: values below 64 are counted
+ * exactly and each power of two above that is split
+ * into 64 buckets, so a percentile is reported to
+ * within about 1.6% of the true value whatever its
+ * magnitude, in a fixed 29 KB of counts.
+ *
+ * A histogram is not thread safe; give each thread
+ * its own and add them together at the end.
+ */
+public final class LatencyHistogram {
+    /** The number of buckets per power of two, as a power of two. */
+    private static final int SUB_BUCKET_BITS = 6;
+
+    /** The number of buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** The number of buckets. */
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** The counts by bucket. */
+    private final long[] counts = new long[BUCKETS];
+
+    /** The number of values recorded. */
+    private long count;
+
+    /** The largest value recorded. */
+    private long max;
+
+    /** The sum of the values recorded. */
+    private long sum;
+
+    /**
+     * The default constructor.
+     */
+    public LatencyHistogram() {
+        super();
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param   nanos   long
+     */
+    public void record(final long nanos) {
+        final var value = Math.max(0, nanos);
+
+        this.counts[index(value)]++;
+        this.count++;
+        this.sum += value;
+        this.max = Math.max(this.max, value);
+    }
+
+    /**
+     * Add the values recorded by another histogram.
+     *
+     * @param   other   net.jmp.demo.kryo5.load.LatencyHistogram
+     */
+    public void add(final LatencyHistogram other) {
+        assert other != null;
+
+        for (int i = 0; i < BUCKETS; i++)
+            this.counts[i] += other.counts[i];
+
+        this.count += other.count;
+        this.sum += other.sum;
+        this.max = Math.max(this.max, other.max);
+    }
+
+    /**
+     * Return the number of values recorded.
+     *
+     * @return  long
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Return the largest value recorded.
+     *
+     * @return  long
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Return the mean of the values recorded.
+     *
+     * @return  double
+     */
+    public double getMean() {
+        return this.count == 0 ? 0 : (double) this.sum / this.count;
+    }
+
+    /**
+     * Return the value at or below which the given
+     * percentage of the values recorded fall, as the
+     * highest value of its bucket.
+     *
+     * @param   percentile  double  From 0 to 100
+     * @return              long
+     */
+    public long getPercentile(final double percentile) {
+        assert percentile >= 0 && percentile <= 100;
+
+        if (this.count == 0)
+            return 0;
+
+        final var rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts[i];
+
+            if (seen >= rank)
+                return Math.min(highest(i), this.max);
+        }
+
+        return this.max;
+    }
+
+    /**
+     * Return the number of values recorded at or below
+     * a value, counting whole buckets, so the answer is
+     * exact when the value is the highest of its bucket.
+     *
+     * @param   value   long
+     * @return          long
+     */
+    public long getCountAtOrBelow(final long value) {
+        if (value < 0)
+            return 0;
+
+        final var last = index(value);
+
+        long seen = 0;
+
+        for (int i = 0; i <= last; i++)
+            seen += this.counts[i];
+
+        return seen;
+    }
+
+    /**
+     * Return the bucket of a value.
+     *
+     * @param   value   long
+     * @return          int
+     */
+    private static int index(final long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        final var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Return the highest value of a bucket.
+     *
+     * @param   index   int
+     * @return          long
+     */
+    private static long highest(final int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+
+        final var shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        final var sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        final var lowest = (long) (SUB_BUCKETS + sub) << shift;
+
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,355 @@
+package net.jmp.demo.kryo5.load;
+
+/*
+ * (#)LoadGenerator.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.CountDownLatch;
+
+import java.util.function.IntFunction;
+
+import net.jmp.demo.kryo5.config.ConfigLoad;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Drives sustained serialization and deserialization
+ * through an engine from many threads, to reproduce a
+ * production load on a development machine.
+ *
+ * Each thread serializes the objects in turn, starting
+ * at its own offset, and deserializes every result,
+ * timing both steps into histograms of its own. When
+ * the run ends the histograms are added together and
+ * the throughput, latency percentiles and garbage
+ * collections of the run are logged.
+ */
+public final class LoadGenerator {
+    /** The width of the bar of a histogram bucket that holds every value. */
+    private static final int BAR_WIDTH = 50;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The load configuration. */
+    private final ConfigLoad configLoad;
+
+    /**
+     * The constructor.
+     *
+     * @param   engine      net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   configLoad  net.jmp.demo.kryo5.config.ConfigLoad
+     */
+    public LoadGenerator(final KryoEngine engine, final ConfigLoad configLoad) {
+        super();
+
+        assert engine != null;
+        assert configLoad != null;
+        assert configLoad.getThreads() > 0;
+        assert configLoad.getObjectCount() > 0;
+        assert configLoad.getDurationSeconds() > 0;
+
+        this.engine = engine;
+        this.configLoad = configLoad;
+    }
+
+    /**
+     * Run the load on objects made by a factory.
+     *
+     * @param   factory java.util.function.IntFunction&lt;?&gt;    Makes the object with each sequence number
+     * @return          net.jmp.demo.kryo5.load.LoadResult
+     * @throws  java.lang.InterruptedException When the caller is interrupted
+     */
+    public LoadResult run(final IntFunction<?> factory) throws InterruptedException {
+        assert factory != null;
+
+        this.logger.entry(factory);
+
+        final var objects = new Object[this.configLoad.getObjectCount()];
+
+        for (int i = 0; i < objects.length; i++)
+            objects[i] = factory.apply(i);
+
+        final var threadCount = this.configLoad.getThreads();
+        final var builder = this.configLoad.isVirtualThreads()
+                ? Thread.ofVirtual().name("load-", 0)
+                : Thread.ofPlatform().name("load-", 0).daemon();
+        final var gate = new CountDownLatch(1);
+        final List<Worker> workers = new ArrayList<>(threadCount);
+        final List<Thread> threads = new ArrayList<>(threadCount);
+
+        this.logger.info("Load: {} {} threads serializing {} {} objects in turn for {} seconds in {} I/O mode",
+                threadCount, this.configLoad.isVirtualThreads() ? "virtual" : "platform",
+                objects.length, objects[0].getClass().getSimpleName(),
+                this.configLoad.getDurationSeconds(), this.engine.getIoMode());
+
+        for (int i = 0; i < threadCount; i++) {
+            final var worker = new Worker(objects, i * objects.length / threadCount, gate);
+
+            workers.add(worker);
+            threads.add(builder.start(worker));
+        }
+
+        final var gcBefore = gcSnapshot();
+        final var start = System.nanoTime();
+
+        for (final var worker : workers)
+            worker.deadline = start + this.configLoad.getDurationSeconds() * 1_000_000_000L;
+
+        gate.countDown();
+
+        for (final var thread : threads)
+            thread.join();
+
+        final var nanos = System.nanoTime() - start;
+        final var gcAfter = gcSnapshot();
+        final var serializeLatency = new LatencyHistogram();
+        final var deserializeLatency = new LatencyHistogram();
+
+        long operations = 0;
+        long bytes = 0;
+
+        for (final var worker : workers) {
+            if (worker.failure != null)
+                throw new IllegalStateException("A load thread failed", worker.failure);
+
+            serializeLatency.add(worker.serializeLatency);
+            deserializeLatency.add(worker.deserializeLatency);
+
+            operations += worker.operations;
+            bytes += worker.bytes;
+        }
+
+        final Map<String, long[]> gc = new LinkedHashMap<>();
+
+        long gcCount = 0;
+        long gcMillis = 0;
+
+        for (final var entry : gcAfter.entrySet()) {
+            final var before = gcBefore.getOrDefault(entry.getKey(), new long[2]);
+            final var during = new long[] {entry.getValue()[0] - before[0], entry.getValue()[1] - before[1]};
+
+            gc.put(entry.getKey(), during);
+
+            gcCount += during[0];
+            gcMillis += during[1];
+        }
+
+        final var result = new LoadResult(operations,
+                bytes,
+                nanos,
+                serializeLatency,
+                deserializeLatency,
+                gcCount,
+                gcMillis);
+
+        this.report(result, gc);
+
+        this.logger.exit(result);
+
+        return result;
+    }
+
+    /**
+     * Log the outcome of a run.
+     *
+     * @param   result  net.jmp.demo.kryo5.load.LoadResult
+     * @param   gc      java.util.Map&lt;java.lang.String, long[]&gt;    The collections and milliseconds of each collector during the run
+     */
+    private void report(final LoadResult result, final Map<String, long[]> gc) {
+        if (!this.logger.isInfoEnabled())
+            return;
+
+        this.logger.info("Throughput: {} round trips in {} ms; {} per second, {} MB per second serialized",
+                result.getOperations(),
+                result.getNanos() / 1_000_000,
+                Math.round(result.getOperationsPerSecond()),
+                String.format("%.1f", result.getBytes() * 1e9 / Math.max(1, result.getNanos()) / (1024 * 1024)));
+
+        this.reportLatency("Serialize", result.getSerializeLatency());
+        this.reportLatency("Deserialize", result.getDeserializeLatency());
+
+        gc.forEach((name, during) -> this.logger.info("GC {}: {} collections, {} ms", name, during[0], during[1]));
+
+        this.logger.info("GC in total: {} collections, {} ms", result.getGcCount(), result.getGcMillis());
+    }
+
+    /**
+     * Log the percentiles of a latency histogram and
+     * its counts by power of two of microseconds.
+     *
+     * @param   name        java.lang.String
+     * @param   histogram   net.jmp.demo.kryo5.load.LatencyHistogram
+     */
+    private void reportLatency(final String name, final LatencyHistogram histogram) {
+        this.logger.info("{} latency: p50 {} ns, p99 {} ns, p99.9 {} ns, mean {} ns, max {} ns",
+                name,
+                String.format("%,d", histogram.getPercentile(50)),
+                String.format("%,d", histogram.getPercentile(99)),
+                String.format("%,d", histogram.getPercentile(99.9)),
+                String.format("%,.0f", histogram.getMean()),
+                String.format("%,d", histogram.getMax()));
+
+        long below = 0;
+
+        for (long micros = 1; below < histogram.getCount(); micros *= 2) {
+            final var atOrBelow = histogram.getCountAtOrBelow(micros * 1_000 - 1);
+            final var inRange = atOrBelow - below;
+
+            if (inRange > 0)
+                this.logger.info("{}: {} {}",
+                        String.format("%18s", micros == 1 ? "< 1 us" : (micros / 2) + " us to < " + micros + " us"),
+                        String.format("%,12d", inRange),
+                        "#".repeat((int) Math.ceil(BAR_WIDTH * (double) inRange / histogram.getCount())));
+
+            below = atOrBelow;
+        }
+    }
+
+    /**
+     * Return the number and time in milliseconds of the
+     * collections of each garbage collector so far.
+     *
+     * @return  java.util.Map&lt;java.lang.String, long[]&gt;
+     */
+    private static Map<String, long[]> gcSnapshot() {
+        final Map<String, long[]> snapshot = new LinkedHashMap<>();
+
+        for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            snapshot.put(collector.getName(), new long[] {Math.max(0, collector.getCollectionCount()), Math.max(0, collector.getCollectionTime())});
+
+        return snapshot;
+    }
+
+    /**
+     * The work of one load thread.
+     */
+    private final class Worker implements Runnable {
+        /** The objects. */
+        private final Object[] objects;
+
+        /** The index of the first object serialized. */
+        private final int offset;
+
+        /** Opens when every thread has been started. */
+        private final CountDownLatch gate;
+
+        /** The serialization latencies. */
+        private final LatencyHistogram serializeLatency = new LatencyHistogram();
+
+        /** The deserialization latencies. */
+        private final LatencyHistogram deserializeLatency = new LatencyHistogram();
+
+        /** When the run ends, in System.nanoTime terms. */
+        private volatile long deadline;
+
+        /** The number of round trips. */
+        private long operations;
+
+        /** The number of serialized bytes. */
+        private long bytes;
+
+        /** The failure that stopped the thread, if any. */
+        private RuntimeException failure;
+
+        /**
+         * The constructor.
+         *
+         * @param   objects java.lang.Object[]
+         * @param   offset  int
+         * @param   gate    java.util.concurrent.CountDownLatch
+         */
+        private Worker(final Object[] objects, final int offset, final CountDownLatch gate) {
+            super();
+
+            this.objects = objects;
+            this.offset = offset;
+            this.gate = gate;
+        }
+
+        /**
+         * Serialize and deserialize objects until the run ends.
+         */
+        @Override
+        public void run() {
+            try {
+                this.gate.await();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+
+                return;
+            }
+
+            final var engine = LoadGenerator.this.engine;
+            final var deadline = this.deadline;
+
+            int next = this.offset;
+
+            try {
+                for (var now = System.nanoTime(); now < deadline; ) {
+                    final var object = this.objects[next];
+
+                    if (++next == this.objects.length)
+                        next = 0;
+
+                    final var bytes = engine.serialize(object);
+                    final var serialized = System.nanoTime();
+
+                    engine.deserialize(bytes, object.getClass());
+
+                    final var deserialized = System.nanoTime();
+
+                    this.serializeLatency.record(serialized - now);
+                    this.deserializeLatency.record(deserialized - serialized);
+                    this.operations++;
+                    this.bytes += bytes.length;
+
+                    now = deserialized;
+                }
+            } catch (final RuntimeException re) {
+                this.failure = re;
+            }
+        }
+    }
+}
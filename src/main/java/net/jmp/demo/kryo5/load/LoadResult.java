@@ -0,0 +1,134 @@
+package net.jmp.demo.kryo5.load;
+
+/*
+ * (#)LoadResult.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The outcome of a load run.
+ */
+public final class LoadResult {
+    /** The number of round trips. */
+    private final long operations;
+
+    /** The number of serialized bytes. */
+    private final long bytes;
+
+    /** The length of the run in nanoseconds. */
+    private final long nanos;
+
+    /** The serialization latencies. */
+    private final LatencyHistogram serializeLatency;
+
+    /** The deserialization latencies. */
+    private final LatencyHistogram deserializeLatency;
+
+    /** The number of garbage collections during the run. */
+    private final long gcCount;
+
+    /** The time spent in garbage collection during the run, in milliseconds. */
+    private final long gcMillis;
+
+    /**
+     * The constructor.
+     *
+     * @param   operations          long
+     * @param   bytes               long
+     * @param   nanos               long
+     * @param   serializeLatency    net.jmp.demo.kryo5.load.LatencyHistogram
+     * @param   deserializeLatency  net.jmp.demo.kryo5.load.LatencyHistogram
+     * @param   gcCount             long
+     * @param   gcMillis            long
+     */
+    LoadResult(final long operations,
+               final long bytes,
+               final long nanos,
+               final LatencyHistogram serializeLatency,
+               final LatencyHistogram deserializeLatency,
+               final long gcCount,
+               final long gcMillis) {
+        super();
+
+        this.operations = operations;
+        this.bytes = bytes;
+        this.nanos = nanos;
+        this.serializeLatency = serializeLatency;
+        this.deserializeLatency = deserializeLatency;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    public long getOperations() {
+        return this.operations;
+    }
+
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    public LatencyHistogram getSerializeLatency() {
+        return this.serializeLatency;
+    }
+
+    public LatencyHistogram getDeserializeLatency() {
+        return this.deserializeLatency;
+    }
+
+    public long getGcCount() {
+        return this.gcCount;
+    }
+
+    public long getGcMillis() {
+        return this.gcMillis;
+    }
+
+    /**
+     * Return the round trips per second.
+     *
+     * @return  double
+     */
+    public double getOperationsPerSecond() {
+        return this.nanos == 0 ? 0 : this.operations * 1e9 / this.nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadResult{" +
+                "operations=" + this.operations +
+                ", bytes=" + this.bytes +
+                ", nanos=" + this.nanos +
+                ", gcCount=" + this.gcCount +
+                ", gcMillis=" + this.gcMillis +
+                '}';
+    }
+}
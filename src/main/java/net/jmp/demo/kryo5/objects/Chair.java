@@ -1,10 +1,11 @@
 package net.jmp.demo.kryo5.objects;
 
 /*
+ * (#)Chair.java    0.5.0   10/18/2026
  * (#)Chair.java    0.3.0   05/16/2024
  *
  * @author   Jonathan Parker
- * @version  0.3.0
+ * @version  0.5.0
  * @since    0.3.0
  *
  * MIT License
@@ -38,7 +39,15 @@ import com.esotericsoftware.kryo.kryo5.io.Output;
 
 import java.util.Objects;
 
+import net.jmp.demo.kryo5.custom.CompactFormat;
+
 public final class Chair implements KryoSerializable {
+    /** The flag of a chair with wheels. */
+    private static final int HAS_WHEELS = 0x01;
+
+    /** The flag of a null color. */
+    private static final int NULL_COLOR = 0x02;
+
     private String color;
     private boolean hasWheels;
 
@@ -63,15 +72,19 @@ public final class Chair implements KryoSerializable {
     }
 
     /**
-     * Serialize the chair object.
+     * Serialize the chair object in the compact
+     * version 2 format, with hasWheels packed into
+     * the header byte.
      *
      * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
      * @param   output  com.esotericsoftware.kryo.kryo5.io.Output
      */
     @Override
     public void write(final Kryo kryo, final Output output) {
-        output.writeString(this.color);
-        output.writeBoolean(this.hasWheels);
+        CompactFormat.writeHeader(output, (this.hasWheels ? HAS_WHEELS : 0) | (this.color == null ? NULL_COLOR : 0));
+
+        if (this.color != null)
+            output.writeString(this.color);
     }
 
     /**
@@ -79,15 +92,22 @@ public final class Chair implements KryoSerializable {
      *
      * This is important - The sequence of the
      * reads from input must be the same as the
-     * writes to output.
+     * writes to output. Version 1 chairs are still read.
      *
      * @param   kryo    com.esotericsoftware.kryo.kryo5.Kryo
      * @param   input   com.esotericsoftware.kryo.kryo5.io.Input
      */
     @Override
     public void read(final Kryo kryo, final Input input) {
-        this.color = input.readString();
-        this.hasWheels = input.readBoolean();
+        final int flags = CompactFormat.readHeader(kryo, input);
+
+        if (flags < 0) {
+            this.color = input.readString();
+            this.hasWheels = input.readBoolean();
+        } else {
+            this.color = CompactFormat.isSet(flags, NULL_COLOR) ? null : input.readString();
+            this.hasWheels = CompactFormat.isSet(flags, HAS_WHEELS);
+        }
     }
 
     @Override
@@ -1,10 +1,11 @@
 package net.jmp.demo.kryo5.objects;
 
 /*
+ * (#)Recording.java    0.5.0   10/18/2026
  * (#)Recording.java    0.4.0   05/17/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.5.0
  * @since    0.4.0
  *
  * MIT License
@@ -85,7 +86,7 @@ public final class Recording implements Serializable {
 
         final Recording recording = (Recording) o;
 
-        return this.timeInMinutes == this.timeInMinutes && Objects.equals(this.title, recording.title) && Objects.equals(this.label, recording.label) && Objects.equals(this.artists, recording.artists);
+        return this.timeInMinutes == recording.timeInMinutes && Objects.equals(this.title, recording.title) && Objects.equals(this.label, recording.label) && Objects.equals(this.artists, recording.artists);
     }
 
     @Override
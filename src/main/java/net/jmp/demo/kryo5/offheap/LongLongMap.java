@@ -0,0 +1,228 @@
+package net.jmp.demo.kryo5.offheap;
+
+/*
+ * (#)LongLongMap.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Arrays;
+
+/**
+ * A map of long keys to non-negative long values
+ * held in two primitive arrays, so that an entry
+ * costs sixteen bytes and no objects. Collisions
+ * are resolved by linear probing and removal shifts
+ * the following entries back instead of leaving
+ * tombstones. A value of -1 marks an empty slot.
+ *
+ * The map is not thread-safe.
+ */
+final class LongLongMap {
+    /** The value returned for a missing key. */
+    static final long MISSING = -1L;
+
+    /** The largest fill before the map grows, in sixteenths. */
+    private static final int LOAD_SIXTEENTHS = 11;
+
+    /** The keys. */
+    private long[] keys;
+
+    /** The values, -1 where the slot is empty. */
+    private long[] values;
+
+    /** The number of entries. */
+    private int size;
+
+    /**
+     * The constructor.
+     *
+     * @param   capacity    int     The number of entries held before the map grows
+     */
+    LongLongMap(final int capacity) {
+        super();
+
+        assert capacity >= 0;
+
+        this.allocate(Integer.highestOneBit(Math.max(16, capacity * 16 / LOAD_SIXTEENTHS) - 1) << 1);
+    }
+
+    /**
+     * Return the value of a key.
+     *
+     * @param   key long
+     * @return      long    The value or -1
+     */
+    long get(final long key) {
+        final int mask = this.keys.length - 1;
+
+        for (int slot = slot(key, mask); this.values[slot] != MISSING; slot = (slot + 1) & mask)
+            if (this.keys[slot] == key)
+                return this.values[slot];
+
+        return MISSING;
+    }
+
+    /**
+     * Set the value of a key.
+     *
+     * @param   key     long
+     * @param   value   long    Not negative
+     * @return          long    The previous value or -1
+     */
+    long put(final long key, final long value) {
+        assert value >= 0;
+
+        final int mask = this.keys.length - 1;
+        int slot = slot(key, mask);
+
+        for (; this.values[slot] != MISSING; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == key) {
+                final var previous = this.values[slot];
+
+                this.values[slot] = value;
+
+                return previous;
+            }
+        }
+
+        this.keys[slot] = key;
+        this.values[slot] = value;
+
+        if (++this.size * 16L > (long) this.keys.length * LOAD_SIXTEENTHS)
+            this.resize(this.keys.length << 1);
+
+        return MISSING;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param   key long
+     * @return      long    The value or -1
+     */
+    long remove(final long key) {
+        final int mask = this.keys.length - 1;
+        int slot = slot(key, mask);
+
+        while (this.values[slot] != MISSING && this.keys[slot] != key)
+            slot = (slot + 1) & mask;
+
+        final var removed = this.values[slot];
+
+        if (removed == MISSING)
+            return MISSING;
+
+        /* Shift back every following entry whose home slot is not between the gap and it */
+
+        int gap = slot;
+
+        for (int next = (gap + 1) & mask; this.values[next] != MISSING; next = (next + 1) & mask) {
+            final int home = slot(this.keys[next], mask);
+
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                this.keys[gap] = this.keys[next];
+                this.values[gap] = this.values[next];
+                gap = next;
+            }
+        }
+
+        this.values[gap] = MISSING;
+        this.size--;
+
+        return removed;
+    }
+
+    /**
+     * Remove every entry.
+     */
+    void clear() {
+        Arrays.fill(this.values, MISSING);
+
+        this.size = 0;
+    }
+
+    /**
+     * Return the number of entries.
+     *
+     * @return  int
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Move the entries into arrays with the given number of slots.
+     *
+     * @param   slots   int     A power of two
+     */
+    private void resize(final int slots) {
+        final var oldKeys = this.keys;
+        final var oldValues = this.values;
+
+        this.allocate(slots);
+
+        final int mask = slots - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != MISSING) {
+                int slot = slot(oldKeys[i], mask);
+
+                while (this.values[slot] != MISSING)
+                    slot = (slot + 1) & mask;
+
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Allocate empty arrays.
+     *
+     * @param   slots   int     A power of two
+     */
+    private void allocate(final int slots) {
+        this.keys = new long[slots];
+        this.values = new long[slots];
+
+        Arrays.fill(this.values, MISSING);
+    }
+
+    /**
+     * Return the home slot of a key.
+     *
+     * @param   key     long
+     * @param   mask    int
+     * @return          int
+     */
+    private static int slot(final long key, final int mask) {
+        final var hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
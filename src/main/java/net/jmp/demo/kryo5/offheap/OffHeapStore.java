@@ -0,0 +1,494 @@
+package net.jmp.demo.kryo5.offheap;
+
+/*
+ * (#)OffHeapStore.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.Closeable;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import net.jmp.demo.kryo5.config.ConfigOffHeap;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * A store of objects kept serialized in direct memory,
+ * outside the heap, and deserialized when they are asked
+ * for. The heap holds only the index: a primitive map of
+ * long keys to addresses, at sixteen bytes a slot.
+ *
+ * Objects are appended to fixed-size slabs allocated
+ * with ByteBuffer.allocateDirect, each as an int length,
+ * the long key and the Kryo bytes. An address is the
+ * slab number in the high int and the offset in the low
+ * int. Replacing or removing an object leaves its old
+ * bytes behind as garbage. When every slab is full and
+ * enough of them is garbage, the live objects are slid
+ * down towards the first slab, one slab at a time, and
+ * the slabs left empty are released.
+ *
+ * Reads run concurrently; writes are exclusive. The
+ * direct memory is released when the store is closed
+ * and its slabs are collected.
+ *
+ * @param   <T> The type of object
+ */
+public final class OffHeapStore<T> implements Closeable {
+    /** The size of the length in front of an object. */
+    private static final int LENGTH_SIZE = Integer.BYTES;
+
+    /** The size of the length and key in front of an object. */
+    private static final int HEADER_SIZE = LENGTH_SIZE + Long.BYTES;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The type of object. */
+    private final Class<T> type;
+
+    /** The size of a slab. */
+    private final int slabSize;
+
+    /** The largest number of slabs. */
+    private final int maxSlabs;
+
+    /** The fraction of the allocated bytes that must be garbage to compact a full store. */
+    private final double compactionRatio;
+
+    /** The lock. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The index of keys to addresses. */
+    private final LongLongMap index;
+
+    /** The slabs. */
+    private List<ByteBuffer> slabs = new ArrayList<>();
+
+    /** The bytes used by replaced and removed objects. */
+    private long garbageBytes;
+
+    /** The bytes used by every object. */
+    private long usedBytes;
+
+    /**
+     * The constructor.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   type            java.lang.Class&lt;T&gt;
+     * @param   configOffHeap   net.jmp.demo.kryo5.config.ConfigOffHeap
+     */
+    public OffHeapStore(final KryoEngine engine, final Class<T> type, final ConfigOffHeap configOffHeap) {
+        super();
+
+        assert engine != null;
+        assert type != null;
+        assert configOffHeap != null;
+        assert configOffHeap.getSlabSize() > HEADER_SIZE;
+        assert configOffHeap.getMaxSlabs() > 0;
+        assert configOffHeap.getCompactionRatio() >= 0 && configOffHeap.getCompactionRatio() <= 1;
+
+        this.engine = engine;
+        this.type = type;
+        this.slabSize = configOffHeap.getSlabSize();
+        this.maxSlabs = configOffHeap.getMaxSlabs();
+        this.compactionRatio = configOffHeap.getCompactionRatio();
+        this.index = new LongLongMap(configOffHeap.getInitialCapacity());
+    }
+
+    /**
+     * Store an object under a key, replacing any
+     * object already stored under it.
+     *
+     * @param   key     long
+     * @param   object  T
+     * @throws  java.lang.IllegalArgumentException When the object is larger than a slab
+     * @throws  java.lang.IllegalStateException When the store is full
+     */
+    public void put(final long key, final T object) {
+        assert object != null;
+
+        final var bytes = this.engine.serialize(object);
+
+        this.lock.writeLock().lock();
+
+        try {
+            final var address = this.allocate(HEADER_SIZE + bytes.length);
+            final var slab = this.slabs.get(slab(address));
+
+            slab.putInt(offset(address), bytes.length);
+            slab.putLong(offset(address) + LENGTH_SIZE, key);
+            slab.put(offset(address) + HEADER_SIZE, bytes);
+
+            final var previous = this.index.put(key, address);
+
+            if (previous != LongLongMap.MISSING)
+                this.garbageBytes += this.sizeAt(previous);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Return the object stored under a key.
+     *
+     * @param   key long
+     * @return      java.util.Optional&lt;T&gt;
+     */
+    public Optional<T> get(final long key) {
+        this.lock.readLock().lock();
+
+        try {
+            final var address = this.index.get(key);
+
+            if (address == LongLongMap.MISSING)
+                return Optional.empty();
+
+            final var slab = this.slabs.get(slab(address));
+            final var input = this.engine.newInput(slab.slice(offset(address) + HEADER_SIZE, slab.getInt(offset(address))));
+
+            return Optional.of(this.engine.execute(kryo -> kryo.readObject(input, this.type)));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return true if an object is stored under a key.
+     *
+     * @param   key long
+     * @return      boolean
+     */
+    public boolean contains(final long key) {
+        this.lock.readLock().lock();
+
+        try {
+            return this.index.get(key) != LongLongMap.MISSING;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the object stored under a key.
+     *
+     * @param   key long
+     * @return      boolean True if there was one
+     */
+    public boolean remove(final long key) {
+        this.lock.writeLock().lock();
+
+        try {
+            final var address = this.index.remove(key);
+
+            if (address == LongLongMap.MISSING)
+                return false;
+
+            this.garbageBytes += this.sizeAt(address);
+
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Slide the live objects down over the garbage,
+     * releasing the slabs that are left empty.
+     */
+    public void compact() {
+        this.lock.writeLock().lock();
+
+        try {
+            this.compactLocked();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Return the number of objects.
+     *
+     * @return  int
+     */
+    public int size() {
+        this.lock.readLock().lock();
+
+        try {
+            return this.index.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return the bytes used by every object,
+     * including replaced and removed ones.
+     *
+     * @return  long
+     */
+    public long getUsedBytes() {
+        this.lock.readLock().lock();
+
+        try {
+            return this.usedBytes;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return the bytes used by replaced and removed objects.
+     *
+     * @return  long
+     */
+    public long getGarbageBytes() {
+        this.lock.readLock().lock();
+
+        try {
+            return this.garbageBytes;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return the direct memory allocated by the slabs.
+     *
+     * @return  long
+     */
+    public long getAllocatedBytes() {
+        this.lock.readLock().lock();
+
+        try {
+            return (long) this.slabs.size() * this.slabSize;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop every object and slab.
+     */
+    @Override
+    public void close() {
+        this.logger.entry();
+
+        this.lock.writeLock().lock();
+
+        try {
+            this.slabs = new ArrayList<>();
+            this.usedBytes = 0;
+            this.garbageBytes = 0;
+
+            this.index.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        this.logger.exit();
+    }
+
+    /**
+     * Allocate space at the end of the last slab, adding
+     * a slab when it is full or compacting first when no
+     * more slabs may be added and enough is garbage.
+     *
+     * @param   size    int
+     * @return          long    The address
+     * @throws  java.lang.IllegalArgumentException When the size is larger than a slab
+     * @throws  java.lang.IllegalStateException When the store is full
+     */
+    private long allocate(final int size) {
+        if (size > this.slabSize)
+            throw new IllegalArgumentException("An object of " + size + " bytes does not fit in a slab of " + this.slabSize);
+
+        if (!this.fits(size) && this.slabs.size() == this.maxSlabs && this.isWorthCompacting())
+            this.compactLocked();
+
+        if (!this.fits(size)) {
+            if (this.slabs.size() == this.maxSlabs)
+                throw new IllegalStateException("The off-heap store of " + this.maxSlabs + " slabs is full");
+
+            this.slabs.add(ByteBuffer.allocateDirect(this.slabSize));
+        }
+
+        final var slab = this.last();
+        final var address = address(this.slabs.size() - 1, slab.position());
+
+        slab.position(slab.position() + size);
+
+        this.usedBytes += size;
+
+        return address;
+    }
+
+    /**
+     * Return true if the last slab has room for a size.
+     *
+     * @param   size    int
+     * @return          boolean
+     */
+    private boolean fits(final int size) {
+        return !this.slabs.isEmpty() && this.last().remaining() >= size;
+    }
+
+    /**
+     * Return true if enough of the allocated bytes is
+     * garbage to pay for moving every live object.
+     *
+     * @return  boolean
+     */
+    private boolean isWorthCompacting() {
+        return this.garbageBytes > 0 && this.garbageBytes >= this.compactionRatio * this.slabs.size() * this.slabSize;
+    }
+
+    /**
+     * Slide the live objects down over the garbage,
+     * in address order and one slab at a time, within
+     * the slabs already allocated. Each object is found
+     * by the key in front of it and is live if the index
+     * still points at it. An object never moves past its
+     * old address, so it only overwrites garbage or bytes
+     * already moved. The slabs left empty are released.
+     * The write lock must be held.
+     */
+    private void compactLocked() {
+        this.logger.entry(this.usedBytes, this.garbageBytes);
+
+        var to = 0;
+        var toOffset = 0;
+        var live = 0L;
+
+        for (int from = 0; from < this.slabs.size(); from++) {
+            final var slab = this.slabs.get(from);
+            final var end = slab.position();
+
+            for (int offset = 0; offset < end; ) {
+                final var size = HEADER_SIZE + slab.getInt(offset);
+                final var key = slab.getLong(offset + LENGTH_SIZE);
+
+                if (this.index.get(key) == address(from, offset)) {
+                    if (toOffset + size > this.slabSize) {
+                        this.slabs.get(to).position(toOffset);
+
+                        to++;
+                        toOffset = 0;
+                    }
+
+                    if (to != from || toOffset != offset) {
+                        this.slabs.get(to).put(toOffset, slab, offset, size);
+                        this.index.put(key, address(to, toOffset));
+                    }
+
+                    toOffset += size;
+                    live += size;
+                }
+
+                offset += size;
+            }
+        }
+
+        final var kept = live == 0 ? 0 : to + 1;
+
+        if (kept > 0)
+            this.slabs.get(to).position(toOffset);
+
+        this.slabs.subList(kept, this.slabs.size()).clear();
+
+        this.usedBytes = live;
+        this.garbageBytes = 0;
+
+        this.logger.exit(this.usedBytes);
+    }
+
+    /**
+     * Return the size of the object at an address.
+     *
+     * @param   address long
+     * @return          int
+     */
+    private int sizeAt(final long address) {
+        return HEADER_SIZE + this.slabs.get(slab(address)).getInt(offset(address));
+    }
+
+    /**
+     * Return the last slab.
+     *
+     * @return  java.nio.ByteBuffer
+     */
+    private ByteBuffer last() {
+        return this.slabs.get(this.slabs.size() - 1);
+    }
+
+    /**
+     * Return the address of an offset in a slab.
+     *
+     * @param   slab    int
+     * @param   offset  int
+     * @return          long
+     */
+    private static long address(final int slab, final int offset) {
+        return ((long) slab << 32) | offset;
+    }
+
+    /**
+     * Return the slab number of an address.
+     *
+     * @param   address long
+     * @return          int
+     */
+    private static int slab(final long address) {
+        return (int) (address >>> 32);
+    }
+
+    /**
+     * Return the offset of an address.
+     *
+     * @param   address long
+     * @return          int
+     */
+    private static int offset(final long address) {
+        return (int) address;
+    }
+}
@@ -0,0 +1,433 @@
+package net.jmp.demo.kryo5.recordlog;
+
+/*
+ * (#)RecordIndex.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import java.util.function.Function;
+
+import java.util.zip.CRC32;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+/**
+ * The primary-key index of one record log segment.
+ *
+ * The index is kept next to its segment in a file with
+ * the same name and a .kri suffix. It starts with a header:
+ *
+ *   int  magic ('KRIX')
+ *   byte version
+ *   byte flags
+ *   long the length of the segment that was indexed
+ *   int  entry count
+ *
+ * followed by fixed-width entries sorted by key hash:
+ *
+ *   long 64-bit FNV-1a hash of the key
+ *   long offset of the record in the segment
+ *   int  length of the record
+ *
+ * Entries with the same hash are kept in the order the
+ * records were appended. An index whose segment length
+ * does not match its segment is stale and is ignored.
+ */
+final class RecordIndex {
+    /** The index magic number. */
+    static final int MAGIC = 0x4B524958;
+
+    /** The format version. */
+    static final byte VERSION = 1;
+
+    /** The size of the index header. */
+    static final int HEADER_SIZE = 18;
+
+    /** The size of an entry. */
+    static final int ENTRY_SIZE = 20;
+
+    /** The index file name suffix. */
+    private static final String SUFFIX = ".kri";
+
+    /** The FNV-1a 64-bit offset basis. */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /** The FNV-1a 64-bit prime. */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** The entries. */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /** The number of entries whose segment offset is known. */
+    private int committed;
+
+    /**
+     * The default constructor.
+     */
+    RecordIndex() {
+        super();
+    }
+
+    /**
+     * Add an entry for a record of the block being
+     * gathered. Its offset is relative to the block
+     * payload until the block is committed.
+     *
+     * @param   key     java.lang.String
+     * @param   offset  int
+     * @param   length  int
+     */
+    void add(final String key, final int offset, final int length) {
+        this.entries.add(new Entry(hash(key), offset, length));
+    }
+
+    /**
+     * Commit the entries of a block that has been
+     * written at the given position in the segment.
+     *
+     * @param   payloadPosition long    The segment offset of the block payload
+     */
+    void commit(final long payloadPosition) {
+        for (int i = this.committed; i < this.entries.size(); i++)
+            this.entries.get(i).offset += payloadPosition;
+
+        this.committed = this.entries.size();
+    }
+
+    /**
+     * Write the committed entries to the index of
+     * a segment and remove them from this index.
+     *
+     * @param   segment         java.nio.file.Path
+     * @param   segmentLength   long
+     * @throws  java.io.IOException When the index cannot be written
+     */
+    void write(final Path segment, final long segmentLength) throws IOException {
+        final var buffer = this.toTable(segmentLength);
+
+        final var index = indexPath(segment);
+        final var temporary = index.resolveSibling(index.getFileName() + ".tmp");
+
+        try (final var channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        }
+
+        Files.move(temporary, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        this.entries.subList(0, this.committed).clear();
+        this.committed = 0;
+    }
+
+    /**
+     * Return the committed entries as a table
+     * in the index file layout.
+     *
+     * @param   segmentLength   long
+     * @return                  java.nio.ByteBuffer
+     */
+    ByteBuffer toTable(final long segmentLength) {
+        final var sorted = new ArrayList<>(this.entries.subList(0, this.committed));
+
+        sorted.sort(Comparator.comparingLong((Entry entry) -> entry.hash).thenComparingLong(entry -> entry.offset));
+
+        final var table = ByteBuffer.allocate(HEADER_SIZE + sorted.size() * ENTRY_SIZE)
+                .putInt(MAGIC)
+                .put(VERSION)
+                .put((byte) 0)
+                .putLong(segmentLength)
+                .putInt(sorted.size());
+
+        for (final var entry : sorted)
+            table.putLong(entry.hash).putLong(entry.offset).putInt(entry.length);
+
+        return table.flip();
+    }
+
+    /**
+     * Add the entries of an existing index to this one.
+     *
+     * @param   table   java.nio.ByteBuffer
+     */
+    void addAll(final ByteBuffer table) {
+        final int count = size(table);
+
+        for (int i = 0; i < count; i++)
+            this.entries.add(new Entry(hashAt(table, i), offsetAt(table, i), lengthAt(table, i)));
+
+        this.committed = this.entries.size();
+    }
+
+    /**
+     * Return the index file of a segment.
+     *
+     * @param   segment java.nio.file.Path
+     * @return          java.nio.file.Path
+     */
+    static Path indexPath(final Path segment) {
+        final var name = segment.getFileName().toString();
+
+        return segment.resolveSibling(name.substring(0, name.lastIndexOf('.')) + SUFFIX);
+    }
+
+    /**
+     * Load the index of a segment if it exists and is
+     * current. The returned table is mapped read-only.
+     *
+     * @param   segment         java.nio.file.Path
+     * @param   segmentLength   long
+     * @return                  java.nio.ByteBuffer     Or null when there is no current index
+     * @throws  java.io.IOException When the index cannot be read
+     */
+    static ByteBuffer load(final Path segment, final long segmentLength) throws IOException {
+        final var index = indexPath(segment);
+
+        if (!Files.isRegularFile(index) || Files.size(index) < HEADER_SIZE)
+            return null;
+
+        final ByteBuffer table;
+
+        try (final var channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (table.getInt(0) != MAGIC || table.get(4) != VERSION || table.getLong(6) != segmentLength)
+            return null;
+
+        if (table.capacity() != HEADER_SIZE + (long) size(table) * ENTRY_SIZE)
+            return null;
+
+        return table;
+    }
+
+    /**
+     * Index a segment by reading every complete block
+     * and decoding its records. A block that was only
+     * partly written, or whose header claims more bytes
+     * than the segment holds, ends the scan.
+     *
+     * @param   <T>     The type of record
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   segment java.nio.file.Path
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @param   key     java.util.function.Function&lt;? super T, java.lang.String&gt;
+     * @return          net.jmp.demo.kryo5.recordlog.RecordIndex
+     * @throws  java.io.IOException When the segment cannot be read
+     */
+    static <T> RecordIndex scan(final KryoEngine engine,
+                                final Path segment,
+                                final Class<T> type,
+                                final Function<? super T, String> key) throws IOException {
+        final var index = new RecordIndex();
+        final var crc = new CRC32();
+        final var input = engine.newInput();
+        final var size = Files.size(segment);
+
+        try (final var stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            RecordLog.readSegmentHeader(stream, segment, engine.getFormatFlags());
+
+            long position = RecordLog.SEGMENT_HEADER_SIZE;
+            byte[] payload = new byte[0];
+
+            while (true) {
+                stream.readByte();
+
+                final int length = stream.readInt();
+                final int count = stream.readInt();
+                final int checksum = stream.readInt();
+
+                if (length < 0 || length > size - position - RecordLog.BLOCK_HEADER_SIZE || count < 0)
+                    break;
+
+                if (payload.length < length)
+                    payload = new byte[length];
+
+                stream.readFully(payload, 0, length);
+
+                crc.reset();
+                crc.update(payload, 0, length);
+
+                if ((int) crc.getValue() != checksum)
+                    break;
+
+                input.setBuffer(payload, 0, length);
+
+                for (int i = 0; i < count; i++) {
+                    final int recordLength = input.readVarInt(true);
+                    final int start = input.position();
+                    final T record = engine.execute(kryo -> kryo.readObject(input, type));
+
+                    index.add(key.apply(record), start, recordLength);
+                    input.setPosition(start + recordLength);
+                }
+
+                position += RecordLog.BLOCK_HEADER_SIZE;
+                index.commit(position);
+                position += length;
+            }
+        } catch (final EOFException eofe) {
+            /* The end of the segment */
+        }
+
+        return index;
+    }
+
+    /**
+     * Return the hash of a key.
+     *
+     * @param   key java.lang.String
+     * @return      long
+     */
+    static long hash(final String key) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (final byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Return the number of entries in a table.
+     *
+     * @param   table   java.nio.ByteBuffer
+     * @return          int
+     */
+    static int size(final ByteBuffer table) {
+        return table.getInt(14);
+    }
+
+    /**
+     * Return the hash of an entry.
+     *
+     * @param   table   java.nio.ByteBuffer
+     * @param   entry   int
+     * @return          long
+     */
+    static long hashAt(final ByteBuffer table, final int entry) {
+        return table.getLong(HEADER_SIZE + entry * ENTRY_SIZE);
+    }
+
+    /**
+     * Return the segment offset of an entry.
+     *
+     * @param   table   java.nio.ByteBuffer
+     * @param   entry   int
+     * @return          long
+     */
+    static long offsetAt(final ByteBuffer table, final int entry) {
+        return table.getLong(HEADER_SIZE + entry * ENTRY_SIZE + 8);
+    }
+
+    /**
+     * Return the record length of an entry.
+     *
+     * @param   table   java.nio.ByteBuffer
+     * @param   entry   int
+     * @return          int
+     */
+    static int lengthAt(final ByteBuffer table, final int entry) {
+        return table.getInt(HEADER_SIZE + entry * ENTRY_SIZE + 16);
+    }
+
+    /**
+     * Return the first entry with the given hash by
+     * binary search, or -1 if there is none.
+     *
+     * @param   table   java.nio.ByteBuffer
+     * @param   hash    long
+     * @return          int
+     */
+    static int first(final ByteBuffer table, final long hash) {
+        int low = 0;
+        int high = size(table);
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (hashAt(table, middle) < hash)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        return low < size(table) && hashAt(table, low) == hash ? low : -1;
+    }
+
+    /**
+     * One index entry.
+     */
+    private static final class Entry {
+        /** The key hash. */
+        private final long hash;
+
+        /** The record offset. */
+        private long offset;
+
+        /** The record length. */
+        private final int length;
+
+        /**
+         * The constructor.
+         *
+         * @param   hash    long
+         * @param   offset  long
+         * @param   length  int
+         */
+        private Entry(final long hash, final long offset, final int length) {
+            super();
+
+            this.hash = hash;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
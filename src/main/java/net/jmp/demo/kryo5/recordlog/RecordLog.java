@@ -0,0 +1,177 @@
+package net.jmp.demo.kryo5.recordlog;
+
+/*
+ * (#)RecordLog.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.List;
+
+import java.util.stream.Stream;
+
+import net.jmp.demo.kryo5.engine.FormatFlags;
+
+/**
+ * The layout of a record log.
+ *
+ * A record log is a directory of segment files named
+ * segment-00000000.krl, segment-00000001.krl and so on.
+ * Each segment starts with a header:
+ *
+ *   int  magic ('KRLG')
+ *   byte version
+ *   byte flags (the engine's format flags)
+ *
+ * followed by blocks, each with a header:
+ *
+ *   byte flags
+ *   int  payload length
+ *   int  record count
+ *   int  CRC-32 of the payload
+ *
+ * The payload holds the records, each one a
+ * varint length followed by its Kryo encoding.
+ * Segments are only ever appended to; a block
+ * that was only partly written is discarded.
+ */
+public final class RecordLog {
+    /** The segment magic number. */
+    static final int MAGIC = 0x4B524C47;
+
+    /** The format version. */
+    static final byte VERSION = 1;
+
+    /** The size of the segment header. */
+    static final int SEGMENT_HEADER_SIZE = 6;
+
+    /** The size of a block header. */
+    static final int BLOCK_HEADER_SIZE = 13;
+
+    /** The segment file name prefix. */
+    private static final String PREFIX = "segment-";
+
+    /** The segment file name suffix. */
+    private static final String SUFFIX = ".krl";
+
+    /**
+     * The default constructor.
+     */
+    private RecordLog() {
+        super();
+    }
+
+    /**
+     * Return the path of a segment.
+     *
+     * @param   directory   java.nio.file.Path
+     * @param   number      int
+     * @return              java.nio.file.Path
+     */
+    static Path segmentPath(final Path directory, final int number) {
+        return directory.resolve(String.format("%s%08d%s", PREFIX, number, SUFFIX));
+    }
+
+    /**
+     * Return the number of a segment.
+     *
+     * @param   segment java.nio.file.Path
+     * @return          int
+     */
+    static int segmentNumber(final Path segment) {
+        final var name = segment.getFileName().toString();
+
+        return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Return the segments of a record log in order.
+     *
+     * @param   directory   java.nio.file.Path
+     * @return              java.util.List&lt;java.nio.file.Path&gt;
+     * @throws  java.io.IOException When the directory cannot be listed
+     */
+    public static List<Path> segments(final Path directory) throws IOException {
+        if (!Files.isDirectory(directory))
+            return List.of();
+
+        try (final Stream<Path> paths = Files.list(directory)) {
+            return paths
+                    .filter(path -> {
+                        final var name = path.getFileName().toString();
+
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Read and check a segment header, refusing a
+     * segment whose records were written in another
+     * byte order or integer encoding.
+     *
+     * @param   stream      java.io.DataInputStream
+     * @param   segment     java.nio.file.Path
+     * @param   formatFlags byte    The format flags of the engine
+     * @return              byte    The segment flags
+     * @throws  java.io.IOException When the header is not valid
+     */
+    static byte readSegmentHeader(final DataInputStream stream, final Path segment, final byte formatFlags) throws IOException {
+        final int magic;
+        final byte version;
+
+        try {
+            magic = stream.readInt();
+            version = stream.readByte();
+        } catch (final EOFException eofe) {
+            throw new IOException("Segment header is incomplete: " + segment, eofe);
+        }
+
+        if (magic != MAGIC)
+            throw new IOException("Not a record log segment: " + segment);
+
+        if (version != VERSION)
+            throw new IOException("Unsupported record log version " + version + ": " + segment);
+
+        final var flags = stream.readByte();
+
+        if (!FormatFlags.compatible(flags, formatFlags))
+            throw new IOException("Segment was written with " + FormatFlags.describe(flags) +
+                    " and cannot be read with " + FormatFlags.describe(formatFlags) + ": " + segment);
+
+        return flags;
+    }
+}
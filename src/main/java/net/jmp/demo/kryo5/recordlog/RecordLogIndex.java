@@ -0,0 +1,536 @@
+package net.jmp.demo.kryo5.recordlog;
+
+/*
+ * (#)RecordLogIndex.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import java.util.function.Function;
+
+import net.jmp.demo.kryo5.cache.CacheStatistics;
+import net.jmp.demo.kryo5.cache.CacheValues;
+import net.jmp.demo.kryo5.cache.ObjectCache;
+
+import net.jmp.demo.kryo5.config.ConfigCache;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Finds records in a record log by primary key.
+ *
+ * Each lookup is a binary search of the segment
+ * indexes, newest segment first, followed by one
+ * positional read and one decode of the record. When
+ * a key was appended more than once the latest record
+ * is returned. A segment whose index is missing or
+ * stale, such as the one a writer is still appending
+ * to, is indexed in memory when the index is opened.
+ *
+ * Records can also be located without being decoded,
+ * by key or by their position in append order, as
+ * spans of the segments that can be transferred
+ * straight from the files.
+ *
+ * Lookups by key can go through a byte-bounded LRU
+ * cache keyed by record key, configured like the object
+ * file cache. It holds the stored bytes of each record
+ * found or, for an immutable type with a cache of
+ * objects, the decoded record. Since an index never
+ * sees later appends its entries need no invalidation.
+ *
+ * An index is a snapshot of the log when it was
+ * opened and is not thread safe.
+ *
+ * @param   <T> The type of record
+ */
+public final class RecordLogIndex<T> implements Closeable {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The type of record. */
+    private final Class<T> type;
+
+    /** Extracts the key of a record. */
+    private final Function<? super T, String> key;
+
+    /** The segment channels, newest first. */
+    private final List<FileChannel> channels = new ArrayList<>();
+
+    /** The segment index tables, newest first. */
+    private final List<ByteBuffer> tables = new ArrayList<>();
+
+    /** Reads the record being looked up. */
+    private final Input input;
+
+    /** True when found records themselves are cached. */
+    private final boolean cacheRecords;
+
+    /** The lookup cache, or null when lookups are not cached. */
+    private final ObjectCache<String, Cached> cache;
+
+    /** Holds the record being looked up. */
+    private ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+    /** The blocks of every segment in append order, found on first use. */
+    private List<Block> blocks;
+
+    /**
+     * A constructor that does not cache lookups.
+     *
+     * @param   engine      net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   directory   java.nio.file.Path
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @param   key         java.util.function.Function&lt;? super T, java.lang.String&gt;
+     * @throws  java.io.IOException When the log cannot be opened
+     */
+    public RecordLogIndex(final KryoEngine engine,
+                          final Path directory,
+                          final Class<T> type,
+                          final Function<? super T, String> key) throws IOException {
+        this(engine, directory, type, key, new ConfigCache());
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param   engine      net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   directory   java.nio.file.Path
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @param   key         java.util.function.Function&lt;? super T, java.lang.String&gt;
+     * @param   configCache net.jmp.demo.kryo5.config.ConfigCache
+     * @throws  java.io.IOException When the log cannot be opened
+     */
+    public RecordLogIndex(final KryoEngine engine,
+                          final Path directory,
+                          final Class<T> type,
+                          final Function<? super T, String> key,
+                          final ConfigCache configCache) throws IOException {
+        super();
+
+        assert engine != null;
+        assert directory != null;
+        assert type != null;
+        assert key != null;
+        assert configCache != null;
+
+        this.engine = engine;
+        this.type = type;
+        this.key = key;
+        this.input = engine.newInput();
+        this.cacheRecords = configCache.getValues() == CacheValues.OBJECTS &&
+                engine.execute(kryo -> kryo.getRegistration(type).getSerializer().isImmutable());
+        this.cache = configCache.getMaxBytes() > 0 ? new ObjectCache<>(configCache.getMaxBytes(), Cached::size) : null;
+
+        final var segments = RecordLog.segments(directory);
+
+        try {
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                final var segment = segments.get(i);
+                final var length = Files.size(segment);
+
+                try (final var stream = new DataInputStream(Files.newInputStream(segment))) {
+                    RecordLog.readSegmentHeader(stream, segment, engine.getFormatFlags());
+                }
+
+                var table = RecordIndex.load(segment, length);
+
+                if (table == null) {
+                    this.logger.info("Indexing {} in memory", segment);
+
+                    table = RecordIndex.scan(engine, segment, type, key).toTable(length);
+                }
+
+                this.channels.add(FileChannel.open(segment, StandardOpenOption.READ));
+                this.tables.add(table);
+            }
+        } catch (final IOException ioe) {
+            this.close();
+
+            throw ioe;
+        }
+    }
+
+    /**
+     * Find the latest record with the given key,
+     * through the cache when there is one.
+     *
+     * @param   key java.lang.String
+     * @return      java.util.Optional&lt;T&gt;
+     * @throws  java.io.IOException When the record cannot be read
+     */
+    public Optional<T> find(final String key) throws IOException {
+        assert key != null;
+
+        if (this.cache == null)
+            return Optional.ofNullable(this.load(key)).map(Cached::value).map(this.type::cast);
+
+        final var cached = this.cache.get(key, this::load);
+
+        if (cached == null)
+            return Optional.empty();
+
+        if (cached.value() instanceof byte[] bytes)
+            return Optional.of(this.decode(bytes, bytes.length));
+
+        return Optional.of(this.type.cast(cached.value()));
+    }
+
+    /**
+     * Return the counters of the lookup cache.
+     *
+     * @return  java.util.Optional&lt;net.jmp.demo.kryo5.cache.CacheStatistics&gt;
+     */
+    public Optional<CacheStatistics> getCacheStatistics() {
+        return Optional.ofNullable(this.cache).map(ObjectCache::getStatistics);
+    }
+
+    /**
+     * Locate a stored record whose key has the same hash
+     * as the given key, without decoding it. Candidates
+     * are taken newest first, so skipping none locates
+     * the latest record with the key unless its hash
+     * collides with a later record of another key. A
+     * caller that decodes the record and finds another
+     * key should locate again, skipping one more.
+     *
+     * @param   key     java.lang.String
+     * @param   skip    int     The number of newer candidates to skip
+     * @return          java.util.Optional&lt;net.jmp.demo.kryo5.recordlog.RecordSpan&gt;
+     */
+    public Optional<RecordSpan> locate(final String key, final int skip) {
+        assert key != null;
+        assert skip >= 0;
+
+        final var hash = RecordIndex.hash(key);
+
+        int remaining = skip;
+
+        for (int i = 0; i < this.tables.size(); i++) {
+            final var table = this.tables.get(i);
+            final int first = RecordIndex.first(table, hash);
+
+            if (first < 0)
+                continue;
+
+            int last = first;
+
+            while (last + 1 < RecordIndex.size(table) && RecordIndex.hashAt(table, last + 1) == hash)
+                last++;
+
+            if (remaining > last - first) {
+                remaining -= last - first + 1;
+
+                continue;
+            }
+
+            final var entry = last - remaining;
+            final var length = RecordIndex.lengthAt(table, entry);
+            final var prefix = Output.varIntLength(length, true);
+
+            return Optional.of(new RecordSpan(this.channels.get(i), RecordIndex.offsetAt(table, entry) - prefix, prefix + length, 0, 1));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Locate a range of stored records by their position
+     * in append order, without decoding them. Each span
+     * is the whole payload of one block, so a range costs
+     * at most two partly used blocks more than its own
+     * records. A range that runs past the end of the log
+     * is cut short.
+     *
+     * @param   first   long    The position of the first record, from zero
+     * @param   count   int     The number of records
+     * @return          java.util.List&lt;net.jmp.demo.kryo5.recordlog.RecordSpan&gt;
+     * @throws  java.io.IOException When the block headers cannot be read
+     */
+    public List<RecordSpan> locate(final long first, final int count) throws IOException {
+        assert first >= 0;
+        assert count >= 0;
+
+        final var blocks = this.blocks();
+        final var end = Math.min(first + count, this.getRecordCount());
+        final List<RecordSpan> spans = new ArrayList<>();
+
+        int low = 0;
+        int high = blocks.size();
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (blocks.get(middle).first + blocks.get(middle).count <= first)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        for (long next = first; next < end; low++) {
+            final var block = blocks.get(low);
+            final var skip = (int) (next - block.first);
+            final var taken = (int) Math.min(block.count - skip, end - next);
+
+            spans.add(new RecordSpan(block.channel, block.position, block.length, skip, taken));
+
+            next += taken;
+        }
+
+        return spans;
+    }
+    /**
+     * Return the number of records in the index.
+     *
+     * @return  long
+     */
+    public long getRecordCount() {
+        return this.tables.stream().mapToLong(RecordIndex::size).sum();
+    }
+
+    /**
+     * Close the segments.
+     *
+     * @throws  java.io.IOException When a segment cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+
+        for (final var channel : this.channels) {
+            try {
+                channel.close();
+            } catch (final IOException ioe) {
+                if (exception == null)
+                    exception = ioe;
+                else
+                    exception.addSuppressed(ioe);
+            }
+        }
+
+        this.channels.clear();
+        this.tables.clear();
+        this.blocks = null;
+
+        if (exception != null)
+            throw exception;
+    }
+
+    /**
+     * Find the blocks of every segment in append order
+     * by reading their headers. Headers are read until
+     * the blocks hold as many records as the segment
+     * index, so a block that was only partly written
+     * is left out.
+     *
+     * @return  java.util.List&lt;net.jmp.demo.kryo5.recordlog.RecordLogIndex.Block&gt;
+     * @throws  java.io.IOException When a block header cannot be read
+     */
+    private List<Block> blocks() throws IOException {
+        if (this.blocks != null)
+            return this.blocks;
+
+        final List<Block> blocks = new ArrayList<>();
+        final var header = ByteBuffer.allocate(RecordLog.BLOCK_HEADER_SIZE);
+
+        long records = 0;
+
+        for (int i = this.tables.size() - 1; i >= 0; i--) {
+            final var channel = this.channels.get(i);
+            final var indexed = RecordIndex.size(this.tables.get(i));
+
+            long position = RecordLog.SEGMENT_HEADER_SIZE;
+            long segmentRecords = 0;
+
+            while (segmentRecords < indexed) {
+                header.clear();
+
+                while (header.hasRemaining()) {
+                    if (channel.read(header, position + header.position()) < 0)
+                        throw new IOException("The blocks of a segment hold " + segmentRecords + " records but its index has " + indexed);
+                }
+
+                final var length = header.getInt(1);
+                final var count = header.getInt(5);
+
+                position += RecordLog.BLOCK_HEADER_SIZE;
+
+                blocks.add(new Block(channel, position, length, records, count));
+
+                position += length;
+                records += count;
+                segmentRecords += count;
+            }
+        }
+
+        this.blocks = blocks;
+
+        return blocks;
+    }
+
+    /**
+     * Look up the latest record with the given key.
+     * When there is a cache that does not hold the
+     * record itself, the stored bytes are returned.
+     *
+     * @param   key java.lang.String
+     * @return      net.jmp.demo.kryo5.recordlog.RecordLogIndex.Cached  Or null when there is no such record
+     * @throws  java.io.IOException When the record cannot be read
+     */
+    private Cached load(final String key) throws IOException {
+        for (int skip = 0; ; skip++) {
+            final var span = this.locate(key, skip);
+
+            if (span.isEmpty())
+                return null;
+
+            final var length = span.get().getLength();
+            final T record = this.read(span.get());
+
+            if (key.equals(this.key.apply(record))) {
+                if (this.cache == null || this.cacheRecords)
+                    return new Cached(record, length);
+
+                return new Cached(Arrays.copyOf(this.buffer.array(), length), length);
+            }
+        }
+    }
+
+    /**
+     * Read and decode one located record.
+     *
+     * @param   span    net.jmp.demo.kryo5.recordlog.RecordSpan
+     * @return          T
+     * @throws  java.io.IOException When the record cannot be read
+     */
+    private T read(final RecordSpan span) throws IOException {
+        final var length = span.getLength();
+
+        if (this.buffer.capacity() < length)
+            this.buffer = ByteBuffer.allocate(Math.max(length, this.buffer.capacity() * 2));
+
+        this.buffer.clear().limit(length);
+
+        while (this.buffer.hasRemaining()) {
+            if (span.getChannel().read(this.buffer, span.getPosition() + this.buffer.position()) < 0)
+                throw new IOException("Record at " + span.getPosition() + " is past the end of the segment");
+        }
+
+        return this.decode(this.buffer.array(), length);
+    }
+
+    /**
+     * Decode one stored record and its length prefix.
+     *
+     * @param   bytes   byte[]
+     * @param   length  int
+     * @return          T
+     */
+    private T decode(final byte[] bytes, final int length) {
+        this.input.setBuffer(bytes, 0, length);
+        this.input.readVarInt(true);
+
+        return this.engine.execute(kryo -> kryo.readObject(this.input, this.type));
+    }
+
+    /**
+     * One block of a segment.
+     */
+    private static final class Block {
+        /** The segment channel. */
+        private final FileChannel channel;
+
+        /** The position of the block payload in the segment. */
+        private final long position;
+
+        /** The length of the block payload. */
+        private final int length;
+
+        /** The position in append order of the first record of the block. */
+        private final long first;
+
+        /** The number of records in the block. */
+        private final int count;
+
+        /**
+         * The constructor.
+         *
+         * @param   channel     java.nio.channels.FileChannel
+         * @param   position    long
+         * @param   length      int
+         * @param   first       long
+         * @param   count       int
+         */
+        private Block(final FileChannel channel, final long position, final int length, final long first, final int count) {
+            super();
+
+            this.channel = channel;
+            this.position = position;
+            this.length = length;
+            this.first = first;
+            this.count = count;
+        }
+    }
+
+    /**
+     * A cached lookup: the stored bytes of a record or
+     * the record itself, and the length of its stored
+     * bytes, which is what the cache weighs it by.
+     *
+     * @param   value   java.lang.Object
+     * @param   size    long
+     */
+    private record Cached(Object value, long size) {
+    }
+}
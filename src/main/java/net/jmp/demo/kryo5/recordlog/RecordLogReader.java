@@ -0,0 +1,273 @@
+package net.jmp.demo.kryo5.recordlog;
+
+/*
+ * (#)RecordLogReader.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import java.util.zip.CRC32;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Iterates the records of a record log in the
+ * order they were appended. Only one block is held
+ * in memory at a time, so memory use is bounded by
+ * the block size whatever the size of the log.
+ *
+ * @param   <T> The type of record
+ */
+public final class RecordLogReader<T> implements Iterator<T>, Closeable {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The type of record. */
+    private final Class<T> type;
+
+    /** The segments. */
+    private final List<Path> segments;
+
+    /** The block checksum. */
+    private final CRC32 crc = new CRC32();
+
+    /** Reads records from the current block. */
+    private final Input input;
+
+    /** The current block. */
+    private byte[] payload = new byte[0];
+
+    /** The index of the next segment. */
+    private int nextSegment;
+
+    /** The current segment stream. */
+    private DataInputStream stream;
+
+    /** The size of the current segment when last looked at. */
+    private long segmentSize;
+
+    /** The position of the current segment stream. */
+    private long position;
+
+    /** The records left in the current block. */
+    private int remaining;
+
+    /**
+     * The constructor.
+     *
+     * @param   engine      net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   directory   java.nio.file.Path
+     * @param   type        java.lang.Class&lt;T&gt;
+     * @throws  java.io.IOException When the log cannot be listed
+     */
+    public RecordLogReader(final KryoEngine engine, final Path directory, final Class<T> type) throws IOException {
+        super();
+
+        assert engine != null;
+        assert directory != null;
+        assert type != null;
+
+        this.engine = engine;
+        this.type = type;
+        this.segments = RecordLog.segments(directory);
+        this.input = engine.newInput();
+    }
+
+    /**
+     * Return true if there is another record.
+     *
+     * @return  boolean
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            while (this.remaining == 0) {
+                if (!this.nextBlock())
+                    return false;
+            }
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+
+        return true;
+    }
+
+    /**
+     * Return the next record.
+     *
+     * @return  T
+     */
+    @Override
+    public T next() {
+        if (!this.hasNext())
+            throw new NoSuchElementException();
+
+        final int length = this.input.readVarInt(true);
+        final int start = this.input.position();
+        final T record = this.engine.execute(kryo -> kryo.readObject(this.input, this.type));
+
+        this.input.setPosition(start + length);
+        this.remaining--;
+
+        return record;
+    }
+
+    /**
+     * Return the remaining records as a sequential
+     * stream. Closing the stream closes the reader.
+     *
+     * @return  java.util.stream.Stream&lt;T&gt;
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        this.close();
+                    } catch (final IOException ioe) {
+                        throw new UncheckedIOException(ioe);
+                    }
+                });
+    }
+
+    /**
+     * Close the reader.
+     *
+     * @throws  java.io.IOException When the segment cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.nextSegment = this.segments.size();
+        this.remaining = 0;
+
+        if (this.stream != null) {
+            this.stream.close();
+            this.stream = null;
+        }
+    }
+
+    /**
+     * Load the next block.
+     *
+     * @return  boolean     False when there are no more blocks
+     * @throws  java.io.IOException When a block is corrupt
+     */
+    private boolean nextBlock() throws IOException {
+        while (true) {
+            if (this.stream == null) {
+                if (this.nextSegment >= this.segments.size())
+                    return false;
+
+                final var segment = this.segments.get(this.nextSegment++);
+
+                this.stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)));
+
+                RecordLog.readSegmentHeader(this.stream, segment, this.engine.getFormatFlags());
+
+                this.segmentSize = Files.size(segment);
+                this.position = RecordLog.SEGMENT_HEADER_SIZE;
+            }
+
+            final var segment = this.segments.get(this.nextSegment - 1);
+
+            try {
+                this.stream.readByte();
+
+                final int length = this.stream.readInt();
+                final int count = this.stream.readInt();
+                final int checksum = this.stream.readInt();
+
+                this.position += RecordLog.BLOCK_HEADER_SIZE;
+
+                if (length < 0)
+                    throw new IOException("Block length " + length + " at " + this.position + " is negative in segment " + segment);
+
+                /* A writer may have appended since the size was taken */
+
+                if (length > this.segmentSize - this.position)
+                    this.segmentSize = Files.size(segment);
+
+                if (length > this.segmentSize - this.position) {
+                    if (this.nextSegment < this.segments.size())
+                        throw new IOException("Block length " + length + " at " + this.position + " runs past the end of segment " + segment);
+
+                    throw new EOFException("Partly written block at " + this.position + " in segment " + segment);
+                }
+
+                if (this.payload.length < length)
+                    this.payload = new byte[length];
+
+                this.stream.readFully(this.payload, 0, length);
+
+                this.position += length;
+
+                this.crc.reset();
+                this.crc.update(this.payload, 0, length);
+
+                if ((int) this.crc.getValue() != checksum)
+                    throw new IOException("Block checksum mismatch in segment " + segment);
+
+                this.input.setBuffer(this.payload, 0, length);
+                this.remaining = count;
+
+                return true;
+            } catch (final EOFException eofe) {
+                this.logger.trace("End of segment {}", segment);
+
+                this.stream.close();
+                this.stream = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package net.jmp.demo.kryo5.recordlog;
+
+/*
+ * (#)RecordLogWriter.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.ByteBufferOutput;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.function.Function;
+
+import java.util.zip.CRC32;
+
+import net.jmp.demo.kryo5.config.ConfigRecordLog;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Appends records to a record log.
+ *
+ * Records are gathered into a block in memory and the
+ * block is written once it reaches the configured block
+ * size. A new segment is started when the next block
+ * would take the current one past the segment size.
+ *
+ * The block is held in a direct buffer and written to
+ * the segment's file channel together with its header
+ * in one gathering write, so a block costs one system
+ * call and no copy into native memory. The segment
+ * header is written at its position in the file.
+ *
+ * When a key is given the writer also keeps a
+ * primary-key index of each segment, written when
+ * the segment is rolled or the writer is closed.
+ *
+ * A writer is not thread safe and there must be
+ * at most one writer for a directory at a time.
+ *
+ * @param   <T> The type of record
+ */
+public final class RecordLogWriter<T> implements Closeable {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The log directory. */
+    private final Path directory;
+
+    /** The block size. */
+    private final int blockSize;
+
+    /** The segment size. */
+    private final long segmentSize;
+
+    /** Holds one serialized record. */
+    private final Output record;
+
+    /** Holds the records of the current block. */
+    private final ByteBufferOutput block;
+
+    /** The block header. */
+    private final ByteBuffer blockHeader = ByteBuffer.allocateDirect(RecordLog.BLOCK_HEADER_SIZE);
+
+    /** The block header and payload of a gathering write. */
+    private final ByteBuffer[] gather = new ByteBuffer[2];
+
+    /** The block checksum. */
+    private final CRC32 crc = new CRC32();
+
+    /** The number of records in the current block. */
+    private int blockRecords;
+
+    /** The current segment number. */
+    private int segmentNumber;
+
+    /** The size of the current segment. */
+    private long segmentPosition;
+
+    /** The current segment channel. */
+    private FileChannel channel;
+
+    /** The number of records appended by this writer. */
+    private long recordCount;
+
+    /** Extracts the key of a record, or null when the log is not indexed. */
+    private final Function<? super T, String> key;
+
+    /** The index of the current segment, or null when the log is not indexed. */
+    private final RecordIndex index;
+
+    /**
+     * The constructor. Opens the last segment of an
+     * existing log for appending, discarding any block
+     * that was not completely written, or starts a new log.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   directory       java.nio.file.Path
+     * @param   configRecordLog net.jmp.demo.kryo5.config.ConfigRecordLog
+     * @throws  java.io.IOException When the log cannot be opened
+     */
+    public RecordLogWriter(final KryoEngine engine,
+                           final Path directory,
+                           final ConfigRecordLog configRecordLog) throws IOException {
+        this(engine, directory, configRecordLog, null, null);
+    }
+
+    /**
+     * A constructor that also indexes the records by key.
+     * The index of the last segment of an existing log is
+     * loaded, or rebuilt when it is missing or stale.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   directory       java.nio.file.Path
+     * @param   configRecordLog net.jmp.demo.kryo5.config.ConfigRecordLog
+     * @param   type            java.lang.Class&lt;T&gt;
+     * @param   key             java.util.function.Function&lt;? super T, java.lang.String&gt;
+     * @throws  java.io.IOException When the log cannot be opened
+     */
+    public RecordLogWriter(final KryoEngine engine,
+                           final Path directory,
+                           final ConfigRecordLog configRecordLog,
+                           final Class<T> type,
+                           final Function<? super T, String> key) throws IOException {
+        super();
+
+        assert engine != null;
+        assert directory != null;
+        assert configRecordLog != null;
+        assert (type == null) == (key == null);
+
+        this.engine = engine;
+        this.key = key;
+        this.directory = directory;
+        this.blockSize = configRecordLog.getBlockSize();
+        this.segmentSize = configRecordLog.getSegmentSize();
+        this.record = engine.newOutput(1024, -1);
+        this.block = new ByteBufferOutput(ByteBuffer.allocateDirect(this.blockSize + 1024), -1);
+
+        Files.createDirectories(directory);
+
+        final var segments = RecordLog.segments(directory);
+
+        if (segments.isEmpty()) {
+            this.index = key != null ? new RecordIndex() : null;
+            this.openSegment(0);
+        } else {
+            final var last = segments.get(segments.size() - 1);
+
+            this.segmentNumber = RecordLog.segmentNumber(last);
+            this.segmentPosition = this.recover(last);
+
+            if (this.segmentPosition < RecordLog.SEGMENT_HEADER_SIZE) {
+                this.index = key != null ? new RecordIndex() : null;
+                this.openSegment(this.segmentNumber);
+            } else {
+                this.index = key != null ? this.openIndex(last, type) : null;
+                this.channel = FileChannel.open(last, StandardOpenOption.WRITE);
+                this.channel.position(this.segmentPosition);
+            }
+        }
+    }
+
+    /**
+     * Append a record.
+     *
+     * @param   record  T
+     * @throws  java.io.IOException When a block cannot be written
+     */
+    public void append(final T record) throws IOException {
+        assert record != null;
+
+        this.record.reset();
+        this.engine.run(kryo -> kryo.writeObject(this.record, record));
+
+        final int length = this.record.position();
+
+        this.block.writeVarInt(length, true);
+
+        if (this.index != null)
+            this.index.add(this.key.apply(record), this.block.position(), length);
+
+        this.block.writeBytes(this.record.getBuffer(), 0, length);
+        this.blockRecords++;
+        this.recordCount++;
+
+        if (this.block.position() >= this.blockSize)
+            this.writeBlock();
+    }
+
+    /**
+     * Write any records still held in memory.
+     *
+     * @throws  java.io.IOException When the block cannot be written
+     */
+    public void flush() throws IOException {
+        this.writeBlock();
+    }
+
+    /**
+     * Return the number of records appended by this writer.
+     *
+     * @return  long
+     */
+    public long getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * Flush and close the log.
+     *
+     * @throws  java.io.IOException When the last block cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+
+            if (this.index != null)
+                this.index.write(RecordLog.segmentPath(this.directory, this.segmentNumber), this.segmentPosition);
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Write the current block.
+     *
+     * @throws  java.io.IOException When the block cannot be written
+     */
+    private void writeBlock() throws IOException {
+        if (this.blockRecords == 0)
+            return;
+
+        final int length = this.block.position();
+        final long blockBytes = RecordLog.BLOCK_HEADER_SIZE + (long) length;
+
+        if (this.segmentPosition > RecordLog.SEGMENT_HEADER_SIZE && this.segmentPosition + blockBytes > this.segmentSize)
+            this.rollSegment();
+
+        final var payload = this.block.getByteBuffer().duplicate().position(0).limit(length);
+
+        this.crc.reset();
+        this.crc.update(payload);
+
+        this.blockHeader.clear();
+        this.blockHeader.put((byte) 0);
+        this.blockHeader.putInt(length);
+        this.blockHeader.putInt(this.blockRecords);
+        this.blockHeader.putInt((int) this.crc.getValue());
+
+        this.gather[0] = this.blockHeader.flip();
+        this.gather[1] = payload.rewind();
+
+        long remaining = blockBytes;
+
+        while (remaining > 0)
+            remaining -= this.channel.write(this.gather);
+
+        if (this.index != null)
+            this.index.commit(this.segmentPosition + RecordLog.BLOCK_HEADER_SIZE);
+
+        this.segmentPosition += blockBytes;
+        this.block.reset();
+        this.blockRecords = 0;
+    }
+
+    /**
+     * Close the current segment and start the next.
+     *
+     * @throws  java.io.IOException When the segment cannot be created
+     */
+    private void rollSegment() throws IOException {
+        this.channel.close();
+
+        if (this.index != null)
+            this.index.write(RecordLog.segmentPath(this.directory, this.segmentNumber), this.segmentPosition);
+
+        this.openSegment(this.segmentNumber + 1);
+
+        this.logger.debug("Rolled to segment {} in {}", this.segmentNumber, this.directory);
+    }
+
+    /**
+     * Create a segment and write its header at the
+     * start of the file; blocks are appended after it.
+     *
+     * @param   number  int
+     * @throws  java.io.IOException When the segment cannot be created
+     */
+    private void openSegment(final int number) throws IOException {
+        final var header = ByteBuffer.allocate(RecordLog.SEGMENT_HEADER_SIZE)
+                .putInt(RecordLog.MAGIC)
+                .put(RecordLog.VERSION)
+                .put(this.engine.getFormatFlags())
+                .flip();
+
+        this.segmentNumber = number;
+        this.channel = FileChannel.open(RecordLog.segmentPath(this.directory, number),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        while (header.hasRemaining())
+            this.channel.write(header, header.position());
+
+        this.segmentPosition = RecordLog.SEGMENT_HEADER_SIZE;
+        this.channel.position(this.segmentPosition);
+    }
+
+    /**
+     * Load the index of the segment being appended to,
+     * or rebuild it when it does not match the segment.
+     *
+     * @param   segment java.nio.file.Path
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @return          net.jmp.demo.kryo5.recordlog.RecordIndex
+     * @throws  java.io.IOException When the segment cannot be read
+     */
+    private RecordIndex openIndex(final Path segment, final Class<T> type) throws IOException {
+        final var table = RecordIndex.load(segment, this.segmentPosition);
+
+        if (table == null) {
+            this.logger.info("Rebuilding the index of {}", segment);
+
+            return RecordIndex.scan(this.engine, segment, type, this.key);
+        }
+
+        final var index = new RecordIndex();
+
+        index.addAll(table);
+
+        return index;
+    }
+
+    /**
+     * Find the end of the last complete block in a
+     * segment and truncate anything after it. A segment
+     * too short to hold its header was torn while being
+     * created and is rewritten; a header that is present
+     * but not ours fails the open, leaving the file as is.
+     *
+     * @param   segment java.nio.file.Path
+     * @return          long    The length of the segment
+     * @throws  java.io.IOException When the segment cannot be read or its header is not that of a segment this writer can append to
+     */
+    private long recover(final Path segment) throws IOException {
+        if (Files.size(segment) < RecordLog.SEGMENT_HEADER_SIZE) {
+            this.logger.warn("Rewriting the incomplete segment header of {}", segment);
+
+            return 0;
+        }
+
+        final var size = Files.size(segment);
+
+        long validLength = 0;
+
+        try (final var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            RecordLog.readSegmentHeader(input, segment, this.engine.getFormatFlags());
+
+            validLength = RecordLog.SEGMENT_HEADER_SIZE;
+
+            byte[] payload = new byte[0];
+
+            while (true) {
+                input.readByte();
+
+                final int length = input.readInt();
+                final int count = input.readInt();
+                final int checksum = input.readInt();
+
+                if (length < 0 || length > size - validLength - RecordLog.BLOCK_HEADER_SIZE || count < 0)
+                    break;
+
+                if (payload.length < length)
+                    payload = new byte[length];
+
+                input.readFully(payload, 0, length);
+
+                this.crc.reset();
+                this.crc.update(payload, 0, length);
+
+                if ((int) this.crc.getValue() != checksum)
+                    break;
+
+                validLength += RecordLog.BLOCK_HEADER_SIZE + length;
+            }
+        } catch (final EOFException eofe) {
+            this.logger.trace("End of segment {}", segment);
+        }
+
+        if (size != validLength) {
+            this.logger.warn("Truncating {} from {} to {} bytes", segment, size, validLength);
+
+            try (final var channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+
+        return validLength;
+    }
+}
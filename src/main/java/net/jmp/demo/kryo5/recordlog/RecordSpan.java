@@ -0,0 +1,174 @@
+package net.jmp.demo.kryo5.recordlog;
+
+/*
+ * (#)RecordSpan.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A run of stored records in a record log segment
+ * that can be sent to a channel without being read
+ * into the heap.
+ *
+ * The run is laid out as in a block payload, each
+ * record a varint length followed by its Kryo
+ * encoding. The first skip records of the run are
+ * not part of the result; the count records after
+ * them are, and any records after those are not.
+ *
+ * A span reads from the segment channels of the
+ * index that located it and is only valid until
+ * that index is closed.
+ */
+public final class RecordSpan {
+    /** The segment channel. */
+    private final FileChannel channel;
+
+    /** The position of the run in the segment. */
+    private final long position;
+
+    /** The length of the run in bytes. */
+    private final int length;
+
+    /** The number of leading records that are not part of the result. */
+    private final int skip;
+
+    /** The number of records that are part of the result. */
+    private final int count;
+
+    /**
+     * The constructor.
+     *
+     * @param   channel     java.nio.channels.FileChannel
+     * @param   position    long
+     * @param   length      int
+     * @param   skip        int
+     * @param   count       int
+     */
+    RecordSpan(final FileChannel channel, final long position, final int length, final int skip, final int count) {
+        super();
+
+        assert channel != null;
+        assert position >= 0;
+        assert length >= 0;
+        assert skip >= 0;
+        assert count >= 0;
+
+        this.channel = channel;
+        this.position = position;
+        this.length = length;
+        this.skip = skip;
+        this.count = count;
+    }
+
+    /**
+     * Return the length of the run in bytes.
+     *
+     * @return  int
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Return the number of leading records
+     * that are not part of the result.
+     *
+     * @return  int
+     */
+    public int getSkip() {
+        return this.skip;
+    }
+
+    /**
+     * Return the number of records that
+     * are part of the result.
+     *
+     * @return  int
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Transfer the rest of the run to a channel
+     * straight from the segment file. Fewer bytes
+     * than are left may be transferred, such as when
+     * the target is a non-blocking socket whose send
+     * buffer is full.
+     *
+     * @param   transferred long    The number of bytes of the run already transferred
+     * @param   target      java.nio.channels.WritableByteChannel
+     * @return              long    The number of bytes transferred by this call
+     * @throws  java.io.IOException When the run cannot be transferred
+     */
+    public long transferTo(final long transferred, final WritableByteChannel target) throws IOException {
+        assert transferred >= 0 && transferred <= this.length;
+        assert target != null;
+
+        return this.channel.transferTo(this.position + transferred, this.length - transferred, target);
+    }
+
+    /**
+     * Return the segment channel.
+     *
+     * @return  java.nio.channels.FileChannel
+     */
+    FileChannel getChannel() {
+        return this.channel;
+    }
+
+    /**
+     * Return the position of the run in the segment.
+     *
+     * @return  long
+     */
+    long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * The to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return "RecordSpan{" +
+                "position=" + this.position +
+                ", length=" + this.length +
+                ", skip=" + this.skip +
+                ", count=" + this.count +
+                '}';
+    }
+}
@@ -0,0 +1,356 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)MessageClient.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.jmp.demo.kryo5.config.ConfigMessaging;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.server.MessageProtocol.Message;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * A pipelining client of the message server.
+ *
+ * Sending a request returns at once with a future of
+ * its response. A writing thread sends the requests
+ * queued since its last write together, in as few
+ * frames as the batch size allows, and a reading thread
+ * completes each future when the response with its
+ * correlation id arrives, in whatever order that is.
+ * Senders wait while the most requests that are allowed
+ * are waiting for responses.
+ *
+ * Requests may be sent from many threads. Futures are
+ * completed on the reading thread.
+ */
+public final class MessageClient implements Closeable {
+    /** Tells the writing thread to stop. */
+    private static final Message STOP = new Message(-1, MessageProtocol.OK, null);
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The socket. */
+    private final Socket socket;
+
+    /** Writes frames of requests. */
+    private final MessageWriter writer;
+
+    /** Reads frames of responses. */
+    private final MessageReader reader;
+
+    /** The largest number of requests taken from the queue at once. */
+    private final int maxBatchMessages;
+
+    /** The requests waiting to be written. */
+    private final BlockingQueue<Message> requests = new LinkedBlockingQueue<>();
+
+    /** The futures of the requests waiting for responses, by correlation id. */
+    private final Map<Integer, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+
+    /** Limits the requests waiting for responses. */
+    private final Semaphore permits;
+
+    /** The next correlation id. */
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /** The writing thread. */
+    private final Thread writingThread;
+
+    /** The reading thread. */
+    private final Thread readingThread;
+
+    /** True once the client is closed. */
+    private volatile boolean closed;
+
+    /** True once either client thread has stopped. */
+    private volatile boolean disconnected;
+
+    /**
+     * The constructor. Connects to the server, checks
+     * its greeting and starts the client threads.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   address         java.net.InetSocketAddress
+     * @param   configMessaging net.jmp.demo.kryo5.config.ConfigMessaging
+     * @throws  java.io.IOException When the server cannot be reached or its messages cannot be read by the engine
+     */
+    public MessageClient(final KryoEngine engine,
+                         final InetSocketAddress address,
+                         final ConfigMessaging configMessaging) throws IOException {
+        super();
+
+        assert engine != null;
+        assert address != null;
+        assert configMessaging != null;
+        assert configMessaging.getMaxInFlight() > 0;
+        assert configMessaging.getMaxBatchMessages() > 0;
+
+        this.maxBatchMessages = configMessaging.getMaxBatchMessages();
+        this.permits = new Semaphore(configMessaging.getMaxInFlight());
+        this.socket = new Socket();
+
+        try {
+            this.socket.setTcpNoDelay(true);
+            this.socket.connect(address);
+
+            final var input = new BufferedInputStream(this.socket.getInputStream(), 64 * 1024);
+
+            MessageProtocol.readGreeting(input, engine.getFormatFlags(), address);
+
+            this.reader = new MessageReader(engine, input, configMessaging.getMaxFrameSize());
+            this.writer = new MessageWriter(engine,
+                    new BufferedOutputStream(this.socket.getOutputStream(), 64 * 1024),
+                    configMessaging.getBatchBytes(),
+                    configMessaging.getMaxFrameSize());
+        } catch (final IOException ioe) {
+            this.socket.close();
+
+            throw ioe;
+        }
+
+        this.writingThread = Thread.ofPlatform().name("message-client-writer").daemon().start(this::writeLoop);
+        this.readingThread = Thread.ofPlatform().name("message-client-reader").daemon().start(this::readLoop);
+    }
+
+    /**
+     * Send a request. The future completes with the
+     * response, or fails if the server could not
+     * handle the request or the connection is lost.
+     *
+     * @param   <T>             The type of response
+     * @param   request         java.lang.Object
+     * @param   responseType    java.lang.Class&lt;T&gt;
+     * @return                  java.util.concurrent.CompletableFuture&lt;T&gt;
+     * @throws  java.io.IOException When the client is closed or the caller is interrupted
+     */
+    public <T> CompletableFuture<T> send(final Object request, final Class<T> responseType) throws IOException {
+        assert request != null;
+        assert responseType != null;
+
+        if (this.closed)
+            throw new IOException("Message client is closed");
+
+        try {
+            this.permits.acquire();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted waiting for a response to make room for another request");
+        }
+
+        final var id = this.nextId.getAndIncrement();
+        final var future = new CompletableFuture<Object>();
+
+        this.pending.put(id, future);
+        this.requests.add(new Message(id, MessageProtocol.OK, request));
+
+        /* A request queued after a client thread stopped would never be answered */
+
+        if (this.disconnected)
+            this.fail(id, new IOException("Message client is disconnected"));
+
+        return future.thenApply(responseType::cast);
+    }
+
+    /**
+     * Return the number of frames of requests written.
+     *
+     * @return  long
+     */
+    public long getFrameCount() {
+        return this.writer.getFrameCount();
+    }
+
+    /**
+     * Return the number of requests written.
+     *
+     * @return  long
+     */
+    public long getRequestCount() {
+        return this.writer.getMessageCount();
+    }
+
+    /**
+     * Stop sending, wait for the responses to the
+     * requests already sent and close the connection.
+     *
+     * @throws  java.io.IOException When the caller is interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed)
+            return;
+
+        this.closed = true;
+        this.requests.add(STOP);
+
+        try {
+            this.writingThread.join();
+            this.readingThread.join();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted waiting for the message client threads");
+        } finally {
+            this.socket.close();
+        }
+    }
+
+    /**
+     * Write requests in batches until the client is
+     * closed, then shut the sending side of the
+     * connection down. Runs on the writing thread.
+     */
+    private void writeLoop() {
+        final List<Message> batch = new ArrayList<>(this.maxBatchMessages);
+        var running = true;
+
+        try {
+            while (running) {
+                batch.add(this.requests.take());
+
+                this.requests.drainTo(batch, this.maxBatchMessages - 1);
+
+                running = !batch.remove(STOP);
+
+                this.writer.write(batch, (request, re) -> this.fail(request.getId(), re));
+
+                batch.clear();
+            }
+
+            this.socket.shutdownOutput();
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+
+            try {
+                this.socket.close();
+            } catch (final IOException e) {
+                ioe.addSuppressed(e);
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.disconnected = true;
+
+        final var unsent = new ArrayList<Message>();
+
+        this.requests.drainTo(unsent);
+        unsent.forEach(request -> this.fail(request.getId(), new IOException("Message client is closed")));
+    }
+
+    /**
+     * Complete futures with responses until the
+     * server closes the connection, then fail any
+     * left unanswered. Runs on the reading thread.
+     */
+    private void readLoop() {
+        IOException closedException = null;
+
+        try {
+            List<Message> frame;
+
+            while ((frame = this.reader.read()) != null) {
+                for (final var response : frame) {
+                    final var future = this.pending.remove(response.getId());
+
+                    if (future == null) {
+                        this.logger.warn("Response to unknown request {}", response.getId());
+
+                        continue;
+                    }
+
+                    this.permits.release();
+
+                    if (response.getStatus() == MessageProtocol.OK)
+                        future.complete(response.getBody());
+                    else
+                        future.completeExceptionally(new IOException("Message server error: " + response.getBody()));
+                }
+            }
+        } catch (final IOException ioe) {
+            closedException = ioe;
+        } catch (final KryoException ke) {
+            closedException = new IOException(ke);
+        }
+
+        this.disconnected = true;
+
+        final var exception = closedException != null ? closedException : new IOException("Connection closed before the response arrived");
+
+        for (final var id : List.copyOf(this.pending.keySet()))
+            this.fail(id, exception);
+    }
+
+    /**
+     * Fail the future of a request.
+     *
+     * @param   id          int
+     * @param   throwable   java.lang.Throwable
+     */
+    private void fail(final int id, final Throwable throwable) {
+        final var future = this.pending.remove(id);
+
+        if (future != null) {
+            this.permits.release();
+
+            future.completeExceptionally(throwable);
+        }
+    }
+}
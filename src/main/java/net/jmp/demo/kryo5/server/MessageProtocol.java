@@ -0,0 +1,198 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)MessageProtocol.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.nio.ByteBuffer;
+
+import net.jmp.demo.kryo5.engine.FormatFlags;
+
+/**
+ * The wire protocol of the message server.
+ *
+ * On connecting, the server sends a greeting:
+ *
+ *   int  magic ('KMSG')
+ *   byte version
+ *   byte format flags (the engine's format flags)
+ *
+ * after which both sides send frames, each one:
+ *
+ *   int  length of the rest of the frame
+ *   int  message count
+ *
+ * followed by the messages, written with a Kryo output
+ * in the engine's byte order and integer encoding:
+ *
+ *   varint correlation id
+ *   byte   status
+ *   object the body, by writeClassAndObject, if the status is OK
+ *   string the error message if the status is ERROR
+ *
+ * The frame header is big-endian. A client numbers its
+ * requests and the server answers each one with the same
+ * correlation id, in whatever order the answers are ready.
+ * Many messages travel in one frame and a client need
+ * not wait for an answer before sending more requests.
+ * A client that shuts its side of the connection down
+ * is sent the answers to every request it has sent
+ * before the server closes the connection.
+ */
+final class MessageProtocol {
+    /** The greeting magic number. */
+    static final int MAGIC = 0x4B4D5347;
+
+    /** The protocol version. */
+    static final byte VERSION = 1;
+
+    /** The size of the greeting. */
+    static final int GREETING_SIZE = 6;
+
+    /** The size of a frame header. */
+    static final int FRAME_HEADER_SIZE = 8;
+
+    /** The body follows. */
+    static final byte OK = 0;
+
+    /** The request failed; an error message follows. */
+    static final byte ERROR = 1;
+
+    /**
+     * The default constructor.
+     */
+    private MessageProtocol() {
+        super();
+    }
+
+    /**
+     * Write the greeting.
+     *
+     * @param   stream      java.io.OutputStream
+     * @param   formatFlags byte
+     * @throws  java.io.IOException When the greeting cannot be written
+     */
+    static void writeGreeting(final OutputStream stream, final byte formatFlags) throws IOException {
+        stream.write(ByteBuffer.allocate(GREETING_SIZE)
+                .putInt(MAGIC)
+                .put(VERSION)
+                .put(formatFlags)
+                .array());
+        stream.flush();
+    }
+
+    /**
+     * Read and check the greeting, refusing a server
+     * whose messages are written in another byte order
+     * or integer encoding.
+     *
+     * @param   stream      java.io.InputStream
+     * @param   formatFlags byte    The format flags of the engine
+     * @param   server      java.lang.Object    Names the server in errors
+     * @throws  java.io.IOException When the greeting is not valid
+     */
+    static void readGreeting(final InputStream stream, final byte formatFlags, final Object server) throws IOException {
+        final var greeting = new DataInputStream(stream);
+        final var magic = greeting.readInt();
+        final var version = greeting.readByte();
+        final var flags = greeting.readByte();
+
+        if (magic != MAGIC)
+            throw new IOException("Not a message server: " + server);
+
+        if (version != VERSION)
+            throw new IOException("Unsupported message server version " + version + ": " + server);
+
+        if (!FormatFlags.compatible(flags, formatFlags))
+            throw new IOException("Message server sends " + FormatFlags.describe(flags) +
+                    " and cannot be read with " + FormatFlags.describe(formatFlags) + ": " + server);
+    }
+
+    /**
+     * One message.
+     */
+    static final class Message {
+        /** The correlation id. */
+        private final int id;
+
+        /** The status. */
+        private final byte status;
+
+        /** The body, or the error message if the status is ERROR. */
+        private final Object body;
+
+        /**
+         * The constructor.
+         *
+         * @param   id      int
+         * @param   status  byte
+         * @param   body    java.lang.Object
+         */
+        Message(final int id, final byte status, final Object body) {
+            super();
+
+            this.id = id;
+            this.status = status;
+            this.body = body;
+        }
+
+        /**
+         * Return the correlation id.
+         *
+         * @return  int
+         */
+        int getId() {
+            return this.id;
+        }
+
+        /**
+         * Return the status.
+         *
+         * @return  byte
+         */
+        byte getStatus() {
+            return this.status;
+        }
+
+        /**
+         * Return the body, or the error
+         * message if the status is ERROR.
+         *
+         * @return  java.lang.Object
+         */
+        Object getBody() {
+            return this.body;
+        }
+    }
+}
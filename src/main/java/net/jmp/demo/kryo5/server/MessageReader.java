@@ -0,0 +1,132 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)MessageReader.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.server.MessageProtocol.Message;
+
+/**
+ * Reads frames of messages from a stream and
+ * decodes each frame with one Kryo instance.
+ *
+ * A reader is used by one thread at a time.
+ */
+final class MessageReader {
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The stream. */
+    private final DataInputStream stream;
+
+    /** The largest frame in bytes. */
+    private final int maxFrameSize;
+
+    /** Decodes frames. */
+    private final Input input;
+
+    /** Holds the frame being decoded. */
+    private byte[] frame = new byte[1024];
+
+    /**
+     * The constructor.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   stream          java.io.InputStream
+     * @param   maxFrameSize    int
+     */
+    MessageReader(final KryoEngine engine, final InputStream stream, final int maxFrameSize) {
+        super();
+
+        assert engine != null;
+        assert stream != null;
+
+        this.engine = engine;
+        this.stream = new DataInputStream(stream);
+        this.maxFrameSize = maxFrameSize;
+        this.input = engine.newInput();
+    }
+
+    /**
+     * Read and decode the next frame.
+     *
+     * @return  java.util.List&lt;net.jmp.demo.kryo5.server.MessageProtocol.Message&gt;    Or null at the end of the stream
+     * @throws  java.io.IOException When the frame cannot be read or is too large
+     */
+    List<Message> read() throws IOException {
+        final int length;
+
+        try {
+            length = this.stream.readInt();
+        } catch (final EOFException eofe) {
+            return null;
+        }
+
+        if (length < Integer.BYTES || length > this.maxFrameSize - Integer.BYTES)
+            throw new IOException("Frame of " + length + " bytes is not valid");
+
+        final int count = this.stream.readInt();
+        final int size = length - Integer.BYTES;
+
+        if (count < 0)
+            throw new IOException("Frame of " + count + " messages is not valid");
+
+        if (this.frame.length < size)
+            this.frame = new byte[Math.max(size, this.frame.length * 2)];
+
+        this.stream.readFully(this.frame, 0, size);
+        this.input.setBuffer(this.frame, 0, size);
+
+        final List<Message> messages = new ArrayList<>(count);
+
+        this.engine.run(kryo -> {
+            for (int i = 0; i < count; i++) {
+                final int id = this.input.readVarInt(true);
+                final byte status = this.input.readByte();
+                final Object body = status == MessageProtocol.OK ? kryo.readClassAndObject(this.input) : this.input.readString();
+
+                messages.add(new Message(id, status, body));
+            }
+        });
+
+        return messages;
+    }
+}
@@ -0,0 +1,480 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)MessageServer.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.function.Function;
+
+import net.jmp.demo.kryo5.config.ConfigMessaging;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.server.MessageProtocol.Message;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * A TCP server that answers Kryo-encoded request
+ * objects with the objects a handler returns.
+ *
+ * Each connection has a thread that reads frames of
+ * requests and a thread that writes frames of responses.
+ * Requests are handled by a pool of worker threads and
+ * each response is sent, with the correlation id of its
+ * request, as soon as it is ready, so responses may
+ * overtake one another. The responses that are ready
+ * when the writing thread gets to them go out together
+ * in as few frames as the batch size allows. A
+ * connection stops reading requests while it has the
+ * most requests waiting for responses that are allowed.
+ *
+ * The protocol is described by
+ * net.jmp.demo.kryo5.server.MessageProtocol.
+ */
+public final class MessageServer implements Closeable {
+    /** Tells a connection's writing thread to stop. */
+    private static final Message STOP = new Message(-1, MessageProtocol.OK, null);
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** Answers each request. */
+    private final Function<Object, Object> handler;
+
+    /** The messaging configuration. */
+    private final ConfigMessaging configMessaging;
+
+    /** The listening socket. */
+    private final ServerSocket serverSocket;
+
+    /** Handles requests, or null to handle them on the reading thread. */
+    private final ExecutorService workers;
+
+    /** The accepting thread. */
+    private final Thread acceptor;
+
+    /** The open connections. */
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    /** The number of frames of requests read. */
+    private final LongAdder frames = new LongAdder();
+
+    /** The number of requests answered. */
+    private final LongAdder requests = new LongAdder();
+
+    /** True once the server is closed. */
+    private volatile boolean closed;
+
+    /**
+     * The constructor. Binds the listening socket
+     * and starts the accepting thread.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   configMessaging net.jmp.demo.kryo5.config.ConfigMessaging
+     * @param   handler         java.util.function.Function&lt;java.lang.Object, java.lang.Object&gt;
+     * @throws  java.io.IOException When the socket cannot be bound
+     */
+    public MessageServer(final KryoEngine engine,
+                         final ConfigMessaging configMessaging,
+                         final Function<Object, Object> handler) throws IOException {
+        super();
+
+        assert engine != null;
+        assert configMessaging != null;
+        assert handler != null;
+        assert configMessaging.getWorkers() >= 0;
+        assert configMessaging.getMaxInFlight() > 0;
+        assert configMessaging.getMaxBatchMessages() > 0;
+
+        this.engine = engine;
+        this.handler = handler;
+        this.configMessaging = configMessaging;
+        this.serverSocket = new ServerSocket();
+
+        try {
+            this.serverSocket.bind(new InetSocketAddress(configMessaging.getHost(), configMessaging.getPort()));
+        } catch (final IOException ioe) {
+            this.serverSocket.close();
+
+            throw ioe;
+        }
+
+        if (configMessaging.getWorkers() > 0)
+            this.workers = Executors.newFixedThreadPool(configMessaging.getWorkers(),
+                    Thread.ofPlatform().name("message-worker-", 0).daemon().factory());
+        else
+            this.workers = null;
+
+        this.acceptor = Thread.ofPlatform().name("message-server").daemon().start(this::acceptLoop);
+    }
+
+    /**
+     * Return the address the server listens on.
+     *
+     * @return  java.net.InetSocketAddress
+     */
+    public InetSocketAddress getAddress() {
+        return (InetSocketAddress) this.serverSocket.getLocalSocketAddress();
+    }
+
+    /**
+     * Return the number of frames of requests read.
+     *
+     * @return  long
+     */
+    public long getFrameCount() {
+        return this.frames.sum();
+    }
+
+    /**
+     * Return the number of requests answered.
+     *
+     * @return  long
+     */
+    public long getRequestCount() {
+        return this.requests.sum();
+    }
+
+    /**
+     * Stop accepting connections, close the open
+     * ones and wait for every thread to finish.
+     *
+     * @throws  java.io.IOException When the caller is interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed)
+            return;
+
+        this.closed = true;
+        this.serverSocket.close();
+
+        try {
+            this.acceptor.join();
+
+            final var open = List.copyOf(this.connections);
+
+            for (final var connection : open)
+                connection.close();
+
+            for (final var connection : open)
+                connection.join();
+
+            if (this.workers != null) {
+                this.workers.shutdown();
+
+                if (!this.workers.awaitTermination(10, TimeUnit.SECONDS))
+                    this.logger.warn("Message workers did not finish");
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted waiting for the message server threads");
+        }
+    }
+
+    /**
+     * Accept connections until the server is
+     * closed. Runs on the accepting thread.
+     */
+    private void acceptLoop() {
+        while (!this.closed) {
+            try {
+                final var socket = this.serverSocket.accept();
+
+                socket.setTcpNoDelay(true);
+
+                final var connection = new Connection(socket);
+
+                this.connections.add(connection);
+
+                connection.start();
+            } catch (final IOException ioe) {
+                if (!this.closed)
+                    this.logger.catching(ioe);
+            }
+        }
+    }
+
+    /**
+     * One client connection.
+     */
+    private final class Connection {
+        /** The socket. */
+        private final Socket socket;
+
+        /** Reads frames of requests. */
+        private final MessageReader reader;
+
+        /** Writes frames of responses. */
+        private final MessageWriter writer;
+
+        /** The responses waiting to be written. */
+        private final BlockingQueue<Message> responses = new LinkedBlockingQueue<>();
+
+        /** Limits the requests waiting for responses. */
+        private final Semaphore permits;
+
+        /** The requests not yet answered, plus one until the last request is read. */
+        private final AtomicInteger unanswered = new AtomicInteger(1);
+
+        /** The reading thread. */
+        private final Thread readingThread;
+
+        /** The writing thread. */
+        private final Thread writingThread;
+
+        /**
+         * The constructor.
+         *
+         * @param   socket  java.net.Socket
+         * @throws  java.io.IOException When the socket streams cannot be opened
+         */
+        private Connection(final Socket socket) throws IOException {
+            super();
+
+            final var config = MessageServer.this.configMessaging;
+
+            this.socket = socket;
+            this.reader = new MessageReader(MessageServer.this.engine,
+                    new BufferedInputStream(socket.getInputStream(), 64 * 1024),
+                    config.getMaxFrameSize());
+            this.writer = new MessageWriter(MessageServer.this.engine,
+                    new BufferedOutputStream(socket.getOutputStream(), 64 * 1024),
+                    config.getBatchBytes(),
+                    config.getMaxFrameSize());
+            this.permits = new Semaphore(config.getMaxInFlight());
+            this.readingThread = Thread.ofPlatform().name("message-reader").daemon().unstarted(this::readLoop);
+            this.writingThread = Thread.ofPlatform().name("message-writer").daemon().unstarted(this::writeLoop);
+        }
+
+        /**
+         * Start the reading and writing threads.
+         */
+        private void start() {
+            this.writingThread.start();
+            this.readingThread.start();
+        }
+
+        /**
+         * Wait for the reading and writing threads to finish.
+         *
+         * @throws  java.lang.InterruptedException When the caller is interrupted
+         */
+        private void join() throws InterruptedException {
+            this.readingThread.join();
+            this.writingThread.join();
+        }
+
+        /**
+         * Read requests and hand them to the workers until
+         * the client shuts its side of the connection down.
+         * Runs on the reading thread.
+         */
+        private void readLoop() {
+            try {
+                List<Message> frame;
+
+                while ((frame = this.reader.read()) != null) {
+                    MessageServer.this.frames.increment();
+
+                    for (final var request : frame) {
+                        this.permits.acquire();
+                        this.unanswered.incrementAndGet();
+                        this.dispatch(request);
+                    }
+                }
+            } catch (final IOException | KryoException e) {
+                if (!MessageServer.this.closed)
+                    MessageServer.this.logger.debug("Stopped reading from {}: {}", this.socket.getRemoteSocketAddress(), e.getMessage());
+            } catch (final InterruptedException ie) {
+                /* The connection is closing */
+            } finally {
+                this.answered();
+            }
+        }
+
+        /**
+         * Handle a request on a worker, or on
+         * this thread when there are no workers.
+         *
+         * @param   request net.jmp.demo.kryo5.server.MessageProtocol.Message
+         */
+        private void dispatch(final Message request) {
+            if (MessageServer.this.workers == null) {
+                this.handle(request);
+
+                return;
+            }
+
+            try {
+                MessageServer.this.workers.execute(() -> this.handle(request));
+            } catch (final RejectedExecutionException ree) {
+                this.answer(new Message(request.getId(), MessageProtocol.ERROR, "Message server is closing"));
+            }
+        }
+
+        /**
+         * Handle a request and queue its response.
+         *
+         * @param   request net.jmp.demo.kryo5.server.MessageProtocol.Message
+         */
+        private void handle(final Message request) {
+            Message response;
+
+            try {
+                response = new Message(request.getId(), MessageProtocol.OK, MessageServer.this.handler.apply(request.getBody()));
+            } catch (final RuntimeException re) {
+                response = new Message(request.getId(), MessageProtocol.ERROR, String.valueOf(re));
+            }
+
+            this.answer(response);
+        }
+
+        /**
+         * Queue a response.
+         *
+         * @param   response    net.jmp.demo.kryo5.server.MessageProtocol.Message
+         */
+        private void answer(final Message response) {
+            this.responses.add(response);
+
+            MessageServer.this.requests.increment();
+
+            this.answered();
+        }
+
+        /**
+         * Count one request or the end of the requests as
+         * answered, stopping the writing thread once the
+         * last request has been read and answered.
+         */
+        private void answered() {
+            if (this.unanswered.decrementAndGet() == 0)
+                this.responses.add(STOP);
+        }
+
+        /**
+         * Send the greeting and then write responses in
+         * batches until every request has been answered.
+         * Runs on the writing thread.
+         */
+        private void writeLoop() {
+            final var maxBatchMessages = MessageServer.this.configMessaging.getMaxBatchMessages();
+            final List<Message> batch = new ArrayList<>(maxBatchMessages);
+            final List<Message> failed = new ArrayList<>();
+            var running = true;
+
+            try {
+                MessageProtocol.writeGreeting(this.socket.getOutputStream(), MessageServer.this.engine.getFormatFlags());
+
+                while (running) {
+                    batch.add(this.responses.take());
+
+                    this.responses.drainTo(batch, maxBatchMessages - 1);
+
+                    running = !batch.remove(STOP);
+
+                    this.writer.write(batch, (response, re) ->
+                            failed.add(new Message(response.getId(), MessageProtocol.ERROR, "Response cannot be encoded: " + re)));
+
+                    if (!failed.isEmpty()) {
+                        this.writer.write(failed, (response, re) -> MessageServer.this.logger.catching(re));
+
+                        failed.clear();
+                    }
+
+                    this.permits.release(batch.size());
+
+                    batch.clear();
+                }
+            } catch (final IOException ioe) {
+                if (!MessageServer.this.closed)
+                    MessageServer.this.logger.debug("Stopped writing to {}: {}", this.socket.getRemoteSocketAddress(), ioe.getMessage());
+            } catch (final InterruptedException ie) {
+                /* The connection is closing */
+            } finally {
+                this.close();
+            }
+        }
+
+        /**
+         * Close the socket and stop both threads.
+         */
+        private void close() {
+            MessageServer.this.connections.remove(this);
+
+            try {
+                this.socket.close();
+            } catch (final IOException ioe) {
+                MessageServer.this.logger.catching(ioe);
+            }
+
+            if (Thread.currentThread() != this.readingThread)
+                this.readingThread.interrupt();
+
+            if (Thread.currentThread() != this.writingThread)
+                this.writingThread.interrupt();
+        }
+    }
+}
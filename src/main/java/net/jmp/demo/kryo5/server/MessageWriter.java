@@ -0,0 +1,228 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)MessageWriter.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import java.nio.ByteBuffer;
+
+import java.util.List;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.function.BiConsumer;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.server.MessageProtocol.Message;
+
+/**
+ * Packs batches of messages into frames and writes
+ * them to a stream. A batch is encoded with one Kryo
+ * instance into one buffer, and a frame is sent each
+ * time the buffer reaches the batch size, so many
+ * small messages cost one write instead of one each.
+ *
+ * A writer is used by one thread at a time.
+ */
+final class MessageWriter {
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The stream. */
+    private final OutputStream stream;
+
+    /** The size in bytes at which a frame is sent and another started. */
+    private final int batchBytes;
+
+    /** The largest frame in bytes. */
+    private final int maxFrameSize;
+
+    /** Holds the frame being built. */
+    private final Output output;
+
+    /** The number of frames written. */
+    private final LongAdder frames = new LongAdder();
+
+    /** The number of messages written. */
+    private final LongAdder messages = new LongAdder();
+
+    /**
+     * The constructor.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   stream          java.io.OutputStream
+     * @param   batchBytes      int
+     * @param   maxFrameSize    int
+     */
+    MessageWriter(final KryoEngine engine, final OutputStream stream, final int batchBytes, final int maxFrameSize) {
+        super();
+
+        assert engine != null;
+        assert stream != null;
+        assert batchBytes > 0;
+        assert maxFrameSize > MessageProtocol.FRAME_HEADER_SIZE;
+
+        this.engine = engine;
+        this.stream = stream;
+        this.batchBytes = batchBytes;
+        this.maxFrameSize = maxFrameSize;
+        this.output = engine.newOutput(Math.min(batchBytes, maxFrameSize) + 1024, -1);
+    }
+
+    /**
+     * Write a batch of messages in as few frames as the
+     * batch size allows and flush the stream. A message
+     * that cannot be encoded, or that would not fit in
+     * a frame on its own, is left out and passed to the
+     * failure handler.
+     *
+     * @param   batch   java.util.List&lt;net.jmp.demo.kryo5.server.MessageProtocol.Message&gt;
+     * @param   failed  java.util.function.BiConsumer&lt;net.jmp.demo.kryo5.server.MessageProtocol.Message, java.lang.RuntimeException&gt;
+     * @throws  java.io.IOException When the stream cannot be written
+     */
+    void write(final List<Message> batch, final BiConsumer<Message, RuntimeException> failed) throws IOException {
+        assert batch != null;
+        assert failed != null;
+
+        try {
+            this.engine.run(kryo -> {
+                int count = 0;
+
+                this.output.setPosition(MessageProtocol.FRAME_HEADER_SIZE);
+
+                for (final var message : batch) {
+                    final int start = this.output.position();
+
+                    try {
+                        this.output.writeVarInt(message.getId(), true);
+                        this.output.writeByte(message.getStatus());
+
+                        if (message.getStatus() == MessageProtocol.OK)
+                            kryo.writeClassAndObject(this.output, message.getBody());
+                        else
+                            this.output.writeString((String) message.getBody());
+                    } catch (final RuntimeException re) {
+                        this.output.setPosition(start);
+                        kryo.reset();
+                        failed.accept(message, re);
+
+                        continue;
+                    }
+
+                    final int size = this.output.position() - start;
+
+                    if (MessageProtocol.FRAME_HEADER_SIZE + size > this.maxFrameSize) {
+                        this.output.setPosition(start);
+                        failed.accept(message, new KryoException("Message of " + size + " bytes does not fit in a frame of " + this.maxFrameSize));
+
+                        continue;
+                    }
+
+                    if (this.output.position() > this.maxFrameSize) {
+                        /* Send the messages before this one and start the next frame with it */
+
+                        this.writeFrame(start, count);
+
+                        System.arraycopy(this.output.getBuffer(), start, this.output.getBuffer(), MessageProtocol.FRAME_HEADER_SIZE, size);
+                        this.output.setPosition(MessageProtocol.FRAME_HEADER_SIZE + size);
+
+                        count = 0;
+                    }
+
+                    count++;
+
+                    if (this.output.position() >= this.batchBytes) {
+                        this.writeFrame(this.output.position(), count);
+                        this.output.setPosition(MessageProtocol.FRAME_HEADER_SIZE);
+
+                        count = 0;
+                    }
+                }
+
+                if (count > 0)
+                    this.writeFrame(this.output.position(), count);
+            });
+        } catch (final UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+
+        this.stream.flush();
+    }
+
+    /**
+     * Return the number of frames written.
+     *
+     * @return  long
+     */
+    long getFrameCount() {
+        return this.frames.sum();
+    }
+
+    /**
+     * Return the number of messages written.
+     *
+     * @return  long
+     */
+    long getMessageCount() {
+        return this.messages.sum();
+    }
+
+    /**
+     * Fill in the header of the frame being
+     * built and write it to the stream.
+     *
+     * @param   end     int     The end of the frame in the buffer
+     * @param   count   int     The number of messages in the frame
+     */
+    private void writeFrame(final int end, final int count) {
+        final var buffer = this.output.getBuffer();
+
+        ByteBuffer.wrap(buffer)
+                .putInt(0, end - Integer.BYTES)
+                .putInt(Integer.BYTES, count);
+
+        try {
+            this.stream.write(buffer, 0, end);
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+
+        this.frames.increment();
+        this.messages.add(count);
+    }
+}
@@ -0,0 +1,288 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)RecordClient.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import java.net.InetSocketAddress;
+
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import java.util.function.Function;
+
+import net.jmp.demo.kryo5.engine.FormatFlags;
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+/**
+ * A blocking client of the record server. The
+ * records the server sends are decoded here, so
+ * the engine must register the same classes as
+ * the one that wrote the logs.
+ *
+ * A client is not thread safe.
+ */
+public final class RecordClient implements Closeable {
+    /** The serialization engine. */
+    private final KryoEngine engine;
+
+    /** The socket. */
+    private final SocketChannel socket;
+
+    /** Reads responses. */
+    private final DataInputStream responses;
+
+    /** Sends requests. */
+    private final DataOutputStream requests;
+
+    /** Holds the request being built. */
+    private final ByteArrayOutputStream requestBytes = new ByteArrayOutputStream();
+
+    /** Builds a request. */
+    private final DataOutputStream request = new DataOutputStream(this.requestBytes);
+
+    /** Decodes records. */
+    private final Input input;
+
+    /** Holds the span being decoded. */
+    private byte[] payload = new byte[1024];
+
+    /**
+     * The constructor. Connects to the server
+     * and checks its greeting.
+     *
+     * @param   engine  net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   address java.net.InetSocketAddress
+     * @throws  java.io.IOException When the server cannot be reached or its records cannot be read by the engine
+     */
+    public RecordClient(final KryoEngine engine, final InetSocketAddress address) throws IOException {
+        super();
+
+        assert engine != null;
+        assert address != null;
+
+        this.engine = engine;
+        this.input = engine.newInput();
+        this.socket = SocketChannel.open(address);
+
+        try {
+            this.responses = new DataInputStream(new BufferedInputStream(Channels.newInputStream(this.socket)));
+            this.requests = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(this.socket)));
+
+            final var magic = this.responses.readInt();
+            final var version = this.responses.readByte();
+            final var flags = this.responses.readByte();
+
+            if (magic != RecordProtocol.MAGIC)
+                throw new IOException("Not a record server: " + address);
+
+            if (version != RecordProtocol.VERSION)
+                throw new IOException("Unsupported record server version " + version + ": " + address);
+
+            if (!FormatFlags.compatible(flags, engine.getFormatFlags()))
+                throw new IOException("Record server sends " + FormatFlags.describe(flags) +
+                        " and cannot be read with " + FormatFlags.describe(engine.getFormatFlags()) + ": " + address);
+        } catch (final IOException ioe) {
+            this.socket.close();
+
+            throw ioe;
+        }
+    }
+
+    /**
+     * Get the latest record with the given key
+     * from a record log on the server.
+     *
+     * @param   <T>     The type of record
+     * @param   log     java.lang.String
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @param   key     java.util.function.Function&lt;? super T, java.lang.String&gt;
+     * @param   value   java.lang.String    The key of the record
+     * @return          java.util.Optional&lt;T&gt;
+     * @throws  java.io.IOException When the request fails
+     */
+    public <T> Optional<T> get(final String log,
+                               final Class<T> type,
+                               final Function<? super T, String> key,
+                               final String value) throws IOException {
+        assert log != null;
+        assert type != null;
+        assert key != null;
+        assert value != null;
+
+        for (int skip = 0; ; skip++) {
+            this.begin(RecordProtocol.GET, log);
+            this.request.writeUTF(value);
+            this.request.writeInt(skip);
+
+            final var records = this.send(type);
+
+            if (records == null || records.isEmpty())
+                return Optional.empty();
+
+            /* A different key means its hash collided; ask for the next candidate */
+
+            if (value.equals(key.apply(records.getFirst())))
+                return Optional.of(records.getFirst());
+        }
+    }
+
+    /**
+     * Get a range of records by their position in append
+     * order from a record log on the server. A range that
+     * runs past the end of the log is cut short.
+     *
+     * @param   <T>     The type of record
+     * @param   log     java.lang.String
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @param   first   long    The position of the first record, from zero
+     * @param   count   int     The number of records
+     * @return          java.util.List&lt;T&gt;
+     * @throws  java.io.IOException When the request fails
+     */
+    public <T> List<T> range(final String log, final Class<T> type, final long first, final int count) throws IOException {
+        assert log != null;
+        assert type != null;
+
+        this.begin(RecordProtocol.RANGE, log);
+        this.request.writeLong(first);
+        this.request.writeInt(count);
+
+        final var records = this.send(type);
+
+        return records == null ? List.of() : records;
+    }
+
+    /**
+     * Close the connection.
+     *
+     * @throws  java.io.IOException When the connection cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.socket.close();
+    }
+
+    /**
+     * Start building a request.
+     *
+     * @param   operation   byte
+     * @param   log         java.lang.String
+     * @throws  java.io.IOException When the request cannot be built
+     */
+    private void begin(final byte operation, final String log) throws IOException {
+        this.requestBytes.reset();
+        this.request.writeByte(operation);
+        this.request.writeUTF(log);
+    }
+
+    /**
+     * Send the request that was built and
+     * decode the records of the response.
+     *
+     * @param   <T>     The type of record
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @return          java.util.List&lt;T&gt;    Or null when the server found no record
+     * @throws  java.io.IOException When the request fails
+     */
+    private <T> List<T> send(final Class<T> type) throws IOException {
+        this.requests.writeInt(this.requestBytes.size());
+        this.requestBytes.writeTo(this.requests);
+        this.requests.flush();
+
+        final var status = this.responses.readByte();
+
+        switch (status) {
+            case RecordProtocol.OK -> {
+                final int spans = this.responses.readInt();
+                final List<T> records = new ArrayList<>();
+
+                for (int i = 0; i < spans; i++)
+                    this.readSpan(type, records);
+
+                return records;
+            }
+            case RecordProtocol.NOT_FOUND -> {
+                return null;
+            }
+            case RecordProtocol.ERROR -> throw new IOException("Record server error: " + this.responses.readUTF());
+            default -> throw new IOException("Unknown record server status: " + status);
+        }
+    }
+
+    /**
+     * Read one span and decode its records.
+     *
+     * @param   <T>     The type of record
+     * @param   type    java.lang.Class&lt;T&gt;
+     * @param   records java.util.List&lt;T&gt;    Receives the records
+     * @throws  java.io.IOException When the span cannot be read
+     */
+    private <T> void readSpan(final Class<T> type, final List<T> records) throws IOException {
+        final int skip = this.responses.readInt();
+        final int count = this.responses.readInt();
+        final int length = this.responses.readInt();
+
+        if (this.payload.length < length)
+            this.payload = new byte[Math.max(length, this.payload.length * 2)];
+
+        this.responses.readFully(this.payload, 0, length);
+        this.input.setBuffer(this.payload, 0, length);
+
+        for (int i = 0; i < skip; i++) {
+            final int recordLength = this.input.readVarInt(true);
+
+            this.input.setPosition(this.input.position() + recordLength);
+        }
+
+        this.engine.run(kryo -> {
+            for (int i = 0; i < count; i++) {
+                final int recordLength = this.input.readVarInt(true);
+                final int start = this.input.position();
+
+                records.add(kryo.readObject(this.input, type));
+                this.input.setPosition(start + recordLength);
+            }
+        });
+    }
+}
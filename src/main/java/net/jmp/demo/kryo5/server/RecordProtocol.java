@@ -0,0 +1,107 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)RecordProtocol.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The wire protocol of the record server.
+ *
+ * All integers are big-endian and strings are written
+ * as by java.io.DataOutput.writeUTF. On connecting,
+ * the server sends a greeting:
+ *
+ *   int  magic ('KRSV')
+ *   byte version
+ *   byte format flags (the engine's format flags)
+ *
+ * The client then sends requests, each one:
+ *
+ *   int  length of the rest of the request
+ *   byte operation
+ *   UTF  record log name
+ *
+ * followed for a GET by:
+ *
+ *   UTF  key
+ *   int  number of newer candidates to skip
+ *
+ * and for a RANGE by:
+ *
+ *   long position of the first record in append order
+ *   int  number of records
+ *
+ * Each request is answered in order with a status byte.
+ * An OK response continues with the number of spans,
+ * each one:
+ *
+ *   int  number of leading records to skip
+ *   int  number of records
+ *   int  length of the run in bytes
+ *
+ * followed by the run as it is stored in the log, each
+ * record a varint length and its Kryo encoding. An ERROR
+ * response continues with a UTF message. A NOT_FOUND
+ * response has nothing more.
+ */
+final class RecordProtocol {
+    /** The greeting magic number. */
+    static final int MAGIC = 0x4B525356;
+
+    /** The protocol version. */
+    static final byte VERSION = 1;
+
+    /** The size of the greeting. */
+    static final int GREETING_SIZE = 6;
+
+    /** The size of a span header. */
+    static final int SPAN_HEADER_SIZE = 12;
+
+    /** Get a record by key. */
+    static final byte GET = 1;
+
+    /** Get a range of records by position. */
+    static final byte RANGE = 2;
+
+    /** The records follow. */
+    static final byte OK = 0;
+
+    /** There is no such record. */
+    static final byte NOT_FOUND = 1;
+
+    /** The request failed. */
+    static final byte ERROR = 2;
+
+    /**
+     * The default constructor.
+     */
+    private RecordProtocol() {
+        super();
+    }
+}
@@ -0,0 +1,593 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)RecordServer.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import net.jmp.demo.kryo5.config.ConfigServer;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.recordlog.RecordLogIndex;
+import net.jmp.demo.kryo5.recordlog.RecordSpan;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * A non-blocking TCP server that answers get-by-key
+ * and range requests from record logs, so that other
+ * processes can fetch stored records without reading
+ * and decoding the files themselves.
+ *
+ * One thread runs a selector over every connection.
+ * Records are located through the indexes of the logs
+ * and never decoded: the stored bytes are sent with
+ * FileChannel.transferTo, straight from the page cache
+ * to the socket, and only the small protocol headers
+ * pass through the heap. While a connection has a
+ * response that is not yet fully sent, no more of its
+ * requests are read.
+ *
+ * The indexes are only used by the server thread and
+ * must not be used elsewhere, or closed, until the
+ * server is closed. The protocol is described by
+ * net.jmp.demo.kryo5.server.RecordProtocol.
+ */
+public final class RecordServer implements Closeable {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The record log indexes by name. */
+    private final Map<String, RecordLogIndex<?>> logs;
+
+    /** The greeting sent to each new connection. */
+    private final byte[] greeting;
+
+    /** The largest number of records a range request may ask for. */
+    private final int maxRangeRecords;
+
+    /** The largest request in bytes. */
+    private final int maxRequestSize;
+
+    /** The selector. */
+    private final Selector selector;
+
+    /** The listening channel. */
+    private final ServerSocketChannel serverChannel;
+
+    /** The server thread. */
+    private final Thread server;
+
+    /** The number of requests answered. */
+    private final LongAdder requests = new LongAdder();
+
+    /** The number of record bytes transferred from the logs. */
+    private final LongAdder transferred = new LongAdder();
+
+    /** True once the server is closed. */
+    private volatile boolean closed;
+
+    /**
+     * The constructor. Binds the listening socket
+     * and starts the server thread.
+     *
+     * @param   engine          net.jmp.demo.kryo5.engine.KryoEngine
+     * @param   configServer    net.jmp.demo.kryo5.config.ConfigServer
+     * @param   logs            java.util.Map&lt;java.lang.String, net.jmp.demo.kryo5.recordlog.RecordLogIndex&lt;?&gt;&gt;
+     * @throws  java.io.IOException When the socket cannot be bound
+     */
+    public RecordServer(final KryoEngine engine,
+                        final ConfigServer configServer,
+                        final Map<String, RecordLogIndex<?>> logs) throws IOException {
+        super();
+
+        assert engine != null;
+        assert configServer != null;
+        assert logs != null;
+        assert configServer.getMaxRangeRecords() > 0;
+        assert configServer.getMaxRequestSize() > 0;
+
+        this.logs = Map.copyOf(logs);
+        this.greeting = ByteBuffer.allocate(RecordProtocol.GREETING_SIZE)
+                .putInt(RecordProtocol.MAGIC)
+                .put(RecordProtocol.VERSION)
+                .put(engine.getFormatFlags())
+                .array();
+        this.maxRangeRecords = configServer.getMaxRangeRecords();
+        this.maxRequestSize = configServer.getMaxRequestSize();
+        this.selector = Selector.open();
+
+        try {
+            this.serverChannel = ServerSocketChannel.open();
+        } catch (final IOException ioe) {
+            this.selector.close();
+
+            throw ioe;
+        }
+
+        try {
+            this.serverChannel.bind(new InetSocketAddress(configServer.getHost(), configServer.getPort()));
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        } catch (final IOException ioe) {
+            this.serverChannel.close();
+            this.selector.close();
+
+            throw ioe;
+        }
+
+        this.server = Thread.ofPlatform().name("record-server").daemon().start(this::selectLoop);
+    }
+
+    /**
+     * Return the address the server listens on.
+     *
+     * @return  java.net.InetSocketAddress
+     * @throws  java.io.IOException When the server is closed
+     */
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) this.serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Return the number of requests answered.
+     *
+     * @return  long
+     */
+    public long getRequestCount() {
+        return this.requests.sum();
+    }
+
+    /**
+     * Return the number of record bytes
+     * transferred from the logs.
+     *
+     * @return  long
+     */
+    public long getTransferredBytes() {
+        return this.transferred.sum();
+    }
+
+    /**
+     * Stop the server thread and close every
+     * connection and the listening socket.
+     *
+     * @throws  java.io.IOException When the caller is interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed)
+            return;
+
+        this.closed = true;
+        this.selector.wakeup();
+
+        try {
+            this.server.join();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted waiting for the record server thread");
+        }
+    }
+
+    /**
+     * Accept connections and serve requests until
+     * the server is closed. Runs on the server thread.
+     */
+    private void selectLoop() {
+        while (!this.closed) {
+            try {
+                this.selector.select();
+            } catch (final IOException ioe) {
+                this.logger.catching(ioe);
+
+                break;
+            }
+
+            final var keys = this.selector.selectedKeys().iterator();
+
+            while (keys.hasNext()) {
+                final var key = keys.next();
+
+                keys.remove();
+
+                if (!key.isValid())
+                    continue;
+
+                if (key.isAcceptable()) {
+                    this.accept();
+                } else {
+                    final var connection = (Connection) key.attachment();
+
+                    try {
+                        if (key.isReadable())
+                            connection.read();
+                        else if (key.isWritable())
+                            connection.write();
+                    } catch (final IOException ioe) {
+                        this.logger.debug("Closing connection {}: {}", connection, ioe.getMessage());
+
+                        connection.close();
+                    }
+                }
+            }
+        }
+
+        for (final var key : this.selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (final IOException ioe) {
+                this.logger.catching(ioe);
+            }
+        }
+
+        try {
+            this.selector.close();
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
+
+        this.logger.debug("Answered {} requests, transferring {} record bytes", this.getRequestCount(), this.getTransferredBytes());
+    }
+
+    /**
+     * Accept a connection and greet it.
+     * Runs on the server thread.
+     */
+    private void accept() {
+        SocketChannel socket = null;
+
+        try {
+            socket = this.serverChannel.accept();
+
+            if (socket == null)
+                return;
+
+            socket.configureBlocking(false);
+            socket.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            final var connection = new Connection(socket, socket.register(this.selector, 0));
+
+            connection.queue(ByteBuffer.wrap(this.greeting));
+            connection.write();
+
+            this.logger.debug("Accepted connection {}", connection);
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (final IOException e) {
+                    ioe.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * One client connection. Used only
+     * by the server thread.
+     */
+    private final class Connection {
+        /** The socket. */
+        private final SocketChannel socket;
+
+        /** The selection key. */
+        private final SelectionKey key;
+
+        /** The responses waiting to be sent; byte buffers and transfers. */
+        private final Deque<Object> responses = new ArrayDeque<>();
+
+        /** The requests read but not yet answered, in write mode. */
+        private ByteBuffer requestBuffer = ByteBuffer.allocate(1024);
+
+        /**
+         * The constructor.
+         *
+         * @param   socket  java.nio.channels.SocketChannel
+         * @param   key     java.nio.channels.SelectionKey
+         */
+        private Connection(final SocketChannel socket, final SelectionKey key) {
+            super();
+
+            this.socket = socket;
+            this.key = key;
+            this.key.attach(this);
+        }
+
+        /**
+         * Read what the client has sent and
+         * answer every complete request.
+         *
+         * @throws  java.io.IOException When the connection fails or a request is too large
+         */
+        private void read() throws IOException {
+            if (this.socket.read(this.requestBuffer) < 0) {
+                this.close();
+
+                return;
+            }
+
+            this.requestBuffer.flip();
+
+            while (this.requestBuffer.remaining() >= Integer.BYTES) {
+                final var start = this.requestBuffer.position();
+                final var length = this.requestBuffer.getInt(start);
+
+                if (length < 0 || length > RecordServer.this.maxRequestSize)
+                    throw new IOException("Request of " + length + " bytes is larger than " + RecordServer.this.maxRequestSize);
+
+                if (this.requestBuffer.remaining() < Integer.BYTES + length)
+                    break;
+
+                this.answer(new DataInputStream(new ByteArrayInputStream(this.requestBuffer.array(), start + Integer.BYTES, length)));
+                this.requestBuffer.position(start + Integer.BYTES + length);
+            }
+
+            this.requestBuffer.compact();
+
+            if (this.requestBuffer.position() >= Integer.BYTES) {
+                final var needed = Integer.BYTES + this.requestBuffer.getInt(0);
+
+                if (needed > this.requestBuffer.capacity() && needed <= Integer.BYTES + RecordServer.this.maxRequestSize)
+                    this.requestBuffer = ByteBuffer.allocate(needed).put(this.requestBuffer.flip());
+            }
+
+            this.write();
+        }
+
+        /**
+         * Send as much of the waiting responses as the
+         * socket will take, and read more requests only
+         * once they have all been sent.
+         *
+         * @throws  java.io.IOException When the connection fails
+         */
+        private void write() throws IOException {
+            while (!this.responses.isEmpty()) {
+                if (this.responses.peekFirst() instanceof Transfer transfer) {
+                    final var sent = transfer.span.transferTo(transfer.sent, this.socket);
+
+                    transfer.sent += sent;
+                    RecordServer.this.transferred.add(sent);
+
+                    if (transfer.sent < transfer.span.getLength())
+                        break;
+
+                    this.responses.removeFirst();
+                } else {
+                    final List<ByteBuffer> buffers = new ArrayList<>();
+
+                    for (final var response : this.responses) {
+                        if (!(response instanceof ByteBuffer buffer))
+                            break;
+
+                        buffers.add(buffer);
+                    }
+
+                    this.socket.write(buffers.toArray(new ByteBuffer[0]));
+
+                    while (!this.responses.isEmpty() && this.responses.peekFirst() instanceof ByteBuffer buffer && !buffer.hasRemaining())
+                        this.responses.removeFirst();
+
+                    if (this.responses.peekFirst() instanceof ByteBuffer)
+                        break;
+                }
+            }
+
+            this.key.interestOps(this.responses.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+        }
+
+        /**
+         * Answer one request.
+         *
+         * @param   request java.io.DataInputStream
+         */
+        private void answer(final DataInputStream request) {
+            RecordServer.this.requests.increment();
+
+            try {
+                final var operation = request.readByte();
+                final var name = request.readUTF();
+                final var index = RecordServer.this.logs.get(name);
+
+                if (index == null) {
+                    this.error("Unknown record log: " + name);
+
+                    return;
+                }
+
+                switch (operation) {
+                    case RecordProtocol.GET -> {
+                        final var key = request.readUTF();
+                        final var skip = request.readInt();
+
+                        if (skip < 0)
+                            this.error("Negative number of candidates to skip: " + skip);
+                        else
+                            index.locate(key, skip).ifPresentOrElse(span -> this.ok(List.of(span)), this::notFound);
+                    }
+                    case RecordProtocol.RANGE -> {
+                        final var first = request.readLong();
+                        final var count = request.readInt();
+
+                        if (first < 0 || count < 0)
+                            this.error("Negative range: " + first + ", " + count);
+                        else if (count > RecordServer.this.maxRangeRecords)
+                            this.error("Range of " + count + " records is larger than " + RecordServer.this.maxRangeRecords);
+                        else
+                            this.ok(index.locate(first, count));
+                    }
+                    default -> this.error("Unknown operation: " + operation);
+                }
+            } catch (final EOFException eofe) {
+                this.error("Request is incomplete");
+            } catch (final IOException ioe) {
+                RecordServer.this.logger.catching(ioe);
+
+                this.error(String.valueOf(ioe.getMessage()));
+            }
+        }
+
+        /**
+         * Queue an OK response with its spans.
+         *
+         * @param   spans   java.util.List&lt;net.jmp.demo.kryo5.recordlog.RecordSpan&gt;
+         */
+        private void ok(final List<RecordSpan> spans) {
+            this.queue(ByteBuffer.allocate(Byte.BYTES + Integer.BYTES)
+                    .put(RecordProtocol.OK)
+                    .putInt(spans.size())
+                    .flip());
+
+            for (final var span : spans) {
+                this.queue(ByteBuffer.allocate(RecordProtocol.SPAN_HEADER_SIZE)
+                        .putInt(span.getSkip())
+                        .putInt(span.getCount())
+                        .putInt(span.getLength())
+                        .flip());
+                this.responses.addLast(new Transfer(span));
+            }
+        }
+
+        /**
+         * Queue a NOT_FOUND response.
+         */
+        private void notFound() {
+            this.queue(ByteBuffer.wrap(new byte[] {RecordProtocol.NOT_FOUND}));
+        }
+
+        /**
+         * Queue an ERROR response.
+         *
+         * @param   message java.lang.String
+         */
+        private void error(final String message) {
+            final var bytes = new ByteArrayOutputStream();
+
+            try (final var response = new DataOutputStream(bytes)) {
+                response.writeByte(RecordProtocol.ERROR);
+                response.writeUTF(message);
+            } catch (final IOException ioe) {
+                throw new IllegalStateException(ioe);
+            }
+
+            this.queue(ByteBuffer.wrap(bytes.toByteArray()));
+        }
+
+        /**
+         * Queue bytes to be sent.
+         *
+         * @param   buffer  java.nio.ByteBuffer
+         */
+        private void queue(final ByteBuffer buffer) {
+            this.responses.addLast(buffer);
+        }
+
+        /**
+         * Close the connection.
+         */
+        private void close() {
+            this.key.cancel();
+
+            try {
+                this.socket.close();
+            } catch (final IOException ioe) {
+                RecordServer.this.logger.catching(ioe);
+            }
+        }
+
+        /**
+         * The to-string method.
+         *
+         * @return  java.lang.String
+         */
+        @Override
+        public String toString() {
+            try {
+                return String.valueOf(this.socket.getRemoteAddress());
+            } catch (final IOException ioe) {
+                return "closed";
+            }
+        }
+    }
+
+    /**
+     * A span being transferred to a connection.
+     */
+    private static final class Transfer {
+        /** The span. */
+        private final RecordSpan span;
+
+        /** The number of bytes of the span sent so far. */
+        private long sent;
+
+        /**
+         * The constructor.
+         *
+         * @param   span    net.jmp.demo.kryo5.recordlog.RecordSpan
+         */
+        private Transfer(final RecordSpan span) {
+            super();
+
+            this.span = span;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.jmp.demo.kryo5.values;
+
+/*
+ * (#)PersonValue.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Date;
+
+import net.jmp.demo.kryo5.objects.Person;
+
+/**
+ * An immutable person. The birthday is held as days
+ * since the epoch in an int rather than as a date, so
+ * a person value is one object besides its name.
+ *
+ * @param   name        java.lang.String
+ * @param   age         int
+ * @param   epochDay    int
+ */
+public record PersonValue(String name, int age, int epochDay) {
+    /** The milliseconds in a day. */
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * Convert a person, which must have a birthday.
+     * The time of day of the birthday is dropped.
+     *
+     * @param   person  net.jmp.demo.kryo5.objects.Person
+     * @return          net.jmp.demo.kryo5.values.PersonValue
+     */
+    public static PersonValue from(final Person person) {
+        assert person != null;
+        assert person.getBirthday() != null;
+
+        return new PersonValue(person.getName(), person.getAge(), (int) Math.floorDiv(person.getBirthday().getTime(), MILLIS_PER_DAY));
+    }
+
+    /**
+     * Return the birthday as a new date at midnight UTC.
+     *
+     * @return  java.util.Date
+     */
+    public Date birthday() {
+        return new Date(this.epochDay * MILLIS_PER_DAY);
+    }
+
+    /**
+     * Convert to a person.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Person
+     */
+    public Person toPerson() {
+        final var person = new Person();
+
+        person.setName(this.name);
+        person.setAge(this.age);
+        person.setBirthday(this.birthday());
+
+        return person;
+    }
+}
@@ -0,0 +1,71 @@
+package net.jmp.demo.kryo5.values;
+
+/*
+ * (#)PetValue.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import net.jmp.demo.kryo5.objects.Pet;
+
+/**
+ * An immutable pet.
+ *
+ * @param   type    java.lang.String
+ * @param   name    java.lang.String
+ * @param   color   java.lang.String
+ * @param   age     int
+ */
+public record PetValue(String type, String name, String color, int age) {
+    /**
+     * Convert a pet.
+     *
+     * @param   pet net.jmp.demo.kryo5.objects.Pet
+     * @return      net.jmp.demo.kryo5.values.PetValue
+     */
+    public static PetValue from(final Pet pet) {
+        assert pet != null;
+
+        return new PetValue(pet.getType(), pet.getName(), pet.getColor(), pet.getAge());
+    }
+
+    /**
+     * Convert to a pet.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Pet
+     */
+    public Pet toPet() {
+        final var pet = new Pet();
+
+        pet.setType(this.type);
+        pet.setName(this.name);
+        pet.setColor(this.color);
+        pet.setAge(this.age);
+
+        return pet;
+    }
+}
@@ -0,0 +1,100 @@
+package net.jmp.demo.kryo5.values;
+
+/*
+ * (#)RecordingValue.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import net.jmp.demo.kryo5.objects.Recording;
+
+/**
+ * An immutable recording. The artists are held in an
+ * unmodifiable list, which for one or two artists keeps
+ * them in its own fields rather than in an array. A
+ * recording may name a null artist, as the bean can,
+ * in which case the list is an unmodifiable view of
+ * a copied array.
+ *
+ * @param   title           java.lang.String
+ * @param   label           java.lang.String
+ * @param   artists         java.util.List&lt;java.lang.String&gt;   Or null
+ * @param   timeInMinutes   int
+ */
+public record RecordingValue(String title, String label, List<String> artists, int timeInMinutes) {
+    /**
+     * The canonical constructor. A modifiable list
+     * of artists is copied.
+     *
+     * @param   title           java.lang.String
+     * @param   label           java.lang.String
+     * @param   artists         java.util.List&lt;java.lang.String&gt;   Or null
+     * @param   timeInMinutes   int
+     */
+    public RecordingValue {
+        if (artists != null) {
+            if (artists.stream().anyMatch(Objects::isNull))
+                artists = Collections.unmodifiableList(Arrays.asList(artists.toArray(String[]::new)));
+            else
+                artists = List.copyOf(artists);
+        }
+    }
+
+    /**
+     * Convert a recording.
+     *
+     * @param   recording   net.jmp.demo.kryo5.objects.Recording
+     * @return              net.jmp.demo.kryo5.values.RecordingValue
+     */
+    public static RecordingValue from(final Recording recording) {
+        assert recording != null;
+
+        return new RecordingValue(recording.getTitle(), recording.getLabel(), recording.getArtists(), recording.getTimeInMinutes());
+    }
+
+    /**
+     * Convert to a recording with a modifiable list of artists.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Recording
+     */
+    public Recording toRecording() {
+        final var recording = new Recording();
+
+        recording.setTitle(this.title);
+        recording.setLabel(this.label);
+        recording.setArtists(this.artists == null ? null : new ArrayList<>(this.artists));
+        recording.setTimeInMinutes(this.timeInMinutes);
+
+        return recording;
+    }
+}
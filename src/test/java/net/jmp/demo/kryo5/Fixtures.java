@@ -0,0 +1,124 @@
+package net.jmp.demo.kryo5;
+
+/*
+ * (#)Fixtures.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+/**
+ * The sample objects shared by the tests.
+ *
+ * Each object is made from its sequence number alone,
+ * so a test can make the object it expects again, and
+ * names carry the number so that they can serve as keys.
+ */
+public final class Fixtures {
+    /** The first birthday, at midnight. */
+    private static final long FIRST_BIRTHDAY = -2_891L * 86_400_000L;
+
+    /**
+     * The default constructor.
+     */
+    private Fixtures() {
+        super();
+    }
+
+    /**
+     * Create the person with the given sequence number.
+     *
+     * @param   number  int
+     * @return          net.jmp.demo.kryo5.objects.Person
+     */
+    public static Person newPerson(final int number) {
+        final var person = new Person();
+
+        person.setName("Person " + number);
+        person.setAge(number % 100);
+        person.setBirthday(new Date(FIRST_BIRTHDAY + number * 86_400_000L));
+
+        return person;
+    }
+
+    /**
+     * Create the pet with the given sequence number.
+     *
+     * @param   number  int
+     * @return          net.jmp.demo.kryo5.objects.Pet
+     */
+    public static Pet newPet(final int number) {
+        final var pet = new Pet();
+
+        pet.setType("German Shepherd Dog");
+        pet.setName("Pet " + number);
+        pet.setColor("Black & tan");
+        pet.setAge(number % 15);
+
+        return pet;
+    }
+
+    /**
+     * Create the chair with the given sequence number.
+     *
+     * @param   number  int
+     * @return          net.jmp.demo.kryo5.objects.Chair
+     */
+    public static Chair newChair(final int number) {
+        final var chair = new Chair();
+
+        chair.setColor("Color " + number);
+        chair.setHasWheels(number % 2 == 0);
+
+        return chair;
+    }
+
+    /**
+     * Create the recording with the given sequence number.
+     *
+     * @param   number  int
+     * @return          net.jmp.demo.kryo5.objects.Recording
+     */
+    public static Recording newRecording(final int number) {
+        final var recording = new Recording();
+
+        recording.setTitle("Recording " + number);
+        recording.setLabel("Decca Classics");
+        recording.setArtists(new ArrayList<>(List.of("Elsa Dreisig", "Anna Besson")));
+        recording.setTimeInMinutes(40 + number % 40);
+
+        return recording;
+    }
+}
@@ -1,11 +1,12 @@
 package net.jmp.demo.kryo5;
 
 /*
+ * (#)TestSerializers.java  0.5.0   10/18/2026
  * (#)TestSerializers.java  0.4.0   05/17/2024
  * (#)TestSerializers.java  0.3.0   05/16/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.5.0
  * @since    0.3.0
  *
  * MIT License
@@ -63,7 +64,13 @@ import static org.junit.Assert.*;
 
 import net.jmp.demo.kryo5.config.Config;
 
+import net.jmp.demo.kryo5.custom.CompactFormat;
 import net.jmp.demo.kryo5.custom.PersonSerializer;
+import net.jmp.demo.kryo5.custom.PersonView;
+import net.jmp.demo.kryo5.custom.PetSerializer;
+import net.jmp.demo.kryo5.custom.PetView;
+import net.jmp.demo.kryo5.custom.RecordingSerializer;
+import net.jmp.demo.kryo5.custom.StringDictionary;
 
 import net.jmp.demo.kryo5.objects.Chair;
 import net.jmp.demo.kryo5.objects.Person;
@@ -246,10 +253,11 @@ public class TestSerializers {
     }
 
     /**
-     * Test an object that implements the standard Java serializable interface.
+     * Create a recording.
+     *
+     * @return  net.jmp.demo.kryo5.objects.Recording
      */
-    @Test
-    public void testJavaSerializable() {
+    private Recording newRecording() {
         final Recording recording = new Recording();
         final List<String> artists = new ArrayList<>();
 
@@ -263,6 +271,16 @@ public class TestSerializers {
         recording.setTitle("A Musical Potpurri");
         recording.setTimeInMinutes(69);
 
+        return recording;
+    }
+
+    /**
+     * Test an object that implements the standard Java serializable interface.
+     */
+    @Test
+    public void testJavaSerializable() {
+        final var recording = this.newRecording();
+
         this.kryo.register(Recording.class, new JavaSerializer());
 
         /* Serialize recording */
@@ -278,4 +296,287 @@ public class TestSerializers {
 
         assertEquals(recording, deserializedRecording);
     }
+
+    /**
+     * Test the native recording serializer.
+     */
+    @Test
+    public void testRecordingSerializer() {
+        final var recording = this.newRecording();
+
+        this.kryo.register(Recording.class, new RecordingSerializer());
+
+        /* Serialize recording */
+
+        this.kryo.writeObject(output, recording);
+        this.output.close();
+
+        /* Deserialize */
+
+        final var deserializedRecording = this.kryo.readObject(input, Recording.class);
+
+        this.input.close();
+
+        assertEquals(recording, deserializedRecording);
+
+        /* A recording without artists */
+
+        recording.setArtists(null);
+
+        final var bytes = new Output(64, -1);
+
+        this.kryo.writeObject(bytes, recording);
+
+        assertEquals(recording, this.kryo.readObject(new Input(bytes.toBytes()), Recording.class));
+    }
+
+    /**
+     * Test that the native recording serializer reads
+     * recordings written by the JavaSerializer and that
+     * its own encoding is smaller.
+     */
+    @Test
+    public void testRecordingSerializerReadsJavaSerializer() {
+        final var recording = this.newRecording();
+        final var javaOutput = new Output(512, -1);
+        final var nativeOutput = new Output(512, -1);
+
+        this.kryo.register(Recording.class, new RecordingSerializer());
+
+        this.kryo.writeObject(javaOutput, recording, new JavaSerializer());
+        this.kryo.writeObject(nativeOutput, recording);
+
+        assertEquals(recording, this.kryo.readObject(new Input(javaOutput.toBytes()), Recording.class));
+        assertTrue(nativeOutput.position() < javaOutput.position() / 2);
+    }
+
+    /**
+     * Test that repeated strings are written once
+     * when a string dictionary is installed.
+     */
+    @Test
+    public void testStringDictionary() {
+        final var recording = this.newRecording();
+        final var pet = new Pet();
+
+        pet.setType("German Shepherd Dog");
+        pet.setName("Bailey");
+        pet.setColor(null);
+        pet.setAge(6);
+
+        this.kryo.register(Recording.class, new RecordingSerializer());
+        this.kryo.register(Pet.class);
+
+        final var plain = new Output(4096, -1);
+
+        for (int i = 0; i < 10; i++) {
+            this.kryo.writeObject(plain, recording);
+            this.kryo.writeObject(plain, pet);
+        }
+
+        final var dictionary = new StringDictionary();
+        final var records = new Output(4096, -1);
+
+        dictionary.install(this.kryo);
+
+        for (int i = 0; i < 10; i++) {
+            this.kryo.writeObject(records, recording);
+            this.kryo.writeObject(records, pet);
+        }
+
+        StringDictionary.uninstall(this.kryo);
+
+        assertEquals(6, dictionary.size());
+
+        final var block = new Output(4096, -1);
+
+        dictionary.write(block);
+        block.writeBytes(records.getBuffer(), 0, records.position());
+
+        assertTrue(block.position() < plain.position() / 2);
+
+        final var input = new Input(block.toBytes());
+
+        StringDictionary.read(input, CompactFormat.VERSION).install(this.kryo);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(recording, this.kryo.readObject(input, Recording.class));
+            assertEquals(pet, this.kryo.readObject(input, Pet.class));
+        }
+
+        StringDictionary.uninstall(this.kryo);
+
+        assertTrue(input.end());
+    }
+
+    /**
+     * Test that the compact version 2 formats are
+     * smaller, keep nulls and still read version 1.
+     */
+    @Test
+    public void testCompactFormat() {
+        this.kryo.register(Person.class, new PersonSerializer());
+        this.kryo.register(Pet.class, new PetSerializer());
+        this.kryo.register(Chair.class);
+
+        final var person = new Person();
+
+        person.setName("Wendy Carol");
+        person.setAge(71);
+        person.setBirthday(new Date(-249768000000L));
+
+        final var pet = new Pet();
+
+        pet.setType("German Shepherd Dog");
+        pet.setName("Bailey");
+        pet.setColor("Black & tan");
+        pet.setAge(6);
+
+        final var chair = new Chair();
+
+        chair.setColor("Green");
+        chair.setHasWheels(true);
+
+        /* Version 1, as the serializers used to write it */
+
+        final var v1 = new Output(256, -1);
+
+        v1.writeString(person.getName());
+        v1.writeLong(person.getBirthday().getTime());
+        v1.writeInt(person.getAge());
+        v1.writeString(pet.getType());
+        v1.writeString(pet.getName());
+        v1.writeString(pet.getColor());
+        v1.writeInt(pet.getAge());
+        v1.writeString(chair.getColor());
+        v1.writeBoolean(chair.isHasWheels());
+
+        final var v1Input = new Input(v1.toBytes());
+
+        assertEquals(person, this.kryo.readObject(v1Input, Person.class));
+        assertEquals(pet, this.kryo.readObject(v1Input, Pet.class));
+        assertEquals(chair, this.kryo.readObject(v1Input, Chair.class));
+
+        /* Version 2 */
+
+        final var v2 = new Output(256, -1);
+
+        this.kryo.writeObject(v2, person);
+        this.kryo.writeObject(v2, pet);
+        this.kryo.writeObject(v2, chair);
+
+        assertTrue(v2.position() < v1.position());
+
+        final var v2Input = new Input(v2.toBytes());
+
+        assertEquals(person, this.kryo.readObject(v2Input, Person.class));
+        assertEquals(pet, this.kryo.readObject(v2Input, Pet.class));
+        assertEquals(chair, this.kryo.readObject(v2Input, Chair.class));
+
+        /* Nulls and midnight birthdays */
+
+        final var empty = new Person();
+
+        empty.setAge(-3);
+
+        final var midnight = new Person();
+
+        midnight.setName("Midnight");
+        midnight.setBirthday(new Date(86_400_000L * 10_000));
+
+        final var nulls = new Output(64, -1);
+
+        this.kryo.writeObject(nulls, empty);
+        this.kryo.writeObject(nulls, midnight);
+        this.kryo.writeObject(nulls, new Pet());
+        this.kryo.writeObject(nulls, new Chair());
+
+        final var nullsInput = new Input(nulls.toBytes());
+
+        assertEquals(empty, this.kryo.readObject(nullsInput, Person.class));
+        assertEquals(midnight, this.kryo.readObject(nullsInput, Person.class));
+        assertEquals(new Pet(), this.kryo.readObject(nullsInput, Pet.class));
+        assertEquals(new Chair(), this.kryo.readObject(nullsInput, Chair.class));
+        assertTrue(nullsInput.end());
+    }
+
+    @Test
+    public void testViews() {
+        this.kryo.register(Person.class, new PersonSerializer());
+        this.kryo.register(Pet.class, new PetSerializer());
+
+        final String[] names = {null, "", "A", "Wendy Carol", "\u00c9lodie \u2603 N\u00f8rgaard", "A name well past thirty-two characters long", "\ud83d\udc15"};
+        final var personView = new PersonView();
+        final var petView = new PetView();
+
+        for (final var name : names) {
+            final var person = new Person();
+
+            person.setName(name);
+            person.setAge(name == null ? -5 : name.length());
+            person.setBirthday(name == null ? null : new Date(-249768000000L + name.length() * 3_600_001L));
+
+            final var pet = new Pet();
+
+            pet.setType(name == null ? "Cat" : null);
+            pet.setName(name);
+            pet.setColor(name);
+            pet.setAge(42);
+
+            final var output = new Output(256, -1);
+
+            this.kryo.writeObject(output, person);
+
+            final var personLength = output.position();
+
+            this.kryo.writeObject(output, pet);
+
+            final var bytes = output.toBytes();
+
+            /* Fields after the strings first, so the strings are stepped over */
+
+            personView.reset(bytes, 0, personLength);
+
+            assertEquals(person.getAge(), personView.getAge());
+            assertEquals(person.getBirthday(), personView.getBirthday());
+            assertEquals(person.getName(), personView.getName());
+            assertEquals(person, personView.toPerson());
+
+            petView.reset(bytes, personLength, bytes.length - personLength);
+
+            assertEquals(42, petView.getAge());
+            assertEquals(name, petView.getColor());
+            assertEquals(pet.getType(), petView.getType());
+            assertEquals(pet, petView.toPet());
+
+            /* Version 1 */
+
+            if (name != null) {
+                final var v1 = new Output(256, -1);
+
+                v1.writeString(name);
+                v1.writeLong(person.getBirthday().getTime());
+                v1.writeInt(person.getAge());
+                v1.writeString(pet.getType());
+                v1.writeString(pet.getName());
+                v1.writeString(pet.getColor());
+                v1.writeInt(pet.getAge());
+
+                final var v1Bytes = v1.toBytes();
+
+                personView.reset(v1Bytes);
+
+                assertEquals(person.getAge(), personView.getAge());
+                assertEquals(person.getBirthday().getTime(), personView.getBirthdayMillis());
+                assertEquals(name, personView.getName());
+
+                final var input = new Input(v1Bytes);
+
+                this.kryo.readObject(input, Person.class);
+                petView.reset(v1Bytes, input.position(), v1Bytes.length - input.position());
+
+                assertEquals(pet, petView.toPet());
+            }
+        }
+    }
 }
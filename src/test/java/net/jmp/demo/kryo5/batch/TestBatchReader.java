@@ -0,0 +1,238 @@
+package net.jmp.demo.kryo5.batch;
+
+/*
+ * (#)TestBatchReader.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Comparator;
+import java.util.List;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.config.ConfigBatch;
+import net.jmp.demo.kryo5.config.ConfigEngine;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Pet;
+
+public class TestBatchReader {
+    /** The engine. */
+    private final KryoEngine engine = new KryoEngine(new ConfigEngine());
+
+    /** A configuration with small chunks. */
+    private final ConfigBatch configBatch = new ConfigBatch();
+
+    /** The pets. */
+    private final List<Pet> pets = IntStream.range(0, 5_000).mapToObj(Fixtures::newPet).toList();
+
+    /** The batch directory. */
+    private Path directory;
+
+    /**
+     * Execute before each test.
+     *
+     * @throws  java.io.IOException When the batches cannot be written
+     */
+    @Before
+    public void before() throws IOException {
+        this.configBatch.setParallelism(4);
+        this.configBatch.setChunkSize(64);
+        this.directory = Files.createTempDirectory("batch");
+
+        try (final var writer = new BatchWriter<>(this.engine, Pet.class, this.configBatch)) {
+            writer.write(this.pets, this.directory.resolve("pets.kbt"));
+            writer.writeSegments(this.pets, this.directory.resolve("pets"));
+        }
+    }
+
+    /**
+     * Execute after each test.
+     *
+     * @throws  java.io.IOException When the directory cannot be deleted
+     */
+    @After
+    public void after() throws IOException {
+        try (final Stream<Path> paths = Files.walk(this.directory)) {
+            for (final var path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    /**
+     * Read a batch.
+     *
+     * @param   path    java.nio.file.Path
+     * @param   ordered boolean
+     * @return          java.util.List&lt;net.jmp.demo.kryo5.objects.Pet&gt;
+     * @throws  java.io.IOException When the batch cannot be read
+     */
+    private List<Pet> read(final Path path, final boolean ordered) throws IOException {
+        try (final var reader = new BatchReader<>(this.engine, Pet.class, this.configBatch);
+             final var stream = ordered ? reader.ordered(path) : reader.unordered(path)) {
+            return stream.toList();
+        }
+    }
+
+    /**
+     * Test ordered reads of a file and of segments.
+     *
+     * @throws  java.io.IOException When the batch cannot be read
+     */
+    @Test
+    public void testOrdered() throws IOException {
+        assertEquals(this.pets, this.read(this.directory.resolve("pets.kbt"), true));
+        assertEquals(this.pets, this.read(this.directory.resolve("pets"), true));
+    }
+
+    /**
+     * Test that unordered reads return every record.
+     *
+     * @throws  java.io.IOException When the batch cannot be read
+     */
+    @Test
+    public void testUnordered() throws IOException {
+        final Comparator<Pet> byName = Comparator.comparing(Pet::getName);
+
+        for (final var path : List.of(this.directory.resolve("pets.kbt"), this.directory.resolve("pets"))) {
+            final var read = this.read(path, false);
+
+            assertEquals(this.pets.stream().sorted(byName).toList(), read.stream().sorted(byName).toList());
+        }
+    }
+
+    /**
+     * Test that a stream closed early releases the file.
+     *
+     * @throws  java.io.IOException When the batch cannot be read
+     */
+    @Test
+    public void testPartialRead() throws IOException {
+        try (final var reader = new BatchReader<>(this.engine, Pet.class, this.configBatch);
+             final var stream = reader.ordered(this.directory.resolve("pets.kbt"))) {
+            assertEquals(this.pets.subList(0, 10), stream.limit(10).toList());
+        }
+
+        Files.delete(this.directory.resolve("pets.kbt"));
+    }
+
+    /**
+     * Test that segments of another type are refused.
+     *
+     * @throws  java.io.IOException When the batch cannot be read
+     */
+    @Test(expected = IOException.class)
+    public void testWrongType() throws IOException {
+        try (final var reader = new BatchReader<>(this.engine, String.class, this.configBatch)) {
+            reader.ordered(this.directory.resolve("pets")).close();
+        }
+    }
+
+    /**
+     * Test that chunks with a string dictionary
+     * are smaller and read back the same.
+     *
+     * @throws  java.io.IOException When the batch cannot be used
+     */
+    @Test
+    public void testDictionary() throws IOException {
+        final var file = this.directory.resolve("pets-dictionary.kbt");
+
+        this.configBatch.setDictionary(true);
+
+        try (final var writer = new BatchWriter<>(this.engine, Pet.class, this.configBatch)) {
+            writer.write(this.pets, file);
+            writer.writeSegments(this.pets, this.directory.resolve("pets-dictionary"));
+        }
+
+        assertTrue(Files.size(file) < Files.size(this.directory.resolve("pets.kbt")) * 2 / 3);
+        assertEquals(this.pets, this.read(file, true));
+        assertEquals(this.pets, this.read(this.directory.resolve("pets-dictionary"), true));
+    }
+
+    /**
+     * Test that a dictionary file written before the
+     * compact format still reads, including pets whose
+     * first byte, a dictionary id from 15 up, looks like
+     * a version 2 header byte.
+     *
+     * @throws  java.io.IOException When the batch cannot be used
+     */
+    @Test
+    public void testVersion1Dictionary() throws IOException {
+        final var file = this.directory.resolve("pets-version-1.kbt");
+        final var types = IntStream.range(0, 20).mapToObj(i -> "Type " + i).toList();
+        final var pets = IntStream.range(0, 40).mapToObj(Fixtures::newPet).toList();
+
+        pets.forEach(pet -> pet.setType(types.get(pet.getAge() + 5)));
+
+        /* A dictionary chunk as it was written before the compact format */
+
+        final var chunk = new Output(4096, -1);
+
+        chunk.writeVarInt(types.size() + 1, true);
+
+        for (final var type : types)
+            chunk.writeString(type);
+
+        chunk.writeString("Black & tan");
+
+        for (final var pet : pets) {
+            chunk.writeVarInt(types.indexOf(pet.getType()) + 1, true);
+            chunk.writeString(pet.getName());
+            chunk.writeVarInt(types.size() + 1, true);
+            chunk.writeInt(pet.getAge());
+        }
+
+        try (final var stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            BatchFile.writeHeader(stream, (byte) (BatchFile.FLAG_DICTIONARY | this.engine.getFormatFlags()));
+            BatchFile.writeChunk(stream, new BatchChunk(pets.size(), chunk.getBuffer(), chunk.position()));
+        }
+
+        assertEquals(pets, this.read(file, true));
+    }
+}
@@ -0,0 +1,175 @@
+package net.jmp.demo.kryo5.batch;
+
+/*
+ * (#)TestBatchWriter.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.config.ConfigBatch;
+import net.jmp.demo.kryo5.config.ConfigEngine;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Pet;
+
+public class TestBatchWriter {
+    /** The engine. */
+    private final KryoEngine engine = new KryoEngine(new ConfigEngine());
+
+    /** A configuration with small chunks. */
+    private final ConfigBatch configBatch = new ConfigBatch();
+
+    /** The pets. */
+    private final List<Pet> pets = IntStream.range(0, 2_345).mapToObj(Fixtures::newPet).toList();
+
+    /** The batch directory. */
+    private Path directory;
+
+    /**
+     * Execute before each test.
+     *
+     * @throws  java.io.IOException When the directory cannot be created
+     */
+    @Before
+    public void before() throws IOException {
+        this.configBatch.setParallelism(4);
+        this.configBatch.setChunkSize(100);
+        this.directory = Files.createTempDirectory("batch");
+    }
+
+    /**
+     * Execute after each test.
+     *
+     * @throws  java.io.IOException When the directory cannot be deleted
+     */
+    @After
+    public void after() throws IOException {
+        try (final Stream<Path> paths = Files.walk(this.directory)) {
+            for (final var path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    /**
+     * Decode a batch file sequentially.
+     *
+     * @param   file    java.nio.file.Path
+     * @return          java.util.List&lt;net.jmp.demo.kryo5.objects.Pet&gt;
+     * @throws  java.io.IOException When the file cannot be read
+     */
+    private List<Pet> readFile(final Path file) throws IOException {
+        final List<Pet> read = new ArrayList<>();
+
+        try (final var stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            BatchFile.readHeader(stream, file, this.engine.getFormatFlags());
+
+            BatchChunk chunk;
+
+            while ((chunk = BatchFile.readChunk(stream, file)) != null) {
+                final var input = new Input(chunk.getBytes(), 0, chunk.getLength());
+
+                for (int i = 0; i < chunk.getCount(); i++)
+                    read.add(this.engine.execute(kryo -> kryo.readObject(input, Pet.class)));
+
+                assertTrue(input.end());
+            }
+        }
+
+        return read;
+    }
+
+    /**
+     * Test that chunks are stitched in list order.
+     *
+     * @throws  java.io.IOException When the batch cannot be written
+     */
+    @Test
+    public void testOrderedFile() throws IOException {
+        final var file = this.directory.resolve("pets.kbt");
+
+        try (final var writer = new BatchWriter<>(this.engine, Pet.class, this.configBatch)) {
+            final var size = writer.write(this.pets, file);
+
+            assertEquals(Files.size(file), size);
+        }
+
+        assertEquals(this.pets, this.readFile(file));
+    }
+
+    /**
+     * Test that segments and their manifest cover the list in order.
+     *
+     * @throws  java.io.IOException When the batch cannot be written
+     */
+    @Test
+    public void testSegments() throws IOException {
+        final BatchManifest manifest;
+
+        try (final var writer = new BatchWriter<>(this.engine, Pet.class, this.configBatch)) {
+            manifest = writer.writeSegments(this.pets, this.directory);
+        }
+
+        final var reread = BatchFile.readManifest(this.directory);
+
+        assertEquals(Pet.class.getName(), reread.getType());
+        assertEquals(this.pets.size(), reread.getRecords());
+        assertEquals(24, reread.getSegments().size());
+        assertEquals(manifest.toString(), reread.toString());
+
+        final List<Pet> read = new ArrayList<>();
+
+        for (final var segment : reread.getSegments())
+            read.addAll(this.readFile(this.directory.resolve(segment.getFile())));
+
+        assertEquals(this.pets, read);
+    }
+}
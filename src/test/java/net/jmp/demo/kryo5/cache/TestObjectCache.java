@@ -0,0 +1,113 @@
+package net.jmp.demo.kryo5.cache;
+
+/*
+ * (#)TestObjectCache.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestObjectCache {
+    /**
+     * Test that the least recently used entries are
+     * evicted once the byte budget is exceeded.
+     *
+     * @throws  java.io.IOException When a value cannot be loaded
+     */
+    @Test
+    public void testEviction() throws IOException {
+        final var cache = new ObjectCache<String, byte[]>(100, bytes -> bytes.length);
+        final var loads = new AtomicInteger();
+        final CacheLoader<String, byte[]> loader = key -> {
+            loads.incrementAndGet();
+
+            return new byte[Integer.parseInt(key)];
+        };
+
+        cache.get("40", loader);
+        cache.get("30", loader);
+        cache.get("40", loader);
+        cache.get("50", loader);
+
+        assertTrue(cache.getIfPresent("40").isPresent());
+        assertTrue(cache.getIfPresent("30").isEmpty());
+
+        cache.get("200", loader);
+
+        assertTrue(cache.getIfPresent("200").isEmpty());
+
+        final var statistics = cache.getStatistics();
+
+        assertEquals(4, loads.get());
+        assertEquals(90, statistics.getBytes());
+        assertEquals(2, statistics.getEntries());
+        assertEquals(1, statistics.getEvictions());
+        assertEquals(2, statistics.getHits());
+        assertEquals(6, statistics.getMisses());
+        assertEquals(0.25, statistics.getHitRate(), 1e-9);
+    }
+
+    /**
+     * Test invalidation, including of a value whose
+     * load overlaps the invalidation.
+     *
+     * @throws  java.io.IOException When a value cannot be loaded
+     */
+    @Test
+    public void testInvalidation() throws IOException {
+        final var cache = new ObjectCache<String, String>(100, String::length);
+
+        cache.put("a", "one");
+        cache.put("b", "two");
+        cache.invalidate("a");
+
+        assertTrue(cache.getIfPresent("a").isEmpty());
+        assertEquals("stale", cache.get("a", key -> {
+            cache.invalidate(key);
+
+            return "stale";
+        }));
+        assertTrue(cache.getIfPresent("a").isEmpty());
+        assertEquals("fresh", cache.get("a", key -> "fresh"));
+        assertEquals("fresh", cache.get("a", key -> "other"));
+
+        cache.invalidateAll();
+
+        final var statistics = cache.getStatistics();
+
+        assertEquals(0, statistics.getBytes());
+        assertEquals(0, statistics.getEntries());
+        assertEquals(3, statistics.getInvalidations());
+    }
+}
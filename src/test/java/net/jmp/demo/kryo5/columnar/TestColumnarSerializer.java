@@ -0,0 +1,177 @@
+package net.jmp.demo.kryo5.columnar;
+
+/*
+ * (#)TestColumnarSerializer.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+
+public class TestColumnarSerializer {
+    /** The pet serializer. */
+    private final ColumnarSerializer<Pet> pets = new ColumnarSerializer<>(ColumnSchema.pets());
+
+    /** The person serializer. */
+    private final ColumnarSerializer<Person> persons = new ColumnarSerializer<>(ColumnSchema.persons());
+
+    /**
+     * Create a pet with the nulls, repeated types
+     * and negative ages the columns must handle.
+     *
+     * @param   number  int
+     * @return          net.jmp.demo.kryo5.objects.Pet
+     */
+    private static Pet newPet(final int number) {
+        final var pet = Fixtures.newPet(number);
+
+        if (number % 3 == 0)
+            pet.setType("Labrador Retriever");
+
+        if (number % 7 == 0)
+            pet.setColor(null);
+
+        pet.setAge(pet.getAge() - 2);
+
+        return pet;
+    }
+
+    /**
+     * Create a person with the nulls and birthdays
+     * off midnight the columns must handle.
+     *
+     * @param   number  int
+     * @return          net.jmp.demo.kryo5.objects.Person
+     */
+    private static Person newPerson(final int number) {
+        final var person = Fixtures.newPerson(number);
+
+        if (number % 5 == 0)
+            person.setName(null);
+
+        person.setBirthday(number % 4 == 0 ? null : new Date(person.getBirthday().getTime() - number));
+
+        return person;
+    }
+
+    /**
+     * Write a batch.
+     *
+     * @param   <T>         The type of record
+     * @param   serializer  net.jmp.demo.kryo5.columnar.ColumnarSerializer&lt;T&gt;
+     * @param   records     java.util.List&lt;T&gt;
+     * @return              com.esotericsoftware.kryo.kryo5.io.Output
+     */
+    private static <T> Output write(final ColumnarSerializer<T> serializer, final List<T> records) {
+        final var output = new Output(1024, -1);
+
+        serializer.write(output, records);
+
+        return output;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final var petList = IntStream.range(0, 1_000).mapToObj(TestColumnarSerializer::newPet).toList();
+        final var personList = IntStream.range(0, 1_000).mapToObj(TestColumnarSerializer::newPerson).toList();
+        final var petOutput = write(this.pets, petList);
+        final var personOutput = write(this.persons, personList);
+
+        assertEquals(petList, this.pets.read(new Input(petOutput.getBuffer(), 0, petOutput.position())));
+        assertEquals(personList, this.persons.read(new Input(personOutput.getBuffer(), 0, personOutput.position())));
+        assertTrue(this.pets.read(new Input(write(this.pets, List.of()).toBytes())).isEmpty());
+    }
+
+    @Test
+    public void testSelectedColumns() {
+        final var petList = IntStream.range(0, 100).mapToObj(TestColumnarSerializer::newPet).toList();
+        final var output = write(this.pets, petList);
+        final var input = new Input(output.getBuffer(), 0, output.position() + 1);
+
+        output.getBuffer()[output.position()] = 42;
+
+        final var read = this.pets.read(input, Set.of("name", "age"));
+
+        assertEquals(100, read.size());
+        assertEquals(42, input.readByte());
+
+        for (int i = 0; i < read.size(); i++) {
+            assertEquals(petList.get(i).getName(), read.get(i).getName());
+            assertEquals(petList.get(i).getAge(), read.get(i).getAge());
+            assertNull(read.get(i).getType());
+            assertNull(read.get(i).getColor());
+        }
+
+        final var ages = this.pets.readInts(new Input(output.getBuffer(), 0, output.position()), "age");
+        final var types = this.pets.readStrings(new Input(output.getBuffer(), 0, output.position()), "type");
+
+        assertArrayEquals(petList.stream().mapToInt(Pet::getAge).toArray(), ages);
+        assertEquals(petList.stream().map(Pet::getType).toList(), types);
+    }
+
+    @Test
+    public void testUnknownColumns() {
+        final var output = write(this.pets, List.of(newPet(1)));
+
+        try {
+            this.pets.read(new Input(output.toBytes()), Set.of("owner"));
+
+            fail("Expected an IllegalArgumentException");
+        } catch (final IllegalArgumentException iae) {
+            assertTrue(iae.getMessage().contains("owner"));
+        }
+
+        try {
+            this.pets.readInts(new Input(output.toBytes()), "name");
+
+            fail("Expected an IllegalArgumentException");
+        } catch (final IllegalArgumentException iae) {
+            assertTrue(iae.getMessage().contains("name"));
+        }
+
+        final var narrow = new ColumnarSerializer<>(new ColumnSchema<>(Pet.class, Pet::new)
+                .addInt("age", Pet::getAge, Pet::setAge));
+
+        assertEquals(-1, narrow.read(new Input(output.toBytes())).get(0).getAge());
+    }
+}
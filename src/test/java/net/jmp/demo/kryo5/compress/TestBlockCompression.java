@@ -0,0 +1,173 @@
+package net.jmp.demo.kryo5.compress;
+
+/*
+ * (#)TestBlockCompression.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestBlockCompression {
+    /**
+     * Compress bytes with a small block size.
+     *
+     * @param   bytes   byte[]
+     * @return          byte[]
+     * @throws  java.io.IOException When the bytes cannot be compressed
+     */
+    private byte[] compress(final byte[] bytes) throws IOException {
+        final var compressed = new ByteArrayOutputStream();
+
+        try (final var stream = new BlockCompressingOutputStream(compressed, new DeflateCodec(6), 1000, 2)) {
+            for (int offset = 0; offset < bytes.length; offset += 333)
+                stream.write(bytes, offset, Math.min(333, bytes.length - offset));
+        }
+
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Decompress bytes.
+     *
+     * @param   bytes   byte[]
+     * @return          byte[]
+     * @throws  java.io.IOException When the bytes cannot be decompressed
+     */
+    private byte[] decompress(final byte[] bytes) throws IOException {
+        try (final var stream = new BlockDecompressingInputStream(new ByteArrayInputStream(bytes), new DeflateCodec(6))) {
+            return stream.readAllBytes();
+        }
+    }
+
+    /**
+     * Test that repetitive bytes shrink and round trip.
+     *
+     * @throws  java.io.IOException When the bytes cannot be compressed
+     */
+    @Test
+    public void testCompressibleRoundTrip() throws IOException {
+        final var text = new StringBuilder();
+
+        for (int i = 0; i < 2000; i++)
+            text.append("German Shepherd Dog, Black & tan, ").append(i).append('\n');
+
+        final var bytes = text.toString().getBytes();
+        final var compressed = this.compress(bytes);
+
+        assertTrue(compressed.length < bytes.length / 4);
+        assertArrayEquals(bytes, this.decompress(compressed));
+    }
+
+    /**
+     * Test that random bytes are stored as is.
+     *
+     * @throws  java.io.IOException When the bytes cannot be compressed
+     */
+    @Test
+    public void testIncompressibleRoundTrip() throws IOException {
+        final var bytes = new byte[10_500];
+
+        new Random(42).nextBytes(bytes);
+
+        final var compressed = this.compress(bytes);
+        final int blocks = 11;
+
+        assertEquals(BlockStreams.STREAM_HEADER_SIZE + blocks * BlockStreams.BLOCK_HEADER_SIZE + bytes.length, compressed.length);
+        assertArrayEquals(bytes, this.decompress(compressed));
+    }
+
+    /**
+     * Test that a stream written with another codec is refused.
+     *
+     * @throws  java.io.IOException When the bytes cannot be compressed
+     */
+    @Test(expected = IOException.class)
+    public void testCodecMismatch() throws IOException {
+        final var compressed = this.compress(new byte[100]);
+
+        compressed[5] = 99;
+
+        this.decompress(compressed);
+    }
+
+    /**
+     * Test that a block that cannot be written is
+     * reported, that no later block is written and
+     * that the writer does not run out of free blocks.
+     *
+     * @throws  java.io.IOException When the bytes cannot be compressed
+     */
+    @Test(timeout = 10_000)
+    public void testWriteFailure() throws IOException {
+        final int firstBlockEnd = BlockStreams.STREAM_HEADER_SIZE + BlockStreams.BLOCK_HEADER_SIZE + 1000;
+        final var compressed = new ByteArrayOutputStream();
+        final var failing = new OutputStream() {
+            private boolean failed;
+
+            @Override
+            public void write(final int b) throws IOException {
+                this.write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                if (!this.failed && compressed.size() >= firstBlockEnd) {
+                    this.failed = true;
+
+                    throw new IOException("Disk full");
+                }
+
+                compressed.write(bytes, offset, length);
+            }
+        };
+
+        final var bytes = new byte[100_000];
+
+        new Random(42).nextBytes(bytes);
+
+        final OutputStream stream = new BlockCompressingOutputStream(failing, new DeflateCodec(6), 1000, 2);
+
+        assertThrows(IOException.class, () -> {
+            try (stream) {
+                for (int offset = 0; offset < bytes.length; offset += 333)
+                    stream.write(bytes, offset, Math.min(333, bytes.length - offset));
+            }
+        });
+
+        assertEquals(firstBlockEnd, compressed.size());
+    }
+}
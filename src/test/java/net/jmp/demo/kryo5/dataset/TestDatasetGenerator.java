@@ -0,0 +1,146 @@
+package net.jmp.demo.kryo5.dataset;
+
+/*
+ * (#)TestDatasetGenerator.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+
+import java.util.HashSet;
+
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.config.ConfigDataset;
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigFileAccess;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.io.ObjectFiles;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+public class TestDatasetGenerator {
+    @Test
+    public void testDeterministic() {
+        final var first = new DatasetGenerator(new ConfigDataset());
+        final var second = new DatasetGenerator(new ConfigDataset());
+
+        for (final var type : new Class<?>[] {Person.class, Pet.class, Chair.class, Recording.class})
+            for (final long index : new long[] {0, 1, 12_345, 9_999_999_999L})
+                assertEquals(first.generate(type, index), second.generate(type, index));
+
+        final var configDataset = new ConfigDataset();
+
+        configDataset.setSeed(43);
+
+        final var reseeded = new DatasetGenerator(configDataset);
+
+        assertNotEquals(first.generate(Recording.class, 0), reseeded.generate(Recording.class, 0));
+    }
+
+    @Test
+    public void testRanges() {
+        final var configDataset = new ConfigDataset();
+
+        configDataset.setCount(5_000);
+        configDataset.setNames(300);
+        configDataset.setMinAge(18);
+        configDataset.setMaxAge(65);
+        configDataset.setMinArtists(2);
+        configDataset.setMaxArtists(3);
+
+        final var generator = new DatasetGenerator(configDataset);
+        final var reference = LocalDate.parse(configDataset.getReferenceDate());
+
+        final var names = generator.stream(Person.class)
+                .peek(person -> {
+                    final var birthday = LocalDate.ofInstant(person.getBirthday().toInstant(), ZoneOffset.UTC);
+
+                    assertTrue(person.getAge() >= 18 && person.getAge() <= 65);
+                    assertEquals(person.getAge(), Period.between(birthday, reference).getYears());
+                })
+                .map(Person::getName)
+                .collect(Collectors.toSet());
+
+        assertTrue(names.size() > 100);
+        assertTrue(names.size() <= 300);
+
+        final var artists = new HashSet<String>();
+
+        generator.stream(Recording.class).forEach(recording -> {
+            assertTrue(recording.getArtists().size() >= 2 && recording.getArtists().size() <= 3);
+            assertTrue(recording.getTimeInMinutes() >= 20 && recording.getTimeInMinutes() <= 90);
+
+            artists.addAll(recording.getArtists());
+        });
+
+        assertTrue(artists.size() <= configDataset.getArtists());
+        assertEquals(5_000, generator.stream(Chair.class).count());
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final var configDataset = new ConfigDataset();
+
+        configDataset.setCount(20_000);
+
+        final var generator = new DatasetGenerator(configDataset);
+        final var files = new ObjectFiles(new KryoEngine(new ConfigEngine()), new ConfigFileAccess());
+        final var file = Files.createTempFile("dataset", ".dat");
+
+        try {
+            assertEquals(20_000, generator.write(files, file.toString(), Pet.class));
+
+            final long[] matched = {0};
+            final var read = DatasetGenerator.read(files, file.toString(), Pet.class, (pet, index) -> {
+                if (pet.equals(generator.generate(Pet.class, index)))
+                    matched[0]++;
+            });
+
+            assertEquals(20_000, read);
+            assertEquals(20_000, matched[0]);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
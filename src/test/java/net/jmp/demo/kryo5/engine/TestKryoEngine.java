@@ -0,0 +1,333 @@
+package net.jmp.demo.kryo5.engine;
+
+/*
+ * (#)TestKryoEngine.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import com.esotericsoftware.kryo.kryo5.io.Output;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigWarmUp;
+
+import net.jmp.demo.kryo5.custom.PersonSerializer;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+public class TestKryoEngine {
+    /**
+     * Create an engine with the given pool size.
+     *
+     * @param   poolSize    int
+     * @return              net.jmp.demo.kryo5.engine.KryoEngine
+     */
+    private KryoEngine newEngine(final int poolSize) {
+        final var configEngine = new ConfigEngine();
+
+        configEngine.setPoolSize(poolSize);
+
+        return new KryoEngine(configEngine);
+    }
+
+    /**
+     * Test serializing to and from a byte array.
+     */
+    @Test
+    public void testSerializeDeserialize() {
+        final var engine = this.newEngine(2);
+        final var person = new Person();
+
+        person.setName("Jonathan Martin");
+        person.setAge(62);
+        person.setBirthday(new Date(-249768000000L));
+
+        final var bytes = engine.serialize(person);
+
+        assertEquals(person, engine.deserialize(bytes, Person.class));
+        assertEquals(person, engine.deserialize(bytes, Person.class));
+
+        final var statistics = engine.getKryoStatistics();
+
+        assertEquals(3, statistics.getBorrows());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(2, statistics.getHits());
+        assertEquals(1, statistics.getAvailable());
+    }
+
+    /**
+     * Test writing to and reading from streams.
+     */
+    @Test
+    public void testStreams() {
+        final var engine = this.newEngine(1);
+        final var pet = new Pet();
+
+        pet.setAge(12);
+        pet.setName("Lady");
+        pet.setColor("Black & tan");
+        pet.setType("German Shepherd Dog");
+
+        final var bytes = new ByteArrayOutputStream();
+
+        engine.write(bytes, (kryo, output) -> {
+            kryo.writeObject(output, pet);
+            kryo.writeObject(output, pet);
+        });
+
+        final List<Pet> pets = engine.read(new ByteArrayInputStream(bytes.toByteArray()), (kryo, input) ->
+                List.of(kryo.readObject(input, Pet.class), kryo.readObject(input, Pet.class)));
+
+        assertEquals(List.of(pet, pet), pets);
+        assertEquals(1, engine.getOutputStatistics().getCreated());
+        assertEquals(1, engine.getInputStatistics().getCreated());
+    }
+
+    /**
+     * Test that many virtual threads share a small pool.
+     *
+     * @throws  java.lang.InterruptedException          When interrupted
+     * @throws  java.util.concurrent.ExecutionException When a task fails
+     */
+    @Test
+    public void testConcurrentUse() throws InterruptedException, ExecutionException {
+        final var poolSize = 4;
+        final var tasks = 200;
+        final var engine = this.newEngine(poolSize);
+        final List<Future<Boolean>> futures = new ArrayList<>(tasks);
+
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < tasks; i++) {
+                final var pet = Fixtures.newPet(i);
+
+                futures.add(executor.submit(() -> pet.equals(engine.deserialize(engine.serialize(pet), Pet.class))));
+            }
+        }
+
+        for (final var future : futures)
+            assertTrue(future.get());
+
+        final var statistics = engine.getKryoStatistics();
+
+        assertEquals(tasks * 2L, statistics.getBorrows());
+        assertTrue(statistics.getCreated() <= poolSize);
+        assertEquals(statistics.getCreated(), statistics.getAvailable());
+    }
+
+    /**
+     * Test that borrowers wait once the pool is exhausted.
+     *
+     * @throws  java.lang.InterruptedException  When interrupted
+     */
+    @Test
+    public void testWaits() throws InterruptedException {
+        final var pool = new BoundedPool<>(1, Object::new, object -> { });
+        final var held = pool.obtain();
+        final var waiter = Thread.ofVirtual().start(() -> pool.free(pool.obtain()));
+
+        while (waiter.getState() != Thread.State.WAITING)
+            Thread.onSpinWait();
+
+        pool.free(held);
+        waiter.join();
+
+        final var statistics = pool.getStatistics();
+
+        assertEquals(1, statistics.getCreated());
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getWaits());
+    }
+
+    /**
+     * Test that registration IDs do not depend on the order
+     * of registration and that unlisted classes are refused.
+     */
+    @Test
+    public void testClassRegistry() {
+        final var forwards = new ClassRegistry()
+                .register(20, Pet.class)
+                .register(21, Chair.class)
+                .register(22, Person.class, PersonSerializer::new);
+        final var backwards = new ClassRegistry()
+                .register(22, Person.class, PersonSerializer::new)
+                .register(21, Chair.class)
+                .register(20, Pet.class);
+
+        final var pet = new Pet();
+
+        pet.setName("Lady");
+
+        final var first = new KryoEngine(new ConfigEngine(), forwards).serialize(pet);
+        final var second = new KryoEngine(new ConfigEngine(), backwards).serialize(pet);
+
+        assertArrayEquals(first, second);
+        assertEquals(21, backwards.getId(Chair.class));
+        assertEquals(-1, backwards.getId(Date.class));
+
+        final var kryo = new Kryo();
+
+        forwards.accept(kryo);
+
+        final var output = new Output(64, -1);
+
+        kryo.writeClassAndObject(output, pet);
+
+        assertEquals(20 + 2, output.getBuffer()[0]);
+
+        try {
+            kryo.writeClassAndObject(output, new Date());
+
+            fail("Expected an unregistered class to be refused");
+        } catch (final IllegalArgumentException | KryoException e) {
+            assertTrue(e.getMessage().contains("not registered"));
+        }
+
+        try {
+            forwards.register(20, Date.class);
+
+            fail("Expected a taken ID to be refused");
+        } catch (final IllegalArgumentException iae) {
+            assertTrue(iae.getMessage().contains("taken"));
+        }
+
+        try {
+            forwards.register(23, Pet.class);
+
+            fail("Expected a registered class to be refused");
+        } catch (final IllegalArgumentException iae) {
+            assertTrue(iae.getMessage().contains("already registered"));
+        }
+    }
+
+    /**
+     * Test that the standard registry gives the classes
+     * registered in call order before it existed the
+     * IDs a fresh Kryo instance assigned them then.
+     */
+    @Test
+    public void testStandardRegistryIds() {
+        final var kryo = new Kryo();
+        final List<Class<?>> classes = List.of(Object.class, Date.class, ArrayList.class, Person.class, Pet.class, Chair.class, Recording.class);
+        final var standard = ClassRegistry.standard();
+
+        for (final var type : classes)
+            assertEquals(type.getName(), kryo.register(type).getId(), standard.getId(type));
+
+        assertEquals(ClassRegistry.FIRST_ID, standard.getId(Object.class));
+    }
+
+    /**
+     * Test that a warm-up stays within its
+     * iteration budget and leaves the engine usable.
+     */
+    @Test
+    public void testWarmUp() {
+        final var engine = this.newEngine(2);
+        final var configWarmUp = new ConfigWarmUp();
+
+        configWarmUp.setMaxIterations(300);
+        configWarmUp.setRoundSize(100);
+
+        final var result = new WarmUp(engine, configWarmUp)
+                .sample(Pet.class, () -> Fixtures.newPet(0))
+                .run(List.of(Pet.class, Chair.class, Date.class));
+
+        assertTrue(result.getIterations() <= 300);
+        assertEquals(result.getIterations() / 100, result.getRounds());
+        assertTrue(result.getFirstNanos() > 0);
+
+        final var pet = Fixtures.newPet(1);
+
+        assertEquals(pet, engine.deserialize(engine.serialize(pet), Pet.class));
+    }
+
+    /**
+     * Test serializing, streaming and reading from a
+     * buffer in each I/O mode, including objects larger
+     * than the pooled buffers.
+     */
+    @Test
+    public void testIoModes() {
+        final var pets = new ArrayList<Pet>();
+
+        for (int i = 0; i < 500; i++)
+            pets.add(Fixtures.newPet(i));
+
+        for (final var ioMode : IoMode.values()) {
+            final var configEngine = new ConfigEngine();
+
+            configEngine.setIoMode(ioMode);
+            configEngine.setPoolSize(1);
+            configEngine.setBufferSize(256);
+
+            final var engine = new KryoEngine(configEngine);
+            final var pet = pets.get(0);
+
+            assertEquals(pet, engine.deserialize(engine.serialize(pet), Pet.class));
+            assertEquals(pets, engine.deserialize(engine.serialize(pets), ArrayList.class));
+
+            final var stream = new ByteArrayOutputStream();
+
+            engine.write(stream, (kryo, output) -> kryo.writeObject(output, pets));
+
+            assertEquals(pets, engine.read(new ByteArrayInputStream(stream.toByteArray()), (kryo, input) -> kryo.readObject(input, ArrayList.class)));
+
+            final var buffer = ByteBuffer.allocateDirect(stream.size()).put(stream.toByteArray()).flip();
+
+            assertEquals(pets, engine.execute(kryo -> kryo.readObject(engine.newInput(buffer), ArrayList.class)));
+
+            assertEquals(ioMode == IoMode.SAFE ? 0 : FormatFlags.of(ByteOrder.nativeOrder(), true), engine.getFormatFlags());
+        }
+    }
+
+}
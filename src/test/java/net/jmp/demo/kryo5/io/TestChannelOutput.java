@@ -0,0 +1,164 @@
+package net.jmp.demo.kryo5.io;
+
+/*
+ * (#)TestChannelOutput.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.io.Input;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.engine.BoundedPool;
+
+public class TestChannelOutput {
+    /** The files. */
+    private final Path[] files = new Path[2];
+
+    /**
+     * Execute before each test.
+     *
+     * @throws  java.io.IOException When the files cannot be created
+     */
+    @Before
+    public void before() throws IOException {
+        for (int i = 0; i < this.files.length; i++)
+            this.files[i] = Files.createTempFile("channel-output", ".dat");
+    }
+
+    /**
+     * Execute after each test.
+     *
+     * @throws  java.io.IOException When the files cannot be deleted
+     */
+    @After
+    public void after() throws IOException {
+        for (final var file : this.files)
+            Files.deleteIfExists(file);
+    }
+
+    /**
+     * Open a file for writing.
+     *
+     * @param   file    java.nio.file.Path
+     * @return          java.nio.channels.FileChannel
+     * @throws  java.io.IOException When the file cannot be opened
+     */
+    private FileChannel open(final Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Check that a file holds the ints from 0 to count.
+     *
+     * @param   file    java.nio.file.Path
+     * @param   count   int
+     * @throws  java.io.IOException When the file cannot be read
+     */
+    private void assertInts(final Path file, final int count) throws IOException {
+        final var input = new Input(Files.readAllBytes(file));
+
+        for (int i = 0; i < count; i++)
+            assertEquals(i, input.readInt());
+
+        assertTrue(input.end());
+    }
+
+    /**
+     * Test that full buffers are gathered into
+     * one write once the pool runs out.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testGatheringWrites() throws IOException {
+        final var pool = ChannelOutput.newBufferPool(4, 1024);
+
+        try (final var channel = this.open(this.files[0])) {
+            final var output = new ChannelOutput(channel, pool);
+
+            for (int i = 0; i < 4096; i++)
+                output.writeInt(i);
+
+            assertEquals(16_384, output.total());
+
+            output.close();
+
+            assertEquals(16_384, channel.size());
+            assertEquals(4, output.getWrites());
+        }
+
+        this.assertInts(this.files[0], 4096);
+
+        final var statistics = pool.getStatistics();
+
+        assertEquals(4, statistics.getCreated());
+        assertEquals(4, statistics.getAvailable());
+    }
+
+    /**
+     * Test that outputs sharing a pool too small for
+     * both of them to fill take turns without waiting
+     * on each other.
+     *
+     * @throws  java.io.IOException When the files cannot be used
+     */
+    @Test
+    public void testSharedPool() throws IOException {
+        final BoundedPool<ByteBuffer> pool = ChannelOutput.newBufferPool(2, 64);
+
+        try (final var first = this.open(this.files[0]);
+             final var second = this.open(this.files[1]);
+             final var one = new ChannelOutput(first, pool);
+             final var two = new ChannelOutput(second, pool)) {
+            for (int i = 0; i < 1000; i++) {
+                one.writeInt(i);
+                two.writeInt(i);
+            }
+        }
+
+        this.assertInts(this.files[0], 1000);
+        this.assertInts(this.files[1], 1000);
+
+        assertEquals(2, pool.getStatistics().getAvailable());
+    }
+}
@@ -0,0 +1,372 @@
+package net.jmp.demo.kryo5.io;
+
+/*
+ * (#)TestObjectFiles.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.cache.CacheValues;
+
+import net.jmp.demo.kryo5.config.ConfigCache;
+import net.jmp.demo.kryo5.config.ConfigCompression;
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigFileAccess;
+
+import net.jmp.demo.kryo5.engine.IoMode;
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Pet;
+
+import net.jmp.demo.kryo5.values.PetValue;
+
+public class TestObjectFiles {
+    /** The engine. */
+    private final KryoEngine engine = new KryoEngine(new ConfigEngine());
+
+    /** The file. */
+    private Path file;
+
+    /** The object files. */
+    private ObjectFiles files;
+
+    /**
+     * Execute before each test.
+     *
+     * @throws  java.io.IOException When the file cannot be created
+     */
+    @Before
+    public void before() throws IOException {
+        this.file = Files.createTempFile("object-files", ".dat");
+
+        final var configFileAccess = new ConfigFileAccess();
+
+        configFileAccess.setFiles(Map.of(this.file.toString(), FileAccess.MAPPED));
+
+        this.files = new ObjectFiles(this.engine, configFileAccess);
+    }
+
+    /**
+     * Execute after each test.
+     *
+     * @throws  java.io.IOException When the file cannot be deleted
+     */
+    @After
+    public void after() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    /**
+     * Create some pets.
+     *
+     * @param   count   int
+     * @return          java.util.List&lt;net.jmp.demo.kryo5.objects.Pet&gt;
+     */
+    private List<Pet> newPets(final int count) {
+        return IntStream.range(0, count).mapToObj(Fixtures::newPet).toList();
+    }
+
+    /**
+     * Test that a mapped file grows past its first region
+     * and that a mapped file can be read by a stream.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testMappedWriteAndRead() throws IOException {
+        final var fileName = this.file.toString();
+        final var pets = this.newPets(10_000);
+
+        assertEquals(FileAccess.MAPPED, this.files.getAccess(fileName));
+
+        this.files.write(fileName, (kryo, output) -> pets.forEach(pet -> kryo.writeObject(output, pet)));
+
+        final var size = Files.size(this.file);
+
+        assertTrue(size > 64 * 1024);
+
+        final List<Pet> mapped = this.files.read(fileName, (kryo, input) -> {
+            final List<Pet> read = new ArrayList<>();
+
+            while (!input.end())
+                read.add(kryo.readObject(input, Pet.class));
+
+            return read;
+        });
+
+        assertEquals(pets, mapped);
+
+        final var streams = new ObjectFiles(this.engine, new ConfigFileAccess());
+        final Pet first = streams.read(fileName, (kryo, input) -> kryo.readObject(input, Pet.class));
+
+        assertEquals(FileAccess.STREAM, streams.getAccess(fileName));
+        assertEquals(pets.get(0), first);
+    }
+
+    /**
+     * Test that a compressed file round trips and is
+     * smaller than the same objects written as a stream.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testCompressedWriteAndRead() throws IOException {
+        final var fileName = this.file.toString();
+        final var pets = this.newPets(10_000);
+        final var configFileAccess = new ConfigFileAccess();
+
+        configFileAccess.setDefaultAccess(FileAccess.STREAM);
+
+        new ObjectFiles(this.engine, configFileAccess).write(fileName, (kryo, output) -> pets.forEach(pet -> kryo.writeObject(output, pet)));
+
+        final var streamSize = Files.size(this.file);
+
+        configFileAccess.setDefaultAccess(FileAccess.COMPRESSED);
+
+        final var compressed = new ObjectFiles(this.engine, configFileAccess);
+
+        compressed.write(fileName, (kryo, output) -> pets.forEach(pet -> kryo.writeObject(output, pet)));
+
+        assertTrue(Files.size(this.file) < streamSize / 2);
+
+        final List<Pet> read = compressed.read(fileName, (kryo, input) -> {
+            final List<Pet> list = new ArrayList<>();
+
+            for (int i = 0; i < pets.size(); i++)
+                list.add(kryo.readObject(input, Pet.class));
+
+            return list;
+        });
+
+        assertEquals(pets, read);
+    }
+
+    /**
+     * Test that cached reads skip the file, in both
+     * cache modes, and that a write invalidates them.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testCachedReads() throws IOException {
+        final var fileName = this.file.toString();
+        final var pets = this.newPets(2);
+
+        for (final var values : CacheValues.values()) {
+            final var configCache = new ConfigCache();
+
+            configCache.setMaxBytes(1024);
+            configCache.setValues(values);
+
+            final var cached = new ObjectFiles(this.engine, new ConfigFileAccess(), new ConfigCompression(), configCache);
+
+            cached.write(fileName, (kryo, output) -> kryo.writeObject(output, pets.get(0)));
+
+            assertEquals(pets.get(0), cached.read(fileName, Pet.class));
+
+            Files.delete(this.file);
+
+            assertEquals(pets.get(0), cached.read(fileName, Pet.class));
+
+            cached.write(fileName, (kryo, output) -> kryo.writeObject(output, pets.get(1)));
+
+            assertEquals(pets.get(1), cached.read(fileName, Pet.class));
+
+            final var statistics = cached.getCacheStatistics().orElseThrow();
+
+            assertEquals(1, statistics.getHits());
+            assertEquals(2, statistics.getMisses());
+            assertEquals(1, statistics.getInvalidations());
+        }
+
+        assertTrue(this.files.getCacheStatistics().isEmpty());
+    }
+
+    /**
+     * Test that a cache of decoded objects shares only
+     * immutable values and hands out a fresh copy of
+     * any other object.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testCachedObjects() throws IOException {
+        final var fileName = this.file.toString();
+        final var pet = this.newPets(1).get(0);
+        final var configCache = new ConfigCache();
+
+        configCache.setMaxBytes(1024);
+        configCache.setValues(CacheValues.OBJECTS);
+
+        final var cached = new ObjectFiles(this.engine, new ConfigFileAccess(), new ConfigCompression(), configCache);
+
+        cached.write(fileName, (kryo, output) -> kryo.writeObject(output, pet));
+
+        final var first = cached.read(fileName, Pet.class);
+
+        first.setAge(99);
+
+        final var second = cached.read(fileName, Pet.class);
+
+        assertNotSame(first, second);
+        assertEquals(pet, second);
+
+        cached.write(fileName, (kryo, output) -> kryo.writeObject(output, PetValue.from(pet)));
+
+        final var value = cached.read(fileName, PetValue.class);
+
+        assertSame(value, cached.read(fileName, PetValue.class));
+        assertEquals(PetValue.from(pet), value);
+        assertEquals(2, cached.getCacheStatistics().orElseThrow().getHits());
+    }
+
+    /**
+     * Test every I/O mode with every access and that a
+     * file written with fixed-length integers is refused
+     * by an engine that reads variable-length ones.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testIoModes() throws IOException {
+        final var fileName = this.file.toString();
+        final var pets = this.newPets(1_000);
+        final var configFileAccess = new ConfigFileAccess();
+
+        configFileAccess.setChannelBufferSize(4096);
+        configFileAccess.setChannelBuffers(2);
+
+        for (final var ioMode : IoMode.values()) {
+            final var configEngine = new ConfigEngine();
+
+            configEngine.setIoMode(ioMode);
+
+            final var engine = new KryoEngine(configEngine);
+
+            for (final var access : FileAccess.values()) {
+                configFileAccess.setDefaultAccess(access);
+
+                final var files = new ObjectFiles(engine, configFileAccess);
+
+                files.write(fileName, (kryo, output) -> pets.forEach(pet -> kryo.writeObject(output, pet)));
+
+                final List<Pet> read = files.read(fileName, (kryo, input) -> {
+                    final List<Pet> list = new ArrayList<>();
+
+                    for (int i = 0; i < pets.size(); i++)
+                        list.add(kryo.readObject(input, Pet.class));
+
+                    return list;
+                });
+
+                assertEquals(ioMode + " " + access, pets, read);
+            }
+        }
+
+        final var configEngine = new ConfigEngine();
+
+        configEngine.setVariableLengthEncoding(false);
+        configFileAccess.setDefaultAccess(FileAccess.STREAM);
+
+        new ObjectFiles(new KryoEngine(configEngine), configFileAccess).write(fileName, (kryo, output) -> kryo.writeObject(output, pets.get(0)));
+
+        try {
+            this.files.read(fileName, Pet.class);
+
+            fail("Expected a fixed-length file to be refused");
+        } catch (final KryoException ke) {
+            assertTrue(ke.getMessage().contains("fixed-length"));
+        }
+    }
+
+    /**
+     * Test that a file written before the header
+     * existed is read as a legacy file and that an
+     * engine in another format still refuses it.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testLegacyFile() throws IOException {
+        final var fileName = this.file.toString();
+        final var pets = this.newPets(100);
+        final var configFileAccess = new ConfigFileAccess();
+
+        try (final var stream = new FileOutputStream(fileName)) {
+            this.engine.write(stream, (kryo, output) -> pets.forEach(pet -> kryo.writeObject(output, pet)));
+        }
+
+        for (final var access : List.of(FileAccess.STREAM, FileAccess.MAPPED, FileAccess.CHANNEL)) {
+            configFileAccess.setDefaultAccess(access);
+
+            final List<Pet> read = new ObjectFiles(this.engine, configFileAccess).read(fileName, (kryo, input) -> {
+                final List<Pet> list = new ArrayList<>();
+
+                while (!input.end())
+                    list.add(kryo.readObject(input, Pet.class));
+
+                return list;
+            });
+
+            assertEquals(access.toString(), pets, read);
+        }
+
+        final var configEngine = new ConfigEngine();
+
+        configEngine.setVariableLengthEncoding(false);
+
+        try {
+            new ObjectFiles(new KryoEngine(configEngine), configFileAccess).read(fileName, Pet.class);
+
+            fail("Expected a legacy file to be refused by a fixed-length engine");
+        } catch (final KryoException ke) {
+            assertTrue(ke.getMessage().contains("variable-length"));
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package net.jmp.demo.kryo5.io;
+
+/*
+ * (#)TestWriteBehindWriter.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.esotericsoftware.kryo.kryo5.KryoException;
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigWriteBehind;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+public class TestWriteBehindWriter {
+    /** The engine. */
+    private final KryoEngine engine = new KryoEngine(new ConfigEngine());
+
+    /** A configuration with a small queue and batches. */
+    private final ConfigWriteBehind configWriteBehind = new ConfigWriteBehind();
+
+    /** The file. */
+    private Path file;
+
+    /**
+     * Execute before each test.
+     *
+     * @throws  java.io.IOException When the file cannot be created
+     */
+    @Before
+    public void before() throws IOException {
+        this.configWriteBehind.setQueueCapacity(64);
+        this.configWriteBehind.setMaxBatchSize(16);
+        this.configWriteBehind.setFsync(false);
+        this.file = Files.createTempFile("write-behind", ".dat");
+    }
+
+    /**
+     * Execute after each test.
+     *
+     * @throws  java.io.IOException When the file cannot be deleted
+     */
+    @After
+    public void after() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    /**
+     * Read every object in the file.
+     *
+     * @return  java.util.List&lt;java.lang.Object&gt;
+     * @throws  java.io.IOException When the file cannot be read
+     */
+    private List<Object> readAll() throws IOException {
+        return WriteBehindWriter.read(this.engine, this.file, (kryo, input) -> {
+            final List<Object> objects = new ArrayList<>();
+
+            while (!input.end())
+                objects.add(kryo.readClassAndObject(input));
+
+            return objects;
+        });
+    }
+
+    /**
+     * Test that every object is committed in order
+     * and that objects are committed in batches.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final List<Object> chairs = new ArrayList<>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        try (final var writer = new WriteBehindWriter(this.engine, this.file, this.configWriteBehind)) {
+            for (int i = 0; i < 1_000; i++) {
+                final var chair = Fixtures.newChair(i);
+
+                chairs.add(chair);
+                futures.add(writer.write(chair));
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            assertEquals(1_000, writer.getObjectCount());
+            assertTrue(writer.getBatchCount() >= 1_000 / 16);
+        }
+
+        assertEquals(chairs, this.readAll());
+    }
+
+    /**
+     * Test that an object that cannot be serialized
+     * fails only its own future.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testFailedObject() throws IOException {
+        final CompletableFuture<Void> good;
+        final CompletableFuture<Void> bad;
+
+        try (final var writer = new WriteBehindWriter(this.engine, this.file, this.configWriteBehind)) {
+            writer.write(Fixtures.newChair(1));
+            bad = writer.write(new StringBuilder("not registered"));
+            good = writer.write(Fixtures.newChair(2));
+        }
+
+        good.join();
+
+        try {
+            bad.join();
+            fail("Expected the unregistered object to fail");
+        } catch (final CompletionException ce) {
+            assertNotNull(ce.getCause());
+        }
+
+        assertEquals(List.of(Fixtures.newChair(1), Fixtures.newChair(2)), this.readAll());
+    }
+
+    /**
+     * Test that a closed writer refuses objects.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test(expected = IOException.class)
+    public void testClosed() throws IOException {
+        final var writer = new WriteBehindWriter(this.engine, this.file, this.configWriteBehind);
+
+        writer.close();
+        writer.write(Fixtures.newChair(1));
+    }
+
+    /**
+     * Test that closing while other threads write
+     * commits every object whose write was accepted
+     * and leaves no writer blocked.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     * @throws  java.lang.InterruptedException When interrupted
+     */
+    @Test(timeout = 30_000)
+    public void testCloseWhileWriting() throws IOException, InterruptedException {
+        this.configWriteBehind.setQueueCapacity(4);
+        this.configWriteBehind.setMaxBatchSize(2);
+
+        final var futures = new ConcurrentLinkedQueue<CompletableFuture<Void>>();
+        final List<Thread> threads = new ArrayList<>();
+
+        final var writer = new WriteBehindWriter(this.engine, this.file, this.configWriteBehind);
+
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; ; i++)
+                        futures.add(writer.write(Fixtures.newChair(i)));
+                } catch (final IOException ioe) {
+                    assertTrue(ioe.getMessage().contains("closed"));
+                }
+            }));
+        }
+
+        while (writer.getObjectCount() < 100)
+            Thread.onSpinWait();
+
+        writer.close();
+
+        for (final var thread : threads)
+            thread.join();
+
+        for (final var future : futures)
+            assertNull(future.join());
+
+        assertEquals(futures.size(), writer.getObjectCount());
+        assertEquals(futures.size(), this.readAll().size());
+    }
+
+    /**
+     * Test that a new file gets a header, that reopening
+     * it appends after the objects already there and
+     * that an engine in another format is refused.
+     *
+     * @throws  java.io.IOException When the file cannot be used
+     */
+    @Test
+    public void testHeader() throws IOException {
+        Files.delete(this.file);
+
+        for (int run = 0; run < 2; run++) {
+            try (final var writer = new WriteBehindWriter(this.engine, this.file, this.configWriteBehind)) {
+                writer.write(Fixtures.newChair(run)).join();
+            }
+        }
+
+        assertArrayEquals(ObjectFiles.MAGIC, Arrays.copyOf(Files.readAllBytes(this.file), ObjectFiles.MAGIC.length));
+        assertEquals(List.of(Fixtures.newChair(0), Fixtures.newChair(1)), this.readAll());
+
+        final var bytes = Files.readAllBytes(this.file);
+        final var configEngine = new ConfigEngine();
+
+        configEngine.setVariableLengthEncoding(false);
+
+        final var fixedLength = new KryoEngine(configEngine);
+
+        assertThrows(IOException.class, () -> new WriteBehindWriter(fixedLength, this.file, this.configWriteBehind).close());
+        assertThrows(KryoException.class, () -> WriteBehindWriter.read(fixedLength, this.file, (kryo, input) -> kryo.readClassAndObject(input)));
+        assertArrayEquals(bytes, Files.readAllBytes(this.file));
+    }
+}
@@ -0,0 +1,99 @@
+package net.jmp.demo.kryo5.load;
+
+/*
+ * (#)TestLoadGenerator.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigLoad;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+public class TestLoadGenerator {
+    /**
+     * Test histogram percentiles against
+     * uniformly spread latencies.
+     */
+    @Test
+    public void testHistogram() {
+        final var histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 100_000; i++)
+            histogram.record(i * 10L);
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_005, histogram.getMean(), 0.5);
+
+        assertEquals(500_000, histogram.getPercentile(50), 500_000 / 64.0);
+        assertEquals(990_000, histogram.getPercentile(99), 990_000 / 64.0);
+        assertEquals(999_000, histogram.getPercentile(99.9), 999_000 / 64.0);
+        assertEquals(1_000_000, histogram.getPercentile(100));
+
+        assertEquals(6, histogram.getCountAtOrBelow(63));
+        assertEquals(100_000, histogram.getCountAtOrBelow(Long.MAX_VALUE));
+
+        final var other = new LatencyHistogram();
+
+        other.record(Long.MAX_VALUE);
+        histogram.add(other);
+
+        assertEquals(100_001, histogram.getCount());
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+    }
+
+    /**
+     * Test a short run on virtual threads.
+     *
+     * @throws  java.lang.InterruptedException When the test is interrupted
+     */
+    @Test
+    public void testRun() throws InterruptedException {
+        final var configLoad = new ConfigLoad();
+
+        configLoad.setThreads(3);
+        configLoad.setVirtualThreads(true);
+        configLoad.setObjectCount(10);
+        configLoad.setDurationSeconds(1);
+
+        final var result = new LoadGenerator(new KryoEngine(new ConfigEngine()), configLoad).run(Fixtures::newChair);
+
+        assertTrue(result.getOperations() > 0);
+        assertEquals(result.getOperations(), result.getSerializeLatency().getCount());
+        assertEquals(result.getOperations(), result.getDeserializeLatency().getCount());
+        assertTrue(result.getBytes() >= result.getOperations());
+        assertTrue(result.getNanos() >= 1_000_000_000L);
+    }
+}
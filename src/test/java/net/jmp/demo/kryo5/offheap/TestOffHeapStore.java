@@ -0,0 +1,224 @@
+package net.jmp.demo.kryo5.offheap;
+
+/*
+ * (#)TestOffHeapStore.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigOffHeap;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Pet;
+
+public class TestOffHeapStore {
+    /** The engine. */
+    private final KryoEngine engine = new KryoEngine(new ConfigEngine());
+
+    /**
+     * Create a configuration with small slabs.
+     *
+     * @param   maxSlabs    int
+     * @return              net.jmp.demo.kryo5.config.ConfigOffHeap
+     */
+    private static ConfigOffHeap newConfig(final int maxSlabs) {
+        final var config = new ConfigOffHeap();
+
+        config.setSlabSize(4096);
+        config.setMaxSlabs(maxSlabs);
+        config.setInitialCapacity(4);
+
+        return config;
+    }
+
+    @Test
+    public void testMap() {
+        final var map = new LongLongMap(4);
+        final Map<Long, Long> expected = new HashMap<>();
+        final var random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            final long key = random.nextInt(5_000) - 2_500L;
+
+            final Long previous = random.nextInt(3) == 0 ? expected.remove(key) : expected.put(key, (long) i);
+            final var actual = expected.containsKey(key) ? map.put(key, i) : map.remove(key);
+
+            assertEquals(previous == null ? LongLongMap.MISSING : previous, actual);
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (long key = -2_500; key < 2_500; key++)
+            assertEquals((long) expected.getOrDefault(key, LongLongMap.MISSING), map.get(key));
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(LongLongMap.MISSING, map.get(expected.keySet().iterator().next()));
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        try (final var store = new OffHeapStore<>(this.engine, Pet.class, newConfig(64))) {
+            for (int i = 0; i < 1_000; i++)
+                store.put(i * 31L, Fixtures.newPet(i));
+
+            assertEquals(1_000, store.size());
+            assertTrue(store.getAllocatedBytes() > 4096);
+
+            for (int i = 0; i < 1_000; i++)
+                assertEquals(Fixtures.newPet(i), store.get(i * 31L).orElseThrow());
+
+            assertTrue(store.get(1L).isEmpty());
+
+            store.put(0L, Fixtures.newPet(7));
+
+            assertEquals(Fixtures.newPet(7), store.get(0L).orElseThrow());
+            assertTrue(store.remove(31L));
+            assertFalse(store.remove(31L));
+            assertFalse(store.contains(31L));
+            assertEquals(999, store.size());
+            assertTrue(store.getGarbageBytes() > 0);
+
+            final var used = store.getUsedBytes();
+
+            store.compact();
+
+            assertEquals(0, store.getGarbageBytes());
+            assertTrue(store.getUsedBytes() < used);
+            assertEquals(Fixtures.newPet(999), store.get(999 * 31L).orElseThrow());
+        }
+    }
+
+    @Test
+    public void testFullStore() {
+        try (final var store = new OffHeapStore<>(this.engine, Pet.class, newConfig(2))) {
+            var count = 0;
+
+            try {
+                while (true) {
+                    store.put(count, Fixtures.newPet(count));
+                    count++;
+                }
+            } catch (final IllegalStateException ise) {
+                assertTrue(ise.getMessage().contains("full"));
+            }
+
+            final var stored = store.size();
+
+            assertEquals(count, stored);
+
+            assertTrue(stored > 100);
+
+            for (int i = 0; i < stored; i += 2)
+                store.remove(i);
+
+            store.put(stored, Fixtures.newPet(stored));
+
+            assertEquals(0, store.getGarbageBytes());
+            assertEquals(stored / 2 + 1, store.size());
+            assertEquals(Fixtures.newPet(stored), store.get(stored).orElseThrow());
+            assertEquals(Fixtures.newPet(1), store.get(1).orElseThrow());
+        }
+    }
+
+    @Test
+    public void testRemoveAllWhenFull() {
+        final var config = newConfig(1);
+
+        config.setSlabSize(256);
+
+        try (final var store = new OffHeapStore<>(this.engine, Pet.class, config)) {
+            var count = 0;
+
+            try {
+                while (true) {
+                    store.put(count, Fixtures.newPet(count));
+                    count++;
+                }
+            } catch (final IllegalStateException ise) {
+                assertTrue(ise.getMessage().contains("full"));
+            }
+
+            assertTrue(count > 1);
+
+            for (int i = 0; i < count; i++)
+                assertTrue(store.remove(i));
+
+            store.put(count, Fixtures.newPet(count));
+
+            assertEquals(1, store.size());
+            assertEquals(0, store.getGarbageBytes());
+            assertEquals(256, store.getAllocatedBytes());
+            assertEquals(Fixtures.newPet(count), store.get(count).orElseThrow());
+        }
+    }
+
+    @Test
+    public void testLittleGarbageDoesNotCompact() {
+        try (final var store = new OffHeapStore<>(this.engine, Pet.class, newConfig(2))) {
+            var count = 0;
+
+            try {
+                while (true) {
+                    store.put(count, Fixtures.newPet(count));
+                    count++;
+                }
+            } catch (final IllegalStateException ise) {
+                assertTrue(ise.getMessage().contains("full"));
+            }
+
+            store.remove(0);
+
+            final var garbage = store.getGarbageBytes();
+
+            final var last = count;
+
+            assertThrows(IllegalStateException.class, () -> store.put(last, Fixtures.newPet(last)));
+            assertEquals(garbage, store.getGarbageBytes());
+
+            store.compact();
+
+            assertEquals(0, store.getGarbageBytes());
+            assertEquals(count - 1, store.size());
+
+            for (int i = 1; i < count; i++)
+                assertEquals(Fixtures.newPet(i), store.get(i).orElseThrow());
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package net.jmp.demo.kryo5.recordlog;
+
+/*
+ * (#)TestRecordLog.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.cache.CacheValues;
+
+import net.jmp.demo.kryo5.config.ConfigCache;
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigRecordLog;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Pet;
+
+import net.jmp.demo.kryo5.values.PetValue;
+
+public class TestRecordLog {
+    /** The engine. */
+    private final KryoEngine engine = new KryoEngine(new ConfigEngine());
+
+    /** A small configuration that forces many blocks and segments. */
+    private final ConfigRecordLog configRecordLog = new ConfigRecordLog();
+
+    /** The log directory. */
+    private Path directory;
+
+    /**
+     * Execute before each test.
+     *
+     * @throws  java.io.IOException When the directory cannot be created
+     */
+    @Before
+    public void before() throws IOException {
+        this.configRecordLog.setBlockSize(512);
+        this.configRecordLog.setSegmentSize(4096);
+        this.directory = Files.createTempDirectory("record-log");
+    }
+
+    /**
+     * Execute after each test.
+     *
+     * @throws  java.io.IOException When the directory cannot be deleted
+     */
+    @After
+    public void after() throws IOException {
+        try (final Stream<Path> paths = Files.walk(this.directory)) {
+            for (final var path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    /**
+     * Append pets.
+     *
+     * @param   from    int
+     * @param   to      int
+     * @throws  java.io.IOException When the log cannot be written
+     */
+    private void append(final int from, final int to) throws IOException {
+        try (final var writer = new RecordLogWriter<Pet>(this.engine, this.directory, this.configRecordLog)) {
+            for (int i = from; i < to; i++)
+                writer.append(Fixtures.newPet(i));
+
+            assertEquals(to - from, writer.getRecordCount());
+        }
+    }
+
+    /**
+     * Append pets, indexing them by name.
+     *
+     * @param   from    int
+     * @param   to      int
+     * @throws  java.io.IOException When the log cannot be written
+     */
+    private void appendIndexed(final int from, final int to) throws IOException {
+        try (final var writer = new RecordLogWriter<>(this.engine, this.directory, this.configRecordLog, Pet.class, Pet::getName)) {
+            for (int i = from; i < to; i++)
+                writer.append(Fixtures.newPet(i));
+        }
+    }
+
+    /**
+     * Read every pet.
+     *
+     * @return  java.util.List&lt;net.jmp.demo.kryo5.objects.Pet&gt;
+     * @throws  java.io.IOException When the log cannot be read
+     */
+    private List<Pet> readAll() throws IOException {
+        try (final var pets = new RecordLogReader<>(this.engine, this.directory, Pet.class).stream()) {
+            return pets.toList();
+        }
+    }
+
+    /**
+     * Overwrite the length in a block header.
+     *
+     * @param   segment     java.nio.file.Path
+     * @param   position    long    The position of the block header
+     * @param   length      int
+     * @throws  java.io.IOException When the segment cannot be written
+     */
+    private void writeBlockLength(final Path segment, final long position, final int length) throws IOException {
+        try (final var channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, length), position + 1);
+        }
+    }
+
+    /**
+     * Test that records come back in order across segments.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testAppendAndRead() throws IOException {
+        this.append(0, 1000);
+
+        assertTrue(RecordLog.segments(this.directory).size() > 1);
+
+        for (final var segment : RecordLog.segments(this.directory))
+            assertTrue(Files.size(segment) <= this.configRecordLog.getSegmentSize());
+
+        assertEquals(IntStream.range(0, 1000).mapToObj(Fixtures::newPet).toList(), this.readAll());
+    }
+
+    /**
+     * Test that a second writer appends to the existing log.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testReopenAndAppend() throws IOException {
+        this.append(0, 300);
+        this.append(300, 700);
+
+        assertEquals(IntStream.range(0, 700).mapToObj(Fixtures::newPet).toList(), this.readAll());
+    }
+
+    /**
+     * Test that a partly written block is discarded.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testTornBlockIsDiscarded() throws IOException {
+        this.append(0, 10);
+
+        final var segment = RecordLog.segments(this.directory).get(0);
+
+        try (final var channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertEquals(List.of(), this.readAll());
+
+        this.append(10, 20);
+
+        assertEquals(IntStream.range(10, 20).mapToObj(Fixtures::newPet).toList(), this.readAll());
+    }
+
+    /**
+     * Test that a block header with a length out of range
+     * is never allocated: a negative length fails the
+     * reader, a length past the end of the last segment
+     * reads as a partly written block and a writer that
+     * recovers the segment truncates either.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testBlockLengthOutOfRange() throws IOException {
+        this.append(0, 10);
+
+        final var segment = RecordLog.segments(this.directory).get(0);
+        final var valid = Files.size(segment);
+        final var first = IntStream.range(0, 10).mapToObj(Fixtures::newPet).toList();
+
+        this.append(10, 20);
+        this.writeBlockLength(segment, valid, 0x7FFFFFF0);
+
+        assertEquals(first, this.readAll());
+
+        this.writeBlockLength(segment, valid, -5);
+
+        assertThrows(UncheckedIOException.class, this::readAll);
+
+        this.append(20, 30);
+
+        assertEquals(IntStream.concat(IntStream.range(0, 10), IntStream.range(20, 30)).mapToObj(Fixtures::newPet).toList(), this.readAll());
+    }
+
+    /**
+     * Test that a segment with a torn header is rewritten
+     * but one whose header is not a segment header is
+     * refused and left untouched.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testSegmentHeaderRecovery() throws IOException {
+        final var segment = RecordLog.segmentPath(this.directory, 0);
+
+        Files.write(segment, new byte[] {'K', 'R'});
+
+        this.append(0, 10);
+
+        assertEquals(IntStream.range(0, 10).mapToObj(Fixtures::newPet).toList(), this.readAll());
+
+        final var foreign = new byte[1024];
+
+        foreign[0] = 'X';
+
+        Files.write(segment, foreign);
+
+        assertThrows(IOException.class, () -> this.append(10, 20));
+        assertArrayEquals(foreign, Files.readAllBytes(segment));
+    }
+
+    /**
+     * Test that a writer whose engine encodes integers
+     * differently refuses to open the log and leaves the
+     * records already in it intact.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testFormatMismatchIsRefused() throws IOException {
+        this.append(0, 10);
+
+        final var segment = RecordLog.segments(this.directory).get(0);
+        final var bytes = Files.readAllBytes(segment);
+        final var configEngine = new ConfigEngine();
+
+        configEngine.setVariableLengthEncoding(false);
+
+        final var fixedLength = new KryoEngine(configEngine);
+
+        assertThrows(IOException.class, () -> new RecordLogWriter<Pet>(fixedLength, this.directory, this.configRecordLog).close());
+        assertArrayEquals(bytes, Files.readAllBytes(segment));
+        assertEquals(IntStream.range(0, 10).mapToObj(Fixtures::newPet).toList(), this.readAll());
+    }
+
+    /**
+     * Test point lookups by key across segments and
+     * writers, including a key that was appended twice.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testIndexLookup() throws IOException {
+        this.appendIndexed(0, 600);
+        this.appendIndexed(600, 1000);
+
+        final var older = Fixtures.newPet(7);
+
+        older.setAge(99);
+
+        try (final var writer = new RecordLogWriter<>(this.engine, this.directory, this.configRecordLog, Pet.class, Pet::getName)) {
+            writer.append(older);
+            writer.append(Fixtures.newPet(7));
+        }
+
+        for (final var segment : RecordLog.segments(this.directory))
+            assertTrue(Files.exists(RecordIndex.indexPath(segment)));
+
+        try (final var index = new RecordLogIndex<>(this.engine, this.directory, Pet.class, Pet::getName)) {
+            assertEquals(1002, index.getRecordCount());
+
+            for (int i = 0; i < 1000; i += 37)
+                assertEquals(Optional.of(Fixtures.newPet(i)), index.find("Pet " + i));
+
+            assertEquals(Optional.of(Fixtures.newPet(7)), index.find("Pet 7"));
+            assertEquals(Optional.empty(), index.find("Pet 1000"));
+        }
+    }
+
+    /**
+     * Test that indexing a segment in memory stops at a
+     * block header whose length runs past the segment.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testIndexScanStopsAtBlockLengthOutOfRange() throws IOException {
+        this.append(0, 10);
+
+        final var segment = RecordLog.segments(this.directory).get(0);
+        final var valid = Files.size(segment);
+
+        this.append(10, 20);
+        this.writeBlockLength(segment, valid, 0x7FFFFFF0);
+
+        try (final var index = new RecordLogIndex<>(this.engine, this.directory, Pet.class, Pet::getName)) {
+            assertEquals(10, index.getRecordCount());
+            assertEquals(Optional.of(Fixtures.newPet(9)), index.find("Pet 9"));
+            assertEquals(Optional.empty(), index.find("Pet 10"));
+        }
+    }
+
+    /**
+     * Test that missing or stale indexes are rebuilt.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testIndexRebuild() throws IOException {
+        this.append(0, 500);
+
+        try (final var index = new RecordLogIndex<>(this.engine, this.directory, Pet.class, Pet::getName)) {
+            assertEquals(Optional.of(Fixtures.newPet(499)), index.find("Pet 499"));
+        }
+
+        this.appendIndexed(500, 600);
+
+        try (final var index = new RecordLogIndex<>(this.engine, this.directory, Pet.class, Pet::getName)) {
+            assertEquals(600, index.getRecordCount());
+            assertEquals(Optional.of(Fixtures.newPet(0)), index.find("Pet 0"));
+            assertEquals(Optional.of(Fixtures.newPet(599)), index.find("Pet 599"));
+        }
+    }
+
+    /**
+     * Test that cached lookups return equal records,
+     * that a mutable record is decoded afresh for every
+     * lookup and that an immutable one is shared.
+     *
+     * @throws  java.io.IOException When the log cannot be used
+     */
+    @Test
+    public void testCachedLookup() throws IOException {
+        this.appendIndexed(0, 100);
+
+        final var configCache = new ConfigCache();
+
+        configCache.setMaxBytes(1024 * 1024);
+        configCache.setValues(CacheValues.OBJECTS);
+
+        try (final var index = new RecordLogIndex<>(this.engine, this.directory, Pet.class, Pet::getName, configCache)) {
+            final var first = index.find("Pet 42").orElseThrow();
+            final var second = index.find("Pet 42").orElseThrow();
+
+            assertEquals(Fixtures.newPet(42), first);
+            assertEquals(first, second);
+            assertNotSame(first, second);
+            assertEquals(Optional.empty(), index.find("Pet 100"));
+
+            final var statistics = index.getCacheStatistics().orElseThrow();
+
+            assertEquals(1, statistics.getHits());
+            assertEquals(2, statistics.getMisses());
+        }
+
+        final var values = this.directory.resolve("values");
+
+        try (final var writer = new RecordLogWriter<>(this.engine, values, this.configRecordLog, PetValue.class, PetValue::name)) {
+            for (int i = 0; i < 100; i++)
+                writer.append(PetValue.from(Fixtures.newPet(i)));
+        }
+
+        try (final var index = new RecordLogIndex<>(this.engine, values, PetValue.class, PetValue::name, configCache)) {
+            final var first = index.find("Pet 42").orElseThrow();
+
+            assertEquals(PetValue.from(Fixtures.newPet(42)), first);
+            assertSame(first, index.find("Pet 42").orElseThrow());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)TestMessaging.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigMessaging;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Chair;
+import net.jmp.demo.kryo5.objects.Pet;
+
+public class TestMessaging {
+    /** The engine. */
+    private final KryoEngine engine = new KryoEngine(new ConfigEngine());
+
+    /**
+     * Send a pet or a chair for each number without
+     * waiting for responses.
+     *
+     * @param   client  net.jmp.demo.kryo5.server.MessageClient
+     * @param   count   int
+     * @return          java.util.List&lt;java.util.concurrent.CompletableFuture&lt;java.lang.Object&gt;&gt;
+     * @throws  java.io.IOException When a request cannot be sent
+     */
+    private List<CompletableFuture<Object>> sendAll(final MessageClient client, final int count) throws IOException {
+        final List<CompletableFuture<Object>> futures = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+            futures.add(client.send(i % 2 == 0 ? Fixtures.newPet(i) : Fixtures.newChair(i), Object.class));
+
+        return futures;
+    }
+
+    /**
+     * Return a handler that echoes each request,
+     * slowly for every tenth pet.
+     *
+     * @return  java.util.function.Function&lt;java.lang.Object, java.lang.Object&gt;
+     */
+    private Function<Object, Object> slowEcho() {
+        return request -> {
+            if (request instanceof Pet pet && pet.getAge() == 10) {
+                try {
+                    Thread.sleep(1);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            return request;
+        };
+    }
+
+    /**
+     * Test that pipelined requests are batched into
+     * frames and each gets its own response, even
+     * when responses overtake one another.
+     *
+     * @throws  java.lang.Exception When the test fails
+     */
+    @Test
+    public void testPipelining() throws Exception {
+        final var configMessaging = new ConfigMessaging();
+
+        try (final var server = new MessageServer(this.engine, configMessaging, this.slowEcho());
+             final var client = new MessageClient(this.engine, server.getAddress(), configMessaging)) {
+            final var futures = this.sendAll(client, 5_000);
+
+            for (int i = 0; i < futures.size(); i++)
+                assertEquals(i % 2 == 0 ? Fixtures.newPet(i) : Fixtures.newChair(i), futures.get(i).get());
+
+            assertEquals(5_000, client.getRequestCount());
+            assertTrue(client.getFrameCount() < client.getRequestCount());
+            assertEquals(5_000, server.getRequestCount());
+        }
+    }
+
+    /**
+     * Test frames limited to a few messages, with
+     * one request that does not fit in a frame.
+     *
+     * @throws  java.lang.Exception When the test fails
+     */
+    @Test
+    public void testSmallFrames() throws Exception {
+        final var configMessaging = new ConfigMessaging();
+
+        configMessaging.setWorkers(0);
+        configMessaging.setBatchBytes(100);
+        configMessaging.setMaxFrameSize(200);
+        configMessaging.setMaxInFlight(16);
+
+        try (final var server = new MessageServer(this.engine, configMessaging, Function.identity());
+             final var client = new MessageClient(this.engine, server.getAddress(), configMessaging)) {
+            final var futures = this.sendAll(client, 500);
+            final var large = Fixtures.newPet(0);
+
+            large.setName("x".repeat(500));
+
+            final var failed = client.send(large, Pet.class);
+
+            for (int i = 0; i < futures.size(); i++)
+                assertEquals(i % 2 == 0 ? Fixtures.newPet(i) : Fixtures.newChair(i), futures.get(i).get());
+
+            assertThrows(ExecutionException.class, failed::get);
+            assertTrue(client.getFrameCount() >= 500 * 20 / 100);
+        }
+    }
+
+    /**
+     * Test that a request the handler fails on fails
+     * only its own future.
+     *
+     * @throws  java.lang.Exception When the test fails
+     */
+    @Test
+    public void testHandlerError() throws Exception {
+        final var configMessaging = new ConfigMessaging();
+        final Function<Object, Object> handler = request -> {
+            if (request instanceof Chair chair && chair.getColor().equals("Color 7"))
+                throw new IllegalArgumentException("No seventh chair");
+
+            return request;
+        };
+
+        try (final var server = new MessageServer(this.engine, configMessaging, handler);
+             final var client = new MessageClient(this.engine, server.getAddress(), configMessaging)) {
+            final var futures = this.sendAll(client, 10);
+
+            final var exception = assertThrows(ExecutionException.class, () -> futures.get(7).get());
+
+            assertTrue(exception.getCause().getMessage().contains("No seventh chair"));
+
+            for (int i = 0; i < futures.size(); i++) {
+                if (i != 7)
+                    assertEquals(i % 2 == 0 ? Fixtures.newPet(i) : Fixtures.newChair(i), futures.get(i).get());
+            }
+        }
+    }
+
+    /**
+     * Test that closing a client waits for the
+     * responses to the requests already sent.
+     *
+     * @throws  java.lang.Exception When the test fails
+     */
+    @Test
+    public void testCloseWaitsForResponses() throws Exception {
+        final var configMessaging = new ConfigMessaging();
+        final List<CompletableFuture<Object>> futures;
+
+        try (final var server = new MessageServer(this.engine, configMessaging, this.slowEcho())) {
+            final var client = new MessageClient(this.engine, server.getAddress(), configMessaging);
+
+            futures = this.sendAll(client, 1_000);
+
+            client.close();
+
+            assertThrows(IOException.class, () -> client.send(Fixtures.newPet(0), Pet.class));
+        }
+
+        for (final var future : futures)
+            assertTrue(future.isDone() && !future.isCompletedExceptionally());
+    }
+}
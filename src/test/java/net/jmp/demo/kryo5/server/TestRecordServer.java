@@ -0,0 +1,195 @@
+package net.jmp.demo.kryo5.server;
+
+/*
+ * (#)TestRecordServer.java 0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.config.ConfigEngine;
+import net.jmp.demo.kryo5.config.ConfigRecordLog;
+import net.jmp.demo.kryo5.config.ConfigServer;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Pet;
+
+import net.jmp.demo.kryo5.recordlog.RecordLogIndex;
+import net.jmp.demo.kryo5.recordlog.RecordLogWriter;
+
+public class TestRecordServer {
+    /** The engine. */
+    private final KryoEngine engine = new KryoEngine(new ConfigEngine());
+
+    /** A server configuration with a small range limit. */
+    private final ConfigServer configServer = new ConfigServer();
+
+    /** The log directory. */
+    private Path directory;
+
+    /** The index of the log. */
+    private RecordLogIndex<Pet> index;
+
+    /** The server. */
+    private RecordServer server;
+
+    /**
+     * Execute before each test. Writes a log of
+     * many small blocks and segments and serves it.
+     *
+     * @throws  java.io.IOException When the log cannot be written or served
+     */
+    @Before
+    public void before() throws IOException {
+        final var configRecordLog = new ConfigRecordLog();
+
+        configRecordLog.setBlockSize(512);
+        configRecordLog.setSegmentSize(4096);
+
+        this.directory = Files.createTempDirectory("record-server");
+
+        try (final var writer = new RecordLogWriter<>(this.engine, this.directory, configRecordLog, Pet.class, Pet::getName)) {
+            for (int i = 0; i < 1000; i++)
+                writer.append(Fixtures.newPet(i));
+
+            final var newer = Fixtures.newPet(7);
+
+            newer.setAge(99);
+            writer.append(newer);
+        }
+
+        this.configServer.setMaxRangeRecords(2000);
+        this.index = new RecordLogIndex<>(this.engine, this.directory, Pet.class, Pet::getName);
+        this.server = new RecordServer(this.engine, this.configServer, Map.of("pets", this.index));
+    }
+
+    /**
+     * Execute after each test.
+     *
+     * @throws  java.io.IOException When the log cannot be closed or deleted
+     */
+    @After
+    public void after() throws IOException {
+        this.server.close();
+        this.index.close();
+
+        try (final Stream<Path> paths = Files.walk(this.directory)) {
+            for (final var path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    /**
+     * Test getting records by key, including
+     * a key that was appended twice.
+     *
+     * @throws  java.io.IOException When the server cannot be used
+     */
+    @Test
+    public void testGet() throws IOException {
+        try (final var client = new RecordClient(this.engine, this.server.getAddress())) {
+            for (int i = 0; i < 1000; i += 37)
+                assertEquals(Optional.of(Fixtures.newPet(i)), client.get("pets", Pet.class, Pet::getName, "Pet " + i));
+
+            assertEquals(99, client.get("pets", Pet.class, Pet::getName, "Pet 7").orElseThrow().getAge());
+            assertEquals(Optional.empty(), client.get("pets", Pet.class, Pet::getName, "Pet 1000"));
+        }
+
+        assertTrue(this.server.getTransferredBytes() > 0);
+    }
+
+    /**
+     * Test getting ranges that start and end
+     * inside blocks and cross segments.
+     *
+     * @throws  java.io.IOException When the server cannot be used
+     */
+    @Test
+    public void testRange() throws IOException {
+        try (final var client = new RecordClient(this.engine, this.server.getAddress())) {
+            assertEquals(IntStream.range(0, 1000).mapToObj(Fixtures::newPet).toList(), client.range("pets", Pet.class, 0, 1000));
+            assertEquals(IntStream.range(123, 579).mapToObj(Fixtures::newPet).toList(), client.range("pets", Pet.class, 123, 456));
+            assertEquals(List.of(Fixtures.newPet(999)), client.range("pets", Pet.class, 999, 1));
+            assertEquals(2, client.range("pets", Pet.class, 999, 100).size());
+            assertEquals(List.of(), client.range("pets", Pet.class, 1001, 10));
+        }
+    }
+
+    /**
+     * Test that bad requests are answered with
+     * errors and leave the connection usable.
+     *
+     * @throws  java.io.IOException When the server cannot be used
+     */
+    @Test
+    public void testErrors() throws IOException {
+        try (final var client = new RecordClient(this.engine, this.server.getAddress())) {
+            assertThrows(IOException.class, () -> client.get("people", Pet.class, Pet::getName, "Pet 1"));
+            assertThrows(IOException.class, () -> client.range("pets", Pet.class, 0, 2001));
+
+            assertEquals(Optional.of(Fixtures.newPet(1)), client.get("pets", Pet.class, Pet::getName, "Pet 1"));
+        }
+    }
+
+    /**
+     * Test that a server refuses clients whose
+     * engine cannot read its records.
+     *
+     * @throws  java.io.IOException When the server cannot be used
+     */
+    @Test
+    public void testIncompatibleClient() throws IOException {
+        final var configEngine = new ConfigEngine();
+
+        configEngine.setVariableLengthEncoding(false);
+
+        final var engine = new KryoEngine(configEngine);
+
+        assertThrows(IOException.class, () -> new RecordClient(engine, this.server.getAddress()).close());
+    }
+}
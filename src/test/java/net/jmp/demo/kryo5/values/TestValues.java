@@ -0,0 +1,158 @@
+package net.jmp.demo.kryo5.values;
+
+/*
+ * (#)TestValues.java  0.5.0   10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.5.0
+ * @since    0.5.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.jmp.demo.kryo5.Fixtures;
+
+import net.jmp.demo.kryo5.config.ConfigEngine;
+
+import net.jmp.demo.kryo5.engine.KryoEngine;
+
+import net.jmp.demo.kryo5.objects.Person;
+import net.jmp.demo.kryo5.objects.Pet;
+import net.jmp.demo.kryo5.objects.Recording;
+
+public class TestValues {
+    /** The engine. */
+    private final KryoEngine engine = new KryoEngine(new ConfigEngine());
+
+    /**
+     * Test that values and the mutable classes they
+     * stand for are written as the same bytes and
+     * read each other's bytes.
+     */
+    @Test
+    public void testSameBytes() {
+        final var person = Fixtures.newPerson(62);
+        final var pet = Fixtures.newPet(12);
+        final var recording = newRecording(List.of("Elsa Dreisig", "Anna Besson", "Scarlett Strallen"));
+
+        for (final var bean : List.of(person, pet, recording)) {
+            final var value = switch (bean) {
+                case Person p -> PersonValue.from(p);
+                case Pet p -> PetValue.from(p);
+                default -> RecordingValue.from((Recording) bean);
+            };
+
+            final var bytes = this.engine.serialize(bean);
+
+            assertArrayEquals(bytes, this.engine.serialize(value));
+            assertEquals(value, this.engine.deserialize(bytes, value.getClass()));
+            assertEquals(bean, this.engine.deserialize(this.engine.serialize(value), bean.getClass()));
+        }
+
+        assertEquals(person, PersonValue.from(person).toPerson());
+        assertEquals(pet, PetValue.from(pet).toPet());
+        assertEquals(recording, RecordingValue.from(recording).toRecording());
+    }
+
+    /**
+     * Test that the time of day of a birthday is
+     * dropped when a person is read as a value.
+     */
+    @Test
+    public void testBirthdayMillis() {
+        final var person = new Person();
+
+        person.setName("Noon");
+        person.setAge(1);
+        person.setBirthday(new Date(-86_400_000L + 43_200_000L));
+
+        final var value = this.engine.deserialize(this.engine.serialize(person), PersonValue.class);
+
+        assertEquals(-1, value.epochDay());
+        assertEquals(new Date(-86_400_000L), value.birthday());
+    }
+
+    /**
+     * Test recordings with every number of
+     * artists up to beyond the fixed-arity lists.
+     */
+    @Test
+    public void testArtists() {
+        final List<String> artists = new ArrayList<>();
+
+        for (int count = 0; count <= 6; count++) {
+            final var value = RecordingValue.from(newRecording(artists));
+            final var read = this.engine.deserialize(this.engine.serialize(value), RecordingValue.class);
+
+            assertEquals(value, read);
+            assertEquals(artists, read.artists());
+            assertThrows(UnsupportedOperationException.class, () -> read.artists().add("Another"));
+
+            artists.add("Artist " + count);
+        }
+
+        final var value = RecordingValue.from(newRecording(null));
+
+        assertNull(this.engine.deserialize(this.engine.serialize(value), RecordingValue.class).artists());
+        assertSame(value, this.engine.execute(kryo -> kryo.copy(value)));
+    }
+
+    /**
+     * Test that a recording naming a null artist written
+     * as a bean reads as a value and back again.
+     */
+    @Test
+    public void testNullArtist() {
+        final var recording = newRecording(Arrays.asList("Elsa Dreisig", null, "Anna Besson"));
+        final var value = this.engine.deserialize(this.engine.serialize(recording), RecordingValue.class);
+
+        assertEquals(recording.getArtists(), value.artists());
+        assertThrows(UnsupportedOperationException.class, () -> value.artists().set(1, "Another"));
+        assertEquals(value, this.engine.deserialize(this.engine.serialize(value), RecordingValue.class));
+        assertEquals(recording, this.engine.deserialize(this.engine.serialize(value), Recording.class));
+        assertEquals(recording, value.toRecording());
+    }
+
+    /**
+     * Create a recording with the given artists.
+     *
+     * @param   artists java.util.List&lt;java.lang.String&gt;
+     * @return          net.jmp.demo.kryo5.objects.Recording
+     */
+    private static Recording newRecording(final List<String> artists) {
+        final var recording = Fixtures.newRecording(0);
+
+        recording.setArtists(artists == null ? null : new ArrayList<>(artists));
+
+        return recording;
+    }
+}